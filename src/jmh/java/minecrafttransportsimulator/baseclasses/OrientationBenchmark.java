@@ -0,0 +1,72 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**Compares rotating the points of an entity for one tick with {@link Point3d#rotateFine(Point3d)}
+ * against rotating them with an {@link Orientation}.  Entities rotate all their boxes and vectors
+ * by the same angles each tick, and the angles change every tick, so each run changes the angles
+ * once and then rotates all the points.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrientationBenchmark{
+	/**Number of points rotated per tick.  A car has about 10, a large airliner has over 50.**/
+	@Param({"10", "50"})
+	public int pointCount;
+
+	private final Point3d angles = new Point3d();
+	private final Orientation orientation = new Orientation(angles);
+	private final Point3d rotatedPoint = new Point3d();
+	private Point3d[] points;
+	private double tickAngle;
+
+	@Setup
+	public void setup(){
+		Random random = new Random(0);
+		points = new Point3d[pointCount];
+		for(int i=0; i<pointCount; ++i){
+			points[i] = new Point3d(random.nextDouble()*40D - 20D, random.nextDouble()*10D - 5D, random.nextDouble()*40D - 20D);
+		}
+	}
+
+	@Benchmark
+	public void rotateFine(Blackhole blackhole){
+		nextTick();
+		for(Point3d point : points){
+			blackhole.consume(rotatedPoint.setTo(point).rotateFine(angles).x);
+		}
+	}
+
+	@Benchmark
+	public void rotateOrientation(Blackhole blackhole){
+		nextTick();
+		for(Point3d point : points){
+			blackhole.consume(rotatedPoint.setTo(point).rotate(orientation).x);
+		}
+	}
+
+	private void nextTick(){
+		tickAngle += 0.1D;
+		angles.set(tickAngle, tickAngle*2D, tickAngle*0.5D);
+	}
+}
@@ -0,0 +1,101 @@
+package minecrafttransportsimulator.packets.components;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog;
+import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog.Controls;
+import minecrafttransportsimulator.packets.instances.PacketVehiclePartEngine;
+import minecrafttransportsimulator.packets.instances.PacketVehiclePartEngine.Signal;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+
+/**Compares creating received packets through their registered factories against creating them
+ * through reflection, which is how packets used to be created.  This is done for the packets
+ * sent the most: vehicle movement, analog controls, and engine signals.  The packet data is
+ * written by hand, as the packets' normal constructors need vehicles to exist.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDecodeBenchmark{
+	@Param({"movement", "analog", "engine"})
+	public String packetType;
+
+	private final ByteBuf packetData = Unpooled.buffer();
+	private Constructor<? extends APacketBase> constructor;
+
+	@Setup
+	public void setup() throws Exception{
+		InterfacePacket.registerPackets();
+		Class<? extends APacketBase> packetClass;
+		switch(packetType){
+			case("movement"): packetClass = PacketVehicleServerMovement.class; break;
+			case("analog"): packetClass = PacketVehicleControlAnalog.class; break;
+			case("engine"): packetClass = PacketVehiclePartEngine.class; break;
+			default: throw new IllegalArgumentException("Unknown packet type: " + packetType);
+		}
+		constructor = packetClass.getConstructor(ByteBuf.class);
+
+		packetData.writeByte(InterfacePacket.packetIndexes.get(packetClass));
+		APacketBase.writeVarIntToBuffer(1234, packetData);
+		switch(packetType){
+			case("movement"):{
+				//Delta packet with all six fields set.
+				packetData.writeByte(0x3F);
+				for(int i=0; i<6; ++i){
+					APacketBase.writeVarLongToBuffer(i*37 - 100, packetData);
+				}
+				break;
+			}
+			case("analog"):{
+				packetData.writeByte(Controls.THROTTLE.ordinal());
+				packetData.writeShort(50);
+				packetData.writeByte(0);
+				break;
+			}
+			case("engine"):{
+				APacketBase.writePoint3dToBuffer(new Point3d(0.5D, 1D, -2D), packetData);
+				packetData.writeByte(Signal.DAMAGE.ordinal());
+				packetData.writeDouble(12.5D);
+				packetData.writeBoolean(false);
+				packetData.writeBoolean(true);
+				packetData.writeBoolean(false);
+				break;
+			}
+		}
+	}
+
+	@Benchmark
+	public APacketBase decodeFactory(){
+		packetData.readerIndex(0);
+		byte packetIndex = packetData.readByte();
+		return InterfacePacket.packetFactories[packetIndex & 0xFF].apply(packetData);
+	}
+
+	@Benchmark
+	public APacketBase decodeReflection() throws Exception{
+		packetData.readerIndex(0);
+		packetData.readByte();
+		return constructor.newInstance(packetData);
+	}
+}
@@ -41,7 +41,7 @@ public final class BeaconManager{
 			worldBeacons.get(world).put(beacon.name, beacon);
 			if(!world.isClient()){
 				saveBeacons(world);
-				InterfacePacket.sendToAllClients(new PacketBeaconListingChange(beacon));
+				InterfacePacket.sendToClientsInWorld(new PacketBeaconListingChange(beacon), world);
 			}
 		}
 	}
@@ -53,7 +53,7 @@ public final class BeaconManager{
 		worldBeacons.get(world).remove(name);
 		if(!world.isClient()){
 			saveBeacons(world);
-			InterfacePacket.sendToAllClients(new PacketBeaconListingChange(name));
+			InterfacePacket.sendToClientsInWorld(new PacketBeaconListingChange(name), world);
 		}
 	}
 	
@@ -1,9 +1,16 @@
 package minecrafttransportsimulator.baseclasses;
 
+import java.util.Arrays;
+
 /**Curve class used for paths.
  * Needs a start point,  end point, start angle, and an end angle to calculate the curve.
  * For all calls, segmentPoint should be a value between 0 and the pathLength of this curve.
- * 
+ * Segment points are distances along the curve, so a segmentPoint of 5 is 5 blocks of travel from the start.
+ * <br><br>
+ * Points on the curve are sampled once on construction and stored in flat arrays, along with the distance along
+ * the curve to each sample.  Getting a point on the curve is done by finding the two samples the segmentPoint falls
+ * between and interpolating between them.
+ *
  * @author don_bruce
  */
 public class BezierCurve{
@@ -12,14 +19,17 @@ public class BezierCurve{
 	public final float startAngle;
 	public final float endAngle;
 	public final float pathLength;
-	
-	//Cached point data.
-	private final float[][] cachedPathPoints;
-	private final float[][] cachedPathRotations;
-	
+
+	//Cached point data.  Points and rotations are stored as x, y, z for each sample.
+	private final int sampleCount;
+	private final float[] cachedPathPoints;
+	private final float[] cachedPathRotations;
+	/**Distance along the curve to each sample.  Used to convert segmentPoints to sample indexes.**/
+	private final float[] cachedPathLengths;
+
 	/**Steps between curve calculations.  This is how many intermediate calculations we do between 1-block steps.**/
 	public static final int CURVE_STEP = 16;
-	
+
 	public BezierCurve(Point3d startPos, Point3d endPos, float startAngle, float endAngle){
 		this.startPos = startPos;
 		this.endPos = endPos;
@@ -31,99 +41,183 @@ public class BezierCurve{
 		final float[] startCurvePoint = new float[]{(float) (startPoint[0] + Math.sin(Math.toRadians(startAngle))*midPointDistance), startPoint[1], (float) (startPoint[2] + Math.cos(Math.toRadians(startAngle))*midPointDistance)};
 		final float[] endCurvePoint = new float[]{(float) (endPoint[0] + Math.sin(Math.toRadians(endAngle))*midPointDistance), endPoint[1], (float) (endPoint[2] + Math.cos(Math.toRadians(endAngle))*midPointDistance)};
 
-		this.pathLength = getPathLength(startPoint, endPoint, startCurvePoint, endCurvePoint);
-		float[] pathPointsX = getCachedPathPoints(startPoint[0], endPoint[0], startCurvePoint[0], endCurvePoint[0], pathLength);
-		float[] pathPointsY = getCachedPathPoints(startPoint[1], endPoint[1], startCurvePoint[1], endCurvePoint[1], pathLength);
-		float[] pathPointsZ = getCachedPathPoints(startPoint[2], endPoint[2], startCurvePoint[2], endCurvePoint[2], pathLength);
-		
-		this.cachedPathPoints = new float[Math.round(pathLength*CURVE_STEP) + 1][3];
-		this.cachedPathRotations = new float[Math.round(pathLength*CURVE_STEP) + 1][3];
-		for(int i=0; i<cachedPathPoints.length; ++i){
-			cachedPathPoints[i][0] = pathPointsX[i];
-			cachedPathPoints[i][1] = pathPointsY[i];
-			cachedPathPoints[i][2] = pathPointsZ[i];
-			if(i > 0){
-				cachedPathRotations[i][0] = (float) -Math.toDegrees(Math.atan((cachedPathPoints[i][1] - cachedPathPoints[i - 1][1])/Math.hypot(cachedPathPoints[i][0] - cachedPathPoints[i - 1][0], cachedPathPoints[i][2] - cachedPathPoints[i - 1][2])));
-				cachedPathRotations[i][1] = (float) ((360 + Math.toDegrees(Math.atan2(cachedPathPoints[i][0] - cachedPathPoints[i - 1][0], cachedPathPoints[i][2] - cachedPathPoints[i - 1][2])))%360);
-				cachedPathRotations[i][2] = 0;
-			}
+		//Sample the curve.  The estimated length is only used to decide how many samples we need.
+		this.sampleCount = Math.round(getEstimatedPathLength(startPoint, endPoint, startCurvePoint, endCurvePoint)*CURVE_STEP) + 1;
+		this.cachedPathPoints = new float[sampleCount*3];
+		for(int axis=0; axis<3; ++axis){
+			setCachedPathPoints(cachedPathPoints, axis, startPoint[axis], endPoint[axis], startCurvePoint[axis], endCurvePoint[axis]);
 		}
-		
-		//Add point 0 rotations.  We couldn't do those in the loop.
-		cachedPathRotations[0] = cachedPathRotations[1]; 
+		this.cachedPathRotations = new float[sampleCount*3];
+		this.cachedPathLengths = new float[sampleCount];
+		this.pathLength = calculateRotationsAndLengths();
 	}
-	
+
+	/**
+	 * Constructor for offset curves.  Points are passed-in directly rather than calculated from the Bezier control points.
+	 */
+	private BezierCurve(float[] cachedPathPoints, float startAngle, float endAngle){
+		this.sampleCount = cachedPathPoints.length/3;
+		this.cachedPathPoints = cachedPathPoints;
+		this.startPos = new Point3d(cachedPathPoints[0], cachedPathPoints[1], cachedPathPoints[2]);
+		this.endPos = new Point3d(cachedPathPoints[(sampleCount - 1)*3], cachedPathPoints[(sampleCount - 1)*3 + 1], cachedPathPoints[(sampleCount - 1)*3 + 2]);
+		this.startAngle = startAngle;
+		this.endAngle = endAngle;
+		this.cachedPathRotations = new float[sampleCount*3];
+		this.cachedPathLengths = new float[sampleCount];
+		this.pathLength = calculateRotationsAndLengths();
+	}
+
 	/**
 	 * Generates an offset curve by the passed-in offset.  The curve may or may not have a different
 	 * pathLength than the curve it was generated from.  Used to create parallel paths from a common curve.
+	 * The offset curve is made by moving every sample of this curve sideways, so it stays parallel to this
+	 * curve along its whole length and doesn't need to be sampled again.
 	 */
 	public BezierCurve generateOffsetCurve(float offset){
-		Point3d testRotation = new Point3d();
-		
-		Point3d newStartPos = new Point3d(offset, 0, 0);
-		setPointToRotationAt(testRotation, 0);
-		newStartPos.rotateFine(testRotation);
-		offsetPointByPositionAt(newStartPos, 0);
-		
-		Point3d newEndPos = new Point3d(offset, 0, 0);
-		setPointToRotationAt(testRotation, pathLength);
-		newEndPos.rotateFine(testRotation);
-		offsetPointByPositionAt(newEndPos, pathLength);
-		
-		return new BezierCurve(newStartPos, newEndPos, startAngle, endAngle);
+		float[] offsetPathPoints = new float[sampleCount*3];
+		for(int i=0; i<sampleCount; ++i){
+			//Only yaw affects the sideways direction, as pitch rotates about the sideways axis.
+			double yaw = Math.toRadians(cachedPathRotations[i*3 + 1]);
+			offsetPathPoints[i*3] = (float) (cachedPathPoints[i*3] + offset*Math.cos(yaw));
+			offsetPathPoints[i*3 + 1] = cachedPathPoints[i*3 + 1];
+			offsetPathPoints[i*3 + 2] = (float) (cachedPathPoints[i*3 + 2] - offset*Math.sin(yaw));
+		}
+		return new BezierCurve(offsetPathPoints, startAngle, endAngle);
 	}
-	
+
 	/**
 	 * Sets the passed-in Point3d to the cached value of the point at the passed-in segment location.
 	 */
 	public void setPointToPositionAt(Point3d point, float segmentPoint){
-		float[] cachedPoint = cachedPathPoints[Math.round(segmentPoint*CURVE_STEP)];
-		point.set(cachedPoint[0], cachedPoint[1], cachedPoint[2]);
+		point.set(0, 0, 0);
+		offsetPointByPositionAt(point, segmentPoint);
 	}
-	
+
 	/**
 	 * Offsets the passed-in Point3d by the cached value of the point at the passed-in segment location.
 	 */
 	public void offsetPointByPositionAt(Point3d point, float segmentPoint){
-		float[] cachedPoint = cachedPathPoints[Math.round(segmentPoint*CURVE_STEP)];
-		point.add(cachedPoint[0], cachedPoint[1], cachedPoint[2]);
+		int index = getSampleIndex(segmentPoint);
+		if(index == sampleCount - 1){
+			point.add(cachedPathPoints[index*3], cachedPathPoints[index*3 + 1], cachedPathPoints[index*3 + 2]);
+		}else{
+			float sampleLength = cachedPathLengths[index + 1] - cachedPathLengths[index];
+			float factor = sampleLength > 0 ? Math.max(0, Math.min(1, (segmentPoint - cachedPathLengths[index])/sampleLength)) : 0;
+			point.add(
+				cachedPathPoints[index*3] + (cachedPathPoints[(index + 1)*3] - cachedPathPoints[index*3])*factor,
+				cachedPathPoints[index*3 + 1] + (cachedPathPoints[(index + 1)*3 + 1] - cachedPathPoints[index*3 + 1])*factor,
+				cachedPathPoints[index*3 + 2] + (cachedPathPoints[(index + 1)*3 + 2] - cachedPathPoints[index*3 + 2])*factor
+			);
+		}
 	}
-	
+
 	/**
 	 * Sets the passed-in Point3d to the cached value of rotation point at the passed-in segment location.
+	 * This is the rotation of the line between the samples the segment location is between.
 	 */
 	public void setPointToRotationAt(Point3d rotation, float segmentPoint){
-		float[] cachedRotation = cachedPathRotations[Math.round(segmentPoint*CURVE_STEP)];
-		rotation.set(cachedRotation[0], cachedRotation[1], cachedRotation[2]);
+		int index = Math.min(getSampleIndex(segmentPoint) + 1, sampleCount - 1);
+		rotation.set(cachedPathRotations[index*3], cachedPathRotations[index*3 + 1], cachedPathRotations[index*3 + 2]);
 	}
-	
+
 	/**
-	 * Helper function to calculate the total path length for the passed-in parameters.
+	 * Returns the segment point of this curve that is closest to the passed-in point, only checking between the
+	 * passed-in segment points.  The passed-in point should be relative to this curve, same as the cached points.
+	 * This projects the point onto the lines between the cached points, so the returned segment point may be
+	 * between two cached points rather than on one.
 	 */
-	private static float getPathLength(float[] startPoint, float[] endPoint, float[] startCurvePoint, float[] endCurvePoint){
+	public float getClosestSegmentPoint(Point3d point, float startSegmentPoint, float endSegmentPoint){
+		int startIndex = getSampleIndex(startSegmentPoint);
+		int endIndex = Math.min(getSampleIndex(endSegmentPoint) + 1, sampleCount - 1);
+		float closestSegmentPoint = startSegmentPoint;
+		double closestDistance = Double.MAX_VALUE;
+		for(int i=startIndex; i<endIndex; ++i){
+			double deltaX = cachedPathPoints[(i + 1)*3] - cachedPathPoints[i*3];
+			double deltaY = cachedPathPoints[(i + 1)*3 + 1] - cachedPathPoints[i*3 + 1];
+			double deltaZ = cachedPathPoints[(i + 1)*3 + 2] - cachedPathPoints[i*3 + 2];
+			double lengthSquared = deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ;
+			double factor = lengthSquared > 0 ? ((point.x - cachedPathPoints[i*3])*deltaX + (point.y - cachedPathPoints[i*3 + 1])*deltaY + (point.z - cachedPathPoints[i*3 + 2])*deltaZ)/lengthSquared : 0;
+			factor = Math.max(0, Math.min(1, factor));
+			double offsetX = cachedPathPoints[i*3] + deltaX*factor - point.x;
+			double offsetY = cachedPathPoints[i*3 + 1] + deltaY*factor - point.y;
+			double offsetZ = cachedPathPoints[i*3 + 2] + deltaZ*factor - point.z;
+			double distance = offsetX*offsetX + offsetY*offsetY + offsetZ*offsetZ;
+			if(distance < closestDistance){
+				closestDistance = distance;
+				closestSegmentPoint = (float) (cachedPathLengths[i] + (cachedPathLengths[i + 1] - cachedPathLengths[i])*factor);
+			}
+		}
+		return Math.max(startSegmentPoint, Math.min(endSegmentPoint, closestSegmentPoint));
+	}
+
+	/**
+	 * Returns the index of the last sample at or before the passed-in segment point.
+	 * Segment points outside the curve are clamped to the first and last sample.
+	 */
+	private int getSampleIndex(float segmentPoint){
+		if(segmentPoint <= 0){
+			return 0;
+		}else if(segmentPoint >= pathLength){
+			return sampleCount - 1;
+		}else{
+			int index = Arrays.binarySearch(cachedPathLengths, segmentPoint);
+			//If we didn't find an exact match, binarySearch returns -(insertion point) - 1.
+			return index >= 0 ? index : -index - 2;
+		}
+	}
+
+	/**
+	 * Calculates the rotations and distances for the cached points, and returns the total length of the path.
+	 */
+	private float calculateRotationsAndLengths(){
+		float totalLength = 0;
+		for(int i=1; i<sampleCount; ++i){
+			float deltaX = cachedPathPoints[i*3] - cachedPathPoints[(i - 1)*3];
+			float deltaY = cachedPathPoints[i*3 + 1] - cachedPathPoints[(i - 1)*3 + 1];
+			float deltaZ = cachedPathPoints[i*3 + 2] - cachedPathPoints[(i - 1)*3 + 2];
+			cachedPathRotations[i*3] = (float) -Math.toDegrees(Math.atan(deltaY/Math.hypot(deltaX, deltaZ)));
+			cachedPathRotations[i*3 + 1] = (float) ((360 + Math.toDegrees(Math.atan2(deltaX, deltaZ)))%360);
+			cachedPathRotations[i*3 + 2] = 0;
+			totalLength += Math.sqrt(deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ);
+			cachedPathLengths[i] = totalLength;
+		}
+
+		//Add point 0 rotations.  We couldn't do those in the loop.
+		if(sampleCount > 1){
+			cachedPathRotations[0] = cachedPathRotations[3];
+			cachedPathRotations[1] = cachedPathRotations[4];
+			cachedPathRotations[2] = cachedPathRotations[5];
+		}
+		return totalLength;
+	}
+
+	/**
+	 * Helper function to estimate the total path length for the passed-in parameters.
+	 */
+	private static float getEstimatedPathLength(float[] startPoint, float[] endPoint, float[] startCurvePoint, float[] endCurvePoint){
 		float dist1 = (float) Math.sqrt(Math.pow(endPoint[0] - startPoint[0], 2) + Math.pow(endPoint[1] - startPoint[1], 2) + Math.pow(endPoint[2] - startPoint[2], 2));
 		float dist2 = (float) Math.sqrt(Math.pow(startCurvePoint[0] - startPoint[0], 2) + Math.pow(startCurvePoint[1] - startPoint[1], 2) + Math.pow(startCurvePoint[2] - startPoint[2], 2));
 		float dist3 = (float) Math.sqrt(Math.pow(endCurvePoint[0] - startCurvePoint[0], 2) + Math.pow(endCurvePoint[1] - startCurvePoint[1], 2) + Math.pow(endCurvePoint[2] - startCurvePoint[2], 2));
 		float dist4 = (float) Math.sqrt(Math.pow(endPoint[0] - endCurvePoint[0], 2) + Math.pow(endPoint[1] - endCurvePoint[1], 2) + Math.pow(endPoint[2] - endCurvePoint[2], 2));
 		return (dist1 + dist2 + dist3 + dist4)/2;
 	}
-	
+
 	/**
-	 * Helper function to calculate the cached path points for the passed-in parameters.
+	 * Helper function to calculate the cached path points for one axis of the passed-in parameters.
+	 * Points are set in the passed-in array at the index for the passed-in axis.
 	 */
-	private static float[] getCachedPathPoints(float startPoint, float endPoint, float startCurvePoint, float endCurvePoint, float pathLength){
-		float[] points = new float[Math.round(pathLength*CURVE_STEP) + 1];
+	private static void setCachedPathPoints(float[] points, int axis, float startPoint, float endPoint, float startCurvePoint, float endCurvePoint){
+		int sampleCount = points.length/3;
 		if(startPoint == endPoint){
-			for(int i=0; i<points.length; ++i){
-				points[i] = startPoint;
+			for(int i=0; i<sampleCount; ++i){
+				points[i*3 + axis] = startPoint;
 			}
 		}else{
 			float segmentPercentage;
-			for(int i=0; i<points.length; ++i){
-				segmentPercentage = i/((points.length - 1)*1F);
-				points[i] = (float) (Math.pow(1-segmentPercentage, 3)*startPoint + 3*Math.pow(1-segmentPercentage, 2)*segmentPercentage*startCurvePoint + 3*(1-segmentPercentage)*Math.pow(segmentPercentage, 2)*endCurvePoint + Math.pow(segmentPercentage, 3)*endPoint);
+			for(int i=0; i<sampleCount; ++i){
+				segmentPercentage = sampleCount > 1 ? i/((sampleCount - 1)*1F) : 0;
+				points[i*3 + axis] = (float) (Math.pow(1-segmentPercentage, 3)*startPoint + 3*Math.pow(1-segmentPercentage, 2)*segmentPercentage*startCurvePoint + 3*(1-segmentPercentage)*Math.pow(segmentPercentage, 2)*endCurvePoint + Math.pow(segmentPercentage, 3)*endPoint);
 			}
 		}
-		return points;
 	}
-}
\ No newline at end of file
+}
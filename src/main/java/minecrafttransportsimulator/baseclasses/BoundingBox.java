@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.mcinterface.WrapperWorld.BlockCollisionRegion;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import minecrafttransportsimulator.vehicles.parts.APart;
@@ -65,7 +66,15 @@ public class BoundingBox{
 	 *  If blocks collided with this box after this method, true is returned.
 	 */
 	public boolean updateCollidingBlocks(WrapperWorld world, Point3d offset){
-		return updateCollisions(world, offset, false);
+		return updateCollisions(world, offset, false, null);
+	}
+	
+	/**
+	 *  Like {@link #updateCollidingBlocks(WrapperWorld, Point3d)}, but checks against the pre-loaded
+	 *  block collisions in the passed-in region rather than reading the world.
+	 */
+	public boolean updateCollidingBlocks(WrapperWorld world, Point3d offset, BlockCollisionRegion region){
+		return updateCollisions(world, offset, false, region);
 	}
 	
 	/**
@@ -73,13 +82,13 @@ public class BoundingBox{
 	 *  when setting collision depth.
 	 */
 	public boolean updateMovingCollisions(WrapperWorld world, Point3d offset){
-		return updateCollisions(world, offset, true);
+		return updateCollisions(world, offset, true, null);
 	}
 	
-	private boolean updateCollisions(WrapperWorld world, Point3d offset, boolean ignoreIfGreater){
+	private boolean updateCollisions(WrapperWorld world, Point3d offset, boolean ignoreIfGreater, BlockCollisionRegion region){
 		tempGlobalCenter.setTo(globalCenter);
 		globalCenter.add(offset);
-		world.updateBoundingBoxCollisions(this, offset, ignoreIfGreater);
+		world.updateBoundingBoxCollisions(this, offset, ignoreIfGreater, region);
 		globalCenter.setTo(tempGlobalCenter);
 		return !collidingBlockPositions.isEmpty();
 	}
@@ -87,16 +96,17 @@ public class BoundingBox{
 	/**
 	 *  Sets the global center of this box to the position of the passed-in entity, rotated by the
 	 *  entity's rotation and offset by the local center.  Mostly used for updating hitboxes that
-	 *  rotate with the entity.  Rotation is done using the fine Point3d rotation to allow for
-	 *  better interaction while standing on entities.  Optional extra offset is present should
-	 *  a supplemental translation need to be performed before aligning to the entity.
+	 *  rotate with the entity.  Rotation is done with the entity's cached orientation rather than by
+	 *  re-calculating the rotation from its angles for every box.  This gives the same result as the
+	 *  fine Point3d rotation, so boxes line up exactly for players standing on entities.  Optional extra
+	 *  offset is present should a supplemental translation need to be performed before aligning to the entity.
 	 */
 	public void updateToEntity(AEntityBase entity, Point3d optionalOffset){
 		globalCenter.setTo(localCenter);
 		if(optionalOffset != null){
 			globalCenter.add(optionalOffset);
 		}
-		globalCenter.rotateFine(entity.angles).add(entity.position);
+		globalCenter.rotate(entity.orientation).add(entity.position);
 		if(isCollision){
 			//Need to round box to prevent floating-point errors.
 			globalCenter.x = ((int) (globalCenter.x/ConfigSystem.configObject.general.hitboxClamp.value))*ConfigSystem.configObject.general.hitboxClamp.value;
@@ -112,11 +122,11 @@ public class BoundingBox{
 	 */
 	public void updateToPart(APart part){
 		//First rotate the box based on the part's rotation.
-		globalCenter.setTo(localCenter).rotateFine(part.totalRotation);
+		globalCenter.setTo(localCenter).rotate(part.totalOrientation);
 		//Now translate the box to it's actual position relative to the vehicle.
 		globalCenter.add(part.totalOffset);
 		//Now rotate the collision box by the vehicle's rotation.
-		globalCenter.rotateFine(part.vehicle.angles);
+		globalCenter.rotate(part.vehicle.orientation);
 		//Add the worldOffset based on the vehicle's current position.
 		globalCenter.add(part.vehicle.position);
 		//Clamp the box's points if required.
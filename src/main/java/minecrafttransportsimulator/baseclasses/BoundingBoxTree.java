@@ -0,0 +1,275 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**Bounding volume hierarchy for a set of {@link BoundingBox}es.  Used to find the boxes near a point
+ * or along a line without checking every box in the set, which matters for entities with hundreds of boxes.
+ * The tree is built once from the set of boxes and then re-fit every update to the boxes' new global
+ * positions.  The tree is only re-built if the set of boxes changes, as re-fitting keeps all the nodes
+ * valid, if a bit looser than a fresh build would be.
+ * <br><br>
+ * Nodes are stored in flat arrays in the order they are created.  Since a node is always created before its
+ * children, re-fitting can be done by going through the nodes backwards and merging bounds upwards.
+ *
+ * @author don_bruce
+ */
+public class BoundingBoxTree{
+	private static final int MAX_LEAF_BOXES = 4;
+	private static final Comparator<BoundingBox> X_SORTER = new Comparator<BoundingBox>(){
+		@Override
+		public int compare(BoundingBox first, BoundingBox second){
+			return Double.compare(first.globalCenter.x, second.globalCenter.x);
+		}
+	};
+	private static final Comparator<BoundingBox> Y_SORTER = new Comparator<BoundingBox>(){
+		@Override
+		public int compare(BoundingBox first, BoundingBox second){
+			return Double.compare(first.globalCenter.y, second.globalCenter.y);
+		}
+	};
+	private static final Comparator<BoundingBox> Z_SORTER = new Comparator<BoundingBox>(){
+		@Override
+		public int compare(BoundingBox first, BoundingBox second){
+			return Double.compare(first.globalCenter.z, second.globalCenter.z);
+		}
+	};
+
+	/**Boxes in this tree, in the order they are referenced by the leaves.**/
+	private BoundingBox[] boxes = new BoundingBox[0];
+	/**Boxes in this tree, in the order they were passed-in.  Used to know if we need to re-build.**/
+	private BoundingBox[] sourceBoxes = new BoundingBox[0];
+	private int boxCount;
+
+	//Node data.  Bounds are stored as minX, minY, minZ, maxX, maxY, maxZ.
+	private double[] nodeBounds = new double[0];
+	private int[] nodeFirstBox = new int[0];
+	private int[] nodeBoxCount = new int[0];
+	private int[] nodeLeftChild = new int[0];
+	private int[] nodeRightChild = new int[0];
+	private int nodeCount;
+	private int[] traversalStack = new int[0];
+
+	/**
+	 *  Updates this tree to the passed-in boxes.  If the boxes are the same as the last update,
+	 *  the tree is re-fit to their current positions.  Otherwise, the tree is re-built.
+	 */
+	public void update(List<BoundingBox> newBoxes){
+		boolean boxesChanged = newBoxes.size() != boxCount;
+		if(!boxesChanged){
+			for(int i=0; i<boxCount; ++i){
+				if(newBoxes.get(i) != sourceBoxes[i]){
+					boxesChanged = true;
+					break;
+				}
+			}
+		}
+		if(boxesChanged){
+			rebuild(newBoxes);
+		}else{
+			refit();
+		}
+	}
+
+	/**
+	 *  Adds all boxes whose node bounds intersect the passed-in bounds to the passed-in list.
+	 *  The list is cleared before adding.  Note that this is a broad-phase check: boxes added
+	 *  may not intersect the bounds themselves, so callers should still check each box.
+	 */
+	public void getBoxesWithin(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, List<BoundingBox> foundBoxes){
+		foundBoxes.clear();
+		if(nodeCount == 0){
+			return;
+		}
+		int stackSize = 0;
+		traversalStack[stackSize++] = 0;
+		while(stackSize > 0){
+			int node = traversalStack[--stackSize];
+			int boundsIndex = node*6;
+			if(nodeBounds[boundsIndex] <= maxX && nodeBounds[boundsIndex + 3] >= minX && nodeBounds[boundsIndex + 1] <= maxY && nodeBounds[boundsIndex + 4] >= minY && nodeBounds[boundsIndex + 2] <= maxZ && nodeBounds[boundsIndex + 5] >= minZ){
+				if(nodeBoxCount[node] > 0){
+					for(int i=nodeFirstBox[node]; i<nodeFirstBox[node] + nodeBoxCount[node]; ++i){
+						foundBoxes.add(boxes[i]);
+					}
+				}else{
+					traversalStack[stackSize++] = nodeLeftChild[node];
+					traversalStack[stackSize++] = nodeRightChild[node];
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Adds all boxes whose node bounds are intersected by the line between the passed-in points to the passed-in list.
+	 *  The list is cleared before adding.  Like {@link #getBoxesWithin(double, double, double, double, double, double, List)},
+	 *  this is a broad-phase check, so callers should still check each box.
+	 */
+	public void getBoxesAlongLine(Point3d start, Point3d end, List<BoundingBox> foundBoxes){
+		foundBoxes.clear();
+		if(nodeCount == 0){
+			return;
+		}
+		double deltaX = end.x - start.x;
+		double deltaY = end.y - start.y;
+		double deltaZ = end.z - start.z;
+		int stackSize = 0;
+		traversalStack[stackSize++] = 0;
+		while(stackSize > 0){
+			int node = traversalStack[--stackSize];
+			if(isLineInNode(node, start, deltaX, deltaY, deltaZ)){
+				if(nodeBoxCount[node] > 0){
+					for(int i=nodeFirstBox[node]; i<nodeFirstBox[node] + nodeBoxCount[node]; ++i){
+						foundBoxes.add(boxes[i]);
+					}
+				}else{
+					traversalStack[stackSize++] = nodeLeftChild[node];
+					traversalStack[stackSize++] = nodeRightChild[node];
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Returns true if the line from start with the passed-in deltas hits the node's bounds.
+	 *  This is a standard slab test, clamped to the length of the line.
+	 */
+	private boolean isLineInNode(int node, Point3d start, double deltaX, double deltaY, double deltaZ){
+		int boundsIndex = node*6;
+		double minFactor = 0;
+		double maxFactor = 1;
+		for(int axis=0; axis<3; ++axis){
+			double origin = axis == 0 ? start.x : (axis == 1 ? start.y : start.z);
+			double delta = axis == 0 ? deltaX : (axis == 1 ? deltaY : deltaZ);
+			double boundsMin = nodeBounds[boundsIndex + axis];
+			double boundsMax = nodeBounds[boundsIndex + axis + 3];
+			if(Math.abs(delta) < 1.0E-7D){
+				if(origin < boundsMin || origin > boundsMax){
+					return false;
+				}
+			}else{
+				double firstFactor = (boundsMin - origin)/delta;
+				double secondFactor = (boundsMax - origin)/delta;
+				if(firstFactor > secondFactor){
+					double temp = firstFactor;
+					firstFactor = secondFactor;
+					secondFactor = temp;
+				}
+				minFactor = Math.max(minFactor, firstFactor);
+				maxFactor = Math.min(maxFactor, secondFactor);
+				if(minFactor > maxFactor){
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 *  Re-builds the tree from scratch for the passed-in boxes.
+	 */
+	private void rebuild(List<BoundingBox> newBoxes){
+		boxCount = newBoxes.size();
+		if(sourceBoxes.length < boxCount){
+			sourceBoxes = new BoundingBox[boxCount];
+			boxes = new BoundingBox[boxCount];
+			int maxNodes = 2*boxCount;
+			nodeBounds = new double[maxNodes*6];
+			nodeFirstBox = new int[maxNodes];
+			nodeBoxCount = new int[maxNodes];
+			nodeLeftChild = new int[maxNodes];
+			nodeRightChild = new int[maxNodes];
+			traversalStack = new int[maxNodes];
+		}
+		for(int i=0; i<boxCount; ++i){
+			sourceBoxes[i] = newBoxes.get(i);
+			boxes[i] = sourceBoxes[i];
+		}
+		for(int i=boxCount; i<sourceBoxes.length; ++i){
+			sourceBoxes[i] = null;
+			boxes[i] = null;
+		}
+		nodeCount = 0;
+		if(boxCount > 0){
+			buildNode(0, boxCount);
+			refit();
+		}
+	}
+
+	/**
+	 *  Creates a node for the boxes between the passed-in indexes, and returns its index.
+	 *  Boxes are split in half along the axis where their centers are most spread out.
+	 */
+	private int buildNode(int firstBox, int lastBox){
+		int node = nodeCount++;
+		int count = lastBox - firstBox;
+		if(count <= MAX_LEAF_BOXES){
+			nodeFirstBox[node] = firstBox;
+			nodeBoxCount[node] = count;
+		}else{
+			double minX = Double.MAX_VALUE;
+			double minY = Double.MAX_VALUE;
+			double minZ = Double.MAX_VALUE;
+			double maxX = -Double.MAX_VALUE;
+			double maxY = -Double.MAX_VALUE;
+			double maxZ = -Double.MAX_VALUE;
+			for(int i=firstBox; i<lastBox; ++i){
+				Point3d center = boxes[i].globalCenter;
+				minX = Math.min(minX, center.x);
+				minY = Math.min(minY, center.y);
+				minZ = Math.min(minZ, center.z);
+				maxX = Math.max(maxX, center.x);
+				maxY = Math.max(maxY, center.y);
+				maxZ = Math.max(maxZ, center.z);
+			}
+			double spreadX = maxX - minX;
+			double spreadY = maxY - minY;
+			double spreadZ = maxZ - minZ;
+			if(spreadX >= spreadY && spreadX >= spreadZ){
+				Arrays.sort(boxes, firstBox, lastBox, X_SORTER);
+			}else if(spreadY >= spreadZ){
+				Arrays.sort(boxes, firstBox, lastBox, Y_SORTER);
+			}else{
+				Arrays.sort(boxes, firstBox, lastBox, Z_SORTER);
+			}
+			int middleBox = firstBox + count/2;
+			nodeBoxCount[node] = 0;
+			nodeLeftChild[node] = buildNode(firstBox, middleBox);
+			nodeRightChild[node] = buildNode(middleBox, lastBox);
+		}
+		return node;
+	}
+
+	/**
+	 *  Re-fits all node bounds to the current positions of the boxes.
+	 */
+	private void refit(){
+		for(int node=nodeCount-1; node>=0; --node){
+			int boundsIndex = node*6;
+			if(nodeBoxCount[node] > 0){
+				nodeBounds[boundsIndex] = Double.MAX_VALUE;
+				nodeBounds[boundsIndex + 1] = Double.MAX_VALUE;
+				nodeBounds[boundsIndex + 2] = Double.MAX_VALUE;
+				nodeBounds[boundsIndex + 3] = -Double.MAX_VALUE;
+				nodeBounds[boundsIndex + 4] = -Double.MAX_VALUE;
+				nodeBounds[boundsIndex + 5] = -Double.MAX_VALUE;
+				for(int i=nodeFirstBox[node]; i<nodeFirstBox[node] + nodeBoxCount[node]; ++i){
+					BoundingBox box = boxes[i];
+					nodeBounds[boundsIndex] = Math.min(nodeBounds[boundsIndex], box.globalCenter.x - box.widthRadius);
+					nodeBounds[boundsIndex + 1] = Math.min(nodeBounds[boundsIndex + 1], box.globalCenter.y - box.heightRadius);
+					nodeBounds[boundsIndex + 2] = Math.min(nodeBounds[boundsIndex + 2], box.globalCenter.z - box.depthRadius);
+					nodeBounds[boundsIndex + 3] = Math.max(nodeBounds[boundsIndex + 3], box.globalCenter.x + box.widthRadius);
+					nodeBounds[boundsIndex + 4] = Math.max(nodeBounds[boundsIndex + 4], box.globalCenter.y + box.heightRadius);
+					nodeBounds[boundsIndex + 5] = Math.max(nodeBounds[boundsIndex + 5], box.globalCenter.z + box.depthRadius);
+				}
+			}else{
+				int leftIndex = nodeLeftChild[node]*6;
+				int rightIndex = nodeRightChild[node]*6;
+				for(int i=0; i<3; ++i){
+					nodeBounds[boundsIndex + i] = Math.min(nodeBounds[leftIndex + i], nodeBounds[rightIndex + i]);
+					nodeBounds[boundsIndex + i + 3] = Math.max(nodeBounds[leftIndex + i + 3], nodeBounds[rightIndex + i + 3]);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+
+/**Spatial index for entities in a world.  Entities are stored in every 16x16 block column their
+ * bounds overlap, so queries only need to look at the entities in the columns the query touches.
+ * This allows finding large entities, like vehicles, by any of their boxes without having to
+ * increase the search radius for every entity query in the world.  Entities should update their
+ * bounds every tick via {@link #update(AEntityBase, double, double)}.  Entities that stop updating
+ * (say, because their chunk unloaded) are treated as stale and won't be returned from queries.
+ *
+ * @author don_bruce
+ */
+public class EntityGrid{
+	private static final int STALE_TICKS = 2;
+
+	private final Map<Long, List<AEntityBase>> columns = new HashMap<Long, List<AEntityBase>>();
+	private final Map<AEntityBase, GridEntry> entries = new HashMap<AEntityBase, GridEntry>();
+	private final List<AEntityBase> staleEntities = new ArrayList<AEntityBase>();
+	private int queryID;
+
+	/**
+	 *  Updates the bounds of the passed-in entity in this grid, adding it if it isn't present.
+	 *  Bounds are centered on the entity's position, and are specified as radius values.
+	 */
+	public void update(AEntityBase entity, double widthRadius, double heightRadius){
+		GridEntry entry = entries.get(entity);
+		if(entry == null){
+			entry = new GridEntry();
+			entries.put(entity, entry);
+		}
+		entry.minX = entity.position.x - widthRadius;
+		entry.minY = entity.position.y - heightRadius;
+		entry.minZ = entity.position.z - widthRadius;
+		entry.maxX = entity.position.x + widthRadius;
+		entry.maxY = entity.position.y + heightRadius;
+		entry.maxZ = entity.position.z + widthRadius;
+		entry.lastUpdateTick = entity.world.getTick();
+
+		//Only re-bucket the entity if the columns it's in have changed.
+		int minColumnX = ((int) Math.floor(entry.minX)) >> 4;
+		int minColumnZ = ((int) Math.floor(entry.minZ)) >> 4;
+		int maxColumnX = ((int) Math.floor(entry.maxX)) >> 4;
+		int maxColumnZ = ((int) Math.floor(entry.maxZ)) >> 4;
+		if(!entry.inColumns || minColumnX != entry.minColumnX || minColumnZ != entry.minColumnZ || maxColumnX != entry.maxColumnX || maxColumnZ != entry.maxColumnZ){
+			removeFromColumns(entity, entry);
+			entry.minColumnX = minColumnX;
+			entry.minColumnZ = minColumnZ;
+			entry.maxColumnX = maxColumnX;
+			entry.maxColumnZ = maxColumnZ;
+			for(int i=minColumnX; i<=maxColumnX; ++i){
+				for(int j=minColumnZ; j<=maxColumnZ; ++j){
+					long key = getColumnKey(i, j);
+					List<AEntityBase> column = columns.get(key);
+					if(column == null){
+						column = new ArrayList<AEntityBase>();
+						columns.put(key, column);
+					}
+					column.add(entity);
+				}
+			}
+			entry.inColumns = true;
+		}
+	}
+
+	/**
+	 *  Removes the passed-in entity from this grid.
+	 */
+	public void remove(AEntityBase entity){
+		GridEntry entry = entries.remove(entity);
+		if(entry != null){
+			removeFromColumns(entity, entry);
+		}
+	}
+
+	/**
+	 *  Returns true if any entities are in the columns that the passed-in bounds touch.  This is
+	 *  much cheaper than a full query, so use it to skip queries that happen often but rarely find anything.
+	 */
+	public boolean hasEntitiesNear(double minX, double minZ, double maxX, double maxZ){
+		if(!columns.isEmpty()){
+			for(int i=((int) Math.floor(minX)) >> 4; i<=((int) Math.floor(maxX)) >> 4; ++i){
+				for(int j=((int) Math.floor(minZ)) >> 4; j<=((int) Math.floor(maxZ)) >> 4; ++j){
+					if(columns.containsKey(getColumnKey(i, j))){
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *  Returns all entities whose bounds intersect the passed-in box.
+	 */
+	public List<AEntityBase> getEntitiesWithin(BoundingBox box){
+		return getEntitiesWithin(box.globalCenter.x - box.widthRadius, box.globalCenter.y - box.heightRadius, box.globalCenter.z - box.depthRadius, box.globalCenter.x + box.widthRadius, box.globalCenter.y + box.heightRadius, box.globalCenter.z + box.depthRadius);
+	}
+
+	/**
+	 *  Returns all entities whose bounds intersect the passed-in bounds.
+	 */
+	public List<AEntityBase> getEntitiesWithin(double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		List<AEntityBase> foundEntities = new ArrayList<AEntityBase>();
+		if(entries.isEmpty()){
+			return foundEntities;
+		}
+
+		//Use a query ID to prevent returning entities that are in multiple columns more than once.
+		++queryID;
+		for(int i=((int) Math.floor(minX)) >> 4; i<=((int) Math.floor(maxX)) >> 4; ++i){
+			for(int j=((int) Math.floor(minZ)) >> 4; j<=((int) Math.floor(maxZ)) >> 4; ++j){
+				List<AEntityBase> column = columns.get(getColumnKey(i, j));
+				if(column != null){
+					for(AEntityBase entity : column){
+						GridEntry entry = entries.get(entity);
+						if(entry.lastQueryID != queryID){
+							entry.lastQueryID = queryID;
+							if(entity.world.getTick() - entry.lastUpdateTick > STALE_TICKS){
+								staleEntities.add(entity);
+							}else if(entry.maxX > minX && entry.minX < maxX && entry.maxY > minY && entry.minY < maxY && entry.maxZ > minZ && entry.minZ < maxZ){
+								foundEntities.add(entity);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		//Remove stale entities.  If they start updating again they'll be re-added.
+		if(!staleEntities.isEmpty()){
+			for(AEntityBase entity : staleEntities){
+				remove(entity);
+			}
+			staleEntities.clear();
+		}
+		return foundEntities;
+	}
+
+	private void removeFromColumns(AEntityBase entity, GridEntry entry){
+		if(entry.inColumns){
+			for(int i=entry.minColumnX; i<=entry.maxColumnX; ++i){
+				for(int j=entry.minColumnZ; j<=entry.maxColumnZ; ++j){
+					long key = getColumnKey(i, j);
+					List<AEntityBase> column = columns.get(key);
+					if(column != null){
+						column.remove(entity);
+						if(column.isEmpty()){
+							columns.remove(key);
+						}
+					}
+				}
+			}
+			entry.inColumns = false;
+		}
+	}
+
+	private static long getColumnKey(int columnX, int columnZ){
+		return ((long) columnX << 32) | (columnZ & 0xFFFFFFFFL);
+	}
+
+	private static class GridEntry{
+		private double minX;
+		private double minY;
+		private double minZ;
+		private double maxX;
+		private double maxY;
+		private double maxZ;
+		private int minColumnX;
+		private int minColumnZ;
+		private int maxColumnX;
+		private int maxColumnZ;
+		private boolean inColumns;
+		private long lastUpdateTick;
+		private int lastQueryID;
+	}
+}
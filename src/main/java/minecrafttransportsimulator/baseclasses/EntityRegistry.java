@@ -0,0 +1,101 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+
+/**Registry of all entities created in a world.  Entities are indexed by their lookupID
+ * for packet handling, and by their uniqueUUID for re-linking saved references to other
+ * entities.  It's possible for clients to have multiple identical entities, as mods like
+ * Optifine or The One Probe do janky hacks that create copies, so each index maps to a list.
+ * In nearly all cases these lists will only ever have one entity in them.
+ *
+ * @author don_bruce
+ */
+public class EntityRegistry{
+	private final List<AEntityBase> entities = new ArrayList<AEntityBase>();
+	private final Map<Integer, List<AEntityBase>> entitiesByLookupID = new HashMap<Integer, List<AEntityBase>>();
+	private final Map<String, List<AEntityBase>> entitiesByUUID = new HashMap<String, List<AEntityBase>>();
+
+	/**
+	 *  Adds the passed-in entity to this registry.  Called when the entity is created.
+	 */
+	public void add(AEntityBase entity){
+		entities.add(entity);
+		List<AEntityBase> lookupIDEntities = entitiesByLookupID.get(entity.lookupID);
+		if(lookupIDEntities == null){
+			lookupIDEntities = new ArrayList<AEntityBase>(1);
+			entitiesByLookupID.put(entity.lookupID, lookupIDEntities);
+		}
+		lookupIDEntities.add(entity);
+		List<AEntityBase> uuidEntities = entitiesByUUID.get(entity.uniqueUUID);
+		if(uuidEntities == null){
+			uuidEntities = new ArrayList<AEntityBase>(1);
+			entitiesByUUID.put(entity.uniqueUUID, uuidEntities);
+		}
+		uuidEntities.add(entity);
+	}
+
+	/**
+	 *  Removes the passed-in entity from this registry.  Called when the entity is removed from the world.
+	 */
+	public void remove(AEntityBase entity){
+		if(entities.remove(entity)){
+			List<AEntityBase> lookupIDEntities = entitiesByLookupID.get(entity.lookupID);
+			lookupIDEntities.remove(entity);
+			if(lookupIDEntities.isEmpty()){
+				entitiesByLookupID.remove(entity.lookupID);
+			}
+			List<AEntityBase> uuidEntities = entitiesByUUID.get(entity.uniqueUUID);
+			uuidEntities.remove(entity);
+			if(uuidEntities.isEmpty()){
+				entitiesByUUID.remove(entity.uniqueUUID);
+			}
+		}
+	}
+
+	/**
+	 *  Removes all entities from this registry.  Used when the world unloads.
+	 */
+	public void clear(){
+		entities.clear();
+		entitiesByLookupID.clear();
+		entitiesByUUID.clear();
+	}
+
+	/**
+	 *  Returns all entities in this registry.  This list should not be modified.
+	 */
+	public List<AEntityBase> getEntities(){
+		return Collections.unmodifiableList(entities);
+	}
+
+	/**
+	 *  Returns all entities with the passed-in lookupID.  This will normally be one entity,
+	 *  but may be more if copies of the entity were created.  This list should not be modified.
+	 */
+	public List<AEntityBase> getEntities(int lookupID){
+		List<AEntityBase> lookupIDEntities = entitiesByLookupID.get(lookupID);
+		return lookupIDEntities != null ? lookupIDEntities : Collections.<AEntityBase>emptyList();
+	}
+
+	/**
+	 *  Returns the entity with the passed-in lookupID, or null if there isn't one.
+	 */
+	public AEntityBase getEntity(int lookupID){
+		List<AEntityBase> lookupIDEntities = entitiesByLookupID.get(lookupID);
+		return lookupIDEntities != null ? lookupIDEntities.get(0) : null;
+	}
+
+	/**
+	 *  Returns the entity with the passed-in uniqueUUID, or null if there isn't one.
+	 */
+	public AEntityBase getEntity(String uniqueUUID){
+		List<AEntityBase> uuidEntities = entitiesByUUID.get(uniqueUUID);
+		return uuidEntities != null ? uuidEntities.get(0) : null;
+	}
+}
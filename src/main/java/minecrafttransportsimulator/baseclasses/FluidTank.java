@@ -3,11 +3,14 @@ package minecrafttransportsimulator.baseclasses;
 import java.util.HashMap;
 import java.util.Map;
 
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
+import minecrafttransportsimulator.mcinterface.WrapperWorld;
 import minecrafttransportsimulator.packets.components.InterfacePacket;
 import minecrafttransportsimulator.packets.instances.PacketFluidTankChange;
 import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumHand;
 import net.minecraftforge.fluids.FluidRegistry;
@@ -17,7 +20,8 @@ import net.minecraftforge.fluids.capability.IFluidHandlerItem;
 
 /**Basic fluid tanks class.  Class contains methods for filling and draining, as well as automatic
  * syncing of fluid levels across clients and servers.  This allows the tank to be put on any object
- * without the need to worry about packets getting out of whack.
+ * without the need to worry about packets getting out of whack.  Changes are only sent to clients that
+ * have the entity or tile entity the tank is on, as no other clients have the tank.
  *
  * @author don_bruce
  */
@@ -30,14 +34,35 @@ public class FluidTank{
 	public final int tankID;
 	private final int maxLevel;
 	private final boolean onClient;
+	private final WrapperWorld world;
+	private final AEntityBase entity;
+	private final Point3i position;
 	private String currentFluid;
 	private double fluidLevel;
 	private double fluidDispensed;
+	private IFluidTankListener listener;
 	
-	public FluidTank(WrapperNBT data, int maxLevel, boolean onClient){
+	/**
+	 *  Creates a tank on the passed-in entity.  Parts should pass in their vehicle.
+	 */
+	public FluidTank(WrapperNBT data, int maxLevel, AEntityBase entity){
+		this(data, maxLevel, entity.world, entity, null);
+	}
+	
+	/**
+	 *  Creates a tank on the passed-in tile entity.
+	 */
+	public FluidTank(WrapperNBT data, int maxLevel, ATileEntityBase<?> tile){
+		this(data, maxLevel, tile.world, null, tile.position);
+	}
+	
+	private FluidTank(WrapperNBT data, int maxLevel, WrapperWorld world, AEntityBase entity, Point3i position){
+		this.onClient = world.isClient();
 		this.tankID = onClient ? data.getInteger("tankID") : idCounter++;
 		this.maxLevel = maxLevel;
-		this.onClient = onClient;
+		this.world = world;
+		this.entity = entity;
+		this.position = position;
 		this.currentFluid = data.getString("currentFluid");
 		this.fluidLevel = data.getDouble("fluidLevel");
 		this.fluidDispensed = data.getDouble("fluidDispensed");
@@ -89,8 +114,18 @@ public class FluidTank{
 	 *  you don't want to sent packets or perform any validity checks.  Do NOT use for normal operations!
 	 */
 	public void manuallySet(String fluidName, double setLevel){
+		double levelDelta = setLevel - fluidLevel;
 		this.currentFluid = fluidName;
 		this.fluidLevel = setLevel;
+		notifyListener(levelDelta);
+	}
+	
+	/**
+	 *  Sets the listener for this tank.  The listener will be notified whenever the weight
+	 *  of the fluid in this tank changes.  Pass in null to remove the current listener.
+	 */
+	public void setListener(IFluidTankListener listener){
+		this.listener = listener;
 	}
 	
 	/**
@@ -110,9 +145,10 @@ public class FluidTank{
 				if(currentFluid.isEmpty()){
 					currentFluid = fluid;
 				}
+				notifyListener(maxAmount);
 				//Send off packet now that we know what fluid we will have on this tank.
 				if(!onClient){
-					InterfacePacket.sendToAllClients(new PacketFluidTankChange(this, maxAmount));
+					sendToClients(new PacketFluidTankChange(this, maxAmount));
 				}
 			}
 			return maxAmount;
@@ -136,13 +172,14 @@ public class FluidTank{
 			if(doDrain){
 				//Need to send off packet before we remove fluid due to empty tank.
 				if(!onClient){
-					InterfacePacket.sendToAllClients(new PacketFluidTankChange(this, -maxAmount));
+					sendToClients(new PacketFluidTankChange(this, -maxAmount));
 				}
 				fluidLevel -= maxAmount;
 				fluidDispensed += maxAmount;
 				if(fluidLevel == 0){
 					currentFluid = "";
 				}
+				notifyListener(-maxAmount);
 			}
 			return maxAmount;
 		}else{
@@ -211,6 +248,26 @@ public class FluidTank{
 		return fluidLevel/50D;
 	}
 	
+	/**
+	 *  Helper method to tell the listener, if we have one, about a change in fluid level.
+	 */
+	private void notifyListener(double levelDelta){
+		if(listener != null && levelDelta != 0){
+			listener.onTankWeightChanged(this, levelDelta/50D);
+		}
+	}
+	
+	/**
+	 *  Helper method to send the passed-in packet to the clients that have this tank.
+	 */
+	private void sendToClients(PacketFluidTankChange packet){
+		if(entity != null){
+			InterfacePacket.sendToClientsTracking(packet, entity);
+		}else{
+			InterfacePacket.sendToClientsWatching(packet, world, position);
+		}
+	}
+	
 	/**
 	 *  Saves tank data to the passed-in NBT.
 	 */
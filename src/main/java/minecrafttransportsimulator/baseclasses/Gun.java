@@ -323,7 +323,7 @@ public class Gun implements IParticleProvider, ISoundProviderComplex{
 					if(provider.getProviderWorld().isClient()){
 						InterfaceSound.playQuickSound(new SoundInstance(provider, definition.packID + ":" + definition.systemName + "_reloading"));
 					}else{
-						InterfacePacket.sendToAllClients(new PacketGunChange(this, loadedBullet));
+						InterfacePacket.sendToClientsTracking(new PacketGunChange(this, loadedBullet), provider.getProviderEntity());
 					}
 					return true;
 				}
@@ -0,0 +1,17 @@
+package minecrafttransportsimulator.baseclasses;
+
+/**Interface for objects that need to know when the contents of a {@link FluidTank} change.
+ * Set on a tank via {@link FluidTank#setListener(IFluidTankListener)}.  This lets things that
+ * depend on the tank, like the mass of the vehicle it's on, be adjusted when the tank changes
+ * rather than having to check the tank every tick.
+ *
+ * @author don_bruce
+ */
+public interface IFluidTankListener{
+	
+	/**
+	 *  Called when the weight of the fluid in the passed-in tank changes.  The weight
+	 *  delta is the difference between the new and old weights.
+	 */
+	public void onTankWeightChanged(FluidTank tank, double weightDelta);
+}
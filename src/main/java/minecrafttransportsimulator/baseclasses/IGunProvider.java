@@ -4,6 +4,7 @@ import minecrafttransportsimulator.items.instances.ItemPart;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.rendering.components.IParticleProvider;
 import minecrafttransportsimulator.sound.ISoundProviderComplex;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
 
 /**Interface that allows an object to provide and control a {@link Gun}.
  * This object may only have one gun on it, and should keep a reference
@@ -35,6 +36,12 @@ public interface IGunProvider extends ISoundProviderComplex, IParticleProvider{
 	 */
 	public WrapperEntity getController();
 	
+	/**
+	 *  Returns the entity the gun is on.  Gun changes are only sent
+	 *  to clients tracking this entity, as no other clients have the gun.
+	 */
+	public AEntityBase getProviderEntity();
+	
 	/**
 	 *  Returns true if the guns is currently active.
 	 *  Controller is passed-in for state-based activity.
@@ -0,0 +1,79 @@
+package minecrafttransportsimulator.baseclasses;
+
+/**Rotation matrix for a set of angles.  This is the same rotation as {@link Point3d#rotateFine(Point3d)},
+ * but the sin and cos calculations are only done when the angles change rather than on every rotation.
+ * This makes it ideal for things like entities, which rotate many points by the same angles every update.
+ * <br><br>
+ * The angles this orientation is for are the ones passed-in on construction.  These are the actual
+ * angles of the owner, not a copy, so this orientation will always match them.  Any time a point is rotated,
+ * the angles are checked against the angles used to create the matrix, and the matrix is re-calculated if they changed.
+ *
+ * @author don_bruce
+ */
+public class Orientation{
+	private final Point3d angles;
+	private boolean calculated;
+	private boolean isZero;
+	private double lastX;
+	private double lastY;
+	private double lastZ;
+
+	private double m00;
+	private double m01;
+	private double m02;
+	private double m10;
+	private double m11;
+	private double m12;
+	private double m20;
+	private double m21;
+	private double m22;
+
+	public Orientation(Point3d angles){
+		this.angles = angles;
+	}
+
+	/**
+	 * Rotates the passed-in point by this orientation.  The point is modified and returned for chaining.
+	 * Use {@link Point3d#rotate(Orientation)} for chaining with other point operations.
+	 */
+	public Point3d rotatePoint(Point3d point){
+		if(!calculated || angles.x != lastX || angles.y != lastY || angles.z != lastZ){
+			calculate();
+		}
+		if(!isZero){
+			point.set(	point.x*m00 + point.y*m01 + point.z*m02,
+						point.x*m10 + point.y*m11 + point.z*m12,
+						point.x*m20 + point.y*m21 + point.z*m22
+			);
+		}
+		return point;
+	}
+
+	/**
+	 * Re-calculates the matrix for the current angles.  Matrix terms are the same as in {@link Point3d#rotateFine(Point3d)}.
+	 */
+	private void calculate(){
+		lastX = angles.x;
+		lastY = angles.y;
+		lastZ = angles.z;
+		calculated = true;
+		isZero = angles.isZero();
+		if(!isZero){
+			double cosX = Math.cos(Math.toRadians(angles.x));//A
+			double sinX = Math.sin(Math.toRadians(angles.x));//B
+			double cosY = Math.cos(Math.toRadians(angles.y));//C
+			double sinY = Math.sin(Math.toRadians(angles.y));//D
+			double cosZ = Math.cos(Math.toRadians(angles.z));//E
+			double sinZ = Math.sin(Math.toRadians(angles.z));//F
+			m00 = cosY*cosZ-sinX*-sinY*sinZ;
+			m01 = -sinX*-sinY*cosZ-cosY*sinZ;
+			m02 = -cosX*-sinY;
+			m10 = cosX*sinZ;
+			m11 = cosX*cosZ;
+			m12 = -sinX;
+			m20 = -sinY*cosZ+sinX*cosY*sinZ;
+			m21 = sinX*cosY*cosZ+sinY*sinZ;
+			m22 = cosX*cosY;
+		}
+	}
+}
@@ -347,6 +347,14 @@ public class Point3d{
 		return this;
 	}
 	
+	/**
+     * Rotates this point by the passed-in orientation.  This is the same as {@link #rotateFine(Point3d)}
+     * with the orientation's angles, but is faster for multiple rotations with the same angles.
+     */
+	public Point3d rotate(Orientation orientation){
+		return orientation.rotatePoint(this);
+	}
+	
 	/**
      * Rotates this point about the passed-in angle on the Y-axis.  Useful for single-plane rotations,
      * as the Y=axis is also the first rotation to be performed on a point in all systems.
@@ -65,6 +65,18 @@ public class Point3i{
 		return this;
 	}
 	
+	/**
+	 * Sets the value of the point to the values of the passed-in double point, casting them down to ints.
+	 * Like the casting constructor, but allows re-using this point rather than making a new one.
+	 * Returns the called object for nested operations.
+	 */
+	public Point3i setTo(Point3d point){
+		this.x = (int) point.x;
+		this.y = (int) point.y;
+		this.z = (int) point.z;
+		return this;
+	}
+	
 	/**
 	 * Adds the passed-in values to the point.
 	 * Returns the called object for nested operations.
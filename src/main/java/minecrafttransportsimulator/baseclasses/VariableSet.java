@@ -0,0 +1,306 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import minecrafttransportsimulator.rendering.components.LightType;
+
+/**Set of variables that are "on" for something, such as lights and doors.  Rather than storing
+ * variable names directly, every variable name is given an integer ID by a global registry, and
+ * this set stores which IDs are on in a bitset.  Code that checks variables often, like rendering,
+ * should get the ID of a variable once via {@link #getVariableID(String)} and use the ID-based methods.
+ * The String-based methods of the {@link java.util.Set} interface all work as well, for everything else.
+ * <br><br>
+ * Variable IDs may differ between the client and server, as variables not known ahead of time are given IDs
+ * as they are first seen.  The exception to this is variables that are registered when packs are loaded via
+ * {@link #registerPackVariables(Collection)}.  These are the names of all {@link LightType}s, followed by the
+ * names of all doors and custom variables in vehicle and part definitions.  They are registered in a fixed order,
+ * so they have the same IDs on both sides as long as both have the same packs.  Any other variables, such as ones
+ * set by animations or added to vehicles by other mods, aren't pack variables and have to be sent by name.
+ * <br><br>
+ * Clients check that they have the same pack variables as the server when they join a world.  If they don't, the
+ * server sends its pack variables, and clients map the server's IDs to their own with {@link #setServerPackVariables(List)}.
+ * Use {@link #getNetworkID(int)} to get the ID to send for a variable, and {@link #getVariableIDFromNetwork(int)}
+ * to get the ID of a variable that was sent.
+ *
+ * @author don_bruce
+ */
+public class VariableSet extends AbstractSet<String>{
+	private static final Map<String, Integer> variableIDs = new ConcurrentHashMap<String, Integer>();
+	private static final List<String> variableNames = new CopyOnWriteArrayList<String>();
+	private static int packVariableCount;
+	private static int packVariableHash;
+	/**Our IDs for the pack variables of the server we are connected to, indexed by the server's IDs.  Null if they are the same as ours.**/
+	private static volatile int[] serverToLocalIDs;
+	/**The server's IDs for its pack variables, keyed by our IDs.  Null if they are the same as ours.**/
+	private static volatile Map<Integer, Integer> localToServerIDs;
+
+	private final BitSet variables = new BitSet();
+
+	/**
+	 *  Returns the ID for the passed-in variable name.  If the variable doesn't have an ID yet, one is assigned.
+	 */
+	public static int getVariableID(String variable){
+		Integer variableID = variableIDs.get(variable);
+		return variableID != null ? variableID : registerVariable(variable);
+	}
+
+	/**
+	 *  Returns the ID for the passed-in variable name, or -1 if the variable doesn't have an ID.
+	 *  Unlike {@link #getVariableID(String)}, this never registers the variable, so use it for
+	 *  names that come from clients to keep them from adding to the registry.
+	 */
+	public static int getExistingVariableID(String variable){
+		Integer variableID = variableIDs.get(variable);
+		return variableID != null ? variableID : -1;
+	}
+
+	/**
+	 *  Returns the name of the variable with the passed-in ID.
+	 */
+	public static String getVariableName(int variableID){
+		return variableNames.get(variableID);
+	}
+
+	/**
+	 *  Returns true if the passed-in variable ID was registered when packs were loaded.
+	 *  Only these IDs are guaranteed to be the same on clients and servers.
+	 */
+	public static boolean isPackVariable(int variableID){
+		return variableID >= 0 && variableID < packVariableCount;
+	}
+
+	/**
+	 *  Returns the number of pack variables.
+	 */
+	public static int getPackVariableCount(){
+		return packVariableCount;
+	}
+
+	/**
+	 *  Returns a hash of the names of all pack variables, in order.  Used with the count to check
+	 *  if clients and servers have the same pack variables.
+	 */
+	public static int getPackVariableHash(){
+		return packVariableHash;
+	}
+
+	/**
+	 *  Returns the names of all pack variables, in order.
+	 */
+	public static List<String> getPackVariables(){
+		return new ArrayList<String>(variableNames.subList(0, packVariableCount));
+	}
+
+	/**
+	 *  Sets the pack variables of the server we are connected to, in the server's order.  IDs sent by the server
+	 *  are mapped to ours, and the IDs of variables we send are mapped to the server's.  Pass in null if the server
+	 *  has the same pack variables as us, which removes any mapping from a prior server.  This is only called on clients.
+	 */
+	public static void setServerPackVariables(List<String> serverVariables){
+		if(serverVariables != null){
+			int[] newServerToLocalIDs = new int[serverVariables.size()];
+			Map<Integer, Integer> newLocalToServerIDs = new HashMap<Integer, Integer>();
+			for(int i=0; i<serverVariables.size(); ++i){
+				newServerToLocalIDs[i] = getVariableID(serverVariables.get(i));
+				newLocalToServerIDs.put(newServerToLocalIDs[i], i);
+			}
+			serverToLocalIDs = newServerToLocalIDs;
+			localToServerIDs = newLocalToServerIDs;
+		}else{
+			serverToLocalIDs = null;
+			localToServerIDs = null;
+		}
+	}
+
+	/**
+	 *  Returns the ID to send over the network for the variable with the passed-in ID.  Returns -1 if the
+	 *  variable isn't a pack variable on the other side, in which case it needs to be sent by name.
+	 */
+	public static int getNetworkID(int variableID){
+		Map<Integer, Integer> serverIDs = localToServerIDs;
+		if(serverIDs != null){
+			Integer serverID = serverIDs.get(variableID);
+			return serverID != null ? serverID : -1;
+		}else{
+			return isPackVariable(variableID) ? variableID : -1;
+		}
+	}
+
+	/**
+	 *  Returns our ID for the variable with the passed-in ID that was sent over the network.
+	 *  Returns -1 if the sent ID isn't the ID of a pack variable, as only those are sent as IDs.
+	 */
+	public static int getVariableIDFromNetwork(int networkID){
+		int[] localIDs = serverToLocalIDs;
+		if(localIDs != null){
+			return networkID >= 0 && networkID < localIDs.length ? localIDs[networkID] : -1;
+		}else{
+			return isPackVariable(networkID) ? networkID : -1;
+		}
+	}
+
+	/**
+	 *  Registers the passed-in variables as pack variables.  This should be called once all packs are loaded.
+	 *  Light variables are always registered first, as {@link LightType} registers them when it is loaded.
+	 *  The passed-in variables follow in alphabetical order.  If any other variables were registered before
+	 *  this call, then IDs can't be guaranteed to match across clients and servers, so the variables are
+	 *  registered as normal variables instead.
+	 */
+	public static synchronized void registerPackVariables(Collection<String> variables){
+		//Make sure the light variables are registered before checking what's registered.
+		//Nothing may have used LightType before packs are loaded.
+		int lightCount = LightType.values().length;
+		boolean canBePackVariables = packVariableCount == 0 && variableNames.size() == lightCount;
+		List<String> sortedVariables = new ArrayList<String>(variables);
+		sortedVariables.sort(null);
+		for(String variable : sortedVariables){
+			getVariableID(variable);
+		}
+		if(canBePackVariables){
+			packVariableCount = variableNames.size();
+			packVariableHash = variableNames.subList(0, packVariableCount).hashCode();
+		}
+	}
+
+	private static synchronized int registerVariable(String variable){
+		//Need to check again in case another thread registered this variable while we were waiting.
+		Integer variableID = variableIDs.get(variable);
+		if(variableID == null){
+			variableID = variableNames.size();
+			variableNames.add(variable);
+			variableIDs.put(variable, variableID);
+		}
+		return variableID;
+	}
+
+	/**
+	 *  Returns true if the variable with the passed-in ID is on.
+	 */
+	public boolean contains(int variableID){
+		return variables.get(variableID);
+	}
+
+	/**
+	 *  Turns on the variable with the passed-in ID.  Returns true if it wasn't already on.
+	 */
+	public boolean add(int variableID){
+		if(!variables.get(variableID)){
+			variables.set(variableID);
+			return true;
+		}else{
+			return false;
+		}
+	}
+
+	/**
+	 *  Turns off the variable with the passed-in ID.  Returns true if it was on.
+	 */
+	public boolean remove(int variableID){
+		if(variables.get(variableID)){
+			variables.clear(variableID);
+			return true;
+		}else{
+			return false;
+		}
+	}
+
+	/**
+	 *  Toggles the variable with the passed-in ID.
+	 */
+	public void toggle(int variableID){
+		variables.flip(variableID);
+	}
+
+	@Override
+	public boolean contains(Object object){
+		if(object instanceof String){
+			Integer variableID = variableIDs.get(object);
+			return variableID != null && variables.get(variableID);
+		}else{
+			return false;
+		}
+	}
+
+	@Override
+	public boolean add(String variable){
+		return add(getVariableID(variable));
+	}
+
+	@Override
+	public boolean remove(Object object){
+		if(object instanceof String){
+			Integer variableID = variableIDs.get(object);
+			return variableID != null && remove(variableID.intValue());
+		}else{
+			return false;
+		}
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends String> collection){
+		if(collection instanceof VariableSet){
+			int priorSize = size();
+			variables.or(((VariableSet) collection).variables);
+			return size() != priorSize;
+		}else{
+			return super.addAll(collection);
+		}
+	}
+
+	@Override
+	public void clear(){
+		variables.clear();
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return variables.isEmpty();
+	}
+
+	@Override
+	public int size(){
+		return variables.cardinality();
+	}
+
+	@Override
+	public Iterator<String> iterator(){
+		return new Iterator<String>(){
+			private int currentID = -1;
+			private int nextID = variables.nextSetBit(0);
+
+			@Override
+			public boolean hasNext(){
+				return nextID != -1;
+			}
+
+			@Override
+			public String next(){
+				if(nextID == -1){
+					throw new NoSuchElementException();
+				}
+				currentID = nextID;
+				nextID = variables.nextSetBit(currentID + 1);
+				return getVariableName(currentID);
+			}
+
+			@Override
+			public void remove(){
+				if(currentID == -1){
+					throw new IllegalStateException();
+				}
+				variables.clear(currentID);
+				currentID = -1;
+			}
+		};
+	}
+}
@@ -25,6 +25,11 @@ public class VehicleGroundDeviceBox{
 	private final List<BoundingBox> liquidCollisionBoxes = new ArrayList<BoundingBox>();
 	private final List<PartGroundDevice> groundDevices = new ArrayList<PartGroundDevice>();
 	private final List<PartGroundDevice> liquidDevices = new ArrayList<PartGroundDevice>();
+	/**Angles the vehicle will be at once its rotation is applied.  Boxes are checked at these angles.**/
+	private final Point3d predictedAngles = new Point3d();
+	private final Orientation predictedOrientation = new Orientation(predictedAngles);
+	private final Point3d vehicleMotionOffset = new Point3d();
+	private final Point3d groundCollisionOffset = new Point3d();
 	
 	public boolean isCollided;
 	public boolean isCollidedLiquid;
@@ -170,10 +175,11 @@ public class VehicleGroundDeviceBox{
 		isGrounded = false;
 		isAbleToDoGroundOperations = false;
 		collisionDepth = 0;
-		Point3d vehicleMotionOffset = vehicle.motion.copy().multiply(EntityVehicleF_Physics.SPEED_FACTOR);
-		Point3d groundCollisionOffset = vehicleMotionOffset.copy().add(PartGroundDevice.groundDetectionOffset);
+		vehicleMotionOffset.setTo(vehicle.motion).multiply(EntityVehicleF_Physics.SPEED_FACTOR);
+		groundCollisionOffset.setTo(vehicleMotionOffset).add(PartGroundDevice.groundDetectionOffset);
+		predictedAngles.setTo(vehicle.angles).add(vehicle.rotation);
 		if(!groundDevices.isEmpty()){
-			solidBox.globalCenter.setTo(solidBox.localCenter).rotateFine(vehicle.angles.copy().add(vehicle.rotation)).add(vehicle.position).add(vehicleMotionOffset);
+			solidBox.globalCenter.setTo(solidBox.localCenter).rotate(predictedOrientation).add(vehicle.position).add(vehicleMotionOffset);
 			vehicle.world.updateBoundingBoxCollisions(solidBox, vehicleMotionOffset, false);
 			isCollided = !solidBox.collidingBlockPositions.isEmpty();
 			collisionDepth = solidBox.currentCollisionDepth.y;
@@ -191,7 +197,7 @@ public class VehicleGroundDeviceBox{
 			if(isCollided || isGrounded){
 				isAbleToDoGroundOperations = true;
 			}else{
-				groundCollisionOffset = vehicleMotionOffset.copy().add(PartGroundDevice.groundOperationOffset);
+				groundCollisionOffset.setTo(vehicleMotionOffset).add(PartGroundDevice.groundOperationOffset);
 				solidBox.globalCenter.add(PartGroundDevice.groundOperationOffset);
 				vehicle.world.updateBoundingBoxCollisions(solidBox, groundCollisionOffset, false);
 				solidBox.globalCenter.subtract(PartGroundDevice.groundOperationOffset);
@@ -200,7 +206,7 @@ public class VehicleGroundDeviceBox{
 		}
 		
 		if(!liquidDevices.isEmpty() || !liquidCollisionBoxes.isEmpty()){
-			liquidBox.globalCenter.setTo(liquidBox.localCenter).rotateFine(vehicle.angles.copy().add(vehicle.rotation)).add(vehicle.position).add(vehicleMotionOffset);
+			liquidBox.globalCenter.setTo(liquidBox.localCenter).rotate(predictedOrientation).add(vehicle.position).add(vehicleMotionOffset);
 			vehicle.world.updateBoundingBoxCollisions(liquidBox, vehicleMotionOffset, false);
 			isCollidedLiquid = !liquidBox.collidingBlockPositions.isEmpty();
 			double liquidCollisionDepth = liquidBox.currentCollisionDepth.y;
@@ -217,7 +223,7 @@ public class VehicleGroundDeviceBox{
 			if(isCollidedLiquid || isGroundedLiquid){
 				isAbleToDoGroundOperationsLiquid = true;
 			}else{
-				groundCollisionOffset = vehicleMotionOffset.copy().add(PartGroundDevice.groundOperationOffset);
+				groundCollisionOffset.setTo(vehicleMotionOffset).add(PartGroundDevice.groundOperationOffset);
 				liquidBox.globalCenter.add(PartGroundDevice.groundOperationOffset);
 				vehicle.world.updateBoundingBoxCollisions(liquidBox, groundCollisionOffset, false);
 				liquidBox.globalCenter.subtract(PartGroundDevice.groundOperationOffset);
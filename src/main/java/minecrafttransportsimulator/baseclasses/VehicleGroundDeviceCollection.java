@@ -20,6 +20,8 @@ public class VehicleGroundDeviceCollection{
 	private final VehicleGroundDeviceBox rearLeftGDB;
 	private final VehicleGroundDeviceBox rearRightGDB;
 	public final List<PartGroundDevice> groundedGroundDevices = new ArrayList<PartGroundDevice>();
+	private final Point3d frontContactPoint = new Point3d();
+	private final Point3d rearContactPoint = new Point3d();
 	
 	public VehicleGroundDeviceCollection(EntityVehicleF_Physics vehicle){
 		this.vehicle = vehicle;
@@ -146,6 +148,7 @@ public class VehicleGroundDeviceCollection{
 	 * This is based on the average of the contact points for the ground devices.
 	 * If there are no ground devices for the contact point, null is returned.
 	 * Note that this point is in the vehicle's local coordinates.
+	 * The returned point may be modified, but it is re-used on the next call, so do not keep reference to it.
 	 */
 	public Point3d getContactPoint(boolean front){
 		if(front){
@@ -153,13 +156,13 @@ public class VehicleGroundDeviceCollection{
 				if(frontRightGDB.contactPoint.isZero()){
 					return null;
 				}else{
-					return frontRightGDB.contactPoint.copy().add(PartGroundDevice.groundDetectionOffset);
+					return frontContactPoint.setTo(frontRightGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
 				}
 			}else{
 				if(frontRightGDB.contactPoint.isZero()){
-					return frontRightGDB.contactPoint.copy().add(PartGroundDevice.groundDetectionOffset);
+					return frontContactPoint.setTo(frontRightGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
 				}else{
-					return frontRightGDB.contactPoint.copy().subtract(frontLeftGDB.contactPoint).multiply(0.5).add(frontLeftGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
+					return frontContactPoint.setTo(frontRightGDB.contactPoint).subtract(frontLeftGDB.contactPoint).multiply(0.5).add(frontLeftGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
 				}
 			}
 		}else{
@@ -167,13 +170,13 @@ public class VehicleGroundDeviceCollection{
 				if(rearRightGDB.contactPoint.isZero()){
 					return null;
 				}else{
-					return rearRightGDB.contactPoint.copy().add(PartGroundDevice.groundDetectionOffset);
+					return rearContactPoint.setTo(rearRightGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
 				}
 			}else{
 				if(rearRightGDB.contactPoint.isZero()){
-					return rearRightGDB.contactPoint.copy().add(PartGroundDevice.groundDetectionOffset);
+					return rearContactPoint.setTo(rearRightGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
 				}else{
-					return rearRightGDB.contactPoint.copy().subtract(rearLeftGDB.contactPoint).multiply(0.5).add(rearLeftGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
+					return rearContactPoint.setTo(rearRightGDB.contactPoint).subtract(rearLeftGDB.contactPoint).multiply(0.5).add(rearLeftGDB.contactPoint).add(PartGroundDevice.groundDetectionOffset);
 				}
 			}
 		}
@@ -49,6 +49,13 @@ public abstract class ABlockBase{
 	 *  This is ONLY called on the server, so if you have data to sync, do it via packets. 
 	 */
 	public void onBroken(WrapperWorld world, Point3i location){}
+	
+	/**
+	 *  Called when a block next to this block changes.  This includes changes in redstone power,
+	 *  so blocks that respond to redstone should re-check it here rather than every tick.
+	 *  Note that this is called both on the server and on the client.
+	 */
+	public void onNeighborChanged(WrapperWorld world, Point3i location){}
 
 	/**
 	 *  Gets the current rotation of the block at the passed-in point.
@@ -20,6 +20,7 @@ public class BlockFluidLoader extends ABlockBaseDecor<TileEntityFluidLoader>{
 		if(!world.isClient()){
 			TileEntityFluidLoader loader = (TileEntityFluidLoader) world.getTileEntity(point);
 			loader.unloadMode = !loader.unloadMode;
+			world.tileEntityScheduler.wake(loader);
 			player.sendPacket(new PacketPlayerChatMessage(loader.unloadMode ? "interact.loader.unload" : "interact.loader.load"));
 		}
 		return true;
@@ -59,9 +59,10 @@ public class BlockFuelPump extends ABlockBaseDecor<TileEntityFuelPump>{
 			//We don't have a vehicle connected.  Try to connect one now.
     		if(pump.connectedVehicle == null){
     			//Get the closest vehicle within a 16-block radius.
+    			//Only check vehicles near us in the world's entity grid rather than all of them.
     			EntityVehicleF_Physics nearestVehicle = null;
     			double lowestDistance = 16D;
-    			for(AEntityBase entity : AEntityBase.createdServerEntities){
+    			for(AEntityBase entity : world.entityGrid.getEntitiesWithin(point.x - lowestDistance, point.y - lowestDistance, point.z - lowestDistance, point.x + lowestDistance, point.y + lowestDistance, point.z + lowestDistance)){
     				if(entity instanceof EntityVehicleF_Physics){
     					double entityDistance = entity.position.distanceTo(point);
     					if(entityDistance < lowestDistance){
@@ -91,8 +92,9 @@ public class BlockFuelPump extends ABlockBaseDecor<TileEntityFuelPump>{
     							if(ConfigSystem.configObject.fuel.fuels.get(part.definition.engine.fuelType).containsKey(tank.getFluid())){
     								pump.connectedVehicle = nearestVehicle;
     								pump.connectedVehicle.beingFueled = true;
+    								world.tileEntityScheduler.wake(pump);
     								tank.resetAmountDispensed();
-    								InterfacePacket.sendToAllClients(new PacketTileEntityFuelPumpConnection(pump, true));
+    								InterfacePacket.sendToClients(new PacketTileEntityFuelPumpConnection(pump, true));
     								player.sendPacket(new PacketPlayerChatMessage("interact.fuelpump.connect"));
     	    						return true;
     							}
@@ -105,7 +107,7 @@ public class BlockFuelPump extends ABlockBaseDecor<TileEntityFuelPump>{
     			}
     		}else{
     			//Connected vehicle exists, disconnect it.
-    			InterfacePacket.sendToAllClients(new PacketTileEntityFuelPumpConnection(pump, false));
+    			InterfacePacket.sendToClients(new PacketTileEntityFuelPumpConnection(pump, false));
     			pump.connectedVehicle.beingFueled = false;
     			pump.connectedVehicle = null;
     			player.sendPacket(new PacketPlayerChatMessage("interact.fuelpump.disconnect"));
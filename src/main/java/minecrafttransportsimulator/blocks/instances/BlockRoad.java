@@ -11,6 +11,8 @@ import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.packets.components.InterfacePacket;
+import minecrafttransportsimulator.packets.instances.PacketTileEntityRoadConnectionUpdate;
 
 public class BlockRoad extends ABlockBase implements IBlockTileEntity<TileEntityRoad>{
 	
@@ -47,8 +49,12 @@ public class BlockRoad extends ABlockBase implements IBlockTileEntity<TileEntity
 		if(road != null && road.isActive()){
 			//Set the TE to inactive and remove all road connections.
 			road.setActive(false);
+			PacketTileEntityRoadConnectionUpdate updatePacket = new PacketTileEntityRoadConnectionUpdate();
 			for(RoadLane lane : road.lanes){
-				lane.removeConnections();
+				lane.removeConnections(updatePacket);
+			}
+			if(updatePacket.hasUpdates()){
+				InterfacePacket.sendToClientsInWorld(updatePacket, world);
 			}
 			
 			//Now remove all collision blocks.
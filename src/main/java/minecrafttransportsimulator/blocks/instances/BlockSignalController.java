@@ -23,6 +23,14 @@ public class BlockSignalController extends ABlockBaseDecor<TileEntitySignalContr
 		return true;
 	}
 
+	@Override
+	public void onNeighborChanged(WrapperWorld world, Point3i location){
+		TileEntitySignalController controller = (TileEntitySignalController) world.getTileEntity(location);
+		if(controller != null){
+			controller.onRedstoneChanged();
+		}
+	}
+	
 	@Override
 	public TileEntitySignalController createTileEntity(WrapperWorld world, Point3i position, WrapperNBT data){
 		return new TileEntitySignalController(world, position, data);
@@ -72,6 +72,7 @@ public abstract class ATileEntityBase<JSONDefinition extends AJSONItem<?>>{
 	
 	/**
 	 *  Called when this TileEntity is removed from the world.
+	 *  This happens both when the TE is broken and when its chunk unloads.
 	 */
 	public void remove(){}
 	
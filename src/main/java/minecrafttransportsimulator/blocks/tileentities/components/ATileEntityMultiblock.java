@@ -106,12 +106,12 @@ public abstract class ATileEntityMultiblock<JSONDefinition extends AJSONMultbloc
 			}
 			collidingBlockOffsets.clear();
 			setActive(true);
-			InterfacePacket.sendToAllClients(new PacketTileEntityMultiblockCollisionUpdate(this));
+			InterfacePacket.sendToClients(new PacketTileEntityMultiblockCollisionUpdate(this));
 			return true;
 		}else{
 			collisionBlockOffsets.clear();
 			player.sendPacket(new PacketPlayerChatMessage("interact.roadcomponent.blockingblocks"));
-			InterfacePacket.sendToAllClients(new PacketTileEntityMultiblockCollisionUpdate(this));
+			InterfacePacket.sendToClients(new PacketTileEntityMultiblockCollisionUpdate(this));
 			return false;
 		}
 	}
@@ -1,9 +1,7 @@
 package minecrafttransportsimulator.blocks.tileentities.components;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityPole;
 import minecrafttransportsimulator.items.instances.ItemPoleComponent;
 import minecrafttransportsimulator.jsondefs.JSONPoleComponent;
@@ -19,7 +17,7 @@ import minecrafttransportsimulator.systems.PackParserSystem;
 public abstract class ATileEntityPole_Component implements IAnimationProvider{
 	public final TileEntityPole core;
 	public final JSONPoleComponent definition;
-	public final Set<String> activeVariables = new HashSet<String>();
+	public final VariableSet activeVariables = new VariableSet();
 	public String currentSubName;
 	
 	private static final AnimationsPole animator = new AnimationsPole();
@@ -65,7 +63,7 @@ public abstract class ATileEntityPole_Component implements IAnimationProvider{
 	}
 	
 	@Override
-	public Set<String> getActiveVariables(){
+	public VariableSet getActiveVariables(){
 		return activeVariables;
 	}
 }
@@ -1,12 +1,17 @@
 package minecrafttransportsimulator.blocks.tileentities.components;
 
-/**Interface that allows the Tile Entity to be updated every tick.
+/**Interface that allows the Tile Entity to be updated.  Updates are run by the world's
+ * {@link TileEntityScheduler}, so Tile Entities are only updated when they need to be.
  *
  * @author don_bruce
  */
 public interface ITileEntityTickable{
+	/**Return value for {@link #update()} to not update again until woken by {@link TileEntityScheduler#wake(ITileEntityTickable)}.**/
+	public static final int UPDATE_ON_WAKE = 0;
+
 	/**
-	 *  Called every tick for updates.
+	 *  Called for updates.  Returns the number of ticks until this method should be called again.
+	 *  Return 1 to be updated every tick, or {@link #UPDATE_ON_WAKE} to wait to be woken.
 	 */
-	public void update();
+	public int update();
 }
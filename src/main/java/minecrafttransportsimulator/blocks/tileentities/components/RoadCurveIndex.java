@@ -0,0 +1,261 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.BezierCurve;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
+
+/**Spatial index for the lane curves of all roads in a world.  Curves are split into 1-block segments,
+ * and each segment is stored in every 16x16 block column its bounds overlap.  This allows vehicles to
+ * find the lane they are on by checking only the few segments around them, rather than walking every
+ * point of every curve on the road they happen to be on top of.  Roads add their lanes to this index
+ * once they are created, and remove them when the road is removed from the world.
+ * <br><br>
+ * The start and end points of all curves are also hashed by their block position.  This lets lanes
+ * find the curves they connect to by checking the few points in the blocks around their own end points,
+ * rather than probing the world for road blocks and checking every curve of every road found.
+ *
+ * @author don_bruce
+ */
+public class RoadCurveIndex{
+	/**How far a point can be from a curve and still be considered on it.**/
+	private static final double MAX_CURVE_DISTANCE = 1.0;
+	/**How far off a vehicle's yaw can be from a curve and still be considered following it.**/
+	private static final double MAX_YAW_DELTA = 10;
+
+	private final Map<Long, List<CurveSegment>> columns = new HashMap<Long, List<CurveSegment>>();
+	private final Map<TileEntityRoad, List<CurveSegment>> roadSegments = new HashMap<TileEntityRoad, List<CurveSegment>>();
+	private final Map<Long, List<CurveEndPoint>> endPointCells = new HashMap<Long, List<CurveEndPoint>>();
+	private final Map<TileEntityRoad, List<CurveEndPoint>> roadEndPoints = new HashMap<TileEntityRoad, List<CurveEndPoint>>();
+	private final Point3d testPoint = new Point3d();
+	private final Point3d curvePoint = new Point3d();
+	private final Point3d curveRotation = new Point3d();
+
+	/**
+	 *  Adds all lane curves of the passed-in road to this index.  If the road is already
+	 *  in the index, its old segments are replaced.
+	 */
+	public void addRoad(TileEntityRoad road){
+		removeRoad(road);
+		List<CurveSegment> segments = new ArrayList<CurveSegment>();
+		List<CurveEndPoint> endPoints = new ArrayList<CurveEndPoint>();
+		for(RoadLane lane : road.lanes){
+			for(BezierCurve curve : lane.curves){
+				endPoints.add(new CurveEndPoint(lane, curve, true));
+				endPoints.add(new CurveEndPoint(lane, curve, false));
+				for(float f=0; f<curve.pathLength; ++f){
+					CurveSegment segment = new CurveSegment(lane, curve, f, Math.min(f + 1, curve.pathLength));
+					segments.add(segment);
+					for(int i=((int) Math.floor(segment.minX)) >> 4; i<=((int) Math.floor(segment.maxX)) >> 4; ++i){
+						for(int j=((int) Math.floor(segment.minZ)) >> 4; j<=((int) Math.floor(segment.maxZ)) >> 4; ++j){
+							long key = getColumnKey(i, j);
+							List<CurveSegment> column = columns.get(key);
+							if(column == null){
+								column = new ArrayList<CurveSegment>();
+								columns.put(key, column);
+							}
+							column.add(segment);
+						}
+					}
+				}
+			}
+		}
+		roadSegments.put(road, segments);
+		for(CurveEndPoint endPoint : endPoints){
+			long key = getCellKey(endPoint.position.x, endPoint.position.y, endPoint.position.z);
+			List<CurveEndPoint> cell = endPointCells.get(key);
+			if(cell == null){
+				cell = new ArrayList<CurveEndPoint>();
+				endPointCells.put(key, cell);
+			}
+			cell.add(endPoint);
+		}
+		roadEndPoints.put(road, endPoints);
+	}
+
+	/**
+	 *  Removes all lane curves of the passed-in road from this index.
+	 */
+	public void removeRoad(TileEntityRoad road){
+		List<CurveSegment> segments = roadSegments.remove(road);
+		if(segments != null){
+			for(CurveSegment segment : segments){
+				for(int i=((int) Math.floor(segment.minX)) >> 4; i<=((int) Math.floor(segment.maxX)) >> 4; ++i){
+					for(int j=((int) Math.floor(segment.minZ)) >> 4; j<=((int) Math.floor(segment.maxZ)) >> 4; ++j){
+						long key = getColumnKey(i, j);
+						List<CurveSegment> column = columns.get(key);
+						if(column != null){
+							column.remove(segment);
+							if(column.isEmpty()){
+								columns.remove(key);
+							}
+						}
+					}
+				}
+			}
+		}
+		List<CurveEndPoint> endPoints = roadEndPoints.remove(road);
+		if(endPoints != null){
+			for(CurveEndPoint endPoint : endPoints){
+				long key = getCellKey(endPoint.position.x, endPoint.position.y, endPoint.position.z);
+				List<CurveEndPoint> cell = endPointCells.get(key);
+				if(cell != null){
+					cell.remove(endPoint);
+					if(cell.isEmpty()){
+						endPointCells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Adds all curve end points that could connect to the passed-in end point to the passed-in list.
+	 *  An end point can connect if it is within the passed-in distance of the position, is on a different
+	 *  active road, and faces the opposite way of the passed-in angle.  Curve angles point into the curve
+	 *  at both ends, so two connecting curves will always have angles that are more than 90 degrees apart.
+	 */
+	public void getConnectableEndPoints(TileEntityRoad road, Point3d position, float angle, double maxDistance, List<CurveEndPoint> endPointsFound){
+		for(int i=(int) Math.floor(position.x - maxDistance); i<=(int) Math.floor(position.x + maxDistance); ++i){
+			for(int j=(int) Math.floor(position.y - maxDistance); j<=(int) Math.floor(position.y + maxDistance); ++j){
+				for(int k=(int) Math.floor(position.z - maxDistance); k<=(int) Math.floor(position.z + maxDistance); ++k){
+					List<CurveEndPoint> cell = endPointCells.get(getCellKey(i, j, k));
+					if(cell != null){
+						for(CurveEndPoint endPoint : cell){
+							if(!endPoint.lane.road.equals(road) && endPoint.lane.road.isActive() && endPoint.position.distanceTo(position) < maxDistance){
+								float angleDelta = endPoint.angle - angle;
+								while(angleDelta > 180){angleDelta -= 360;}
+								while(angleDelta < -180){angleDelta += 360;}
+								if(Math.abs(angleDelta) > 90){
+									endPointsFound.add(endPoint);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Returns a following state for the lane curve closest to the passed-in position, or null if there
+	 *  are no curves close enough.  Curves are only considered if they are going the same, or opposite,
+	 *  direction as the passed-in yaw.  The returned state will be on the point of the curve closest to
+	 *  the position, and will be going forwards if the yaw matches the curve's direction.
+	 */
+	public RoadFollowingState getFollowingState(Point3d position, double yaw){
+		List<CurveSegment> column = columns.get(getColumnKey(((int) Math.floor(position.x)) >> 4, ((int) Math.floor(position.z)) >> 4));
+		if(column != null){
+			CurveSegment closestSegment = null;
+			float closestSegmentPoint = 0;
+			double closestDistance = MAX_CURVE_DISTANCE;
+			boolean closestSameDirection = false;
+			for(CurveSegment segment : column){
+				if(segment.isPointInBounds(position) && segment.lane.road.isActive()){
+					//Curves are relative to their road, so make the point relative as well.
+					testPoint.setTo(position).subtract(segment.lane.road.position);
+					float segmentPoint = segment.curve.getClosestSegmentPoint(testPoint, segment.startSegmentPoint, segment.endSegmentPoint);
+					segment.curve.setPointToPositionAt(curvePoint, segmentPoint);
+					double distance = curvePoint.distanceTo(testPoint);
+					if(distance < closestDistance){
+						segment.curve.setPointToRotationAt(curveRotation, segmentPoint);
+						double yawDelta = Math.abs(curveRotation.getClampedYDelta(yaw));
+						if(yawDelta < MAX_YAW_DELTA || yawDelta > 180 - MAX_YAW_DELTA){
+							closestSegment = segment;
+							closestSegmentPoint = segmentPoint;
+							closestDistance = distance;
+							closestSameDirection = yawDelta < MAX_YAW_DELTA;
+						}
+					}
+				}
+			}
+			if(closestSegment != null){
+				return new RoadFollowingState(closestSegment.lane, closestSegment.curve, closestSameDirection, closestSegmentPoint);
+			}
+		}
+		return null;
+	}
+
+	private static long getColumnKey(int columnX, int columnZ){
+		return ((long) columnX << 32) | (columnZ & 0xFFFFFFFFL);
+	}
+
+	private static long getCellKey(double x, double y, double z){
+		return getCellKey((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+	}
+
+	private static long getCellKey(int cellX, int cellY, int cellZ){
+		return ((long) (cellX & 0x3FFFFFF) << 38) | ((long) (cellY & 0xFFF) << 26) | (cellZ & 0x3FFFFFF);
+	}
+
+	/**
+	 *  The start or end point of a lane curve.  Position is in world coordinates,
+	 *  and the angle is the angle of the curve at that point.
+	 */
+	public static class CurveEndPoint{
+		public final RoadLane lane;
+		public final BezierCurve curve;
+		public final boolean isStart;
+		public final Point3d position;
+		public final float angle;
+
+		private CurveEndPoint(RoadLane lane, BezierCurve curve, boolean isStart){
+			this.lane = lane;
+			this.curve = curve;
+			this.isStart = isStart;
+			this.position = (isStart ? curve.startPos : curve.endPos).copy().add(lane.road.position);
+			this.angle = isStart ? curve.startAngle : curve.endAngle;
+		}
+	}
+
+	/**
+	 *  A 1-block section of a lane curve.  Bounds are in world coordinates, and are
+	 *  expanded by the max curve distance so points near the curve are inside them.
+	 */
+	private static class CurveSegment{
+		private final RoadLane lane;
+		private final BezierCurve curve;
+		private final float startSegmentPoint;
+		private final float endSegmentPoint;
+		private double minX = Double.MAX_VALUE;
+		private double minY = Double.MAX_VALUE;
+		private double minZ = Double.MAX_VALUE;
+		private double maxX = -Double.MAX_VALUE;
+		private double maxY = -Double.MAX_VALUE;
+		private double maxZ = -Double.MAX_VALUE;
+
+		private CurveSegment(RoadLane lane, BezierCurve curve, float startSegmentPoint, float endSegmentPoint){
+			this.lane = lane;
+			this.curve = curve;
+			this.startSegmentPoint = startSegmentPoint;
+			this.endSegmentPoint = endSegmentPoint;
+
+			//Check all cached points in this segment to get the bounds.
+			Point3d point = new Point3d();
+			for(float f=startSegmentPoint; f<endSegmentPoint + 1F/BezierCurve.CURVE_STEP; f+=1F/BezierCurve.CURVE_STEP){
+				curve.setPointToPositionAt(point, Math.min(f, endSegmentPoint));
+				point.add(lane.road.position);
+				minX = Math.min(minX, point.x);
+				minY = Math.min(minY, point.y);
+				minZ = Math.min(minZ, point.z);
+				maxX = Math.max(maxX, point.x);
+				maxY = Math.max(maxY, point.y);
+				maxZ = Math.max(maxZ, point.z);
+			}
+			minX -= MAX_CURVE_DISTANCE;
+			minY -= MAX_CURVE_DISTANCE;
+			minZ -= MAX_CURVE_DISTANCE;
+			maxX += MAX_CURVE_DISTANCE;
+			maxY += MAX_CURVE_DISTANCE;
+			maxZ += MAX_CURVE_DISTANCE;
+		}
+
+		private boolean isPointInBounds(Point3d point){
+			return point.x >= minX && point.x <= maxX && point.y >= minY && point.y <= maxY && point.z >= minZ && point.z <= maxZ;
+		}
+	}
+}
@@ -6,16 +6,13 @@ import java.util.List;
 
 import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.Point3d;
-import minecrafttransportsimulator.baseclasses.Point3i;
-import minecrafttransportsimulator.blocks.components.ABlockBase;
-import minecrafttransportsimulator.blocks.instances.BlockCollision;
+import minecrafttransportsimulator.blocks.tileentities.components.RoadCurveIndex.CurveEndPoint;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent.JSONLaneSector;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent.JSONLaneSectorEndPoint;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent.JSONLaneSectorPointSet;
 import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
-import minecrafttransportsimulator.packets.components.InterfacePacket;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityRoadConnectionUpdate;
 
 /**Helper class for containing lane data.  Lanes contain a reference to the road
@@ -33,7 +30,17 @@ public class RoadLane{
 	public final List<List<RoadLaneConnection>> priorConnections;
 	public final List<List<RoadLaneConnection>> nextConnections;
 	
+	/**Connections to use for each curve and lane selection request.  Indexed by curve number, then by request ordinal.**/
+	private final RoadLaneConnection[][] priorTransitions;
+	private final RoadLaneConnection[][] nextTransitions;
+	
 	private static final double CURVE_CONNECTION_MAX_DISTANCE = 0.20;
+	private static final Comparator<RoadLaneConnection> CONNECTION_SORTER = new Comparator<RoadLaneConnection>(){
+		@Override
+		public int compare(RoadLaneConnection arg0, RoadLaneConnection arg1){
+			return arg0.curveNetAngle < arg1.curveNetAngle ? -1 : (arg0.curveNetAngle > arg1.curveNetAngle ? 1 : 0);
+		}
+	};
 	
 	public RoadLane(TileEntityRoad road, int sectorNumber, int laneNumber, WrapperNBT data){
 		this.road = road;
@@ -62,6 +69,9 @@ public class RoadLane{
 				}
 			}
 		}
+		this.priorTransitions = new RoadLaneConnection[curves.size()][LaneSelectionRequest.values().length];
+		this.nextTransitions = new RoadLaneConnection[curves.size()][LaneSelectionRequest.values().length];
+		updateTransitions();
 	}
 	
 	private Point3d generateCurves(){
@@ -95,180 +105,134 @@ public class RoadLane{
 	
 	/**
 	 * Attempts to set this lane's connection points.  This should be done on initial placement only.
-	 * If a connection is made, it is saved, and a packet is sent to establish it on clients.
-	 * For times when a road is broken, use {@link #removeConnections()} on the lanes of the road being broken, 
-	 * not this method on the lane that was connected to the broken road.
+	 * If a connection is made, it is saved, and an update to establish it on clients is added to the passed-in packet.
+	 * For times when a road is broken, use {@link #removeConnections(PacketTileEntityRoadConnectionUpdate)} on the lanes
+	 * of the road being broken, not this method on the lane that was connected to the broken road.
 	 */
-	public void generateConnections(){
+	public void generateConnections(PacketTileEntityRoadConnectionUpdate updatePacket){
 		//Iterate over all lane-curves in the road and connect to those that we line up with.
-		//Start with prior connections.  For these, we get the blocks surrounding the start
-		//point, and check if they are part of a road.  If so, we get the curves on that road
-		//and check if they connect to ourselves.  After this, we do the end points.
+		//Start with prior connections.  For these, we get the curve end points near the start
+		//point from the world's road index, and connect to any that line up with us.
+		//After this, we do the end points.
 		for(BezierCurve curve : curves){
-			checkAndAddConnections(curve, true);
-			checkAndAddConnections(curve, false);
+			checkAndAddConnections(curve, true, updatePacket);
+			checkAndAddConnections(curve, false, updatePacket);
 		}
+		updateTransitions();
 	}
 	
 	/**
 	 * Helper method for adding connections.
 	 */
-	private void checkAndAddConnections(BezierCurve curve, boolean checkingStart){
+	private void checkAndAddConnections(BezierCurve curve, boolean checkingStart, PacketTileEntityRoadConnectionUpdate updatePacket){
 		int curveNumber = curves.indexOf(curve);
-		for(int j=-1; j>=-2; --j){
-			boolean foundRoadsThisCheck = false;
-			Point3d offsetPoint;
-			Point3d ownCurvePoint;
+		Point3d ownCurvePoint = (checkingStart ? curve.startPos : curve.endPos).copy().add(road.position);
+		List<CurveEndPoint> otherEndPoints = new ArrayList<CurveEndPoint>();
+		road.world.roadCurveIndex.getConnectableEndPoints(road, ownCurvePoint, checkingStart ? curve.startAngle : curve.endAngle, CURVE_CONNECTION_MAX_DISTANCE, otherEndPoints);
+		for(CurveEndPoint otherEndPoint : otherEndPoints){
+			RoadLane otherRoadLane = otherEndPoint.lane;
+			BezierCurve otherRoadCurve = otherEndPoint.curve;
+			int otherCurveNumber = otherRoadLane.curves.indexOf(otherRoadCurve);
+			
+			//For any connection we make here, we send the update to the OTHER curve.
+			//The reason being that this curve/lane won't be generated on the client
+			//before the packet gets to it, so it won't execute.  By sending the update
+			//to the other curve, we update it, and then let the normal NBT data sync
+			//transfer work for this lane/road's new generated connections.
+			RoadLaneConnection ourConnection = new RoadLaneConnection(this, curve, checkingStart);
 			if(checkingStart){
-				offsetPoint = new Point3d(0, 0, -1).rotateY(curve.startAngle).add(curve.startPos).add(road.position);
-				ownCurvePoint = curve.startPos.copy().add(road.position);	
+				priorConnections.get(curveNumber).add(new RoadLaneConnection(otherRoadLane, otherRoadCurve, otherEndPoint.isStart));
 			}else{
-				offsetPoint = new Point3d(0, 0, -1).rotateY(curve.endAngle).add(curve.endPos).add(road.position);
-				ownCurvePoint = curve.endPos.copy().add(road.position);
+				nextConnections.get(curveNumber).add(new RoadLaneConnection(otherRoadLane, otherRoadCurve, otherEndPoint.isStart));
 			}
-			
-			Point3i blockTestPoint = new Point3i(offsetPoint);
-			ABlockBase block = road.world.getBlock(blockTestPoint);
-			
-			if(block instanceof BlockCollision){
-				ATileEntityMultiblock<?> multiblock = ((BlockCollision) block).getMasterBlock(road.world, blockTestPoint);
-				if(multiblock instanceof TileEntityRoad){
-					TileEntityRoad otherRoad = (TileEntityRoad) multiblock;
-					if(!otherRoad.equals(road)){
-						foundRoadsThisCheck = true;
-						for(RoadLane otherRoadLane : otherRoad.lanes){
-							for(BezierCurve otherRoadCurve : otherRoadLane.curves){
-								Point3d otherCurveStart = otherRoadCurve.startPos.copy().add(otherRoad.position);
-								Point3d otherCurveEnd = otherRoadCurve.endPos.copy().add(otherRoad.position);
-								int otherCurveNumber = otherRoadLane.curves.indexOf(otherRoadCurve);
-								
-								//For any connection we make here, we send the packet to the OTHER curve.
-								//The reason being that this curve/lane won't be generated on the client
-								//before the packet gets to it, so it won't execute.  By sending the packet
-								//to the other curve, we update it, and then let the normal NBT data sync
-								//transfer work for this lane/road's new generated connections.
-								//We also don't want to connect to the end curve of static roads.
-								//This is due to how junctions are handled, where we don't want to
-								//end up going backwards on one of them.
-								if(checkingStart){
-									//For the start connections, we add these connections to all connections.
-									//This is because we call this method only once for all curves.
-									if(ownCurvePoint.distanceTo(otherCurveStart) < CURVE_CONNECTION_MAX_DISTANCE){
-										//Start to start connection.
-										priorConnections.get(curveNumber).add(new RoadLaneConnection(otherRoadLane, otherRoadCurve, true));
-										RoadLaneConnection ourConnection = new RoadLaneConnection(this, curve, true);
-										otherRoadLane.priorConnections.get(otherCurveNumber).add(ourConnection);
-										InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherRoadLane, otherCurveNumber, true, ourConnection));
-									}else if(ownCurvePoint.distanceTo(otherCurveEnd) < CURVE_CONNECTION_MAX_DISTANCE){
-										//Start to end connection.
-										priorConnections.get(curveNumber).add(new RoadLaneConnection(otherRoadLane, otherRoadCurve, false));
-										RoadLaneConnection ourConnection = new RoadLaneConnection(this, curve, true);
-										otherRoadLane.nextConnections.get(otherCurveNumber).add(ourConnection);
-										InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherRoadLane, otherCurveNumber, false, ourConnection));
-									}
-								}else{
-									if(ownCurvePoint.distanceTo(otherCurveStart) < CURVE_CONNECTION_MAX_DISTANCE){
-										//End to start connection.
-										nextConnections.get(curveNumber).add(new RoadLaneConnection(otherRoadLane, otherRoadCurve, true));
-										RoadLaneConnection ourConnection = new RoadLaneConnection(this, curve, false);
-										otherRoadLane.priorConnections.get(otherCurveNumber).add(ourConnection);
-										InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherRoadLane, otherCurveNumber, true, ourConnection));
-									}else if(ownCurvePoint.distanceTo(otherCurveEnd) < CURVE_CONNECTION_MAX_DISTANCE){
-										//End to end connection.
-										nextConnections.get(curveNumber).add(new RoadLaneConnection(otherRoadLane, otherRoadCurve, false));
-										RoadLaneConnection ourConnection = new RoadLaneConnection(this, curve, false);
-										otherRoadLane.nextConnections.get(otherCurveNumber).add(ourConnection);
-										InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherRoadLane, otherCurveNumber, false, ourConnection));
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-			
-			if(foundRoadsThisCheck){
-				break;
+			if(otherEndPoint.isStart){
+				otherRoadLane.priorConnections.get(otherCurveNumber).add(ourConnection);
+			}else{
+				otherRoadLane.nextConnections.get(otherCurveNumber).add(ourConnection);
 			}
+			otherRoadLane.updateTransitions();
+			updatePacket.addConnection(otherRoadLane, otherCurveNumber, otherEndPoint.isStart, ourConnection);
 		}
 	}
 	
 	/**
 	 * Removes all connections from this lane, and removes those connections from other
 	 * connected lanes/roads.  This should be done when this lane or road is removed from the world.
-	 * Call this ONLY from the server: clients will get update packets as appropriate.
+	 * Call this ONLY from the server: updates for clients are added to the passed-in packet.
 	 */
-	public void removeConnections(){
+	public void removeConnections(PacketTileEntityRoadConnectionUpdate updatePacket){
 		//Iterate over all our prior connections for all lanes.
 		for(List<RoadLaneConnection> curvePriorConnections : priorConnections){
 			//Iterate over all our prior connections for all curves of this lane.
 			for(RoadLaneConnection curvePriorConnection : curvePriorConnections){
-				try{
-					//Get the road and lane that the prior connection is connected to.
-					TileEntityRoad otherRoad = road.world.getTileEntity(curvePriorConnection.tileLocation);
-					RoadLane otherLane = otherRoad.lanes.get(curvePriorConnection.laneNumber);
-					//If the prior connection is connected to the start of the curve,
-					//remove the priorConnection in that curve for the curve we are checking.
-					//If it's connected to the end, remove the next connections.
-					if(curvePriorConnection.connectedToStart){
-						otherLane.priorConnections.get(curvePriorConnection.curveNumber).clear();
-						InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherLane, curvePriorConnection.curveNumber, true));
-					}else{
-						otherLane.nextConnections.get(curvePriorConnection.curveNumber).clear();
-						InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherLane, curvePriorConnection.curveNumber, false));
-					}
-				}catch(Exception e){
-					InterfaceCore.logError("Couldn't get TE at position " + curvePriorConnection.tileLocation + " to break prior road connection.  Was it changed?");
-				}
+				removeConnection(curvePriorConnection, updatePacket);
 			}
 		}
 		//Iterate over all our next connections for all lanes.
 		for(List<RoadLaneConnection> curveNextConnections : nextConnections){
 			//Iterate over all our next connections for all curves of this lane.
 			for(RoadLaneConnection curveNextConnection : curveNextConnections){
-				try{
-					//Get the road and lane that the prior connection is connected to.
-					TileEntityRoad otherRoad = road.world.getTileEntity(curveNextConnection.tileLocation);
-					RoadLane otherLane = otherRoad.lanes.get(curveNextConnection.laneNumber);
-					//If the next connection is connected to the start of the curve,
-					//remove the priorConnection in that curve for the curve we are checking.
-					//If it's connected to the end, remove the next connections.
-					if(curveNextConnection.connectedToStart){
-						otherLane.priorConnections.get(curveNextConnection.curveNumber).clear();
-						InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherLane, curveNextConnection.curveNumber, true));
-					}else{
-						otherLane.nextConnections.get(curveNextConnection.curveNumber).clear();
-						InterfacePacket.sendToAllClients(new PacketTileEntityRoadConnectionUpdate(otherLane, curveNextConnection.curveNumber, false));
-					}
-				}catch(Exception e){
-					InterfaceCore.logError("Couldn't get TE at position " + curveNextConnection.tileLocation + " to break next road connection.  Was it changed?");
-				}
+				removeConnection(curveNextConnection, updatePacket);
 			}
 		}
 	}
 	
 	/**
-	 * Returns the next curve for the passed-in curve and request, or null if it doesn't exist.
+	 * Helper method for removing connections.
 	 */
-	public RoadLaneConnection getConnection(BezierCurve curve, LaneSelectionRequest requestedNextCurve, boolean nextCurve){
-		List<RoadLaneConnection> connections = nextCurve ? nextConnections.get(curves.indexOf(curve)) : priorConnections.get(curves.indexOf(curve));
+	private void removeConnection(RoadLaneConnection connection, PacketTileEntityRoadConnectionUpdate updatePacket){
+		try{
+			//Get the road and lane that the connection is connected to.
+			TileEntityRoad otherRoad = road.world.getTileEntity(connection.tileLocation);
+			RoadLane otherLane = otherRoad.lanes.get(connection.laneNumber);
+			//If the connection is connected to the start of the curve,
+			//remove the priorConnection in that curve for the curve we are checking.
+			//If it's connected to the end, remove the next connections.
+			if(connection.connectedToStart){
+				otherLane.priorConnections.get(connection.curveNumber).clear();
+			}else{
+				otherLane.nextConnections.get(connection.curveNumber).clear();
+			}
+			otherLane.updateTransitions();
+			updatePacket.addRemoval(otherLane, connection.curveNumber, connection.connectedToStart);
+		}catch(Exception e){
+			InterfaceCore.logError("Couldn't get TE at position " + connection.tileLocation + " to break road connection.  Was it changed?");
+		}
+	}
+	
+	/**
+	 * Re-calculates the connections to use for each curve and lane selection request.
+	 * This must be called any time the prior or next connections of this lane change.
+	 */
+	public void updateTransitions(){
+		for(int i=0; i<curves.size(); ++i){
+			updateTransitions(priorConnections.get(i), priorTransitions[i]);
+			updateTransitions(nextConnections.get(i), nextTransitions[i]);
+		}
+	}
+	
+	/**
+	 * Helper method for setting the transitions for a single curve.
+	 */
+	private static void updateTransitions(List<RoadLaneConnection> connections, RoadLaneConnection[] transitions){
 		if(!connections.isEmpty()){
 			//Sort the connections by curve net angle.
-			connections.sort(new Comparator<RoadLaneConnection>(){
-				@Override
-				public int compare(RoadLaneConnection arg0, RoadLaneConnection arg1){
-					return arg0.curveNetAngle < arg1.curveNetAngle ? -1 : (arg0.curveNetAngle > arg1.curveNetAngle ? 1 : 0);
-				}
-			});	
-			
-			//Get the connection requested.
-			switch(requestedNextCurve){
-				case LEFT: return connections.get(connections.size() - 1);	
-				case RIGHT: return connections.get(0);
-				case NONE: return connections.get(connections.size()/2);
+			connections.sort(CONNECTION_SORTER);
+			transitions[LaneSelectionRequest.LEFT.ordinal()] = connections.get(connections.size() - 1);
+			transitions[LaneSelectionRequest.RIGHT.ordinal()] = connections.get(0);
+			transitions[LaneSelectionRequest.NONE.ordinal()] = connections.get(connections.size()/2);
+		}else{
+			for(int i=0; i<transitions.length; ++i){
+				transitions[i] = null;
 			}
 		}
-		return null;
+	}
+	
+	/**
+	 * Returns the next curve for the passed-in curve and request, or null if it doesn't exist.
+	 */
+	public RoadLaneConnection getConnection(BezierCurve curve, LaneSelectionRequest requestedNextCurve, boolean nextCurve){
+		return (nextCurve ? nextTransitions : priorTransitions)[curves.indexOf(curve)][requestedNextCurve.ordinal()];
 	}
 	
 	public void save(WrapperNBT data){
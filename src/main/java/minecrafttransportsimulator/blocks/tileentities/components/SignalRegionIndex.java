@@ -0,0 +1,183 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntitySignalController;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+
+/**Index of the vehicle detection regions of all signal controllers in a world.  Controllers register
+ * their region once, and it's stored in every 16x16 block column it overlaps.  Entities report their
+ * position every tick via {@link #updateEntity(AEntityBase)}, which only has to check the regions in
+ * the entity's column.  When an entity enters a region, the region's controller is told about it.  This
+ * saves controllers from having to scan every entity in the world to find out if any are waiting at them.
+ * Entities that stop updating (say, because their chunk unloaded) are treated as stale and are removed
+ * from regions the next time their occupancy is checked.
+ *
+ * @author don_bruce
+ */
+public class SignalRegionIndex{
+	private static final int STALE_TICKS = 2;
+
+	private final Map<Long, List<DetectionRegion>> columns = new HashMap<Long, List<DetectionRegion>>();
+	private final Map<TileEntitySignalController, DetectionRegion> controllerRegions = new HashMap<TileEntitySignalController, DetectionRegion>();
+	private final Map<AEntityBase, EntityEntry> entityEntries = new HashMap<AEntityBase, EntityEntry>();
+	private final List<AEntityBase> staleEntities = new ArrayList<AEntityBase>();
+
+	/**
+	 *  Sets the detection region of the passed-in controller.  Bounds are exclusive, and Y is not checked.
+	 *  If the controller already has a region, it is replaced.
+	 */
+	public void setRegion(TileEntitySignalController controller, int minX, int minZ, int maxX, int maxZ){
+		removeRegion(controller);
+		DetectionRegion region = new DetectionRegion(controller, minX, minZ, maxX, maxZ);
+		for(int i=minX >> 4; i<=maxX >> 4; ++i){
+			for(int j=minZ >> 4; j<=maxZ >> 4; ++j){
+				long key = getColumnKey(i, j);
+				List<DetectionRegion> column = columns.get(key);
+				if(column == null){
+					column = new ArrayList<DetectionRegion>();
+					columns.put(key, column);
+				}
+				column.add(region);
+			}
+		}
+		controllerRegions.put(controller, region);
+	}
+
+	/**
+	 *  Removes the detection region of the passed-in controller, if it has one.
+	 */
+	public void removeRegion(TileEntitySignalController controller){
+		DetectionRegion region = controllerRegions.remove(controller);
+		if(region != null){
+			for(int i=region.minX >> 4; i<=region.maxX >> 4; ++i){
+				for(int j=region.minZ >> 4; j<=region.maxZ >> 4; ++j){
+					long key = getColumnKey(i, j);
+					List<DetectionRegion> column = columns.get(key);
+					if(column != null){
+						column.remove(region);
+						if(column.isEmpty()){
+							columns.remove(key);
+						}
+					}
+				}
+			}
+			for(AEntityBase entity : region.entities){
+				EntityEntry entry = entityEntries.get(entity);
+				entry.regions.remove(region);
+				if(entry.regions.isEmpty()){
+					entityEntries.remove(entity);
+				}
+			}
+		}
+	}
+
+	/**
+	 *  Updates the regions the passed-in entity is in.  Should be called every tick the entity updates.
+	 */
+	public void updateEntity(AEntityBase entity){
+		//Check if we left any regions we were in.
+		EntityEntry entry = entityEntries.get(entity);
+		if(entry != null){
+			entry.lastUpdateTick = entity.world.getTick();
+			for(int i=entry.regions.size() - 1; i>=0; --i){
+				DetectionRegion region = entry.regions.get(i);
+				if(!region.isInside(entity)){
+					region.entities.remove(entity);
+					entry.regions.remove(i);
+				}
+			}
+		}
+
+		//Check if we entered any regions in our column.
+		List<DetectionRegion> column = columns.get(getColumnKey(((int) Math.floor(entity.position.x)) >> 4, ((int) Math.floor(entity.position.z)) >> 4));
+		if(column != null){
+			for(DetectionRegion region : column){
+				if(!region.entities.contains(entity) && region.isInside(entity)){
+					if(entry == null){
+						entry = new EntityEntry();
+						entry.lastUpdateTick = entity.world.getTick();
+						entityEntries.put(entity, entry);
+					}
+					entry.regions.add(region);
+					region.entities.add(entity);
+					region.controller.onVehicleEnteredRegion();
+				}
+			}
+		}
+
+		if(entry != null && entry.regions.isEmpty()){
+			entityEntries.remove(entity);
+		}
+	}
+
+	/**
+	 *  Removes the passed-in entity from all regions.  Called when the entity is removed from the world.
+	 */
+	public void removeEntity(AEntityBase entity){
+		EntityEntry entry = entityEntries.remove(entity);
+		if(entry != null){
+			for(DetectionRegion region : entry.regions){
+				region.entities.remove(entity);
+			}
+		}
+	}
+
+	/**
+	 *  Returns true if there are any entities in the detection region of the passed-in controller.
+	 */
+	public boolean isRegionOccupied(TileEntitySignalController controller){
+		DetectionRegion region = controllerRegions.get(controller);
+		if(region != null && !region.entities.isEmpty()){
+			//Remove stale entities.  If they start updating again they'll be re-added.
+			for(AEntityBase entity : region.entities){
+				if(!entity.isValid || entity.world.getTick() - entityEntries.get(entity).lastUpdateTick > STALE_TICKS){
+					staleEntities.add(entity);
+				}
+			}
+			if(!staleEntities.isEmpty()){
+				for(AEntityBase entity : staleEntities){
+					removeEntity(entity);
+				}
+				staleEntities.clear();
+			}
+			return !region.entities.isEmpty();
+		}
+		return false;
+	}
+
+	private static long getColumnKey(int columnX, int columnZ){
+		return ((long) columnX << 32) | (columnZ & 0xFFFFFFFFL);
+	}
+
+	private static class DetectionRegion{
+		private final TileEntitySignalController controller;
+		private final int minX;
+		private final int minZ;
+		private final int maxX;
+		private final int maxZ;
+		private final Set<AEntityBase> entities = new HashSet<AEntityBase>();
+
+		private DetectionRegion(TileEntitySignalController controller, int minX, int minZ, int maxX, int maxZ){
+			this.controller = controller;
+			this.minX = minX;
+			this.minZ = minZ;
+			this.maxX = maxX;
+			this.maxZ = maxZ;
+		}
+
+		private boolean isInside(AEntityBase entity){
+			return entity.position.x > minX && entity.position.x < maxX && entity.position.z > minZ && entity.position.z < maxZ;
+		}
+	}
+
+	private static class EntityEntry{
+		private final List<DetectionRegion> regions = new ArrayList<DetectionRegion>();
+		private long lastUpdateTick;
+	}
+}
@@ -0,0 +1,209 @@
+package minecrafttransportsimulator.blocks.tileentities.components;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.mcinterface.InterfaceCore;
+
+/**Scheduler for the updates of all tickable tile entities in a world.  Rather than having every tile entity
+ * update every tick, tile entities tell the scheduler how long until they next need to update, and the
+ * scheduler only updates them once that time comes.  Tile entities that are waiting on something, like a
+ * vehicle connecting, can instead wait to be woken via {@link #wake(ITileEntityTickable)}.
+ * <br><br>
+ * Scheduled updates are stored in a two-level timer wheel.  The near wheel has one slot for each tick
+ * in the current 64-tick block, and the far wheel has one slot for each of the next 64 blocks.  At the
+ * start of each block, the far slot for that block is moved into the near wheel.  Updates further out than
+ * the far wheel are held in an overflow list that is re-checked each time the far wheel wraps around.
+ * This makes scheduling and firing updates constant-time, no matter how many tile entities are waiting.
+ *
+ * @author don_bruce
+ */
+public class TileEntityScheduler{
+	private static final int WHEEL_BITS = 6;
+	private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	private final List<List<ScheduledUpdate>> nearWheel = new ArrayList<List<ScheduledUpdate>>();
+	private final List<List<ScheduledUpdate>> farWheel = new ArrayList<List<ScheduledUpdate>>();
+	private final List<ScheduledUpdate> overflow = new ArrayList<ScheduledUpdate>();
+	private final Map<ITileEntityTickable, ScheduledUpdate> registeredUpdates = new HashMap<ITileEntityTickable, ScheduledUpdate>();
+	private List<ScheduledUpdate> dueUpdates = new ArrayList<ScheduledUpdate>();
+	private long nextTick = -1;
+	private long executedUpdates;
+	private long skippedUpdates;
+	private long lastLogTick = -1;
+	private long lastLogExecutedUpdates;
+	private long lastLogSkippedUpdates;
+
+	public TileEntityScheduler(){
+		for(int i=0; i<WHEEL_SIZE; ++i){
+			nearWheel.add(new ArrayList<ScheduledUpdate>());
+			farWheel.add(new ArrayList<ScheduledUpdate>());
+		}
+	}
+
+	/**
+	 *  Registers the passed-in tile entity with this scheduler.  It will be updated on the next tick.
+	 */
+	public void register(ITileEntityTickable tile){
+		if(!registeredUpdates.containsKey(tile)){
+			ScheduledUpdate update = new ScheduledUpdate(tile);
+			registeredUpdates.put(tile, update);
+			schedule(update, nextTick);
+		}
+	}
+
+	/**
+	 *  Removes the passed-in tile entity from this scheduler.  It will not be updated again.
+	 */
+	public void remove(ITileEntityTickable tile){
+		ScheduledUpdate update = registeredUpdates.remove(tile);
+		if(update != null){
+			unschedule(update);
+		}
+	}
+
+	/**
+	 *  Wakes the passed-in tile entity, making it update on the next tick.  Use this when something
+	 *  happens that the tile entity needs to respond to, rather than having it check every tick.
+	 *  Tile entities that aren't registered are ignored.
+	 */
+	public void wake(ITileEntityTickable tile){
+		ScheduledUpdate update = registeredUpdates.get(tile);
+		if(update != null && (update.slot == null || update.wakeTick > nextTick)){
+			unschedule(update);
+			schedule(update, nextTick);
+		}
+	}
+
+	/**
+	 *  Updates all tile entities that are due up to and including the passed-in tick.
+	 *  This may be called any number of times per tick, as ticks are only processed once.
+	 */
+	public void update(long currentTick){
+		if(nextTick == -1 || currentTick - nextTick > WHEEL_SIZE*WHEEL_SIZE){
+			//First update, or we haven't been updated in a long time.  Move everything to the current tick.
+			nextTick = currentTick;
+			List<ScheduledUpdate> updates = new ArrayList<ScheduledUpdate>(registeredUpdates.values());
+			for(ScheduledUpdate update : updates){
+				if(update.slot != null){
+					long wakeTick = update.wakeTick;
+					unschedule(update);
+					schedule(update, wakeTick);
+				}
+			}
+		}
+		while(nextTick <= currentTick){
+			//If we are at the start of a new block, move the updates for it from the far wheel to the near wheel.
+			//If the far wheel has wrapped around, also check the overflow for updates that now fit in it.
+			if((nextTick & WHEEL_MASK) == 0){
+				if(((nextTick >> WHEEL_BITS) & WHEEL_MASK) == 0){
+					cascade(overflow);
+				}
+				cascade(farWheel.get((int) ((nextTick >> WHEEL_BITS) & WHEEL_MASK)));
+			}
+
+			//Swap out the due list so updates scheduled while we run go into a fresh one.
+			int slotIndex = (int) (nextTick & WHEEL_MASK);
+			List<ScheduledUpdate> slot = nearWheel.get(slotIndex);
+			nearWheel.set(slotIndex, dueUpdates);
+			dueUpdates = slot;
+			skippedUpdates += registeredUpdates.size() - dueUpdates.size();
+			executedUpdates += dueUpdates.size();
+			++nextTick;
+
+			for(ScheduledUpdate update : dueUpdates){
+				update.slot = null;
+			}
+			for(ScheduledUpdate update : dueUpdates){
+				//Tile entity may have been removed or woken by an earlier update this tick.
+				if(update.slot == null && registeredUpdates.get(update.tile) == update){
+					int ticksUntilUpdate = update.tile.update();
+					if(ticksUntilUpdate > 0 && update.slot == null && registeredUpdates.get(update.tile) == update){
+						schedule(update, nextTick - 1 + ticksUntilUpdate);
+					}
+				}
+			}
+			dueUpdates.clear();
+		}
+	}
+
+	/**
+	 *  Returns the number of tile entity updates this scheduler has run.
+	 */
+	public long getExecutedUpdates(){
+		return executedUpdates;
+	}
+
+	/**
+	 *  Returns the number of tile entity updates this scheduler has skipped.  This is one for every tick
+	 *  every registered tile entity wasn't updated.  Compare to {@link #getExecutedUpdates()} to see
+	 *  how much work the scheduler is saving over updating everything every tick.
+	 */
+	public long getSkippedUpdates(){
+		return skippedUpdates;
+	}
+
+	/**
+	 *  Logs how many updates this scheduler has run and skipped since the last log, if the passed-in
+	 *  number of ticks have passed since then.  The first call only starts the count.  This is used for
+	 *  tuning how often tile entities update, and is only called if enabled in the config.
+	 */
+	public void logUpdateCounts(long currentTick, int logInterval){
+		if(lastLogTick == -1 || currentTick - lastLogTick >= logInterval){
+			if(lastLogTick != -1){
+				long executedSinceLog = executedUpdates - lastLogExecutedUpdates;
+				long skippedSinceLog = skippedUpdates - lastLogSkippedUpdates;
+				long totalSinceLog = executedSinceLog + skippedSinceLog;
+				InterfaceCore.logInfo("Tile entity updates over the last " + (currentTick - lastLogTick) + " ticks for " + registeredUpdates.size() + " tile entities: " + executedSinceLog + " run, " + skippedSinceLog + " skipped (" + (totalSinceLog != 0 ? 100*skippedSinceLog/totalSinceLog : 0) + "% skipped).");
+			}
+			lastLogTick = currentTick;
+			lastLogExecutedUpdates = executedUpdates;
+			lastLogSkippedUpdates = skippedUpdates;
+		}
+	}
+
+	private void schedule(ScheduledUpdate update, long wakeTick){
+		if(wakeTick < nextTick){
+			wakeTick = nextTick;
+		}
+		update.wakeTick = wakeTick;
+		if((wakeTick >> WHEEL_BITS) == (nextTick >> WHEEL_BITS)){
+			update.slot = nearWheel.get((int) (wakeTick & WHEEL_MASK));
+		}else if((wakeTick >> WHEEL_BITS) < (nextTick >> WHEEL_BITS) + WHEEL_SIZE){
+			update.slot = farWheel.get((int) ((wakeTick >> WHEEL_BITS) & WHEEL_MASK));
+		}else{
+			update.slot = overflow;
+		}
+		update.slot.add(update);
+	}
+
+	private void unschedule(ScheduledUpdate update){
+		if(update.slot != null){
+			update.slot.remove(update);
+			update.slot = null;
+		}
+	}
+
+	private void cascade(List<ScheduledUpdate> slot){
+		if(!slot.isEmpty()){
+			List<ScheduledUpdate> updates = new ArrayList<ScheduledUpdate>(slot);
+			slot.clear();
+			for(ScheduledUpdate update : updates){
+				schedule(update, update.wakeTick);
+			}
+		}
+	}
+
+	private static class ScheduledUpdate{
+		private final ITileEntityTickable tile;
+		private long wakeTick;
+		private List<ScheduledUpdate> slot;
+
+		private ScheduledUpdate(ITileEntityTickable tile){
+			this.tile = tile;
+		}
+	}
+}
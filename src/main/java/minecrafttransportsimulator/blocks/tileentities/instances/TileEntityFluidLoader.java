@@ -11,10 +11,11 @@ import minecrafttransportsimulator.packets.components.InterfacePacket;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityFluidLoaderConnection;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
-import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartInteractable;
 
 public class TileEntityFluidLoader extends TileEntityDecor implements ITileEntityTickable, IFluidTankProvider{
+	private static final double MAX_PART_DISTANCE = 10;
+	
 	public PartInteractable connectedPart;
 	public boolean unloadMode;
 	public boolean loading;
@@ -23,23 +24,21 @@ public class TileEntityFluidLoader extends TileEntityDecor implements ITileEntit
 
     public TileEntityFluidLoader(WrapperWorld world, Point3i position, WrapperNBT data){
     	super(world, position, data);
-    	this.tank = new FluidTank(data, 1000, world.isClient());
+    	this.tank = new FluidTank(data, 1000, this);
     	this.unloadMode = data.getBoolean("unloadMode");
     }
 	
 	@Override
-	public void update(){
+	public int update(){
 		//Do load/unload checks.  Checks only occur on servers.  Clients get packets for state changes.
 		if(!world.isClient()){
 			if(connectedPart == null){
-				//Check for a new part every second.  We don't want every tick as this would increase server loads.
-				if(world.getTick()%20 == 0){
-					updateNearestPart();
-				}
+				//Check for a new part.  We only update every second while not connected, as every tick would increase server loads.
+				updateNearestPart();
 			}else{
 				//Don't fuel vehicles or parts that don't exist.
 				//Also check distance to make sure the part hasn't moved away.
-				if(!connectedPart.vehicle.isValid || !connectedPart.isValid || connectedPart.worldPos.distanceTo(position) > 10){
+				if(!connectedPart.vehicle.isValid || !connectedPart.isValid || connectedPart.worldPos.distanceTo(position) > MAX_PART_DISTANCE){
 					updateNearestPart();
 				}
 			}
@@ -66,36 +65,34 @@ public class TileEntityFluidLoader extends TileEntityDecor implements ITileEntit
 					}
 				}
 			}
+			
+			//If we are connected, keep loading every tick.  Otherwise, wait a second before checking for parts again.
+			return connectedPart != null ? 1 : 20;
+		}else{
+			return UPDATE_ON_WAKE;
 		}
 	}
 	
 	private void updateNearestPart(){
 		//Don't bother searching if we can't fill or drain.
+		//If we can, only check the tanks of vehicles near us in the world's entity grid.
 		PartInteractable nearestPart = null;
-		double nearestDistance = 999;
+		double nearestDistance = MAX_PART_DISTANCE;
 		if((tank.getFluidLevel() > 0 && !unloadMode) || (tank.getFluidLevel() < tank.getMaxLevel() && unloadMode)){
-			for(AEntityBase entity : AEntityBase.createdServerEntities){
+			for(AEntityBase entity : world.entityGrid.getEntitiesWithin(position.x - MAX_PART_DISTANCE, position.y - MAX_PART_DISTANCE, position.z - MAX_PART_DISTANCE, position.x + MAX_PART_DISTANCE, position.y + MAX_PART_DISTANCE, position.z + MAX_PART_DISTANCE)){
 				if(entity instanceof EntityVehicleF_Physics){
-					if(entity.position.distanceTo(position) < 100){
-						for(APart part : ((EntityVehicleF_Physics) entity).parts){
-							if(part.worldPos.distanceTo(position) < 10){
-								if(part instanceof PartInteractable){
-									FluidTank partTank = ((PartInteractable) part).tank;
-									if(partTank != null){
-										if(unloadMode){
-											if(partTank.drain(tank.getFluid(), 1, false) > 0){
-												if(part.worldPos.distanceTo(position) < nearestDistance){
-													nearestPart = (PartInteractable) part;
-												}
-											}
-										}else{
-											if(partTank.fill(tank.getFluid(), 1, false) > 0){
-												if(part.worldPos.distanceTo(position) < nearestDistance){
-													nearestPart = (PartInteractable) part;
-												}
-											}
-										}
-									}
+					for(PartInteractable part : ((EntityVehicleF_Physics) entity).tankParts){
+						double partDistance = part.worldPos.distanceTo(position);
+						if(partDistance < nearestDistance){
+							if(unloadMode){
+								if(part.tank.drain(tank.getFluid(), 1, false) > 0){
+									nearestPart = part;
+									nearestDistance = partDistance;
+								}
+							}else{
+								if(part.tank.fill(tank.getFluid(), 1, false) > 0){
+									nearestPart = part;
+									nearestDistance = partDistance;
 								}
 							}
 						}
@@ -105,9 +102,9 @@ public class TileEntityFluidLoader extends TileEntityDecor implements ITileEntit
 		}
 		if(nearestPart != null){
 			connectedPart = nearestPart;
-			InterfacePacket.sendToAllClients(new PacketTileEntityFluidLoaderConnection(this, true));
+			InterfacePacket.sendToClients(new PacketTileEntityFluidLoaderConnection(this, true));
 		}else if(connectedPart != null){
-			InterfacePacket.sendToAllClients(new PacketTileEntityFluidLoaderConnection(this, false));
+			InterfacePacket.sendToClients(new PacketTileEntityFluidLoaderConnection(this, false));
 			connectedPart = null;
 		}
 	}
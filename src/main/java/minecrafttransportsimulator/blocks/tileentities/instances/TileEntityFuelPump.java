@@ -23,14 +23,15 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityTi
 
     public TileEntityFuelPump(WrapperWorld world, Point3i position, WrapperNBT data){
     	super(world, position, data);
-    	this.tank = new FluidTank(data, 15000, world.isClient());
+    	this.tank = new FluidTank(data, 15000, this);
     }
 	
 	@Override
-	public void update(){
+	public int update(){
 		//Update text lines to the current tank status if required.
 		//Only do this on clients, as servers don't render any text.
-		if(world.isClient() && definition.rendering != null && definition.rendering.textObjects != null){
+		boolean updateText = world.isClient() && definition.rendering != null && definition.rendering.textObjects != null;
+		if(updateText){
 			text.clear();
 			String fluidName = tank.getFluidLevel() > 0 ? InterfaceCore.getFluidName(tank.getFluid()).toUpperCase() : "";
 			String fluidLevel = InterfaceCore.translate("tile.fuelpump.level") + String.format("%04.1f", tank.getFluidLevel()/1000F) + "b";
@@ -50,12 +51,12 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityTi
 			if(!connectedVehicle.isValid){
 				connectedVehicle.beingFueled = false;
 				connectedVehicle = null;
-				return;
+				return UPDATE_ON_WAKE;
 			}
 			
 			//Check distance to make sure the vehicle hasn't moved away.
 			if(connectedVehicle.position.distanceTo(position) > 16){
-				InterfacePacket.sendToAllClients(new PacketTileEntityFuelPumpConnection(this, false));
+				InterfacePacket.sendToClients(new PacketTileEntityFuelPumpConnection(this, false));
 				for(WrapperEntity entity : world.getEntitiesWithin(new BoundingBox(new Point3d(position), 25, 25, 25))){
 					if(entity instanceof WrapperPlayer){
 						((WrapperPlayer) entity).sendPacket(new PacketPlayerChatMessage("interact.fuelpump.toofar"));
@@ -63,7 +64,7 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityTi
 				}
 				connectedVehicle.beingFueled = false;
 				connectedVehicle = null;
-				return;
+				return UPDATE_ON_WAKE;
 			}
 			//If we have room for fuel, try to add it to the vehicle.
 			if(tank.getFluidLevel() > 0){
@@ -74,7 +75,7 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityTi
 					tank.drain(tank.getFluid(), amountToDrain, true);
 				}else{
 					//No more room in the vehicle.  Disconnect.
-					InterfacePacket.sendToAllClients(new PacketTileEntityFuelPumpConnection(this, false));
+					InterfacePacket.sendToClients(new PacketTileEntityFuelPumpConnection(this, false));
 					connectedVehicle.beingFueled = false;
 					connectedVehicle = null;
 					for(WrapperEntity entity : world.getEntitiesWithin(new BoundingBox(new Point3d(position), 16, 16, 16))){
@@ -85,7 +86,7 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityTi
 				}
 			}else{
 				//No more fuel.  Disconnect vehicle.
-				InterfacePacket.sendToAllClients(new PacketTileEntityFuelPumpConnection(this, false));
+				InterfacePacket.sendToClients(new PacketTileEntityFuelPumpConnection(this, false));
 				connectedVehicle.beingFueled = false;
 				connectedVehicle = null;
 				for(WrapperEntity entity : world.getEntitiesWithin(new BoundingBox(new Point3d(position), 16, 16, 16))){
@@ -95,6 +96,9 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityTi
 				}
 			}
 		}
+		
+		//Only need to update while fueling or showing text.  Connecting a vehicle wakes us up.
+		return updateText || (connectedVehicle != null && !world.isClient()) ? 1 : UPDATE_ON_WAKE;
 	}
 	
 	@Override
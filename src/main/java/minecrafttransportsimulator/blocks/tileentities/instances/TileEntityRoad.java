@@ -135,6 +135,13 @@ public class TileEntityRoad extends ATileEntityMultiblock<JSONRoadComponent>{
 				}
 			}
 		}
+		world.roadCurveIndex.addRoad(this);
+	}
+	
+	@Override
+	public void remove(){
+		super.remove();
+		world.roadCurveIndex.removeRoad(this);
 	}
 	
 	/**
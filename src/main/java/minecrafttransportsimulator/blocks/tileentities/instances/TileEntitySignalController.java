@@ -11,7 +11,6 @@ import minecrafttransportsimulator.blocks.tileentities.components.ITileEntityTic
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
 import minecrafttransportsimulator.rendering.components.LightType;
-import minecrafttransportsimulator.vehicles.main.AEntityBase;
 
 /**Traffic signal controller tile entity.  Responsible for keeping the state of traffic
  * intersections.
@@ -36,8 +35,16 @@ public class TileEntitySignalController extends TileEntityDecor implements ITile
 	//Locations of blocks.
 	public final List<Point3i> componentLocations = new ArrayList<Point3i>();
 	
+	//Event-driven state.  Set by neighbor changes and our detection region rather than polled.
+	private final Point3i redstonePosition;
+	private int redstoneSignal;
+	private boolean redstoneChanged = true;
+	private boolean vehicleDetected = true;
+	private int stateEndTime;
+	
 	public TileEntitySignalController(WrapperWorld world, Point3i position, WrapperNBT data){
 		super(world, position, data);
+		this.redstonePosition = position.copy().add(0, -1, 0);
 		//Load state data.
 		currentOpMode = OpMode.values()[data.getInteger("currentOpMode")];
 		currentOpState = OpState.values()[data.getInteger("currentOpState")];
@@ -52,18 +59,24 @@ public class TileEntitySignalController extends TileEntityDecor implements ITile
 		}
         componentLocations.clear();
         componentLocations.addAll(data.getPoints("componentLocations"));
+        updateStateEndTime();
+        updateDetectionRegion();
 	}
 	
 	@Override
-	public void update(){
+	public int update(){
 		//Check every 1 seconds to make sure controlled components are in their correct states.
-		//This could have changed due to chunkloading.  We also check light redstone state here.
+		//This could have changed due to chunkloading.  We also re-check redstone state here
+		//in case a change happened that didn't update our block.
 		if(world.getTick()%20 == 0){
+			redstoneChanged = true;
 			updateState(currentOpState, false);
 		}
+		if(redstoneChanged){
+			redstoneChanged = false;
+			redstoneSignal = world.getRedstonePower(redstonePosition);
+		}
 		
-		int currentTime = (int) ((world.getTick()/20)%Integer.MAX_VALUE);
-		int redstoneSignal = world.getRedstonePower(position.copy().add(0, -1, 0));
 		//If we aren't in remote control mode, do checks for state changes.
 		if(!currentOpMode.equals(OpMode.REMOTE_CONTROL)){
 			if(!currentOpMode.equals(OpMode.REDSTONE_TRIGGER)){
@@ -77,37 +90,12 @@ public class TileEntitySignalController extends TileEntityDecor implements ITile
 			//If we are in the idle op sate, check if we need to start a cycle.
 			if(currentOpState.equals(OpState.GREEN_MAIN_RED_CROSS)){
 				if(currentOpMode.equals(OpMode.VEHICLE_TRIGGER)){
-					//We're a triggered signal, check for vehicles.
-					//Check only once every two seconds to prevent lag.
-					if(currentTime%2 == 0){
-						//Get a bounding box for all lights in the controller system.
-						int minX = Integer.MAX_VALUE;
-						int maxX = Integer.MIN_VALUE;
-						int minZ = Integer.MAX_VALUE;
-						int maxZ = Integer.MIN_VALUE;
-						for(Point3i controllerSignalPos : componentLocations){
-							minX = Math.min(minX, controllerSignalPos.x);
-							maxX = Math.max(maxX, controllerSignalPos.x);
-							minZ = Math.min(minZ, controllerSignalPos.z);
-							maxZ = Math.max(maxZ, controllerSignalPos.z);
-						}
-						
-						//Take 16 off to expand the detection boxes for the axis.
-						if(mainDirectionXAxis){
-							minZ -= 16;
-							maxZ += 16;
-						}else{
-							minX -= 16;
-							maxX += 16;
-						}
-						
-						//Now we have min-max, check for any vehicles in the area.
-						//We need to check along the non-primary axis, but we don't care about Y.
-						for(AEntityBase entity : (world.isClient() ? AEntityBase.createdClientEntities : AEntityBase.createdServerEntities)){
-							if(entity.position.x > minX && entity.position.x < maxX && entity.position.z > minZ && entity.position.z < maxZ){
-								updateState(OpState.YELLOW_MAIN_RED_CROSS, true);
-								break;
-							}
+					//We're a triggered signal.  Our detection region tells us when a vehicle enters it,
+					//so we only need to check if vehicles are present after that happens.
+					if(vehicleDetected){
+						vehicleDetected = false;
+						if(world.signalRegionIndex.isRegionOccupied(this)){
+							updateState(OpState.YELLOW_MAIN_RED_CROSS, true);
 						}
 					}
 				}else if(currentOpMode.equals(OpMode.REDSTONE_TRIGGER)){
@@ -115,48 +103,13 @@ public class TileEntitySignalController extends TileEntityDecor implements ITile
 					if(redstoneSignal > 0){
 						updateState(OpState.YELLOW_MAIN_RED_CROSS, true);
 					}
-				}else{
-					//Not a triggered signal, we must be timed.
-					if(timeOperationStarted + greenMainTime <= currentTime){
-						updateState(OpState.YELLOW_MAIN_RED_CROSS, true);
-					}
-				}
-			}else{
-				//In the middle of a cycle.  Do logic.
-				switch(currentOpState){
-					case GREEN_MAIN_RED_CROSS : break; //Not gonna happen, we tested for this.
-					case YELLOW_MAIN_RED_CROSS : {
-						if(timeOperationStarted + yellowMainTime <= currentTime){
-							updateState(OpState.RED_MAIN_RED_CROSS, true);
-						}
-						break;
-					}
-					case RED_MAIN_RED_CROSS : {
-						if(timeOperationStarted + allRedTime <= currentTime){
-							updateState(OpState.RED_MAIN_GREEN_CROSS, true);
-						}
-						break;
-					}
-					case RED_MAIN_GREEN_CROSS : {
-						if(timeOperationStarted + greenCrossTime <= currentTime){
-							updateState(OpState.RED_MAIN_YELLOW_CROSS, true);
-						}
-						break;
-					}
-					case RED_MAIN_YELLOW_CROSS : {
-						if(timeOperationStarted + yellowCrossTime <= currentTime){
-							updateState(OpState.RED_MAIN2_RED_CROSS2, true);
-						}
-						break;
-					}
-					case RED_MAIN2_RED_CROSS2 : {
-						if(timeOperationStarted + allRedTime <= currentTime){
-							updateState(OpState.GREEN_MAIN_RED_CROSS, true);
-						}
-						break;
-					}
 				}
 			}
+			
+			//Go to the next state if the current one is done.  Triggered idle states never end on their own.
+			if(stateEndTime <= (int) ((world.getTick()/20)%Integer.MAX_VALUE)){
+				updateState(OpState.values()[(currentOpState.ordinal() + 1)%OpState.values().length], true);
+			}
 		}else{
 			//We are remotely-controlled.  Adjust state to redstone.
 			//First three bits are the state of the controller, the last bit is the light state.
@@ -170,6 +123,80 @@ public class TileEntitySignalController extends TileEntityDecor implements ITile
 				updateState(OpState.values()[stateOpCode], false);
 			}
 		}
+		
+		//States only change on the second, or when we are woken by an event, so wait until the next second.
+		return 20 - (int) (world.getTick()%20);
+	}
+	
+	/**
+	 * Called when a vehicle enters our detection region.  We don't act on this right away, as we
+	 * may be in the middle of a cycle.  Instead, we wake up and check for vehicles if we are idle.
+	 */
+	public void onVehicleEnteredRegion(){
+		vehicleDetected = true;
+		world.tileEntityScheduler.wake(this);
+	}
+	
+	/**
+	 * Called when a block next to us changes.  This may have changed our redstone power, so wake up and check it.
+	 */
+	public void onRedstoneChanged(){
+		redstoneChanged = true;
+		world.tileEntityScheduler.wake(this);
+	}
+	
+	/**
+	 * Updates the region vehicles are detected in.  This is the area covered by all our components,
+	 * expanded 16 blocks along the cross axis.  Only vehicle-triggered controllers have a region.
+	 * Must be called any time our mode, components, or main direction change.
+	 */
+	public void updateDetectionRegion(){
+		if(currentOpMode.equals(OpMode.VEHICLE_TRIGGER) && !componentLocations.isEmpty()){
+			//Get a bounding box for all lights in the controller system.
+			int minX = Integer.MAX_VALUE;
+			int maxX = Integer.MIN_VALUE;
+			int minZ = Integer.MAX_VALUE;
+			int maxZ = Integer.MIN_VALUE;
+			for(Point3i controllerSignalPos : componentLocations){
+				minX = Math.min(minX, controllerSignalPos.x);
+				maxX = Math.max(maxX, controllerSignalPos.x);
+				minZ = Math.min(minZ, controllerSignalPos.z);
+				maxZ = Math.max(maxZ, controllerSignalPos.z);
+			}
+			
+			//Take 16 off to expand the detection boxes for the axis.
+			if(mainDirectionXAxis){
+				minZ -= 16;
+				maxZ += 16;
+			}else{
+				minX -= 16;
+				maxX += 16;
+			}
+			world.signalRegionIndex.setRegion(this, minX, minZ, maxX, maxZ);
+		}else{
+			world.signalRegionIndex.removeRegion(this);
+		}
+	}
+	
+	/**
+	 * Sets the time the current state ends, based on when it started and the time for the state.
+	 * Idle states in triggered modes wait for their trigger, so they never end on their own.
+	 */
+	private void updateStateEndTime(){
+		switch(currentOpState){
+			case GREEN_MAIN_RED_CROSS : stateEndTime = currentOpMode.equals(OpMode.TIMED_CYCLE) ? timeOperationStarted + greenMainTime : Integer.MAX_VALUE; break;
+			case YELLOW_MAIN_RED_CROSS : stateEndTime = timeOperationStarted + yellowMainTime; break;
+			case RED_MAIN_RED_CROSS : stateEndTime = timeOperationStarted + allRedTime; break;
+			case RED_MAIN_GREEN_CROSS : stateEndTime = timeOperationStarted + greenCrossTime; break;
+			case RED_MAIN_YELLOW_CROSS : stateEndTime = timeOperationStarted + yellowCrossTime; break;
+			case RED_MAIN2_RED_CROSS2 : stateEndTime = timeOperationStarted + allRedTime; break;
+		}
+	}
+	
+	@Override
+	public void remove(){
+		super.remove();
+		world.signalRegionIndex.removeRegion(this);
 	}
 	
 	/**
@@ -181,6 +208,11 @@ public class TileEntitySignalController extends TileEntityDecor implements ITile
 		currentOpState = state;
 		if(cycleUpdate){
 			timeOperationStarted = (int) ((world.getTick()/20)%Integer.MAX_VALUE);
+			updateStateEndTime();
+			if(state.equals(OpState.GREEN_MAIN_RED_CROSS)){
+				//Back to idle.  Vehicles may have shown up during the cycle, so check for them.
+				vehicleDetected = true;
+			}
 		}
 		Iterator<Point3i> iterator = componentLocations.iterator();
 		while(iterator.hasNext()){
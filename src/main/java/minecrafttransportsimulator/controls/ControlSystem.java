@@ -14,6 +14,7 @@ import minecrafttransportsimulator.packets.instances.PacketGunChange;
 import minecrafttransportsimulator.packets.instances.PacketPlayerGunFiring;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlDigital;
+import minecrafttransportsimulator.packets.instances.PacketVehicleControlFrame;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartSeat;
 import minecrafttransportsimulator.packets.instances.PacketVehicleVariableToggle;
 import minecrafttransportsimulator.rendering.components.InterfaceEventsCamera;
@@ -35,6 +36,20 @@ public final class ControlSystem{
 	private static boolean joysticksInhibited = false;
 	private static WrapperPlayer clientPlayer;
 	
+	/**Minimum number of ticks between control frames sent to the server.**/
+	private static final int CONTROL_FRAME_INTERVAL = 2;
+	/**Number of ticks after which a control is re-sent if the server still doesn't have its value.**/
+	private static final int CONTROL_FRAME_TIMEOUT = 10;
+	/**Number of ticks after which a held control is re-sent even if it hasn't changed.  Needs to be less than the control surface cooldown.**/
+	private static final int CONTROL_FRAME_REFRESH = 60;
+	private static final int CONTROL_COUNT = PacketVehicleControlAnalog.Controls.values().length;
+	private static final short[] requestedControlValues = new short[CONTROL_COUNT];
+	private static final boolean[] requestedControls = new boolean[CONTROL_COUNT];
+	private static final short[] sentControlValues = new short[CONTROL_COUNT];
+	private static final long[] sentControlTicks = new long[CONTROL_COUNT];
+	private static EntityVehicleF_Physics controlFrameVehicle;
+	private static long lastControlFrameTick;
+	
 	/**
 	 * Static initializer for the wrapper inputs, as we need to iterate through the enums to initialize them
 	 * prior to using them in any of the methods contained in this wrapper (cause they'll be null).
@@ -73,6 +88,57 @@ public final class ControlSystem{
 		}else{
 			controlGroundVehicle(vehicle, isPlayerController);
 		}
+		sendControlFrame(vehicle);
+	}
+	
+	/**
+	 *  Sets the passed-in control to the passed-in absolute value.  This doesn't send a packet right away.
+	 *  Instead, the value is buffered and sent with any other changed controls at the end of the tick
+	 *  in {@link #sendControlFrame(EntityVehicleF_Physics)}.  If a control is set more than once in a tick,
+	 *  the last value wins.
+	 */
+	private static void setControl(PacketVehicleControlAnalog.Controls control, short value){
+		requestedControlValues[control.ordinal()] = (short) control.clamp(value);
+		requestedControls[control.ordinal()] = true;
+	}
+	
+	/**
+	 *  Sends all controls set this tick whose values differ from what was last sent to the server.
+	 *  Controls are also sent if the server hasn't applied the last value after {@link #CONTROL_FRAME_TIMEOUT}
+	 *  ticks, as packets can be dropped when the vehicle isn't loaded yet, or if they haven't been sent
+	 *  for {@link #CONTROL_FRAME_REFRESH} ticks, as control surfaces return to center if they aren't refreshed.
+	 *  Frames are sent no more often than every {@link #CONTROL_FRAME_INTERVAL} ticks; controls set
+	 *  between frames stay buffered and go out with the next one.
+	 */
+	private static void sendControlFrame(EntityVehicleF_Physics vehicle){
+		if(vehicle != controlFrameVehicle){
+			controlFrameVehicle = vehicle;
+			lastControlFrameTick = vehicle.ticksExisted - CONTROL_FRAME_INTERVAL;
+			for(int i=0; i<CONTROL_COUNT; ++i){
+				sentControlValues[i] = Short.MIN_VALUE;
+				sentControlTicks[i] = vehicle.ticksExisted;
+			}
+		}
+		
+		if(vehicle.ticksExisted - lastControlFrameTick >= CONTROL_FRAME_INTERVAL){
+			int controlMask = 0;
+			for(PacketVehicleControlAnalog.Controls control : PacketVehicleControlAnalog.Controls.values()){
+				int i = control.ordinal();
+				if(requestedControls[i]){
+					long ticksSinceSent = vehicle.ticksExisted - sentControlTicks[i];
+					if(requestedControlValues[i] != sentControlValues[i] || (requestedControlValues[i] != control.getValue(vehicle) && ticksSinceSent >= CONTROL_FRAME_TIMEOUT) || ticksSinceSent >= CONTROL_FRAME_REFRESH){
+						controlMask |= 1 << i;
+						sentControlValues[i] = requestedControlValues[i];
+						sentControlTicks[i] = vehicle.ticksExisted;
+					}
+					requestedControls[i] = false;
+				}
+			}
+			if(controlMask != 0){
+				lastControlFrameTick = vehicle.ticksExisted;
+				InterfacePacket.sendToServer(new PacketVehicleControlFrame(vehicle, controlMask, sentControlValues.clone()));
+			}
+		}
 	}
 	
 	private static void controlCamera(ControlsKeyboard camLock, ControlsKeyboard zoomIn, ControlsKeyboard zoomOut, ControlsJoystick changeView){
@@ -134,7 +200,7 @@ public final class ControlSystem{
 		}else if(brakeValue > 0 && vehicle.parkingBrakeOn){
 			InterfacePacket.sendToServer(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.P_BRAKE, false));
 		}
-		InterfacePacket.sendToServer(new PacketVehicleControlAnalog(vehicle, PacketVehicleControlAnalog.Controls.BRAKE, brakeValue, Byte.MAX_VALUE));
+		setControl(PacketVehicleControlAnalog.Controls.BRAKE, brakeValue);
 	}
 	
 	private static void controlGun(EntityVehicleF_Physics vehicle, ControlsKeyboard gunTrigger, ControlsKeyboard gunSwitch){
@@ -201,7 +267,7 @@ public final class ControlSystem{
 		
 		//Increment or decrement throttle.
 		if(InterfaceInput.isJoystickPresent(ControlsJoystick.AIRCRAFT_THROTTLE.config.joystickName)){
-			InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.THROTTLE, ControlsJoystick.AIRCRAFT_THROTTLE.getAxisState((short) 0), Byte.MAX_VALUE));
+			setControl(PacketVehicleControlAnalog.Controls.THROTTLE, ControlsJoystick.AIRCRAFT_THROTTLE.getAxisState((short) 0));
 		}else{
 			if(ControlsKeyboard.AIRCRAFT_THROTTLE_U.isPressed()){
 				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 1, (byte) 0));
@@ -223,7 +289,7 @@ public final class ControlSystem{
 		
 		//Check yaw.
 		if(InterfaceInput.isJoystickPresent(ControlsJoystick.AIRCRAFT_YAW.config.joystickName)){
-			InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.RUDDER, ControlsJoystick.AIRCRAFT_YAW.getAxisState(EntityVehicleF_Physics.MAX_RUDDER_ANGLE), Byte.MAX_VALUE));
+			setControl(PacketVehicleControlAnalog.Controls.RUDDER, ControlsJoystick.AIRCRAFT_YAW.getAxisState(EntityVehicleF_Physics.MAX_RUDDER_ANGLE));
 		}else{
 			if(ControlsKeyboard.AIRCRAFT_YAW_R.isPressed()){
 				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.RUDDER, (short) (ConfigSystem.configObject.clientControls.steeringIncrement.value.shortValue()*(aircraft.rudderAngle < 0 ? 2 : 1)), ConfigSystem.configObject.clientControls.controlSurfaceCooldown.value.byteValue()));
@@ -243,14 +309,14 @@ public final class ControlSystem{
 		if(ConfigSystem.configObject.clientControls.mouseYoke.value){
 			if(EntityVehicleF_Physics.lockCameraToMovement && InterfaceGUI.isGUIActive(null)){
 				long mousePosition = InterfaceInput.getTrackedMouseInfo();
-				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.AILERON, (short) (mousePosition >> Integer.SIZE), Byte.MAX_VALUE));
-				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.ELEVATOR, (short) ((int) -mousePosition), Byte.MAX_VALUE));
+				setControl(PacketVehicleControlAnalog.Controls.AILERON, (short) (mousePosition >> Integer.SIZE));
+				setControl(PacketVehicleControlAnalog.Controls.ELEVATOR, (short) ((int) -mousePosition));
 				
 			}
 		}else{
 			//Check pitch.
 			if(InterfaceInput.isJoystickPresent(ControlsJoystick.AIRCRAFT_PITCH.config.joystickName)){
-				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.ELEVATOR, ControlsJoystick.AIRCRAFT_PITCH.getAxisState(EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE), Byte.MAX_VALUE));
+				setControl(PacketVehicleControlAnalog.Controls.ELEVATOR, ControlsJoystick.AIRCRAFT_PITCH.getAxisState(EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE));
 			}else{
 				if(ControlsKeyboard.AIRCRAFT_PITCH_U.isPressed()){
 					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.ELEVATOR, (short) (ConfigSystem.configObject.clientControls.flightIncrement.value.shortValue()*(aircraft.elevatorAngle < 0 ? 2 : 1)), ConfigSystem.configObject.clientControls.controlSurfaceCooldown.value.byteValue()));
@@ -268,7 +334,7 @@ public final class ControlSystem{
 			
 			//Check roll.
 			if(InterfaceInput.isJoystickPresent(ControlsJoystick.AIRCRAFT_ROLL.config.joystickName)){
-				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.AILERON, ControlsJoystick.AIRCRAFT_ROLL.getAxisState(EntityVehicleF_Physics.MAX_AILERON_ANGLE), Byte.MAX_VALUE));
+				setControl(PacketVehicleControlAnalog.Controls.AILERON, ControlsJoystick.AIRCRAFT_ROLL.getAxisState(EntityVehicleF_Physics.MAX_AILERON_ANGLE));
 			}else{
 				if(ControlsKeyboard.AIRCRAFT_ROLL_R.isPressed()){
 					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(aircraft, PacketVehicleControlAnalog.Controls.AILERON, (short) (ConfigSystem.configObject.clientControls.flightIncrement.value.shortValue()*(aircraft.aileronAngle < 0 ? 2 : 1)), ConfigSystem.configObject.clientControls.controlSurfaceCooldown.value.byteValue()));
@@ -343,13 +409,13 @@ public final class ControlSystem{
 				//Otherwise send normal values if we are in neutral or forwards,
 				//and invert controls if we are in a reverse gear.
 				if(throttleValue == 0 && brakeValue == 0 && powered.axialVelocity < PartEngine.MAX_SHIFT_SPEED){
-					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.BRAKE, EntityVehicleF_Physics.MAX_BRAKE, Byte.MAX_VALUE));
+					setControl(PacketVehicleControlAnalog.Controls.BRAKE, EntityVehicleF_Physics.MAX_BRAKE);
 				}else if(currentGear >= 0){
-					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.BRAKE, brakeValue, Byte.MAX_VALUE));
-					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, throttleValue, Byte.MAX_VALUE));
+					setControl(PacketVehicleControlAnalog.Controls.BRAKE, brakeValue);
+					setControl(PacketVehicleControlAnalog.Controls.THROTTLE, throttleValue);
 				}else{
-					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.BRAKE, throttleValue, Byte.MAX_VALUE));
-					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, brakeValue, Byte.MAX_VALUE));
+					setControl(PacketVehicleControlAnalog.Controls.BRAKE, throttleValue);
+					setControl(PacketVehicleControlAnalog.Controls.THROTTLE, brakeValue);
 				}
 			}
 		}else{
@@ -359,25 +425,25 @@ public final class ControlSystem{
 				//Send throttle over if throttle if cruise control is off, or if throttle is less than the axis level.
 				short throttleLevel = ControlsJoystick.CAR_GAS.getAxisState((short) 0);
 				if(!powered.cruiseControl || powered.throttle < throttleLevel){
-					InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, ControlsJoystick.CAR_GAS.getAxisState((short) 0), Byte.MAX_VALUE));
+					setControl(PacketVehicleControlAnalog.Controls.THROTTLE, ControlsJoystick.CAR_GAS.getAxisState((short) 0));
 				}
 			}else{
 				if(ControlsKeyboardDynamic.CAR_SLOW.isPressed()){
 					if(!ConfigSystem.configObject.clientControls.halfThrottle.value){
-						InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, (short) (EntityVehicleF_Physics.MAX_THROTTLE/2), Byte.MAX_VALUE));
+						setControl(PacketVehicleControlAnalog.Controls.THROTTLE, (short) (EntityVehicleF_Physics.MAX_THROTTLE/2));
 					}else{
-						InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, EntityVehicleF_Physics.MAX_THROTTLE, Byte.MAX_VALUE));
+						setControl(PacketVehicleControlAnalog.Controls.THROTTLE, EntityVehicleF_Physics.MAX_THROTTLE);
 					}
 				}else if(ControlsKeyboard.CAR_GAS.isPressed()){
 					if(!ConfigSystem.configObject.clientControls.halfThrottle.value){
-						InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, EntityVehicleF_Physics.MAX_THROTTLE, Byte.MAX_VALUE));
+						setControl(PacketVehicleControlAnalog.Controls.THROTTLE, EntityVehicleF_Physics.MAX_THROTTLE);
 					}else{
-						InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, (short) (EntityVehicleF_Physics.MAX_THROTTLE/2), Byte.MAX_VALUE));
+						setControl(PacketVehicleControlAnalog.Controls.THROTTLE, (short) (EntityVehicleF_Physics.MAX_THROTTLE/2));
 					}
 				}else{
 					//Don't send gas off packet if we have cruise on.
 					if(!powered.cruiseControl){
-						InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 0, Byte.MAX_VALUE));
+						setControl(PacketVehicleControlAnalog.Controls.THROTTLE, (short) 0);
 					}
 				}
 			}
@@ -387,11 +453,11 @@ public final class ControlSystem{
 		if(ConfigSystem.configObject.clientControls.mouseYoke.value){
 			if(EntityVehicleF_Physics.lockCameraToMovement && InterfaceGUI.isGUIActive(null)){
 				long mousePosition = InterfaceInput.getTrackedMouseInfo();
-				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.RUDDER, (short) (mousePosition >> Integer.SIZE), Byte.MAX_VALUE));
+				setControl(PacketVehicleControlAnalog.Controls.RUDDER, (short) (mousePosition >> Integer.SIZE));
 			}
 		}else{
 			if(InterfaceInput.isJoystickPresent(ControlsJoystick.CAR_TURN.config.joystickName)){
-				InterfacePacket.sendToServer(new PacketVehicleControlAnalog(powered, PacketVehicleControlAnalog.Controls.RUDDER, ControlsJoystick.CAR_TURN.getAxisState(EntityVehicleF_Physics.MAX_RUDDER_ANGLE), Byte.MAX_VALUE));
+				setControl(PacketVehicleControlAnalog.Controls.RUDDER, ControlsJoystick.CAR_TURN.getAxisState(EntityVehicleF_Physics.MAX_RUDDER_ANGLE));
 			}else{
 				//Depending on what we are pressing, send out packets.
 				//If we are turning in the opposite direction of our current angle, send out a packet with twice the value.
@@ -48,7 +48,7 @@ public class ItemFuelHose extends AItemBase implements IItemVehicleInteractable{
 								if(part.worldPos.distanceTo(firstPartClicked.worldPos) < 15){
 									if(interactable.tank.getFluid().isEmpty() || firstPartClicked.tank.getFluid().isEmpty() || interactable.tank.getFluid().equals(firstPartClicked.tank.getFluid())){
 										firstPartClicked.linkedPart = interactable;
-										InterfacePacket.sendToAllClients(new PacketVehiclePartInteractable(firstPartClicked));
+										InterfacePacket.sendToClients(new PacketVehiclePartInteractable(firstPartClicked));
 										player.sendPacket(new PacketPlayerChatMessage("interact.fuelhose.secondlink"));
 										firstPartClicked = null;
 									}else{
@@ -68,7 +68,7 @@ public class ItemFuelHose extends AItemBase implements IItemVehicleInteractable{
 						if(vehicle.position.distanceTo(firstPartClicked.worldPos) < 15){
 							if(vehicle.fuelTank.getFluid().isEmpty() || firstPartClicked.tank.getFluid().isEmpty() || vehicle.fuelTank.getFluid().equals(firstPartClicked.tank.getFluid())){
 								firstPartClicked.linkedVehicle = vehicle;
-								InterfacePacket.sendToAllClients(new PacketVehiclePartInteractable(firstPartClicked));
+								InterfacePacket.sendToClients(new PacketVehiclePartInteractable(firstPartClicked));
 								player.sendPacket(new PacketPlayerChatMessage("interact.fuelhose.secondlink"));
 								firstPartClicked = null;
 							}else{
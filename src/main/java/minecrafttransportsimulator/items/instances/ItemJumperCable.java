@@ -41,8 +41,8 @@ public class ItemJumperCable extends AItemBase implements IItemVehicleInteractab
 							}else if(engine.worldPos.distanceTo(lastEngineClicked.worldPos) < 15){
 								engine.linkedEngine = lastEngineClicked;
 								lastEngineClicked.linkedEngine = engine;
-								InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(engine, lastEngineClicked));
-								InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(lastEngineClicked, engine));
+								InterfacePacket.sendToClients(new PacketVehiclePartEngine(engine, lastEngineClicked));
+								InterfacePacket.sendToClients(new PacketVehiclePartEngine(lastEngineClicked, engine));
 								lastEngineClicked = null;
 								player.sendPacket(new PacketPlayerChatMessage("interact.jumpercable.secondlink"));
 							}else{
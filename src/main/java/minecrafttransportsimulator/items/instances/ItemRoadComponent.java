@@ -23,7 +23,9 @@ import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.packets.components.InterfacePacket;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
+import minecrafttransportsimulator.packets.instances.PacketTileEntityRoadConnectionUpdate;
 
 public class ItemRoadComponent extends AItemSubTyped<JSONRoadComponent> implements IItemBlock{
 	private final Map<WrapperPlayer, Point3i> lastPositionClicked = new HashMap<WrapperPlayer, Point3i>();
@@ -200,8 +202,12 @@ public class ItemRoadComponent extends AItemSubTyped<JSONRoadComponent> implemen
 							//Try to spawn all the collision blocks for this road.
 							//If we spawn blocks, we create all collision points and join the road's connections.
 							if(newRoad.spawnCollisionBlocks(player)){
+								PacketTileEntityRoadConnectionUpdate updatePacket = new PacketTileEntityRoadConnectionUpdate();
 								for(RoadLane lane : newRoad.lanes){
-									lane.generateConnections();
+									lane.generateConnections(updatePacket);
+								}
+								if(updatePacket.hasUpdates()){
+									InterfacePacket.sendToClientsInWorld(updatePacket, world);
 								}
 								
 								//Set new points.
@@ -229,8 +235,12 @@ public class ItemRoadComponent extends AItemSubTyped<JSONRoadComponent> implemen
 					
 					//Try to spawn all the collision blocks for this road.
 					if(newRoad.spawnCollisionBlocks(player)){
+						PacketTileEntityRoadConnectionUpdate updatePacket = new PacketTileEntityRoadConnectionUpdate();
 						for(RoadLane lane : newRoad.lanes){
-							lane.generateConnections();
+							lane.generateConnections(updatePacket);
+						}
+						if(updatePacket.hasUpdates()){
+							InterfacePacket.sendToClientsInWorld(updatePacket, world);
 						}
 						
 						lastRoadClickedData.put(player, newRoad.getClickData(blockPlacementPoint, false));
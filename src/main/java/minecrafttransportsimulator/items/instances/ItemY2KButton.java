@@ -31,23 +31,23 @@ public class ItemY2KButton extends AItemBase{
 	@Override
 	public boolean onUsed(WrapperWorld world, WrapperPlayer player){
 		if(!world.isClient() && player.isOP()){
-			for(AEntityBase entity : AEntityBase.createdServerEntities){
+			for(AEntityBase entity : world.entityRegistry.getEntities()){
 				if(entity instanceof EntityVehicleF_Physics){
 					EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
 					vehicle.throttle = 0;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(vehicle, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 0, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(vehicle, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 0, (byte) 0));
 					vehicle.parkingBrakeOn = true;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.P_BRAKE, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.P_BRAKE, true));
 					for(PartEngine engine : vehicle.engines.values()){
 						engine.setMagnetoStatus(false);
-						InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(engine, Signal.MAGNETO_OFF));
+						InterfacePacket.sendToClients(new PacketVehiclePartEngine(engine, Signal.MAGNETO_OFF));
 					}
 					Iterator<String> variableIterator = vehicle.variablesOn.iterator();
 					while(variableIterator.hasNext()){
 						String variableName = variableIterator.next();
 						for(LightType light : LightType.values()){
 							if(light.lowercaseName.equals(variableName)){
-								InterfacePacket.sendToAllClients(new PacketVehicleVariableToggle(vehicle, variableName));
+								InterfacePacket.sendToClients(new PacketVehicleVariableToggle(vehicle, variableName));
 								variableIterator.remove();
 								break;
 							}
@@ -3,6 +3,9 @@ package minecrafttransportsimulator.jsondefs;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
 import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
+import minecrafttransportsimulator.rendering.components.AAnimationsBase.CompiledVariable;
+import minecrafttransportsimulator.rendering.instances.AnimationsVehicle;
+import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 public class JSONAnimationDefinition{
 	@JSONRequired
@@ -59,6 +62,9 @@ public class JSONAnimationDefinition{
 	@JSONDescription("Like forwardsEndSound, but for reverse.")
 	public String reverseEndSound;
 	
+	/**The {@link #variable} compiled for vehicles.  Set by {@link AnimationsVehicle#compileAnimation(JSONAnimationDefinition)} when the pack is loaded.  Not part of the JSON.**/
+	public transient CompiledVariable<EntityVehicleF_Physics> compiledVehicleVariable;
+	
 	public static enum AnimationComponentType{
 		@JSONDescription("This animation moves this component in the X/Y/Z direction based on the axis value, with the component moving the total distance specified when the value of the variable is 1.")
 		TRANSLATION,
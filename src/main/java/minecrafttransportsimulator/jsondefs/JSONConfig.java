@@ -34,6 +34,9 @@ public class JSONConfig{
 		public ConfigBoolean noclipVehicles = new ConfigBoolean(false, "If true, vehicles will not be able to collide with blocks.  This also prevents them from moving if they do not have wheels on them, as otherwise they would phase through the ground into the void.");
 		public ConfigBoolean creativeDamage = new ConfigBoolean(false, "If true, damage from vehicles and guns will be applied to creative players.");
 		public ConfigBoolean chunkloadVehicles = new ConfigBoolean(true, "If true, vehicles will be chunkloaded when on roads/tracks.  This allows them to travel into unloaded chunks.");
+		public ConfigBoolean verifyMass = new ConfigBoolean(false, "If true, vehicles will periodically check the mass they track as things are loaded and unloaded against a full re-calculation, and log an error if they don't match.  This is a debug option, and should normally be false as the check is slow.");
+		public ConfigBoolean logTileEntityUpdates = new ConfigBoolean(false, "If true, the number of tile entity updates that were run and skipped is logged every minute for each world.  This is a debug option for tuning how often tile entities update, and should normally be false.");
+		public ConfigBoolean parallelPhysics = new ConfigBoolean(true, "If true, vehicle forces on servers are calculated at the start of each tick on all available CPU cores, rather than one vehicle at a time on the server thread.  The parts of these vehicles update just before this, rather than when the vehicle updates.  Helps servers with lots of vehicles.");
 		public ConfigDouble speedFactor = new ConfigDouble(0.35D, "Factor to apply to vehicle movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
 		public ConfigDouble hitboxClamp = new ConfigDouble(0.1D, "This value defines the minimum delta for hitboxes.  This prevents hitboxes from moving if too little movement of the vehicle has been performed.  Clamping helps to reduce Floating-Point errors and The Shakes when on vehicles.  Lower values offer more accurate hitbox detection, at an increased cost of getting stuck in vehicles.");
 		public ConfigDouble fuelUsageFactor = new ConfigDouble(1.0D, "Factor times which engines use fuel.  Change this if you think engines use fuel too fast or slow.");
@@ -194,6 +194,13 @@ public class BuilderBlock extends Block{
     	super.breakBlock(world, pos, state);
     }
     
+    @Override
+	@SuppressWarnings("deprecation")
+    public void neighborChanged(IBlockState state, World world, BlockPos pos, Block block, BlockPos fromPos){
+    	//Forward the neighbor change to the block.  This is how blocks find out about redstone changes.
+    	mcBlock.onNeighborChanged(WrapperWorld.getWrapperFor(world), new Point3i(pos.getX(), pos.getY(), pos.getZ()));
+    }
+    
     @Override
 	@SuppressWarnings("deprecation")
     public void addCollisionBoxToList(IBlockState state, World world, BlockPos pos, AxisAlignedBB entityBox, List<AxisAlignedBB> collidingBoxes, @Nullable Entity entity, boolean p_185477_7_){
@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.mcinterface;
 
+import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -10,7 +11,9 @@ import javax.annotation.Nullable;
 
 import minecrafttransportsimulator.MasterLoader;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.BoundingBoxTree;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.EntityGrid;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.IItemEntityProvider;
@@ -19,11 +22,15 @@ import minecrafttransportsimulator.packets.instances.PacketEntityCSHandshake;
 import minecrafttransportsimulator.packets.instances.PacketVehicleInteract;
 import minecrafttransportsimulator.rendering.components.InterfaceEventsPlayerRendering;
 import minecrafttransportsimulator.sound.IRadioProvider;
+import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.PackParserSystem;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.projectile.EntityArrow;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.item.ItemStack;
@@ -34,15 +41,22 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.Explosion;
 import net.minecraft.world.World;
 import net.minecraftforge.event.RegistryEvent;
+import net.minecraftforge.event.entity.ProjectileImpactEvent;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.ExplosionEvent;
+import net.minecraftforge.event.world.GetCollisionBoxesEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.common.registry.EntityEntry;
 import net.minecraftforge.fml.common.registry.EntityEntryBuilder;
 
@@ -67,12 +81,19 @@ public class BuilderEntity extends Entity{
 	private boolean requestDataFromServer;
 	/**Last saved explosion position (used for damage calcs).**/
 	private static Point3d lastExplosionPosition;
+	/**Field for the size of explosions, as MC doesn't let us get it.  Null if it couldn't be found.**/
+	private static Field explosionSizeField;
+	private static boolean explosionSizeFieldChecked;
 	/**Position where we have spawned a fake light.  Used for shader compatibility.**/
 	private BlockPos fakeLightPosition;
 	/**Collective for interaction boxes.  These are used by this entity to allow players to interact with it.**/
 	private WrapperAABBCollective interactionBoxes;
 	/**Collective for collision boxes.  These are used by this entity to make things collide with it.**/
 	private WrapperAABBCollective collisionBoxes;
+	/**Tree for interaction boxes.  Re-fit every tick and shared with the interaction collective.**/
+	private final BoundingBoxTree interactionBoxTree = new BoundingBoxTree();
+	/**Tree for collision boxes.  Re-fit every tick and shared with the collision collective.**/
+	private final BoundingBoxTree collisionBoxTree = new BoundingBoxTree();
 	
 	public BuilderEntity(World world){
 		super(world);
@@ -94,8 +115,13 @@ public class BuilderEntity extends Entity{
     		//Only do this after the first tick of the entity, as we might have some states that need updating
     		//on that first tick that would cause bad maths.
     		//We also do this only every second, as it prevents excess checks.
-    		interactionBoxes = new WrapperAABBCollective(this, entity.interactionBoxes);
-    		collisionBoxes = new WrapperAABBCollective(this, entity.collisionBoxes);
+    		//The box trees are re-fit rather than re-built, and the collectives are only re-created if our bounds changed.
+    		interactionBoxTree.update(entity.interactionBoxes);
+    		collisionBoxTree.update(entity.collisionBoxes);
+    		if(interactionBoxes == null || !interactionBoxes.matchesBounds(this)){
+    			interactionBoxes = new WrapperAABBCollective(this, interactionBoxTree);
+    			collisionBoxes = new WrapperAABBCollective(this, collisionBoxTree);
+    		}
     		if(entity.ticksExisted > 1 && entity.ticksExisted%20 == 0){
 	    		double furthestWidthRadius = 0;
 	    		double furthestHeightRadius = 0;
@@ -106,8 +132,10 @@ public class BuilderEntity extends Entity{
 	    		}
 	    		setSize((float) furthestWidthRadius*2F, (float) furthestHeightRadius*2F);
 	    		
-	    		//Make sure the collision bounds for MC are big enough to collide with this entity.
-				if(World.MAX_ENTITY_RADIUS < furthestWidthRadius || World.MAX_ENTITY_RADIUS < furthestHeightRadius){
+	    		//Make sure the search bounds for MC are big enough to find this entity for client-side mouse-over checks.
+	    		//Servers don't need this, as collision, entity, explosion, and projectile queries use the world's entity grid instead.
+	    		//Inflating this on servers would make every MC entity query in the world scan extra chunks.
+				if(world.isRemote && (World.MAX_ENTITY_RADIUS < furthestWidthRadius || World.MAX_ENTITY_RADIUS < furthestHeightRadius)){
 					World.MAX_ENTITY_RADIUS = Math.max(furthestWidthRadius, furthestHeightRadius);
 				}
     		}
@@ -117,6 +145,10 @@ public class BuilderEntity extends Entity{
     		rotationYaw = (float) -entity.angles.y;
     		rotationPitch = (float) entity.angles.x;
     		
+    		//Update our bounds in the entity grid, and let any signal controllers know if we entered their regions.
+    		entity.world.entityGrid.update(entity, width/2D, height/2D);
+    		entity.world.signalRegionIndex.updateEntity(entity);
+    		
     		//Check that riders are still present prior to updating them.
     		//This handles dismounting of riders from entities in a non-event-driven way.
     		//We do this because other mods and Sponge like to screw up the events...
@@ -187,12 +219,10 @@ public class BuilderEntity extends Entity{
 		//Mark entity as invalid and remove from maps.
 		if(entity != null){
 			entity.isValid = false;
+			entity.world.entityGrid.remove(entity);
+			entity.world.signalRegionIndex.removeEntity(entity);
 			InterfaceChunkloader.removeEntityTicket(this);
-			if(world.isRemote){
-				AEntityBase.createdClientEntities.remove(entity);
-			}else{
-				AEntityBase.createdServerEntities.remove(entity);
-			}
+			entity.world.entityRegistry.remove(entity);
 			if(entity instanceof IRadioProvider && world.isRemote){
 				((IRadioProvider) entity).getRadio().stop();
 			}
@@ -373,30 +403,187 @@ public class BuilderEntity extends Entity{
 		return tag;
 	}
 	
+	/**
+     * Calculate vehicle forces for the world before any entities update.  This lets the calculations
+     * run in parallel, rather than one at a time as each entity updates.  Only done on servers, as
+     * clients don't have enough vehicles to make this worth it.
+     */
+    @SubscribeEvent
+    public static void on(TickEvent.WorldTickEvent event){
+    	if(event.phase.equals(Phase.START) && !event.world.isRemote && ConfigSystem.configObject.general.parallelPhysics.value){
+    		EntityVehicleF_Physics.calculateForces(WrapperWorld.getWrapperFor(event.world).entityRegistry.getEntities());
+    	}
+    }
+	
 	/**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      */
     @SubscribeEvent
     public static void on(WorldEvent.Unload event){
-		Iterator<AEntityBase> entityIterator = event.getWorld().isRemote ? AEntityBase.createdClientEntities.iterator() : AEntityBase.createdServerEntities.iterator();
-		while(entityIterator.hasNext()){
-			AEntityBase entity = entityIterator.next();
-			if(event.getWorld().equals(entity.world.world)){
-				entityIterator.remove();
+		WrapperWorld.getWrapperFor(event.getWorld()).entityRegistry.clear();
+    }
+	
+	/**
+	 * Adds the collision boxes of our entities to MC's collision checks.  MC only finds entities whose
+	 * center is within a small radius of the checked area, which large entities won't be.  Rather than
+	 * increase that radius for every entity in the world, we look up our entities in the entity grid.
+	 * This is called for every collision check of every MC entity, so we skip the lookup if there aren't
+	 * any of our entities in the grid columns near the checked area, which is most of the time.
+	 */
+	@SubscribeEvent
+	public static void on(GetCollisionBoxesEvent event){
+		Entity checkingEntity = event.getEntity();
+		if(checkingEntity != null && !(checkingEntity instanceof BuilderEntity)){
+			AxisAlignedBB checkedBox = event.getAabb();
+			EntityGrid grid = WrapperWorld.getWrapperFor(event.getWorld()).entityGrid;
+			if(grid.hasEntitiesNear(checkedBox.minX, checkedBox.minZ, checkedBox.maxX, checkedBox.maxZ)){
+				for(AEntityBase entity : grid.getEntitiesWithin(checkedBox.minX, checkedBox.minY, checkedBox.minZ, checkedBox.maxX, checkedBox.maxY, checkedBox.maxZ)){
+					BuilderEntity builder = (BuilderEntity) entity.wrapper.entity;
+					//MC will have already added the box if it found this entity, so don't add it twice.
+					if(!checkingEntity.isRidingSameEntity(builder) && !isFoundByCollisionCheck(builder, checkedBox)){
+						AxisAlignedBB collisionBox = builder.getCollisionBoundingBox();
+						if(collisionBox != null && collisionBox.intersects(checkedBox)){
+							event.getCollisionBoxesList().add(collisionBox);
+						}
+					}
+				}
 			}
 		}
-    }
+	}
+	
+	/**
+	 * Returns true if MC's own collision check for the passed-in box found the passed-in builder.
+	 * MC looks for entities in the box grown by 0.25, but only in the chunk sections within
+	 * {@link World#MAX_ENTITY_RADIUS} of it, so this does the same checks MC does.
+	 */
+	private static boolean isFoundByCollisionCheck(BuilderEntity builder, AxisAlignedBB checkedBox){
+		if(!builder.addedToChunk){
+			return false;
+		}
+		double minX = checkedBox.minX - 0.25D;
+		double minY = checkedBox.minY - 0.25D;
+		double minZ = checkedBox.minZ - 0.25D;
+		double maxX = checkedBox.maxX + 0.25D;
+		double maxY = checkedBox.maxY + 0.25D;
+		double maxZ = checkedBox.maxZ + 0.25D;
+		if(builder.chunkCoordX < MathHelper.floor((minX - World.MAX_ENTITY_RADIUS)/16D) || builder.chunkCoordX > MathHelper.floor((maxX + World.MAX_ENTITY_RADIUS)/16D)){
+			return false;
+		}
+		if(builder.chunkCoordZ < MathHelper.floor((minZ - World.MAX_ENTITY_RADIUS)/16D) || builder.chunkCoordZ > MathHelper.floor((maxZ + World.MAX_ENTITY_RADIUS)/16D)){
+			return false;
+		}
+		if(builder.chunkCoordY < MathHelper.clamp(MathHelper.floor((minY - World.MAX_ENTITY_RADIUS)/16D), 0, 15) || builder.chunkCoordY > MathHelper.clamp(MathHelper.floor((maxY + World.MAX_ENTITY_RADIUS)/16D), 0, 15)){
+			return false;
+		}
+		AxisAlignedBB builderBox = builder.getEntityBoundingBox();
+		return builderBox.maxX > minX && builderBox.minX < maxX && builderBox.maxY > minY && builderBox.minY < maxY && builderBox.maxZ > minZ && builderBox.minZ < maxZ;
+	}
 	
 	/**
 	 * We need to use explosion events here as we don't know where explosions occur in the world.
 	 * This results in them being position-less, so we can't get the collision box they hit for damage.
 	 * Whenever we have an explosion detonated in the world, save it's position.  We can then use it
 	 * in {@link #attackEntityFrom(DamageSource, float)} to tell the system which part to attack.
+	 * <br><br>
+	 * MC only damages entities whose position is within the explosion's radius, which large entities'
+	 * positions may not be even if the explosion is right next to them.  MC also won't find them
+	 * without a larger {@link World#MAX_ENTITY_RADIUS}.  So we find our entities in the entity grid,
+	 * and attack the ones MC won't with the damage MC would do at their closest point.
 	 */
 	@SubscribeEvent
 	public static void on(ExplosionEvent.Detonate event){
 		if(!event.getWorld().isRemote){
-			lastExplosionPosition = new Point3d(event.getExplosion().getPosition().x, event.getExplosion().getPosition().y, event.getExplosion().getPosition().z);
+			Explosion explosion = event.getExplosion();
+			Vec3d position = explosion.getPosition();
+			float explosionSize = getExplosionSize(explosion);
+			if(explosionSize > 0){
+				double radius = explosionSize*2D;
+				for(AEntityBase entity : WrapperWorld.getWrapperFor(event.getWorld()).entityGrid.getEntitiesWithin(position.x - radius, position.y - radius, position.z - radius, position.x + radius, position.y + radius, position.z + radius)){
+					BuilderEntity builder = (BuilderEntity) entity.wrapper.entity;
+					if(builder.getDistance(position.x, position.y, position.z) > radius){
+						AxisAlignedBB builderBox = builder.getEntityBoundingBox();
+						double deltaX = Math.max(builderBox.minX - position.x, Math.max(0, position.x - builderBox.maxX));
+						double deltaY = Math.max(builderBox.minY - position.y, Math.max(0, position.y - builderBox.maxY));
+						double deltaZ = Math.max(builderBox.minZ - position.z, Math.max(0, position.z - builderBox.maxZ));
+						double distanceFactor = Math.sqrt(deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ)/radius;
+						if(distanceFactor <= 1.0D){
+							double impact = 1.0D - distanceFactor;
+							lastExplosionPosition = new Point3d(position.x, position.y, position.z);
+							builder.attackEntityFrom(DamageSource.causeExplosionDamage(explosion), (int) ((impact*impact + impact)/2.0D*7.0D*radius + 1.0D));
+						}
+					}
+				}
+			}
+			lastExplosionPosition = new Point3d(position.x, position.y, position.z);
+		}
+	}
+	
+	/**
+	 * Helper method to get the size of the passed-in explosion.  MC doesn't have a method for this, so
+	 * we use reflection to get the field.  Returns 0 if the field couldn't be found.
+	 */
+	private static float getExplosionSize(Explosion explosion){
+		if(!explosionSizeFieldChecked){
+			explosionSizeFieldChecked = true;
+			for(Field field : Explosion.class.getDeclaredFields()){
+				if(field.getName().equals("size") || field.getName().equals("field_77280_f")){
+					field.setAccessible(true);
+					explosionSizeField = field;
+				}
+			}
+			if(explosionSizeField == null){
+				InterfaceCore.logError("Could not get explosion size field.  Explosions will only damage vehicles near their center.");
+			}
+		}
+		if(explosionSizeField != null){
+			try{
+				return explosionSizeField.getFloat(explosion);
+			}catch(Exception e){
+				e.printStackTrace();
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * MC only finds entities near projectiles if their position is near the projectile, which large entities'
+	 * positions may not be.  So when a projectile hits something, we check if it went through any of our entities
+	 * in the entity grid on its way there, and if so, change the hit to be on the closest one instead.
+	 * Our entities then get attacked by the projectile as normal.
+	 */
+	@SubscribeEvent
+	public static void on(ProjectileImpactEvent event){
+		Entity projectile = event.getEntity();
+		RayTraceResult hit = event.getRayTraceResult();
+		if(!projectile.world.isRemote && hit != null && hit.hitVec != null){
+			Vec3d start = projectile.getPositionVector();
+			Vec3d end = hit.hitVec;
+			EntityGrid grid = WrapperWorld.getWrapperFor(projectile.world).entityGrid;
+			if(grid.hasEntitiesNear(Math.min(start.x, end.x), Math.min(start.z, end.z), Math.max(start.x, end.x), Math.max(start.z, end.z))){
+				//Don't hit the entity the shooter is riding.
+				Entity shooter = null;
+				if(projectile instanceof EntityArrow){
+					shooter = ((EntityArrow) projectile).shootingEntity;
+				}else if(projectile instanceof EntityThrowable){
+					shooter = ((EntityThrowable) projectile).getThrower();
+				}else if(projectile instanceof EntityFireball){
+					shooter = ((EntityFireball) projectile).shootingEntity;
+				}
+				
+				double closestDistance = start.squareDistanceTo(end);
+				for(AEntityBase entity : grid.getEntitiesWithin(Math.min(start.x, end.x), Math.min(start.y, end.y), Math.min(start.z, end.z), Math.max(start.x, end.x), Math.max(start.y, end.y), Math.max(start.z, end.z))){
+					BuilderEntity builder = (BuilderEntity) entity.wrapper.entity;
+					if(builder.interactionBoxes != null && !builder.equals(hit.entityHit) && (shooter == null || !builder.equals(shooter.getRidingEntity()))){
+						RayTraceResult builderHit = builder.interactionBoxes.calculateIntercept(start, end);
+						if(builderHit != null && start.squareDistanceTo(builderHit.hitVec) < closestDistance){
+							closestDistance = start.squareDistanceTo(builderHit.hitVec);
+							hit.typeOfHit = RayTraceResult.Type.ENTITY;
+							hit.entityHit = builder;
+							hit.hitVec = builderHit.hitVec;
+						}
+					}
+				}
+			}
 		}
 	}
 	
@@ -4,6 +4,7 @@ import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.blocks.tileentities.components.ITileEntityTickable;
 import minecrafttransportsimulator.jsondefs.AJSONItem;
+import minecrafttransportsimulator.systems.ConfigSystem;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
@@ -28,6 +29,8 @@ import net.minecraft.world.World;
  */
 public class BuilderTileEntity<TileEntityType extends ATileEntityBase<?>> extends TileEntity{
 	public TileEntityType tileEntity;
+	/**True if our TE has been registered with the world's scheduler.  Only used for tickable TEs.**/
+	private boolean registeredForUpdates;
 	
 	public BuilderTileEntity(){
 		//Blank constructor for MC.
@@ -44,10 +47,50 @@ public class BuilderTileEntity<TileEntityType extends ATileEntityBase<?>> extend
 	public void invalidate(){
 		super.invalidate();
 		if(tileEntity != null){
+			unregisterForUpdates();
 			tileEntity.remove();
 		}
 	}
 	
+	@Override
+	public void onChunkUnload(){
+		super.onChunkUnload();
+		//MC doesn't invalidate TEs in unloaded chunks, so remove them here.
+		if(tileEntity != null){
+			unregisterForUpdates();
+			tileEntity.remove();
+		}
+	}
+	
+	/**
+	 *  Updates the world's TE scheduler.  Called by tickable builders every tick.  The first
+	 *  call registers our TE with the scheduler, and every call lets the scheduler run the
+	 *  updates that are due this tick.  The scheduler only runs each tick once, so most of
+	 *  these calls return right away, and TEs are only updated when they need to be.
+	 */
+	protected void updateScheduler(){
+		if(tileEntity != null){
+			if(!registeredForUpdates){
+				tileEntity.world.tileEntityScheduler.register((ITileEntityTickable) tileEntity);
+				registeredForUpdates = true;
+			}
+			tileEntity.world.tileEntityScheduler.update(tileEntity.world.getTick());
+			if(ConfigSystem.configObject.general.logTileEntityUpdates.value){
+				tileEntity.world.tileEntityScheduler.logUpdateCounts(tileEntity.world.getTick(), 1200);
+			}
+		}
+	}
+	
+	/**
+	 *  Removes our TE from the world's scheduler, if it was registered.
+	 */
+	private void unregisterForUpdates(){
+		if(registeredForUpdates){
+			tileEntity.world.tileEntityScheduler.remove((ITileEntityTickable) tileEntity);
+			registeredForUpdates = false;
+		}
+	}
+	
 	@Override
 	public NBTTagCompound getUpdateTag(){
 		//Gets called when the server sends this TE over as NBT data.
@@ -127,9 +170,7 @@ public class BuilderTileEntity<TileEntityType extends ATileEntityBase<?>> extend
 		
 		@Override
 		public void update(){
-			if(tileEntity != null){
-				((ITileEntityTickable) tileEntity).update();
-			}
+			updateScheduler();
 		}
 	}
 }
\ No newline at end of file
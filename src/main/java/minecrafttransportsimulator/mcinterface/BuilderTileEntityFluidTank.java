@@ -5,7 +5,6 @@ import javax.annotation.Nullable;
 import minecrafttransportsimulator.baseclasses.IFluidTankProvider;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
-import minecrafttransportsimulator.blocks.tileentities.components.ITileEntityTickable;
 import minecrafttransportsimulator.jsondefs.AJSONItem;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
@@ -32,9 +31,7 @@ public class BuilderTileEntityFluidTank<FluidTankTileEntity extends ATileEntityB
 	
 	@Override
 	public void update(){
-		if(tileEntity != null){
-			((ITileEntityTickable) tileEntity).update();
-		}
+		updateScheduler();
 	}
 
 	@Override
@@ -82,6 +82,15 @@ public class InterfaceCore{
 		}
 	}
 	
+	/**
+	 *  Logs information to the logging system.  Used for debug output that's enabled in the config.
+	 */
+	public static void logInfo(String message){
+		if(MasterLoader.logger != null){
+			MasterLoader.logger.info(MasterLoader.MODID.toUpperCase() + ": " + message);
+		}
+	}
+	
 	/**
      * Called to send queued logs to the logger.  This is required as the logger
      * gets created during pre-init, but logs can be generated during construction.
@@ -1,10 +1,12 @@
 package minecrafttransportsimulator.mcinterface;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nullable;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.BoundingBoxTree;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -15,14 +17,18 @@ import net.minecraft.util.math.Vec3d;
  * calls and does checks for each BoundingBox that's in the passed-in list.
  * Mostly used for entities that need complex collision mapping, because MC don't let you have more
  * than one AABB per entity, but somehow you can have more than one for something as small as a block?
+ * Boxes are looked up through a {@link BoundingBoxTree} rather than checked one-by-one, so only the boxes
+ * near the query are checked.  The tree is owned and updated by the entity, which allows this class to be
+ * re-used until the entity's bounds change.
  * 
  * @author don_bruce
  */
 public class WrapperAABBCollective extends AxisAlignedBB{
-	private final List<BoundingBox> boxes;
+	private final BoundingBoxTree tree;
+	private final List<BoundingBox> boxes = new ArrayList<BoundingBox>();
 	public BoundingBox lastBoxRayTraced;
 	
-	public WrapperAABBCollective(BuilderEntity entity, List<BoundingBox> boxes){
+	public WrapperAABBCollective(BuilderEntity entity, BoundingBoxTree tree){
 		super(	entity.posX - entity.width/2D,
 				entity.posY - entity.height/2D,
 				entity.posZ - entity.width/2D,
@@ -30,7 +36,15 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 				entity.posY + entity.height/2D,
 				entity.posZ + entity.width/2D
 			);
-		this.boxes = boxes;
+		this.tree = tree;
+	}
+	
+	/**
+	 *  Returns true if this collective's bounds are the same as the bounds for the passed-in entity.
+	 *  If so, this collective may be re-used rather than creating a new one.
+	 */
+	public boolean matchesBounds(BuilderEntity entity){
+		return minX == entity.posX - entity.width/2D && minY == entity.posY - entity.height/2D && minZ == entity.posZ - entity.width/2D && maxX == entity.posX + entity.width/2D && maxY == entity.posY + entity.height/2D && maxZ == entity.posZ + entity.width/2D;
 	}
 	
 	@Override
@@ -40,6 +54,8 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateXOffset(AxisAlignedBB box, double offset){
+		//Only boxes in the path of the movement can affect the offset.
+		tree.getBoxesWithin(box.minX + Math.min(offset, 0), box.minY, box.minZ, box.maxX + Math.max(offset, 0), box.maxY, box.maxZ, boxes);
 		for(BoundingBox testBox : boxes){
 			if(box.maxY > testBox.globalCenter.y - testBox.heightRadius && box.minY < testBox.globalCenter.y + testBox.heightRadius && box.maxZ > testBox.globalCenter.z - testBox.depthRadius && box.minZ < testBox.globalCenter.z + testBox.depthRadius){
 				if(offset > 0.0D){
@@ -62,6 +78,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateYOffset(AxisAlignedBB box, double offset){
+		tree.getBoxesWithin(box.minX, box.minY + Math.min(offset, 0), box.minZ, box.maxX, box.maxY + Math.max(offset, 0), box.maxZ, boxes);
 		for(BoundingBox testBox : boxes){
 			if(box.maxX > testBox.globalCenter.x - testBox.widthRadius && box.minX < testBox.globalCenter.x + testBox.widthRadius && box.maxZ > testBox.globalCenter.z - testBox.depthRadius && box.minZ < testBox.globalCenter.z + testBox.depthRadius){
 				if(offset > 0.0D){
@@ -84,6 +101,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateZOffset(AxisAlignedBB box, double offset){
+		tree.getBoxesWithin(box.minX, box.minY, box.minZ + Math.min(offset, 0), box.maxX, box.maxY, box.maxZ + Math.max(offset, 0), boxes);
 		for(BoundingBox testBox : boxes){
 			if(box.maxX > testBox.globalCenter.x - testBox.widthRadius && box.minX < testBox.globalCenter.x + testBox.widthRadius && box.maxY > testBox.globalCenter.y - testBox.heightRadius && box.minY < testBox.globalCenter.y + testBox.heightRadius){
 				if(offset > 0.0D){
@@ -106,6 +124,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
     public boolean intersects(double otherMinX, double otherMinY, double otherMinZ, double otherMaxX, double otherMaxY, double otherMaxZ){
+		tree.getBoxesWithin(otherMinX, otherMinY, otherMinZ, otherMaxX, otherMaxY, otherMaxZ, boxes);
 		for(BoundingBox testBox : boxes){
 				if(
 					otherMaxX > testBox.globalCenter.x - testBox.widthRadius && 
@@ -135,6 +154,7 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 		Point3d end = new Point3d(vecB.x, vecB.y, vecB.z);
 		Point3d intersection = null;
 		EnumFacing sideHit = null;
+		tree.getBoxesAlongLine(start, end, boxes);
 		for(BoundingBox testBox : boxes){
 			Point3d testIntersection = testBox.getIntersectionPoint(start, end);
 			if(testIntersection != null){
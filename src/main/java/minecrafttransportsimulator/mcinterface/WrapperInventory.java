@@ -25,6 +25,15 @@ public class WrapperInventory{
 		return inventory.getSizeInventory();
 	}
 	
+	/**
+	 *  Returns a counter that increments every time this inventory changes.  Only the inventories
+	 *  of fake TEs count changes.  All other inventories return -1, and have to be re-checked to
+	 *  find out if they've changed.
+	 */
+	public int getChangeCount(){
+		return inventory instanceof WrapperTileEntity.IChangeCountingInventory ? ((WrapperTileEntity.IChangeCountingInventory) inventory).getChangeCount() : -1;
+	}
+	
 	/**
 	 *  Returns the stack in the specified slot.
 	 */
@@ -57,6 +57,14 @@ public class WrapperTileEntity{
 		tile.writeToNBT(data.tag);
 	}
 	
+	/**Interface for fake TEs that count changes to their inventories.  Used by
+	 * {@link WrapperInventory#getChangeCount()} to let things that depend on the
+	 * inventory's contents only re-check them when they change.
+	 */
+	static interface IChangeCountingInventory{
+		public int getChangeCount();
+	}
+	
 	/**Wrapper for Chests.
     *
     * @author don_bruce
@@ -68,8 +76,9 @@ public class WrapperTileEntity{
 			tile.readFromNBT(data.tag);
 		}
 		
-		private static class EntityChest extends TileEntityChest{
+		private static class EntityChest extends TileEntityChest implements IChangeCountingInventory{
 			final int numberSlots;
+			private int changeCount;
 			
 			public EntityChest(int numberSlots){
 				super();
@@ -86,6 +95,17 @@ public class WrapperTileEntity{
 				return true; 
 		    }
 			
+			@Override
+			public void markDirty(){
+				++changeCount;
+				super.markDirty();
+			}
+			
+			@Override
+			public int getChangeCount(){
+				return changeCount;
+			}
+			
 			@Override
 			public int getSizeInventory(){
 		        return numberSlots;
@@ -110,9 +130,10 @@ public class WrapperTileEntity{
 			tile.readFromNBT(data.tag);
 		}
 		
-		private static class EntityFurnace extends TileEntityFurnace{
+		private static class EntityFurnace extends TileEntityFurnace implements IChangeCountingInventory{
 			private boolean burningStateAtStartOfUpdate;
 			private boolean runningUpdate;
+			private int changeCount;
 			
 			public EntityFurnace(){
 				super();
@@ -128,6 +149,17 @@ public class WrapperTileEntity{
 				return true; 
 		    }
 			
+			@Override
+			public void markDirty(){
+				++changeCount;
+				super.markDirty();
+			}
+			
+			@Override
+			public int getChangeCount(){
+				return changeCount;
+			}
+			
 			//Override this to prevent the furnace from setting blockstates for furnaces in the world that don't exist.
 			//The only time this blockstate gets set is if the furnace changes burning states during the update() call,
 			//so get the value at the start of the update and return that throughout the update call.
@@ -159,7 +191,9 @@ public class WrapperTileEntity{
 			tile.readFromNBT(data.tag);
 		}
 		
-		private static class EntityBrewingStand extends TileEntityBrewingStand{
+		private static class EntityBrewingStand extends TileEntityBrewingStand implements IChangeCountingInventory{
+			private int changeCount;
+			
 			public EntityBrewingStand(){
 				super();
 				//Make sure we have registered our brewing stand.  If not, the game won't save it.
@@ -173,6 +207,17 @@ public class WrapperTileEntity{
 				//Always return true to prevent furnace GUI from closing.
 				return true; 
 		    }
+			
+			@Override
+			public void markDirty(){
+				++changeCount;
+				super.markDirty();
+			}
+			
+			@Override
+			public int getChangeCount(){
+				return changeCount;
+			}
 		}
 	}
 }
@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.mcinterface;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -9,17 +10,23 @@ import java.util.Map;
 import minecrafttransportsimulator.MasterLoader;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.EntityGrid;
+import minecrafttransportsimulator.baseclasses.EntityRegistry;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.components.IBlockTileEntity;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.blocks.tileentities.components.RoadCurveIndex;
+import minecrafttransportsimulator.blocks.tileentities.components.SignalRegionIndex;
+import minecrafttransportsimulator.blocks.tileentities.components.TileEntityScheduler;
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
 import minecrafttransportsimulator.jsondefs.AJSONItem;
 import minecrafttransportsimulator.packets.components.InterfacePacket;
+import minecrafttransportsimulator.packets.instances.PacketPackVariableHandshake;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataCSHandshake;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
@@ -51,11 +58,14 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.IWorldEventListener;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldSavedData;
 import net.minecraftforge.common.IPlantable;
@@ -73,14 +83,38 @@ public class WrapperWorld{
 	private final Map<Entity, WrapperEntity> entityWrappers = new HashMap<Entity, WrapperEntity>();
 	private final Map<EntityPlayer, WrapperPlayer> playerWrappers = new HashMap<EntityPlayer, WrapperPlayer>();
 	
+	/**Block collision data for the current tick, keyed by packed block position.  Shared by all boxes checking collision this tick.
+	 * This is not thread-safe, so it must only be used from the main thread.  Parallel vehicle force calculations never check blocks.**/
+	private final Map<Long, BlockCollisionData> blockCollisionCache = new HashMap<Long, BlockCollisionData>();
+	/**Re-usable data objects for the cache.  Index is reset each tick as the cache is cleared.**/
+	private final List<BlockCollisionData> blockCollisionDataPool = new ArrayList<BlockCollisionData>();
+	private int blockCollisionDataPoolIndex;
+	private long blockCollisionCacheTick = -1;
+	private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+	/**Position for single-block queries that vehicles do every tick.  Only used on the main thread.**/
+	private final BlockPos.MutableBlockPos queryPos = new BlockPos.MutableBlockPos();
+	/**Re-usable list for the boxes a bounding box collides with.  Only used on the main thread.**/
+	private final List<AxisAlignedBB> collidingBoxes = new ArrayList<AxisAlignedBB>();
+	
 	public final World world;
+	/**Spatial index of all of our entities in this world.  Used in place of MC's entity lookups so large entities can be found without inflating MC's search radius.**/
+	public final EntityGrid entityGrid = new EntityGrid();
+	public final EntityRegistry entityRegistry = new EntityRegistry();
+	/**Spatial index of all road lane curves in this world.  Used by vehicles to find the lane they are on.**/
+	public final RoadCurveIndex roadCurveIndex = new RoadCurveIndex();
+	/**Index of all signal controller vehicle detection regions in this world.  Updated by entities as they move.**/
+	public final SignalRegionIndex signalRegionIndex = new SignalRegionIndex();
+	/**Scheduler for all tickable tile entities in this world.  Driven by the tile entities' builders.**/
+	public final TileEntityScheduler tileEntityScheduler = new TileEntityScheduler();
 	public InterfaceWorldSavedData savedDataAccessor;
 	public static final String STORED_WORLD_DATA_ID = MasterLoader.MODID + "_WORLD_DATA";
 
 	private WrapperWorld(World world){
 		this.world = world;
+		world.addEventListener(new BlockChangeListener());
 		if(world.isRemote){
 			InterfacePacket.sendToServer(new PacketWorldSavedDataCSHandshake((WrapperNBT)null));
+			InterfacePacket.sendToServer(new PacketPackVariableHandshake(null));
 		}
 	}
 	
@@ -238,8 +272,17 @@ public class WrapperWorld{
 	 */
 	public List<WrapperEntity> getEntitiesWithin(BoundingBox box){
 		List<WrapperEntity> entities = new ArrayList<WrapperEntity>();
-		for(Entity entity : world.getEntitiesWithinAABB(Entity.class, box.convert())){
-			entities.add(getWrapperFor(entity));
+		AxisAlignedBB mcBox = box.convert();
+		for(Entity entity : world.getEntitiesWithinAABB(Entity.class, mcBox)){
+			//Our entities come from the grid, as MC may not find them if their center is far away.
+			if(!(entity instanceof BuilderEntity)){
+				entities.add(getWrapperFor(entity));
+			}
+		}
+		for(AEntityBase entity : entityGrid.getEntitiesWithin(box)){
+			if(entity.wrapper.entity.getEntityBoundingBox().intersects(mcBox)){
+				entities.add(entity.wrapper);
+			}
 		}
 		return entities;
 	}
@@ -275,7 +318,7 @@ public class WrapperWorld{
 		Vec3d mcLookerPos = mcLooker.getPositionVector();
 		Point3d lookerLos = entityLooking.getLineOfSight(searchRadius).add(entityLooking.getPosition());
 		Vec3d losVector = new Vec3d(lookerLos.x, lookerLos.y, lookerLos.z);
-		for(Entity entity : world.getEntitiesWithinAABBExcludingEntity(mcLooker, mcLooker.getEntityBoundingBox().grow(searchRadius))){
+		for(Entity entity : getMCEntitiesWithin(mcLooker, mcLooker.getEntityBoundingBox().grow(searchRadius))){
 			if(!entity.equals(mcLooker.getRidingEntity())){
 				float distance = mcLooker.getDistance(entity);
 				if(distance < smallestDistance){
@@ -312,6 +355,23 @@ public class WrapperWorld{
 		world.spawnEntity(builder);
     }
 	
+	/**
+	 *  Returns true if MC will update the passed-in entity this tick.  MC only updates entities
+	 *  if the chunks around them are loaded, unless they are in a force-loaded chunk.  Servers
+	 *  also stop updating entities a while after the last player leaves the world if no chunks are
+	 *  force-loaded.  As we don't know how long that's been, this returns false as soon as the
+	 *  world is empty, so it may return false for entities that do update, but never the opposite.
+	 */
+	public boolean willEntityUpdate(AEntityBase entity){
+		if(world.playerEntities.isEmpty() && world.getPersistentChunks().isEmpty()){
+			return false;
+		}
+		int x = (int) Math.floor(entity.position.x);
+		int z = (int) Math.floor(entity.position.z);
+		int range = world.getPersistentChunks().containsKey(new ChunkPos(x >> 4, z >> 4)) ? 0 : 32;
+		return world.isAreaLoaded(queryPos.setPos(x, 0, z), range, true);
+	}
+	
 	/**
 	 *  Attacks all entities that are in the passed-in damage range.  If the
 	 *  passed-in entity is not null, then any entity riding the passed-in
@@ -333,7 +393,7 @@ public class WrapperWorld{
 		Map<WrapperEntity, List<BoundingBox>> rayTraceHits = new HashMap<WrapperEntity, List<BoundingBox>>();;
 		if(motion != null){
 			mcBox = mcBox.expand(motion.x, motion.y, motion.z);
-			collidedEntities = world.getEntitiesWithinAABB(Entity.class, mcBox);
+			collidedEntities = getMCEntitiesWithin(null, mcBox);
 			//Create variables.
 			Point3d startPoint = damage.box.globalCenter;
 			Point3d endPoint = damage.box.globalCenter.copy().add(motion);
@@ -372,7 +432,7 @@ public class WrapperWorld{
 				}
 			}
 		}else{
-			collidedEntities = world.getEntitiesWithinAABB(Entity.class, mcBox);
+			collidedEntities = getMCEntitiesWithin(null, mcBox);
 			rayTraceHits = null;
 		}
 		
@@ -420,6 +480,26 @@ public class WrapperWorld{
 		}
 	}
 	
+	/**
+	 *  Helper method to return all MC entities in the passed-in box, except the passed-in entity, which may be null.
+	 *  Our own entities are obtained from the grid, as MC may not find them if their center is far away from the box.
+	 */
+	private List<Entity> getMCEntitiesWithin(Entity excludedEntity, AxisAlignedBB mcBox){
+		List<Entity> entities = world.getEntitiesWithinAABBExcludingEntity(excludedEntity, mcBox);
+		Iterator<Entity> iterator = entities.iterator();
+		while(iterator.hasNext()){
+			if(iterator.next() instanceof BuilderEntity){
+				iterator.remove();
+			}
+		}
+		for(AEntityBase entity : entityGrid.getEntitiesWithin(mcBox.minX, mcBox.minY, mcBox.minZ, mcBox.maxX, mcBox.maxY, mcBox.maxZ)){
+			if(!entity.wrapper.entity.equals(excludedEntity) && entity.wrapper.entity.getEntityBoundingBox().intersects(mcBox)){
+				entities.add(entity.wrapper.entity);
+			}
+		}
+		return entities;
+	}
+	
 	/**
 	 *  Moves all entities that collide with the passed-in bounding boxes by the passed-in offset.
 	 *  Offset is determined by the passed-in vector, and the passed-in angle of said vector.
@@ -430,6 +510,7 @@ public class WrapperWorld{
 		for(BoundingBox box : boxesToCheck){
 			//Check if we collide with any entities.
 			//We expand the passed-in box by 0.25 in the Y direction to "grab" any entities that might be above us.
+			//Only MC entities are moved, and those are small, so MC's lookup finds them without the entity grid.
 			for(Entity entity : world.getEntitiesWithinAABB(Entity.class, box.convert().expand(0, 0.25, 0))){
 				//Don't move riding entities or our own builders, or entities we've already moved.
 				if(!movedEntities.contains(entity)){
@@ -463,6 +544,7 @@ public class WrapperWorld{
 	 *  Only non-hostile mobs will be loaded.
 	 */
 	public void loadEntities(BoundingBox box, AEntityBase vehicle){
+		//Only MC mobs are loaded, and those are small, so MC's lookup finds them without the entity grid.
 		for(Entity entity : world.getEntitiesWithinAABBExcludingEntity(vehicle.wrapper.entity, box.convert())){
 			if((entity instanceof INpc || entity instanceof EntityCreature) && !(entity instanceof IMob)){
 				for(Point3d ridableLocation : vehicle.ridableLocations){
@@ -485,7 +567,7 @@ public class WrapperWorld{
 	 *  Only valid for blocks of type {@link ABlockBase} others will return null.
 	 */
 	public ABlockBase getBlock(Point3i point){
-		Block block = world.getBlockState(new BlockPos(point.x, point.y, point.z)).getBlock();
+		Block block = world.getBlockState(queryPos.setPos(point.x, point.y, point.z)).getBlock();
 		return block instanceof BuilderBlock ? ((BuilderBlock) block).mcBlock : null;
 	}
 	
@@ -493,7 +575,7 @@ public class WrapperWorld{
 	 *  Returns the hardness of the block at the passed-in point.
 	 */
 	public float getBlockHardness(Point3i point){
-		BlockPos pos = new BlockPos(point.x, point.y, point.z);
+		BlockPos pos = queryPos.setPos(point.x, point.y, point.z);
 		return world.getBlockState(pos).getBlockHardness(world, pos);
 	}
 	
@@ -502,7 +584,7 @@ public class WrapperWorld{
 	 *  0.6 is default slipperiness for blocks.
 	 */
 	public float getBlockSlipperiness(Point3i point){
-		BlockPos pos = new BlockPos(point.x, point.y, point.z);
+		BlockPos pos = queryPos.setPos(point.x, point.y, point.z);
 		IBlockState state = world.getBlockState(pos);
 		return state.getBlock().getSlipperiness(state, world, pos, null);
 	}
@@ -528,7 +610,7 @@ public class WrapperWorld{
 	 *  Only valid for blocks of type {@link ABlockBase}.
 	 */
     public float getBlockRotation(Point3i point){
-    	return world.getBlockState(new BlockPos(point.x, point.y, point.z)).getValue(BuilderBlock.FACING).getHorizontalAngle();
+    	return world.getBlockState(queryPos.setPos(point.x, point.y, point.z)).getValue(BuilderBlock.FACING).getHorizontalAngle();
     }
 	
     /**
@@ -537,7 +619,7 @@ public class WrapperWorld{
 	 *  things placed or connected to it.
 	 */
 	public boolean isBlockSolid(Point3i point, Axis axis){
-		BlockPos pos = new BlockPos(point.x, point.y, point.z);
+		BlockPos pos = queryPos.setPos(point.x, point.y, point.z);
 		IBlockState state = world.getBlockState(pos);
 		Block offsetMCBlock = state.getBlock();
 		EnumFacing facing = EnumFacing.valueOf(axis.name());
@@ -548,7 +630,7 @@ public class WrapperWorld{
 	 *  Returns true if the block is liquid.
 	 */
 	public boolean isBlockLiquid(Point3i point){
-        return world.getBlockState(new BlockPos(point.x, point.y, point.z)).getMaterial().isLiquid();
+        return world.getBlockState(queryPos.setPos(point.x, point.y, point.z)).getMaterial().isLiquid();
 	}
 	
 	/**
@@ -557,7 +639,7 @@ public class WrapperWorld{
 	 *  rendering to avoid floating blocks.
 	 */
 	public boolean isBlockBottomSlab(Point3i point){
-		IBlockState state = world.getBlockState(new BlockPos(point.x, point.y, point.z));
+		IBlockState state = world.getBlockState(queryPos.setPos(point.x, point.y, point.z));
 		Block block = state.getBlock();
 		return block instanceof BlockSlab && !((BlockSlab) block).isDouble() && state.getValue(BlockSlab.HALF) == BlockSlab.EnumBlockHalf.BOTTOM;
 	}
@@ -568,7 +650,7 @@ public class WrapperWorld{
 	 *  rendering to avoid floating blocks.
 	 */
 	public boolean isBlockTopSlab(Point3i point){
-		IBlockState state = world.getBlockState(new BlockPos(point.x, point.y, point.z));
+		IBlockState state = world.getBlockState(queryPos.setPos(point.x, point.y, point.z));
 		Block block = state.getBlock();
 		return block instanceof BlockSlab && !((BlockSlab) block).isDouble() && state.getValue(BlockSlab.HALF) == BlockSlab.EnumBlockHalf.TOP;
 	}
@@ -585,29 +667,135 @@ public class WrapperWorld{
 	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater){
 		AxisAlignedBB mcBox = box.convert();
 		box.collidingBlockPositions.clear();
-		List<AxisAlignedBB> collidingAABBs = new ArrayList<AxisAlignedBB>(); 
+		collidingBoxes.clear();
+		for(int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i){
+    		for(int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j){
+    			for(int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k){
+    				BlockCollisionData blockData = getBlockCollisionData(i, j, k);
+    				boolean blockCollided = false;
+    				for(AxisAlignedBB blockBox : blockData.collisionBoxes){
+    					if(blockBox.intersects(mcBox)){
+    						collidingBoxes.add(blockBox);
+    						blockCollided = true;
+    					}
+    				}
+    				if(blockCollided){
+    					box.collidingBlockPositions.add(new Point3i(i, j, k));
+    				}
+					if(box.collidesWithLiquids && blockData.liquidBox != null){
+						collidingBoxes.add(blockData.liquidBox);
+						box.collidingBlockPositions.add(new Point3i(i, j, k));
+					}
+    			}
+    		}
+    	}
+		
+		setBoundingBoxCollisionDepth(box, mcBox, collidingBoxes, collisionMotion, ignoreIfGreater);
+	}
+	
+	/**
+	 * Like {@link #updateBoundingBoxCollisions(BoundingBox, Point3d, boolean)}, but uses the block collisions
+	 * pre-loaded into the passed-in region rather than querying the world.  This allows for multiple checks in
+	 * the same area to only read the world once.  Only the blocks the box is in are checked, so the cost does
+	 * not depend on the size of the region.  If the box is not fully inside the region, or the region
+	 * is null, then the world is queried normally.
+	 */
+	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater, BlockCollisionRegion region){
+		AxisAlignedBB mcBox = box.convert();
+		if(region == null || region.bounds == null || !region.contains(mcBox)){
+			updateBoundingBoxCollisions(box, collisionMotion, ignoreIfGreater);
+			return;
+		}
+		box.collidingBlockPositions.clear();
+		collidingBoxes.clear();
 		for(int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i){
     		for(int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j){
     			for(int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k){
-    				BlockPos pos = new BlockPos(i, j, k);
-    				if(world.isBlockLoaded(pos)){
-	    				IBlockState state = world.getBlockState(pos);
-	    				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null){
-	    					int oldCollidingBlockCount = collidingAABBs.size();
-	    					state.addCollisionBoxToList(world, pos, mcBox, collidingAABBs, null, false);
-	    					if(collidingAABBs.size() > oldCollidingBlockCount){
-	    						box.collidingBlockPositions.add(new Point3i(i, j, k));
+    				int index = region.getIndex(i, j, k);
+    				Point3i blockPosition = region.positions[index];
+    				if(blockPosition != null){
+	    				boolean blockCollided = false;
+	    				for(int l=region.solidStarts[index]; l<region.solidEnds[index]; ++l){
+	    					AxisAlignedBB blockBox = region.solidBoxes.get(l);
+	    					if(blockBox.intersects(mcBox)){
+	    						collidingBoxes.add(blockBox);
+	    						blockCollided = true;
 	    					}
 	    				}
-						if(box.collidesWithLiquids && state.getMaterial().isLiquid()){
-							collidingAABBs.add(state.getBoundingBox(world, pos).offset(pos));
-							box.collidingBlockPositions.add(new Point3i(i, j, k));
+	    				if(blockCollided){
+	    					box.collidingBlockPositions.add(blockPosition);
+	    				}
+						if(box.collidesWithLiquids && region.liquidBoxes[index] != null){
+							collidingBoxes.add(region.liquidBoxes[index]);
+							box.collidingBlockPositions.add(blockPosition);
 						}
     				}
     			}
     		}
     	}
-		
+		setBoundingBoxCollisionDepth(box, mcBox, collidingBoxes, collisionMotion, ignoreIfGreater);
+	}
+	
+	/**
+	 * Loads all block collisions inside the passed-in bounds into the passed-in region.
+	 * The region may then be passed to {@link #updateBoundingBoxCollisions(BoundingBox, Point3d, boolean, BlockCollisionRegion)}
+	 * to check collisions for any box inside those bounds without further world reads.
+	 */
+	public void loadBlockCollisionRegion(BlockCollisionRegion region, BoundingBox bounds){
+		region.bounds = bounds.convert();
+		reloadBlockCollisionRegion(region);
+	}
+	
+	/**
+	 * Re-loads all block collisions in the passed-in region using its current bounds.  If only a single block
+	 * changed, use {@link #reloadBlockCollisionRegion(BlockCollisionRegion, Point3i)} instead.
+	 */
+	public void reloadBlockCollisionRegion(BlockCollisionRegion region){
+		region.solidBoxes.clear();
+		if(region.bounds != null){
+			AxisAlignedBB mcBox = region.bounds;
+			int minX = (int) Math.floor(mcBox.minX);
+			int minY = (int) Math.floor(mcBox.minY);
+			int minZ = (int) Math.floor(mcBox.minZ);
+			region.setBlockBounds(minX, minY, minZ, (int) Math.ceil(mcBox.maxX) - minX, (int) Math.ceil(mcBox.maxY) - minY, (int) Math.ceil(mcBox.maxZ) - minZ);
+			for(int i = minX; i < Math.ceil(mcBox.maxX); ++i){
+	    		for(int j = minY; j < Math.ceil(mcBox.maxY); ++j){
+	    			for(int k = minZ; k < Math.ceil(mcBox.maxZ); ++k){
+	    				loadBlockCollisionRegionBlock(region, i, j, k);
+	    			}
+	    		}
+			}
+		}
+	}
+	
+	/**
+	 * Re-loads the block collisions at the passed-in position in the passed-in region.  Call this if the block
+	 * there changed, such as when it was broken.  Positions outside the region are ignored.
+	 */
+	public void reloadBlockCollisionRegion(BlockCollisionRegion region, Point3i position){
+		if(region.bounds != null && region.containsBlock(position.x, position.y, position.z)){
+			loadBlockCollisionRegionBlock(region, position.x, position.y, position.z);
+		}
+	}
+	
+	/**
+	 * Helper method to load the block collisions at the passed-in position into the passed-in region.
+	 * If the block was loaded before, its old boxes stay in the region's list but are no longer referenced.
+	 */
+	private void loadBlockCollisionRegionBlock(BlockCollisionRegion region, int x, int y, int z){
+		BlockCollisionData blockData = getBlockCollisionData(x, y, z);
+		int index = region.getIndex(x, y, z);
+		region.solidStarts[index] = region.solidBoxes.size();
+		region.solidBoxes.addAll(blockData.collisionBoxes);
+		region.solidEnds[index] = region.solidBoxes.size();
+		region.liquidBoxes[index] = blockData.liquidBox;
+		region.positions[index] = !blockData.collisionBoxes.isEmpty() || blockData.liquidBox != null ? new Point3i(x, y, z) : null;
+	}
+	
+	/**
+	 * Helper method to set the collision depth of the passed-in box based on the boxes it collided with.
+	 */
+	private static void setBoundingBoxCollisionDepth(BoundingBox box, AxisAlignedBB mcBox, List<AxisAlignedBB> collidingAABBs, Point3d collisionMotion, boolean ignoreIfGreater){
 		//If we are in the depth bounds for this collision, set it as the collision depth.
 		box.currentCollisionDepth.set(0D, 0D, 0D);
 		double boxCollisionDepth;
@@ -648,6 +836,36 @@ public class WrapperWorld{
 		}
 	}
 	
+	/**
+	 *  Returns the collision data for the block at the passed-in position.  Data is cached for the
+	 *  current tick, so multiple boxes checking the same blocks only query the world once.  The cache
+	 *  is cleared every tick, and entries are removed whenever the block at their position changes.
+	 *  As the cache is shared, this may only be called from the main thread.
+	 */
+	private BlockCollisionData getBlockCollisionData(int x, int y, int z){
+		if(!world.isRemote && !world.getMinecraftServer().isCallingFromMinecraftThread()){
+			throw new IllegalStateException("Tried to get block collision data off the server thread.  The block collision cache may only be used from the server thread.");
+		}
+		long currentTick = world.getTotalWorldTime();
+		if(blockCollisionCacheTick != currentTick){
+			blockCollisionCache.clear();
+			blockCollisionDataPoolIndex = 0;
+			blockCollisionCacheTick = currentTick;
+		}
+		mutablePos.setPos(x, y, z);
+		Long key = mutablePos.toLong();
+		BlockCollisionData blockData = blockCollisionCache.get(key);
+		if(blockData == null){
+			if(blockCollisionDataPoolIndex == blockCollisionDataPool.size()){
+				blockCollisionDataPool.add(new BlockCollisionData());
+			}
+			blockData = blockCollisionDataPool.get(blockCollisionDataPoolIndex++);
+			blockData.load(world, mutablePos);
+			blockCollisionCache.put(key, blockData);
+		}
+		return blockData;
+	}
+	
 	/**
 	 *  Returns the current redstone power at the passed-in position.
 	 */
@@ -663,7 +881,7 @@ public class WrapperWorld{
 	 *  being possible "in" that block.
 	 */
 	public float getRainStrength(Point3i point){
-		return world.isRainingAt(new BlockPos(point.x, point.y + 1, point.z)) ? world.getRainStrength(1.0F) + world.getThunderStrength(1.0F) : 0.0F;
+		return world.isRainingAt(queryPos.setPos(point.x, point.y + 1, point.z)) ? world.getRainStrength(1.0F) + world.getThunderStrength(1.0F) : 0.0F;
 	}
 	
 	/**
@@ -671,7 +889,7 @@ public class WrapperWorld{
 	 *  Dependent on biome, and likely modified by mods that add new boimes.
 	 */
 	public float getTemperature(Point3i point){
-		BlockPos pos = new BlockPos(point.x, point.y, point.z);
+		BlockPos pos = queryPos.setPos(point.x, point.y, point.z);
 		return world.getBiome(pos).getTemperature(pos);
 	}
 
@@ -803,7 +1021,7 @@ public class WrapperWorld{
 	 *  Returns true if the block at this point is air.
 	 */
 	public boolean isAir(Point3i point){
-		BlockPos pos = new BlockPos(point.x, point.y, point.z);
+		BlockPos pos = queryPos.setPos(point.x, point.y, point.z);
 		IBlockState state = world.getBlockState(pos); 
 		Block block = state.getBlock();
 		return block.isAir(state, world, pos);
@@ -815,7 +1033,7 @@ public class WrapperWorld{
 	 *  any other blocks made of fire from other mods.
 	 */
 	public boolean isFire(Point3i point){
-		BlockPos pos = new BlockPos(point.x, point.y, point.z);
+		BlockPos pos = queryPos.setPos(point.x, point.y, point.z);
 		IBlockState state = world.getBlockState(pos); 
 		return state.getMaterial().equals(Material.FIRE);
 	}
@@ -982,6 +1200,129 @@ public class WrapperWorld{
 		world.newExplosion(entity.entity, location.x, location.y, location.z, (float) strength, flames, true);
 	}
 	
+	/**
+	 *  Class used to hold all block collisions inside a region of the world.  Used as a broad-phase
+	 *  for entities that need to do many collision checks in the same area in a single tick.
+	 *  Populate via {@link WrapperWorld#loadBlockCollisionRegion(BlockCollisionRegion, BoundingBox)}.
+	 */
+	public static class BlockCollisionRegion{
+		private AxisAlignedBB bounds;
+		private int originX;
+		private int originY;
+		private int originZ;
+		private int sizeX;
+		private int sizeY;
+		private int sizeZ;
+		/**Solid boxes of all blocks.  A block's boxes are stored together, from its start to its end index.**/
+		private final List<AxisAlignedBB> solidBoxes = new ArrayList<AxisAlignedBB>();
+		/**Per-block data, indexed by {@link #getIndex(int, int, int)}.  Positions are null for blocks without collisions.**/
+		private int[] solidStarts = new int[0];
+		private int[] solidEnds = new int[0];
+		private AxisAlignedBB[] liquidBoxes = new AxisAlignedBB[0];
+		private Point3i[] positions = new Point3i[0];
+		
+		private boolean contains(AxisAlignedBB box){
+			return box.minX >= bounds.minX && box.maxX <= bounds.maxX && box.minY >= bounds.minY && box.maxY <= bounds.maxY && box.minZ >= bounds.minZ && box.maxZ <= bounds.maxZ;
+		}
+		
+		private boolean containsBlock(int x, int y, int z){
+			return x >= originX && x < originX + sizeX && y >= originY && y < originY + sizeY && z >= originZ && z < originZ + sizeZ;
+		}
+		
+		private int getIndex(int x, int y, int z){
+			return ((x - originX)*sizeY + (y - originY))*sizeZ + (z - originZ);
+		}
+		
+		/**
+		 *  Sets the blocks this region covers and clears their data.  Arrays are only re-created if they are too small.
+		 */
+		private void setBlockBounds(int originX, int originY, int originZ, int sizeX, int sizeY, int sizeZ){
+			this.originX = originX;
+			this.originY = originY;
+			this.originZ = originZ;
+			this.sizeX = sizeX;
+			this.sizeY = sizeY;
+			this.sizeZ = sizeZ;
+			int volume = sizeX*sizeY*sizeZ;
+			if(positions.length < volume){
+				solidStarts = new int[volume];
+				solidEnds = new int[volume];
+				liquidBoxes = new AxisAlignedBB[volume];
+				positions = new Point3i[volume];
+			}else{
+				Arrays.fill(solidStarts, 0, volume, 0);
+				Arrays.fill(solidEnds, 0, volume, 0);
+				Arrays.fill(liquidBoxes, 0, volume, null);
+				Arrays.fill(positions, 0, volume, null);
+			}
+		}
+		
+		/**
+		 *  Clears the bounds of this region.  Collision checks using it will query the world until it is re-loaded.
+		 */
+		public void clear(){
+			bounds = null;
+			solidBoxes.clear();
+		}
+	}
+	
+	/**
+	 *  Class used to hold the resolved collision state of a single block for the collision cache.
+	 *  Boxes are stored in world coordinates, so they may be directly compared to entity boxes.
+	 */
+	private static class BlockCollisionData{
+		private final List<AxisAlignedBB> collisionBoxes = new ArrayList<AxisAlignedBB>();
+		private AxisAlignedBB liquidBox;
+		
+		private void load(World world, BlockPos pos){
+			collisionBoxes.clear();
+			liquidBox = null;
+			if(world.isBlockLoaded(pos)){
+				IBlockState state = world.getBlockState(pos);
+				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null){
+					//Use an infinite mask here.  Boxes are filtered against the checking box when the cache is queried.
+					state.addCollisionBoxToList(world, pos, TileEntity.INFINITE_EXTENT_AABB, collisionBoxes, null, false);
+				}
+				if(state.getMaterial().isLiquid()){
+					liquidBox = state.getBoundingBox(world, pos).offset(pos);
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Class used to listen for block changes in the world.  These invalidate the collision cache for
+	 *  the changed position, as the cached collision boxes may no longer be valid.
+	 */
+	private class BlockChangeListener implements IWorldEventListener{
+		@Override
+		public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags){
+			blockCollisionCache.remove(pos.toLong());
+			
+			//If the block actually changed, wake up any vehicles near it.  They may have lost the ground they're sitting on.
+			if(oldState != newState){
+				for(AEntityBase entity : entityGrid.getEntitiesWithin(pos.getX() - 1, pos.getY() - 1, pos.getZ() - 1, pos.getX() + 2, pos.getY() + 2, pos.getZ() + 2)){
+					if(entity instanceof EntityVehicleF_Physics){
+						((EntityVehicleF_Physics) entity).wake();
+					}
+				}
+			}
+		}
+		
+		//Junk methods, forced to pull in.
+		@Override public void notifyLightSet(BlockPos pos){}
+		@Override public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2){}
+		@Override public void playSoundToAllNearExcept(EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch){}
+		@Override public void playRecord(SoundEvent soundIn, BlockPos pos){}
+		@Override public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters){}
+		@Override public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters){}
+		@Override public void onEntityAdded(Entity entityIn){}
+		@Override public void onEntityRemoved(Entity entityIn){}
+		@Override public void broadcastSound(int soundID, BlockPos pos, int data){}
+		@Override public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data){}
+		@Override public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress){}
+	}
+	
 	/**
 	 *  Class used to interface with world saved data methods.
 	 */
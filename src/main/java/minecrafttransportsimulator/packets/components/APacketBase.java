@@ -47,6 +47,16 @@ public abstract class APacketBase{
 	 */
 	public abstract void handle(WrapperWorld world, WrapperPlayer player);
 	
+	/**
+	 *  This is called to send this packet from the server to the clients that need it.
+	 *  By default, this is all clients.  Packets that are for something in the world
+	 *  should override this to only send to clients that have that thing loaded.
+	 *  Called via {@link InterfacePacket#sendToClients(APacketBase)}.
+	 */
+	protected void sendToInterestedClients(){
+		InterfacePacket.sendToAllClients(this);
+	}
+	
 	/**
 	 *  Helper method to write a string to the buffer.
 	 */
@@ -87,6 +97,63 @@ public abstract class APacketBase{
 		return new Point3d(buf.readDouble(), buf.readDouble(), buf.readDouble());
 	}
 	
+	/**
+	 *  Helper method to write an int to the buffer as a variable-length value.
+	 *  Small positive values take fewer bytes, with values under 128 taking one byte.
+	 *  Negative values always take 5 bytes, so use {@link #writeVarLongToBuffer(long, ByteBuf)} for those.
+	 */
+	protected static void writeVarIntToBuffer(int value, ByteBuf buf){
+		while((value & ~0x7F) != 0){
+			buf.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buf.writeByte(value);
+	}
+	
+	/**
+	 *  Helper method to read a variable-length int from the buffer.
+	 */
+	protected static int readVarIntFromBuffer(ByteBuf buf){
+		int value = 0;
+		int shift = 0;
+		byte nextByte;
+		do{
+			nextByte = buf.readByte();
+			value |= (nextByte & 0x7F) << shift;
+			shift += 7;
+		}while((nextByte & 0x80) != 0);
+		return value;
+	}
+	
+	/**
+	 *  Helper method to write a long to the buffer as a variable-length value.
+	 *  The value is zig-zag encoded first, so values close to 0 take fewer bytes
+	 *  no matter their sign.  Values between -64 and 63 take one byte.
+	 */
+	protected static void writeVarLongToBuffer(long value, ByteBuf buf){
+		long encodedValue = (value << 1) ^ (value >> 63);
+		while((encodedValue & ~0x7FL) != 0){
+			buf.writeByte((int) ((encodedValue & 0x7F) | 0x80));
+			encodedValue >>>= 7;
+		}
+		buf.writeByte((int) encodedValue);
+	}
+	
+	/**
+	 *  Helper method to read a variable-length long from the buffer.
+	 */
+	protected static long readVarLongFromBuffer(ByteBuf buf){
+		long encodedValue = 0;
+		int shift = 0;
+		byte nextByte;
+		do{
+			nextByte = buf.readByte();
+			encodedValue |= (long) (nextByte & 0x7F) << shift;
+			shift += 7;
+		}while((nextByte & 0x80) != 0);
+		return (encodedValue >>> 1) ^ -(encodedValue & 1);
+	}
+	
 	/**
 	 *  Helper method to write a Point3i to the buffer.
 	 */
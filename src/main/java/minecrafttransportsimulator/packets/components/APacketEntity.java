@@ -12,44 +12,51 @@ import minecrafttransportsimulator.vehicles.main.AEntityBase;
  */
 public abstract class APacketEntity extends APacketBase{
 	private final int entityID;
+	/**Entity this packet is for.  Used to find the clients that need this packet.  Only set on the server.**/
+	private AEntityBase entity;
 	
 	public APacketEntity(AEntityBase entity){
 		super(null);
 		this.entityID = entity.lookupID;
+		this.entity = entity;
 	}
 	
 	public APacketEntity(ByteBuf buf){
 		super(buf);
-		this.entityID = buf.readInt();
+		this.entityID = readVarIntFromBuffer(buf);
 	};
 
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		buf.writeInt(entityID);
+		writeVarIntToBuffer(entityID, buf);
 	}
 	
 	@Override
 	public void handle(WrapperWorld world, WrapperPlayer player){
 		boolean sendReturnPacket = false;
-		for(AEntityBase entity : (world.isClient() ? AEntityBase.createdClientEntities : AEntityBase.createdServerEntities)){
-			if(entity.lookupID == entityID){
-				if(handle(world, player, entity) && !world.isClient()){
-					sendReturnPacket = true;
-				}
+		for(AEntityBase entity : world.entityRegistry.getEntities(entityID)){
+			if(handle(world, player, entity) && !world.isClient()){
+				this.entity = entity;
+				sendReturnPacket = true;
 			}
 		}
 		if(sendReturnPacket){
-			InterfacePacket.sendToAllClients(this);
+			InterfacePacket.sendToClients(this);
 		}
 	}
 	
+	@Override
+	protected void sendToInterestedClients(){
+		InterfacePacket.sendToClientsTracking(this, entity);
+	}
+	
 	/**
 	 *  Handler method with an extra parameter for the entity that this packet
 	 *  is associated with. If the entity is null,  then this method won't be called.
 	 *  Saves having to do null checks for every packet type.  If this is handled on the 
 	 *  server, and a packet shouldn't be sent to all clients (like if the action failed due
-	 *   to an issue) return false.  Otherwise, return true to send this packet on to all clients.  
+	 *   to an issue) return false.  Otherwise, return true to send this packet on to all clients tracking the entity.
 	 *   Return method has no function on clients.
 	 */
 	protected abstract boolean handle(WrapperWorld world, WrapperPlayer player, AEntityBase entity);
@@ -13,10 +13,13 @@ import minecrafttransportsimulator.mcinterface.WrapperWorld;
  */
 public abstract class APacketTileEntity<TileEntityType extends ATileEntityBase<?>> extends APacketBase{
 	private final Point3i position;
+	/**World the tile entity is in.  Used to find the clients that need this packet.  Only set on the server.**/
+	private WrapperWorld world;
 	
 	public APacketTileEntity(TileEntityType tile){
 		super(null);
 		this.position = tile.position;
+		this.world = tile.world;
 	}
 	
 	public APacketTileEntity(ByteBuf buf){
@@ -36,18 +39,24 @@ public abstract class APacketTileEntity<TileEntityType extends ATileEntityBase<?
 		if(tile != null && tile.world != null){
 			if(handle(world, player, tile) && !world.isClient()){
 				world.markTileEntityChanged(position);
-				InterfacePacket.sendToAllClients(this);
+				this.world = world;
+				InterfacePacket.sendToClients(this);
 			}
 		}
 	}
 	
+	@Override
+	protected void sendToInterestedClients(){
+		InterfacePacket.sendToClientsWatching(this, world, position);
+	}
+	
 	/**
 	 *  Handler method with an extra parameter for the tile entity that this packet
 	 *  is associated with. If the tile entity is null, or if it hasn't loaded it's world,
 	 *  then this method won't be called.  Saves having to do null checks for every packet type.
 	 *  If this is handled on the server, and a packet shouldn't be sent to all clients (like
 	 *  if the action failed due to an issue) return false.  Otherwise, return true to 
-	 *  send this packet on to all clients.  Return method has no function on clients.
+	 *  send this packet on to all clients with the tile entity loaded.  Return method has no function on clients.
 	 */
 	protected abstract boolean handle(WrapperWorld world, WrapperPlayer player, TileEntityType tile);
 }
@@ -23,7 +23,10 @@ public abstract class APacketVehicle extends APacketEntity{
 	
 	@Override
 	protected boolean handle(WrapperWorld world, WrapperPlayer player, AEntityBase entity){
-		return handle(world, player, (EntityVehicleF_Physics) entity);
+		//Any packet for a vehicle may change its state, so make sure it's awake to handle the change.
+		EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
+		vehicle.wake();
+		return handle(world, player, vehicle);
 	}
 	
 	/**
@@ -1,10 +1,17 @@
 package minecrafttransportsimulator.packets.components;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import minecrafttransportsimulator.MasterLoader;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.mcinterface.InterfaceClient;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
@@ -14,6 +21,7 @@ import minecrafttransportsimulator.packets.instances.PacketEntityCSHandshake;
 import minecrafttransportsimulator.packets.instances.PacketEntityRiderChange;
 import minecrafttransportsimulator.packets.instances.PacketFluidTankChange;
 import minecrafttransportsimulator.packets.instances.PacketGunChange;
+import minecrafttransportsimulator.packets.instances.PacketPackVariableHandshake;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packets.instances.PacketPlayerCraftItem;
 import minecrafttransportsimulator.packets.instances.PacketPlayerGunChange;
@@ -32,6 +40,7 @@ import minecrafttransportsimulator.packets.instances.PacketVehicleBeaconChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleColorChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlDigital;
+import minecrafttransportsimulator.packets.instances.PacketVehicleControlFrame;
 import minecrafttransportsimulator.packets.instances.PacketVehicleInstruments;
 import minecrafttransportsimulator.packets.instances.PacketVehicleInteract;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartChange;
@@ -45,8 +54,16 @@ import minecrafttransportsimulator.packets.instances.PacketVehicleTextChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleTrailerChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleVariableToggle;
 import minecrafttransportsimulator.packets.instances.PacketWorldSavedDataCSHandshake;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -59,90 +76,189 @@ import net.minecraftforge.fml.relauncher.Side;
  * object to send over, which contains a handler for how to handle said object.
  * Forge packets do something similar, but Forge can't be bothered to keep networking
  * code the same, so we roll our own here. 
+ * <br><br>
+ * Packets aren't sent right away.  Instead, they are queued up for each connection during
+ * the tick, and sent at the end of the tick as a single bundle.  This saves each packet from
+ * going through the MC network pipeline on its own, which is a lot of overhead for small packets.
  *
  * @author don_bruce
  */
+@EventBusSubscriber
 public class InterfacePacket{
-	private static final SimpleNetworkWrapper network = NetworkRegistry.INSTANCE.newSimpleChannel(MasterLoader.MODID);
-	private static final BiMap<Byte, Class<? extends APacketBase>> packetMappings = HashBiMap.create();
+	private static SimpleNetworkWrapper network;
+	/**Factories for packets, indexed by packet index.  Used to create packets when they arrive.**/
+	@SuppressWarnings("unchecked")
+	static final Function<ByteBuf, ? extends APacketBase>[] packetFactories = new Function[256];
+	/**Indexes for packets, keyed by their class.  Used to write the index of packets when they are sent.**/
+	static final Map<Class<? extends APacketBase>, Byte> packetIndexes = new HashMap<Class<? extends APacketBase>, Byte>();
+	/**Max size of a bundle, in bytes.  Custom packets sent to servers can't be larger than 32767 bytes.**/
+	private static final int MAX_BUNDLE_SIZE = 32000;
+	
+	/**Bundles of packets queued up to be sent to players at the end of the server tick.**/
+	private static final Map<EntityPlayerMP, ByteBuf> queuedPlayerBundles = new HashMap<EntityPlayerMP, ByteBuf>();
+	/**Bundle of packets queued up to be sent to the server at the end of the client tick.**/
+	private static ByteBuf queuedServerBundle;
 	
 	/**
 	 *  Called to init this network.  Needs to be done after networking is ready.
 	 *  Packets should be registered at this point in this constructor.
 	 */
 	public static void init(){
-		//Register the main wrapper packet.
+		//Create the network and register the main wrapper packet.
+		network = NetworkRegistry.INSTANCE.newSimpleChannel(MasterLoader.MODID);
 		network.registerMessage(WrapperHandler.class, WrapperPacket.class, 0, Side.CLIENT);
 		network.registerMessage(WrapperHandler.class, WrapperPacket.class, 1, Side.SERVER);
-		
+		registerPackets();
+	}
+	
+	/**
+	 *  Registers all our packets.  This is split from {@link #init()} as it doesn't need the network.
+	 */
+	static void registerPackets(){
 		//Register all classes in the minecrafttransportsimulator.packets.instances package.
 		//Ideally this could be done via reflection, but it doesn't work too well so we don't do that.
 		byte packetIndex = 0;
-		registerPacket(packetIndex++, PacketBeaconListingChange.class);
-		registerPacket(packetIndex++, PacketBulletHit.class);
-		registerPacket(packetIndex++, PacketEntityCSHandshake.class);
-		registerPacket(packetIndex++, PacketEntityRiderChange.class);
-		registerPacket(packetIndex++, PacketFluidTankChange.class);
-		registerPacket(packetIndex++, PacketGunChange.class);
-		registerPacket(packetIndex++, PacketPlayerChatMessage.class);
-		registerPacket(packetIndex++, PacketPlayerCraftItem.class);
-		registerPacket(packetIndex++, PacketPlayerGunChange.class);
-		registerPacket(packetIndex++, PacketPlayerGunFiring.class);
-		registerPacket(packetIndex++, PacketRadioStateChange.class);
-		registerPacket(packetIndex++, PacketTileEntityDecorColorChange.class);
-		registerPacket(packetIndex++, PacketTileEntityDecorTextChange.class);
-		registerPacket(packetIndex++, PacketTileEntityFluidLoaderConnection.class);
-		registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class);
-		registerPacket(packetIndex++, PacketTileEntityMultiblockCollisionUpdate.class);
-		registerPacket(packetIndex++, PacketTileEntityPoleChange.class);
-		registerPacket(packetIndex++, PacketTileEntityRoadChange.class);
-		registerPacket(packetIndex++, PacketTileEntityRoadConnectionUpdate.class);
-		registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class);
-		registerPacket(packetIndex++, PacketVehicleBeaconChange.class);
-		registerPacket(packetIndex++, PacketVehicleColorChange.class);
-		registerPacket(packetIndex++, PacketVehicleControlAnalog.class);
-		registerPacket(packetIndex++, PacketVehicleControlDigital.class);
-		registerPacket(packetIndex++, PacketVehicleInstruments.class);
-		registerPacket(packetIndex++, PacketVehicleInteract.class);
-		registerPacket(packetIndex++, PacketVehiclePartChange.class);
-		registerPacket(packetIndex++, PacketVehiclePartColorChange.class);
-		registerPacket(packetIndex++, PacketVehiclePartEngine.class);
-		registerPacket(packetIndex++, PacketVehiclePartGroundDevice.class);
-		registerPacket(packetIndex++, PacketVehiclePartInteractable.class);
-		registerPacket(packetIndex++, PacketVehiclePartSeat.class);
-		registerPacket(packetIndex++, PacketVehicleServerMovement.class);
-		registerPacket(packetIndex++, PacketVehicleTextChange.class);
-		registerPacket(packetIndex++, PacketVehicleTrailerChange.class);
-		registerPacket(packetIndex++, PacketVehicleVariableToggle.class);
-		registerPacket(packetIndex++, PacketWorldSavedDataCSHandshake.class);
-	}
-	
-	/**
-	 *  Registers the passed-in packet with the interface.
-	 */
-	public static void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass){
-		packetMappings.put(packetIndex, packetClass);
+		registerPacket(packetIndex++, PacketBeaconListingChange.class, PacketBeaconListingChange::new);
+		registerPacket(packetIndex++, PacketBulletHit.class, PacketBulletHit::new);
+		registerPacket(packetIndex++, PacketEntityCSHandshake.class, PacketEntityCSHandshake::new);
+		registerPacket(packetIndex++, PacketEntityRiderChange.class, PacketEntityRiderChange::new);
+		registerPacket(packetIndex++, PacketFluidTankChange.class, PacketFluidTankChange::new);
+		registerPacket(packetIndex++, PacketGunChange.class, PacketGunChange::new);
+		registerPacket(packetIndex++, PacketPackVariableHandshake.class, PacketPackVariableHandshake::new);
+		registerPacket(packetIndex++, PacketPlayerChatMessage.class, PacketPlayerChatMessage::new);
+		registerPacket(packetIndex++, PacketPlayerCraftItem.class, PacketPlayerCraftItem::new);
+		registerPacket(packetIndex++, PacketPlayerGunChange.class, PacketPlayerGunChange::new);
+		registerPacket(packetIndex++, PacketPlayerGunFiring.class, PacketPlayerGunFiring::new);
+		registerPacket(packetIndex++, PacketRadioStateChange.class, PacketRadioStateChange::new);
+		registerPacket(packetIndex++, PacketTileEntityDecorColorChange.class, PacketTileEntityDecorColorChange::new);
+		registerPacket(packetIndex++, PacketTileEntityDecorTextChange.class, PacketTileEntityDecorTextChange::new);
+		registerPacket(packetIndex++, PacketTileEntityFluidLoaderConnection.class, PacketTileEntityFluidLoaderConnection::new);
+		registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class, PacketTileEntityFuelPumpConnection::new);
+		registerPacket(packetIndex++, PacketTileEntityMultiblockCollisionUpdate.class, PacketTileEntityMultiblockCollisionUpdate::new);
+		registerPacket(packetIndex++, PacketTileEntityPoleChange.class, PacketTileEntityPoleChange::new);
+		registerPacket(packetIndex++, PacketTileEntityRoadChange.class, PacketTileEntityRoadChange::new);
+		registerPacket(packetIndex++, PacketTileEntityRoadConnectionUpdate.class, PacketTileEntityRoadConnectionUpdate::new);
+		registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class, PacketTileEntitySignalControllerChange::new);
+		registerPacket(packetIndex++, PacketVehicleBeaconChange.class, PacketVehicleBeaconChange::new);
+		registerPacket(packetIndex++, PacketVehicleColorChange.class, PacketVehicleColorChange::new);
+		registerPacket(packetIndex++, PacketVehicleControlAnalog.class, PacketVehicleControlAnalog::new);
+		registerPacket(packetIndex++, PacketVehicleControlDigital.class, PacketVehicleControlDigital::new);
+		registerPacket(packetIndex++, PacketVehicleControlFrame.class, PacketVehicleControlFrame::new);
+		registerPacket(packetIndex++, PacketVehicleInstruments.class, PacketVehicleInstruments::new);
+		registerPacket(packetIndex++, PacketVehicleInteract.class, PacketVehicleInteract::new);
+		registerPacket(packetIndex++, PacketVehiclePartChange.class, PacketVehiclePartChange::new);
+		registerPacket(packetIndex++, PacketVehiclePartColorChange.class, PacketVehiclePartColorChange::new);
+		registerPacket(packetIndex++, PacketVehiclePartEngine.class, PacketVehiclePartEngine::new);
+		registerPacket(packetIndex++, PacketVehiclePartGroundDevice.class, PacketVehiclePartGroundDevice::new);
+		registerPacket(packetIndex++, PacketVehiclePartInteractable.class, PacketVehiclePartInteractable::new);
+		registerPacket(packetIndex++, PacketVehiclePartSeat.class, PacketVehiclePartSeat::new);
+		registerPacket(packetIndex++, PacketVehicleServerMovement.class, PacketVehicleServerMovement::new);
+		registerPacket(packetIndex++, PacketVehicleTextChange.class, PacketVehicleTextChange::new);
+		registerPacket(packetIndex++, PacketVehicleTrailerChange.class, PacketVehicleTrailerChange::new);
+		registerPacket(packetIndex++, PacketVehicleVariableToggle.class, PacketVehicleVariableToggle::new);
+		registerPacket(packetIndex++, PacketWorldSavedDataCSHandshake.class, PacketWorldSavedDataCSHandshake::new);
+	}
+	
+	/**
+	 *  Registers the passed-in packet with the interface.  The factory should be the
+	 *  packet's constructor that takes a {@link ByteBuf}, as that's what creates the
+	 *  packet when it arrives on the other side of the network.
+	 */
+	public static <PacketType extends APacketBase> void registerPacket(byte packetIndex, Class<PacketType> packetClass, Function<ByteBuf, PacketType> packetFactory){
+		packetFactories[packetIndex & 0xFF] = packetFactory;
+		packetIndexes.put(packetClass, packetIndex);
 	}
 	
 	/**
 	 *  Gets the index for the passed-in packet from the mapping.
 	 */
 	public static byte getPacketIndex(APacketBase packet){
-		return packetMappings.inverse().get(packet.getClass());
+		return packetIndexes.get(packet.getClass());
 	}
 	
 	/**
 	 *  Sends the passed-in packet to the server.
 	 */
 	public static void sendToServer(APacketBase packet){
-		network.sendToServer(new WrapperPacket(packet));
+		ByteBuf packetData = encodePacket(packet);
+		if(queuedServerBundle == null){
+			queuedServerBundle = Unpooled.buffer();
+		}else if(!canAddToBundle(queuedServerBundle, packetData)){
+			network.sendToServer(new WrapperPacket(queuedServerBundle));
+			queuedServerBundle = Unpooled.buffer();
+		}
+		addToBundle(queuedServerBundle, packetData);
 	}
 	
 	/**
-	 *  Sends the passed-in packet to all clients.
+	 *  Sends the passed-in packet to all clients that need it.  Which clients these are
+	 *  depends on the packet.  Packets for entities and tile entities only go to the clients
+	 *  that have those loaded, while all other packets go to all clients.
+	 *  See {@link APacketBase#sendToInterestedClients()}.
+	 */
+	public static void sendToClients(APacketBase packet){
+		packet.sendToInterestedClients();
+	}
+	
+	/**
+	 *  Sends the passed-in packet to all clients.  Only use this for packets that
+	 *  every client needs no matter where they are, such as chat messages.
 	 */
 	public static void sendToAllClients(APacketBase packet){
-		network.sendToAll(new WrapperPacket(packet));
+		ByteBuf packetData = encodePacket(packet);
+		for(EntityPlayerMP player : FMLCommonHandler.instance().getMinecraftServerInstance().getPlayerList().getPlayers()){
+			queuePacket(packetData, player);
+		}
+	}
+	
+	/**
+	 *  Sends the passed-in packet to all clients in the same world as the passed-in world.
+	 */
+	public static void sendToClientsInWorld(APacketBase packet, WrapperWorld world){
+		ByteBuf packetData = encodePacket(packet);
+		for(EntityPlayer player : world.world.playerEntities){
+			queuePacket(packetData, (EntityPlayerMP) player);
+		}
+	}
+	
+	/**
+	 *  Sends the passed-in packet to all clients within the passed-in radius of the passed-in position.
+	 */
+	public static void sendToClientsNear(APacketBase packet, WrapperWorld world, Point3d position, double radius){
+		ByteBuf packetData = encodePacket(packet);
+		for(EntityPlayer player : world.world.playerEntities){
+			if(player.getDistanceSq(position.x, position.y, position.z) <= radius*radius){
+				queuePacket(packetData, (EntityPlayerMP) player);
+			}
+		}
+	}
+	
+	/**
+	 *  Sends the passed-in packet to all clients that are tracking the passed-in entity.
+	 *  Clients only have entities they are tracking, so no other clients need the packet.
+	 *  Riders are always tracking the entity they are riding.
+	 */
+	public static void sendToClientsTracking(APacketBase packet, AEntityBase entity){
+		ByteBuf packetData = encodePacket(packet);
+		for(EntityPlayer player : ((WorldServer) entity.world.world).getEntityTracker().getTrackingPlayers(entity.wrapper.entity)){
+			queuePacket(packetData, (EntityPlayerMP) player);
+		}
+	}
+	
+	/**
+	 *  Sends the passed-in packet to all clients that have the chunk containing the passed-in
+	 *  position loaded.  Used for tile entities, as clients only have the tile entities in their loaded chunks.
+	 */
+	public static void sendToClientsWatching(APacketBase packet, WrapperWorld world, Point3i position){
+		PlayerChunkMapEntry chunkEntry = ((WorldServer) world.world).getPlayerChunkMap().getEntry(position.x >> 4, position.z >> 4);
+		if(chunkEntry != null){
+			ByteBuf packetData = encodePacket(packet);
+			for(EntityPlayer player : world.world.playerEntities){
+				if(chunkEntry.containsPlayer((EntityPlayerMP) player)){
+					queuePacket(packetData, (EntityPlayerMP) player);
+				}
+			}
+		}
 	}
 	
 	/**
@@ -151,7 +267,81 @@ public class InterfacePacket{
 	 *  clients don't know about other player's network pipelines.
 	 */
 	public static void sendToPlayer(APacketBase packet, WrapperPlayer player){
-		network.sendTo(new WrapperPacket(packet), (EntityPlayerMP) player.player);
+		queuePacket(encodePacket(packet), (EntityPlayerMP) player.player);
+	}
+	
+	/**
+	 *  Helper method to write the passed-in packet to a buffer.  This is done once
+	 *  per packet, no matter how many bundles the packet is added to.
+	 */
+	private static ByteBuf encodePacket(APacketBase packet){
+		ByteBuf packetData = Unpooled.buffer();
+		packet.writeToBuffer(packetData);
+		return packetData;
+	}
+	
+	/**
+	 *  Helper method to add the passed-in packet data to the bundle for the passed-in player.
+	 *  If the bundle is too full to take the data, it is sent first and a new bundle is started.
+	 */
+	private static void queuePacket(ByteBuf packetData, EntityPlayerMP player){
+		ByteBuf bundle = queuedPlayerBundles.get(player);
+		if(bundle == null || !canAddToBundle(bundle, packetData)){
+			if(bundle != null){
+				network.sendTo(new WrapperPacket(bundle), player);
+			}
+			bundle = Unpooled.buffer();
+			queuedPlayerBundles.put(player, bundle);
+		}
+		addToBundle(bundle, packetData);
+	}
+	
+	/**
+	 *  Returns true if the passed-in packet data can be added to the passed-in bundle without going
+	 *  over the max bundle size.  Empty bundles can always take data, so packets larger than the
+	 *  max size still get sent, just in their own bundle.
+	 */
+	private static boolean canAddToBundle(ByteBuf bundle, ByteBuf packetData){
+		return bundle.readableBytes() == 0 || bundle.readableBytes() + packetData.readableBytes() + 5 <= MAX_BUNDLE_SIZE;
+	}
+	
+	/**
+	 *  Adds the passed-in packet data to the passed-in bundle, prefixed by its length.
+	 */
+	private static void addToBundle(ByteBuf bundle, ByteBuf packetData){
+		APacketBase.writeVarIntToBuffer(packetData.readableBytes(), bundle);
+		bundle.writeBytes(packetData, packetData.readerIndex(), packetData.readableBytes());
+	}
+	
+	/**
+	 *  Sends all bundles queued for players at the end of the server tick.
+	 *  Bundles for players that have disconnected are dropped.
+	 */
+	@SubscribeEvent
+	public static void on(TickEvent.ServerTickEvent event){
+		if(event.phase.equals(Phase.END) && !queuedPlayerBundles.isEmpty()){
+			for(Entry<EntityPlayerMP, ByteBuf> bundleEntry : queuedPlayerBundles.entrySet()){
+				EntityPlayerMP player = bundleEntry.getKey();
+				if(player.connection != null && player.connection.getNetworkManager().isChannelOpen()){
+					network.sendTo(new WrapperPacket(bundleEntry.getValue()), player);
+				}
+			}
+			queuedPlayerBundles.clear();
+		}
+	}
+	
+	/**
+	 *  Sends the bundle queued for the server at the end of the client tick.
+	 *  If the client has left the world, the bundle is dropped.
+	 */
+	@SubscribeEvent
+	public static void on(TickEvent.ClientTickEvent event){
+		if(event.phase.equals(Phase.END) && queuedServerBundle != null){
+			if(InterfaceClient.getClientPlayer() != null){
+				network.sendToServer(new WrapperPacket(queuedServerBundle));
+			}
+			queuedServerBundle = null;
+		}
 	}
 	
 	/**
@@ -173,41 +363,50 @@ public class InterfacePacket{
 	
 	/**
 	 *  Custom class for packets.  Allows for a common packet to be used for all MC versions, 
-	 *  as well as less boilerplate code due to thread operations.  Note that when this packet 
-	 *  arrives on the other side of the pipeline, MC won't know what class to construct.
-	 *  That's up to us to handle via the packet's first byte.  Also note that this class
-	 *  must be public, as if it is private MC won't be able to construct it due to access violations.
+	 *  as well as less boilerplate code due to thread operations.  Each of these contains a bundle
+	 *  of our packets, each prefixed by its length.  Note that when this packet arrives on the other
+	 *  side of the pipeline, MC won't know what classes to construct.  That's up to us to handle via
+	 *  the first byte of each packet.  Also note that this class must be public, as if it is private
+	 *  MC won't be able to construct it due to access violations.
 	 */
 	public static class WrapperPacket implements IMessage{
-		private APacketBase packet;
+		private ByteBuf bundle;
+		final List<APacketBase> packets = new ArrayList<APacketBase>();
 		
 		/**Do NOT call!  Required to keep Forge from crashing.**/
 		public WrapperPacket(){}
 		
-		public WrapperPacket(APacketBase packet){
-			this.packet = packet;
+		public WrapperPacket(ByteBuf bundle){
+			this.bundle = bundle;
 		}
 				
 		@Override
 		public void fromBytes(ByteBuf buf){
-			byte packetIndex = buf.readByte();
-			try{
-				Class<? extends APacketBase> packetClass = packetMappings.get(packetIndex);
-				packet = packetClass.getConstructor(ByteBuf.class).newInstance(buf);
-			}catch(Exception e){
-				e.printStackTrace();
+			while(buf.isReadable()){
+				//Read each packet from its own slice.  That way if one packet fails to
+				//read, or reads the wrong number of bytes, the rest can still be read.
+				int packetLength = APacketBase.readVarIntFromBuffer(buf);
+				ByteBuf packetData = buf.readSlice(packetLength);
+				byte packetIndex = packetData.readByte();
+				try{
+					packets.add(packetFactories[packetIndex & 0xFF].apply(packetData));
+				}catch(Exception e){
+					e.printStackTrace();
+				}
 			}
 		}
 
 		@Override
 		public void toBytes(ByteBuf buf){
-			packet.writeToBuffer(buf);
+			buf.writeBytes(bundle, bundle.readerIndex(), bundle.readableBytes());
 		}
 	};
 	
 	/**
 	 *  Custom class for handling packets.  This handler will have an instance of the packet
-	 *  class passed-in with all fields populated by {@link WrapperPacket#fromBytes}.
+	 *  class passed-in with all packets populated by {@link WrapperPacket#fromBytes}.
+	 *  All packets in the bundle are handled in a single task, in the order they were sent.
+	 *  Exceptions in one packet's handling are caught, so they don't stop the rest from being handled.
 	 */
 	public static class WrapperHandler implements IMessageHandler<WrapperPacket, IMessage>{
 		@Override
@@ -219,10 +418,22 @@ public class InterfacePacket{
 					//We need to use side-specific getters here to avoid side-specific classes from trying to be loaded
 					//by the JVM when this method is created.  Failure to do this will result in network faults.
 					//For this, we use abstract methods that are extended in our sub-classes.
+					WrapperWorld world;
+					WrapperPlayer player;
 					if(ctx.side.isServer()){
-						message.packet.handle(getServerWorld(ctx), getServerPlayer(ctx));
+						world = getServerWorld(ctx);
+						player = getServerPlayer(ctx);
 					}else{
-						message.packet.handle(InterfaceClient.getClientWorld(), InterfaceClient.getClientPlayer());
+						world = InterfaceClient.getClientWorld();
+						player = InterfaceClient.getClientPlayer();
+					}
+					//Handle each packet on its own, so if one packet fails, the rest of the bundle is still handled.
+					for(APacketBase packet : message.packets){
+						try{
+							packet.handle(world, player);
+						}catch(Exception e){
+							e.printStackTrace();
+						}
 					}
 				}
 			});
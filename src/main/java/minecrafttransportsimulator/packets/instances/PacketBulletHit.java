@@ -25,6 +25,9 @@ import minecrafttransportsimulator.systems.PackParserSystem;
  * @author don_bruce
  */
 public class PacketBulletHit extends APacketBase{
+	/**Distance at which clients will see hit effects.  No need to send effect packets to clients further away than this.**/
+	private static final double EFFECT_DISTANCE = 64;
+	
 	private final int gunID;
 	private final Point3d localCenter;
 	private final Point3d globalCenter;
@@ -136,8 +139,8 @@ public class PacketBulletHit extends APacketBase{
 									world.setToFire(hitPosition);
 								}
 							}else{
-								//Couldn't break the block or set it on fire.  Have clients do effects.
-								InterfacePacket.sendToAllClients(this);
+								//Couldn't break the block or set it on fire.  Have clients that can see the hit do effects.
+								InterfacePacket.sendToClientsNear(this, world, globalCenter, EFFECT_DISTANCE);
 							}
 						}
 					}
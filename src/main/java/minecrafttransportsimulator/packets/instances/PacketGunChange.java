@@ -86,7 +86,7 @@ public class PacketGunChange extends APacketBase{
 				gun.tryToReload(PackParserSystem.getItem(bulletPackID, bulletSystemName, bulletSubName));
 			}
 			if(!world.isClient()){
-				InterfacePacket.sendToAllClients(this);
+				InterfacePacket.sendToClientsTracking(this, gun.provider.getProviderEntity());
 			}
 		}
 	}
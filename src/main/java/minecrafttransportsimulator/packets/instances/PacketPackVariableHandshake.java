@@ -0,0 +1,74 @@
+package minecrafttransportsimulator.packets.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.VariableSet;
+import minecrafttransportsimulator.mcinterface.WrapperPlayer;
+import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**Packet used to check that clients have the same pack variables as the server.  Sent from clients
+ * when they join a world with the number of pack variables they have and a hash of them.  If these
+ * match the server's, the server replies with no variables and the IDs are used as-is.  If they don't,
+ * such as when the client has different packs installed, the server replies with all its pack
+ * variables so the client can map the server's IDs to its own.
+ * 
+ * @author don_bruce
+ */
+public class PacketPackVariableHandshake extends APacketBase{
+	private final int variableCount;
+	private final int variableHash;
+	private final List<String> variables;
+	
+	public PacketPackVariableHandshake(List<String> variables){
+		super(null);
+		this.variableCount = VariableSet.getPackVariableCount();
+		this.variableHash = VariableSet.getPackVariableHash();
+		this.variables = variables;
+	}
+	
+	public PacketPackVariableHandshake(ByteBuf buf){
+		super(buf);
+		this.variableCount = readVarIntFromBuffer(buf);
+		this.variableHash = buf.readInt();
+		if(buf.readBoolean()){
+			this.variables = new ArrayList<String>();
+			for(int i=0; i<variableCount; ++i){
+				variables.add(readStringFromBuffer(buf));
+			}
+		}else{
+			this.variables = null;
+		}
+	}
+	
+	@Override
+	public void writeToBuffer(ByteBuf buf){
+		super.writeToBuffer(buf);
+		if(variables != null){
+			writeVarIntToBuffer(variables.size(), buf);
+			buf.writeInt(variableHash);
+			buf.writeBoolean(true);
+			for(String variable : variables){
+				writeStringToBuffer(variable, buf);
+			}
+		}else{
+			writeVarIntToBuffer(variableCount, buf);
+			buf.writeInt(variableHash);
+			buf.writeBoolean(false);
+		}
+	}
+	
+	@Override
+	public void handle(WrapperWorld world, WrapperPlayer player){
+		if(world.isClient()){
+			//Map the server's variables to ours, or use ours as-is if the server didn't send any.
+			VariableSet.setServerPackVariables(variables);
+		}else{
+			//Send back our variables to the player who requested them if they don't have the same ones.
+			boolean variablesMatch = variableCount == VariableSet.getPackVariableCount() && variableHash == VariableSet.getPackVariableHash();
+			player.sendPacket(new PacketPackVariableHandshake(variablesMatch ? null : VariableSet.getPackVariables()));
+		}
+	}
+}
@@ -43,16 +43,14 @@ public class PacketTileEntityFluidLoaderConnection extends APacketTileEntity<Til
 	
 	@Override
 	protected boolean handle(WrapperWorld world, WrapperPlayer player, TileEntityFluidLoader loader){
-		for(AEntityBase entity : AEntityBase.createdClientEntities){
-			if(entity.lookupID == vehicleID){
-				EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
-				if(connect){
-					loader.connectedPart = (PartInteractable) vehicle.getPartAtLocation(partOffset);
-					loader.getTank().resetAmountDispensed();
-				}else{
-					loader.connectedPart = null;
-				}
-				return true;
+		AEntityBase entity = world.entityRegistry.getEntity(vehicleID);
+		if(entity != null){
+			EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
+			if(connect){
+				loader.connectedPart = (PartInteractable) vehicle.getPartAtLocation(partOffset);
+				loader.getTank().resetAmountDispensed();
+			}else{
+				loader.connectedPart = null;
 			}
 		}
 		return true;
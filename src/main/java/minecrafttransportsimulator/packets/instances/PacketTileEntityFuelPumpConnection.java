@@ -37,18 +37,16 @@ public class PacketTileEntityFuelPumpConnection extends APacketTileEntity<TileEn
 	
 	@Override
 	protected boolean handle(WrapperWorld world, WrapperPlayer player, TileEntityFuelPump pump){
-		for(AEntityBase entity : AEntityBase.createdClientEntities){
-			if(entity.lookupID == vehicleID){
-				EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
-				if(connect){
-					pump.connectedVehicle = vehicle;
-					vehicle.beingFueled = true;
-					pump.getTank().resetAmountDispensed();
-				}else{
-					vehicle.beingFueled = false;
-					pump.connectedVehicle = null;
-				}
-				return true;
+		AEntityBase entity = world.entityRegistry.getEntity(vehicleID);
+		if(entity != null){
+			EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
+			if(connect){
+				pump.connectedVehicle = vehicle;
+				vehicle.beingFueled = true;
+				pump.getTank().resetAmountDispensed();
+			}else{
+				vehicle.beingFueled = false;
+				pump.connectedVehicle = null;
 			}
 		}
 		return true;
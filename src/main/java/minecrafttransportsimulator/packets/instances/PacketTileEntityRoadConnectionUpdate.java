@@ -1,5 +1,10 @@
 package minecrafttransportsimulator.packets.instances;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLane;
@@ -7,107 +12,165 @@ import minecrafttransportsimulator.blocks.tileentities.components.RoadLaneConnec
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
-import minecrafttransportsimulator.packets.components.APacketTileEntity;
+import minecrafttransportsimulator.packets.components.APacketBase;
 
 /**Packet sent to road lanes to change their connections.  This is sent from servers to all clients
- * when a connection state changes.  The data sent consists of the lane/curve that we need
- * to update the connection for, as well as connection data to update it with.  If this data
- * is null, then we just remove the specified connection.  Note that the road/lane we are connecting
- * to with this data MAY not be loaded.  This is due to chunk populations on servers/clients being different.
- * 
+ * when connection states change.  Rather than one packet per connection, this packet holds all the
+ * connection changes from a single action, such as placing or breaking a road, so clients get them
+ * all at once.  Each change consists of the road/lane/curve that we need to update the connection for,
+ * as well as connection data to update it with.  If this data is null, then we just remove the specified
+ * connection.  Note that the road/lane we are connecting to with this data MAY not be loaded.  This is due
+ * to chunk populations on servers/clients being different.
+ *
  * @author don_bruce
  */
-public class PacketTileEntityRoadConnectionUpdate extends APacketTileEntity<TileEntityRoad>{
-	private final int laneNumber;
-	private final int curveNumber;
-	private final boolean connectedToStart;
-	
-	private final Point3i otherPosition;
-	private final int otherLaneNumber;
-	private final int otherCurveNumber;
-	private final float otherCurveNetAngle;
-	private final boolean otherConnectedToStart;
-	
-	public PacketTileEntityRoadConnectionUpdate(RoadLane lane, int curveNumber, boolean connectedToStart, RoadLaneConnection otherConnection){
-		super(lane.road);
-		this.laneNumber = lane.laneNumber;
-		this.curveNumber = curveNumber;
-		this.connectedToStart = connectedToStart;
-		if(otherConnection != null){
-			this.otherPosition = otherConnection.tileLocation;
-			this.otherLaneNumber = otherConnection.laneNumber;
-			this.otherCurveNumber = otherConnection.curveNumber;
-			this.otherCurveNetAngle = otherConnection.curveNetAngle;
-			this.otherConnectedToStart = otherConnection.connectedToStart;
-		}else{
-			this.otherPosition = null;
-			this.otherLaneNumber = 0;
-			this.otherCurveNumber = 0;
-			this.otherCurveNetAngle = 0;
-			this.otherConnectedToStart = false;
-		}
-	}
-	
-	public PacketTileEntityRoadConnectionUpdate(RoadLane lane,int curveNumber, boolean priorConnection){
-		this(lane, curveNumber, priorConnection, null);
+public class PacketTileEntityRoadConnectionUpdate extends APacketBase{
+	private final List<ConnectionUpdate> updates = new ArrayList<ConnectionUpdate>();
+
+	public PacketTileEntityRoadConnectionUpdate(){
+		super(null);
 	}
-	
+
 	public PacketTileEntityRoadConnectionUpdate(ByteBuf buf){
 		super(buf);
-		this.laneNumber = buf.readInt();
-		this.curveNumber = buf.readInt();
-		this.connectedToStart = buf.readBoolean();
-		if(buf.readBoolean()){
-			this.otherPosition = readPoint3iFromBuffer(buf);
-			this.otherLaneNumber = buf.readInt();
-			this.otherCurveNumber = buf.readInt();
-			this.otherCurveNetAngle = buf.readFloat();
-			this.otherConnectedToStart = buf.readBoolean();
-		}else{
-			this.otherPosition = null;
-			this.otherLaneNumber = 0;
-			this.otherCurveNumber = 0;
-			this.otherCurveNetAngle = 0;
-			this.otherConnectedToStart = false;
+		int numberUpdates = buf.readInt();
+		for(int i=0; i<numberUpdates; ++i){
+			updates.add(new ConnectionUpdate(buf));
 		}
 	}
-	
+
+	/**
+	 *  Adds a connection from the passed-in lane's curve to the passed-in connection to this packet.
+	 */
+	public void addConnection(RoadLane lane, int curveNumber, boolean connectedToStart, RoadLaneConnection otherConnection){
+		updates.add(new ConnectionUpdate(lane, curveNumber, connectedToStart, otherConnection));
+	}
+
+	/**
+	 *  Adds a removal of all connections at the start or end of the passed-in lane's curve to this packet.
+	 */
+	public void addRemoval(RoadLane lane, int curveNumber, boolean connectedToStart){
+		updates.add(new ConnectionUpdate(lane, curveNumber, connectedToStart, null));
+	}
+
+	/**
+	 *  Returns true if this packet has any updates in it.  Packets without updates don't need to be sent.
+	 */
+	public boolean hasUpdates(){
+		return !updates.isEmpty();
+	}
+
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		buf.writeInt(laneNumber);
-		buf.writeInt(curveNumber);
-		buf.writeBoolean(connectedToStart);
-		if(otherPosition != null){
-			buf.writeBoolean(true);
-			writePoint3iToBuffer(otherPosition, buf);
-			buf.writeInt(otherLaneNumber);
-			buf.writeInt(otherCurveNumber);
-			buf.writeFloat(otherCurveNetAngle);
-			buf.writeBoolean(otherConnectedToStart);
-		}else{
-			buf.writeBoolean(false);
+		buf.writeInt(updates.size());
+		for(ConnectionUpdate update : updates){
+			update.writeToBuffer(buf);
 		}
 	}
-	
+
 	@Override
-	protected boolean handle(WrapperWorld world, WrapperPlayer player, TileEntityRoad road){
-		RoadLane lane = road.lanes.get(laneNumber);
-		if(otherPosition != null){
-			//Connecting to another curve.  Create connection from this curve to the other one.
-			if(connectedToStart){
-				lane.priorConnections.get(curveNumber).add(new RoadLaneConnection(otherPosition, otherLaneNumber, otherCurveNumber, otherCurveNetAngle, otherConnectedToStart));
+	public void handle(WrapperWorld world, WrapperPlayer player){
+		//Apply all updates first, then update the transitions for the lanes we changed.
+		//This way lanes with multiple updates only sort their connections once.
+		Set<RoadLane> updatedLanes = new LinkedHashSet<RoadLane>();
+		for(ConnectionUpdate update : updates){
+			TileEntityRoad road = world.getTileEntity(update.position);
+			if(road != null && road.world != null){
+				RoadLane lane = road.lanes.get(update.laneNumber);
+				if(update.otherPosition != null){
+					//Connecting to another curve.  Create connection from this curve to the other one.
+					if(update.connectedToStart){
+						lane.priorConnections.get(update.curveNumber).add(new RoadLaneConnection(update.otherPosition, update.otherLaneNumber, update.otherCurveNumber, update.otherCurveNetAngle, update.otherConnectedToStart));
+					}else{
+						lane.nextConnections.get(update.curveNumber).add(new RoadLaneConnection(update.otherPosition, update.otherLaneNumber, update.otherCurveNumber, update.otherCurveNetAngle, update.otherConnectedToStart));
+					}
+				}else{
+					//No other curve.  This is a connection deletion request.
+					if(update.connectedToStart){
+						lane.priorConnections.get(update.curveNumber).clear();
+					}else{
+						lane.nextConnections.get(update.curveNumber).clear();
+					}
+				}
+				updatedLanes.add(lane);
+			}
+		}
+		for(RoadLane lane : updatedLanes){
+			lane.updateTransitions();
+		}
+	}
+
+	/**
+	 *  A single connection change for one lane curve.
+	 */
+	private static class ConnectionUpdate{
+		private final Point3i position;
+		private final int laneNumber;
+		private final int curveNumber;
+		private final boolean connectedToStart;
+
+		private final Point3i otherPosition;
+		private final int otherLaneNumber;
+		private final int otherCurveNumber;
+		private final float otherCurveNetAngle;
+		private final boolean otherConnectedToStart;
+
+		private ConnectionUpdate(RoadLane lane, int curveNumber, boolean connectedToStart, RoadLaneConnection otherConnection){
+			this.position = lane.road.position;
+			this.laneNumber = lane.laneNumber;
+			this.curveNumber = curveNumber;
+			this.connectedToStart = connectedToStart;
+			if(otherConnection != null){
+				this.otherPosition = otherConnection.tileLocation;
+				this.otherLaneNumber = otherConnection.laneNumber;
+				this.otherCurveNumber = otherConnection.curveNumber;
+				this.otherCurveNetAngle = otherConnection.curveNetAngle;
+				this.otherConnectedToStart = otherConnection.connectedToStart;
 			}else{
-				lane.nextConnections.get(curveNumber).add(new RoadLaneConnection(otherPosition, otherLaneNumber, otherCurveNumber, otherCurveNetAngle, otherConnectedToStart));
+				this.otherPosition = null;
+				this.otherLaneNumber = 0;
+				this.otherCurveNumber = 0;
+				this.otherCurveNetAngle = 0;
+				this.otherConnectedToStart = false;
 			}
-		}else{
-			//No other curve.  This is a connection deletion request.
-			if(connectedToStart){
-				lane.priorConnections.get(curveNumber).clear();
+		}
+
+		private ConnectionUpdate(ByteBuf buf){
+			this.position = readPoint3iFromBuffer(buf);
+			this.laneNumber = buf.readInt();
+			this.curveNumber = buf.readInt();
+			this.connectedToStart = buf.readBoolean();
+			if(buf.readBoolean()){
+				this.otherPosition = readPoint3iFromBuffer(buf);
+				this.otherLaneNumber = buf.readInt();
+				this.otherCurveNumber = buf.readInt();
+				this.otherCurveNetAngle = buf.readFloat();
+				this.otherConnectedToStart = buf.readBoolean();
+			}else{
+				this.otherPosition = null;
+				this.otherLaneNumber = 0;
+				this.otherCurveNumber = 0;
+				this.otherCurveNetAngle = 0;
+				this.otherConnectedToStart = false;
+			}
+		}
+
+		private void writeToBuffer(ByteBuf buf){
+			writePoint3iToBuffer(position, buf);
+			buf.writeInt(laneNumber);
+			buf.writeInt(curveNumber);
+			buf.writeBoolean(connectedToStart);
+			if(otherPosition != null){
+				buf.writeBoolean(true);
+				writePoint3iToBuffer(otherPosition, buf);
+				buf.writeInt(otherLaneNumber);
+				buf.writeInt(otherCurveNumber);
+				buf.writeFloat(otherCurveNetAngle);
+				buf.writeBoolean(otherConnectedToStart);
 			}else{
-				lane.nextConnections.get(curveNumber).clear();
+				buf.writeBoolean(false);
 			}
 		}
-		return true;
 	}
 }
@@ -44,39 +44,76 @@ public class PacketVehicleControlAnalog extends APacketVehicle{
 	
 	@Override
 	protected boolean handle(WrapperWorld world, WrapperPlayer player, EntityVehicleF_Physics vehicle){
-		switch(controlType){
-			case THROTTLE : {
-				vehicle.throttle = (byte) clampAngle(0, EntityVehicleF_Physics.MAX_THROTTLE, cooldown == Byte.MAX_VALUE ? value : vehicle.throttle + value);
-				break;
-			}
-			case BRAKE : {
-				vehicle.brake = (byte) clampAngle(0, EntityVehicleF_Physics.MAX_BRAKE, cooldown == Byte.MAX_VALUE ? value : vehicle.brake + value);
-				break;
-			}
-			case AILERON : {
-				vehicle.aileronAngle = (short) clampAngle(-EntityVehicleF_Physics.MAX_AILERON_ANGLE, EntityVehicleF_Physics.MAX_AILERON_ANGLE, cooldown == Byte.MAX_VALUE ? value : vehicle.aileronAngle + value);
-				vehicle.aileronCooldown = cooldown; 
-				break;
-			}
-			case ELEVATOR : {
-				vehicle.elevatorAngle = (short) clampAngle(-EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, cooldown == Byte.MAX_VALUE ? value : vehicle.elevatorAngle + value);
-				vehicle.elevatorCooldown = cooldown;
-				break;
-			}
-			case RUDDER : {
-				vehicle.rudderAngle = (short) clampAngle(-EntityVehicleF_Physics.MAX_RUDDER_ANGLE, EntityVehicleF_Physics.MAX_RUDDER_ANGLE, cooldown == Byte.MAX_VALUE ? value : vehicle.rudderAngle + value);
-				vehicle.rudderCooldown = cooldown;
-				break;
-			}
-		}
+		controlType.setValue(vehicle, cooldown == Byte.MAX_VALUE ? value : controlType.getValue(vehicle) + value, cooldown);
 		return true;
 	}
 	
 	public enum Controls{
-		THROTTLE,
-		BRAKE,
-		AILERON,
-		ELEVATOR,
-		RUDDER;
+		THROTTLE(0, EntityVehicleF_Physics.MAX_THROTTLE),
+		BRAKE(0, EntityVehicleF_Physics.MAX_BRAKE),
+		AILERON(-EntityVehicleF_Physics.MAX_AILERON_ANGLE, EntityVehicleF_Physics.MAX_AILERON_ANGLE),
+		ELEVATOR(-EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE),
+		RUDDER(-EntityVehicleF_Physics.MAX_RUDDER_ANGLE, EntityVehicleF_Physics.MAX_RUDDER_ANGLE);
+		
+		public final int minValue;
+		public final int maxValue;
+		
+		private Controls(int minValue, int maxValue){
+			this.minValue = minValue;
+			this.maxValue = maxValue;
+		}
+		
+		/**
+		 *  Returns the passed-in value clamped to the bounds of this control.
+		 */
+		public int clamp(int value){
+			return clampAngle(minValue, maxValue, value);
+		}
+		
+		/**
+		 *  Returns the current value of this control on the passed-in vehicle.
+		 */
+		public int getValue(EntityVehicleF_Physics vehicle){
+			switch(this){
+				case THROTTLE : return vehicle.throttle;
+				case BRAKE : return vehicle.brake;
+				case AILERON : return vehicle.aileronAngle;
+				case ELEVATOR : return vehicle.elevatorAngle;
+				case RUDDER : return vehicle.rudderAngle;
+				default : return 0;
+			}
+		}
+		
+		/**
+		 *  Sets the value of this control on the passed-in vehicle, clamped to the bounds of this control.
+		 *  The cooldown is only used for control surfaces, as those return to center once it runs out.
+		 */
+		public void setValue(EntityVehicleF_Physics vehicle, int value, byte cooldown){
+			switch(this){
+				case THROTTLE : {
+					vehicle.throttle = (byte) clamp(value);
+					break;
+				}
+				case BRAKE : {
+					vehicle.brake = (byte) clamp(value);
+					break;
+				}
+				case AILERON : {
+					vehicle.aileronAngle = (short) clamp(value);
+					vehicle.aileronCooldown = cooldown; 
+					break;
+				}
+				case ELEVATOR : {
+					vehicle.elevatorAngle = (short) clamp(value);
+					vehicle.elevatorCooldown = cooldown;
+					break;
+				}
+				case RUDDER : {
+					vehicle.rudderAngle = (short) clamp(value);
+					vehicle.rudderCooldown = cooldown;
+					break;
+				}
+			}
+		}
 	}
 }
@@ -70,7 +70,7 @@ public class PacketVehicleControlDigital extends APacketVehicle{
 				}else{
 					boolean matchingConnection = false;
 					boolean trailerInRange = false;
-					for(AEntityBase entity : AEntityBase.createdServerEntities){
+					for(AEntityBase entity : world.entityRegistry.getEntities()){
 						if(!entity.equals(vehicle) && entity instanceof EntityVehicleF_Physics){
 							switch(vehicle.tryToConnect((EntityVehicleF_Physics) entity)){
 								case TRAILER_CONNECTED : player.sendPacket(new PacketPlayerChatMessage("interact.trailer.connect")); return false;
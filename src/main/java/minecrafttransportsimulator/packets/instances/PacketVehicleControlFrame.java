@@ -0,0 +1,63 @@
+package minecrafttransportsimulator.packets.instances;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.mcinterface.WrapperPlayer;
+import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketVehicle;
+import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog.Controls;
+import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
+
+/**Packet used for setting multiple analog controls on vehicles at once.  Sent from clients
+ * for controls that are set to absolute values, such as joystick axes and the mouse yoke.
+ * Rather than sending a {@link PacketVehicleControlAnalog} for each of these controls every tick,
+ * clients only send this packet when a control changes, and only with the controls that changed.
+ * Which controls are in the packet is stored in a mask at the start of the packet.
+ *
+ * @author don_bruce
+ */
+public class PacketVehicleControlFrame extends APacketVehicle{
+	private final int controlMask;
+	private final short[] values;
+	
+	/**
+	 *  Creates a frame for the controls in the passed-in mask.  Bits in the mask
+	 *  correspond to control ordinals, and values are indexed by control ordinal.
+	 */
+	public PacketVehicleControlFrame(EntityVehicleF_Physics vehicle, int controlMask, short[] values){
+		super(vehicle);
+		this.controlMask = controlMask;
+		this.values = values;
+	}
+	
+	public PacketVehicleControlFrame(ByteBuf buf){
+		super(buf);
+		this.controlMask = buf.readByte();
+		this.values = new short[Controls.values().length];
+		for(Controls control : Controls.values()){
+			if((controlMask & (1 << control.ordinal())) != 0){
+				values[control.ordinal()] = buf.readShort();
+			}
+		}
+	}
+	
+	@Override
+	public void writeToBuffer(ByteBuf buf){
+		super.writeToBuffer(buf);
+		buf.writeByte(controlMask);
+		for(Controls control : Controls.values()){
+			if((controlMask & (1 << control.ordinal())) != 0){
+				buf.writeShort(values[control.ordinal()]);
+			}
+		}
+	}
+	
+	@Override
+	protected boolean handle(WrapperWorld world, WrapperPlayer player, EntityVehicleF_Physics vehicle){
+		for(Controls control : Controls.values()){
+			if((controlMask & (1 << control.ordinal())) != 0){
+				control.setValue(vehicle, values[control.ordinal()], Byte.MAX_VALUE);
+			}
+		}
+		return true;
+	}
+}
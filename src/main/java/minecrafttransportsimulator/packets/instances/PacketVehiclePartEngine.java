@@ -131,14 +131,12 @@ public class PacketVehiclePartEngine extends APacketVehiclePart{
 				InterfaceSound.playQuickSound(new SoundInstance(engine, MasterLoader.resourceDomain + ":engine_shifting_grinding"));
 				break;
 			}case LINK: {
-				for(AEntityBase entity : AEntityBase.createdClientEntities){
-					if(entity.lookupID == linkedID){
-						for(PartEngine otherEngine : ((EntityVehicleF_Physics) entity).engines.values()){
-							if(otherEngine.placementOffset.equals(linkedPos)){
-								otherEngine.linkedEngine = engine;
-								engine.linkedEngine = otherEngine;
-								return false;
-							}
+				for(AEntityBase entity : world.entityRegistry.getEntities(linkedID)){
+					for(PartEngine otherEngine : ((EntityVehicleF_Physics) entity).engines.values()){
+						if(otherEngine.placementOffset.equals(linkedPos)){
+							otherEngine.linkedEngine = engine;
+							engine.linkedEngine = otherEngine;
+							return false;
 						}
 					}
 				}
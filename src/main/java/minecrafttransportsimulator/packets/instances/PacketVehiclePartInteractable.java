@@ -50,14 +50,12 @@ public class PacketVehiclePartInteractable extends APacketVehiclePart{
 	@Override
 	public boolean handle(WrapperWorld world, WrapperPlayer player, EntityVehicleF_Physics vehicle, Point3d offset){
 		PartInteractable interactable = (PartInteractable) vehicle.getPartAtLocation(offset);
-		for(AEntityBase entity : AEntityBase.createdClientEntities){
-			if(entity.lookupID == linkedID){
-				if(linkedOffset == null){
-					interactable.linkedVehicle = (EntityVehicleF_Physics) entity;
-				}else{
-					interactable.linkedPart = (PartInteractable) ((EntityVehicleF_Physics) entity).getPartAtLocation(linkedOffset);
-				}
-				break;
+		AEntityBase entity = world.entityRegistry.getEntity(linkedID);
+		if(entity != null){
+			if(linkedOffset == null){
+				interactable.linkedVehicle = (EntityVehicleF_Physics) entity;
+			}else{
+				interactable.linkedPart = (PartInteractable) ((EntityVehicleF_Physics) entity).getPartAtLocation(linkedOffset);
 			}
 		}
 		return true;
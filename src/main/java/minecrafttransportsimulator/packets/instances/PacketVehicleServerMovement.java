@@ -15,35 +15,157 @@ import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
  * the position and rotation.  This system of syncing has the side-effect of significant
  * rubberbanding when server TPS suffers or networking goes bad, but it's far better than
  * the alternatives when the connection is good, hence why we use it.
- * 
+ * <br><br>
+ * As this packet is sent every tick for every moving vehicle, it is kept as small as possible.
+ * Motion and rotation are quantized into whole units of {@link #MOTION_QUANTUM} and {@link #ROTATION_QUANTUM},
+ * and only the fields that changed are sent, as variable-length values.  Which fields are present is
+ * stored in a mask at the start of the packet.  Every {@link #KEYFRAME_INTERVAL} packets, the total
+ * movement is sent instead of the change in movement.  This lets clients that got their
+ * deltas some other way, such as from spawn data, line up with the server again.
+ *
  * @author don_bruce
  */
 public class PacketVehicleServerMovement extends APacketVehicle{
-	private final Point3d motion;
-	private final Point3d rotation;
+	/**Size of one unit of quantized motion, in blocks.**/
+	public static final double MOTION_QUANTUM = 1D/4096D;
+	/**Size of one unit of quantized rotation, in degrees.**/
+	public static final double ROTATION_QUANTUM = 1D/1024D;
+	/**Number of packets sent between packets with total movement.**/
+	public static final int KEYFRAME_INTERVAL = 40;
 	
-	public PacketVehicleServerMovement(EntityVehicleF_Physics vehicle, Point3d motion, Point3d rotation){
+	private static final int FIELD_COUNT = 6;
+	private static final int KEYFRAME_BIT = 1 << FIELD_COUNT;
+	
+	private final int fieldMask;
+	private final long[] values;
+	
+	private PacketVehicleServerMovement(EntityVehicleF_Physics vehicle, int fieldMask, long[] values){
 		super(vehicle);
-		this.motion = motion;
-		this.rotation = rotation;
+		this.fieldMask = fieldMask;
+		this.values = values;
 	}
 	
 	public PacketVehicleServerMovement(ByteBuf buf){
 		super(buf);
-		this.motion = readPoint3dFromBuffer(buf);
-		this.rotation = readPoint3dFromBuffer(buf);
+		this.values = new long[FIELD_COUNT];
+		this.fieldMask = readFields(buf, values);
 	}
 	
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writePoint3dToBuffer(motion, buf);
-		writePoint3dToBuffer(rotation, buf);
+		writeFields(fieldMask, values, buf);
 	}
 	
 	@Override
 	public boolean handle(WrapperWorld world, WrapperPlayer player, EntityVehicleF_Physics vehicle){
-		vehicle.addToServerDeltas(motion, rotation);
+		Point3d motion = new Point3d();
+		Point3d rotation = new Point3d();
+		getMovement(values, motion, rotation);
+		if(isKeyframe(fieldMask)){
+			vehicle.setServerDeltas(motion, rotation);
+		}else{
+			vehicle.addToServerDeltas(motion, rotation);
+		}
 		return false;
 	}
+	
+	/**
+	 *  Writes the passed-in mask, and the fields in it, to the buffer.
+	 */
+	static void writeFields(int fieldMask, long[] values, ByteBuf buf){
+		buf.writeByte(fieldMask);
+		for(int i=0; i<FIELD_COUNT; ++i){
+			if((fieldMask & (1 << i)) != 0){
+				writeVarLongToBuffer(values[i], buf);
+			}
+		}
+	}
+	
+	/**
+	 *  Reads the fields in the buffer into the passed-in array, and returns the mask of the fields read.
+	 *  Fields not in the mask are set to 0, as they didn't change.
+	 */
+	static int readFields(ByteBuf buf, long[] values){
+		int fieldMask = buf.readByte();
+		for(int i=0; i<FIELD_COUNT; ++i){
+			values[i] = (fieldMask & (1 << i)) != 0 ? readVarLongFromBuffer(buf) : 0;
+		}
+		return fieldMask;
+	}
+	
+	/**
+	 *  Returns true if the passed-in mask is for a packet with total movement, rather than the change in movement.
+	 */
+	static boolean isKeyframe(int fieldMask){
+		return (fieldMask & KEYFRAME_BIT) != 0;
+	}
+	
+	/**
+	 *  Converts the passed-in quantized fields back to motion and rotation.
+	 */
+	static void getMovement(long[] values, Point3d motion, Point3d rotation){
+		motion.set(values[0]*MOTION_QUANTUM, values[1]*MOTION_QUANTUM, values[2]*MOTION_QUANTUM);
+		rotation.set(values[3]*ROTATION_QUANTUM, values[4]*ROTATION_QUANTUM, values[5]*ROTATION_QUANTUM);
+	}
+	
+	/**Encoder for the movement of a single vehicle.  This is kept by the vehicle on the server, and
+	 * tracks the total movement that has been sent to clients in quantized units.  Packets are made
+	 * from the difference between this total and the vehicle's actual total movement.  Because of this,
+	 * rounding errors aren't lost, they are just sent in a later packet, so clients never drift more
+	 * than half a unit from the server.
+	 */
+	public static class MovementEncoder{
+		private final long[] sentTotals = new long[FIELD_COUNT];
+		private int packetsSinceKeyframe;
+		
+		public MovementEncoder(Point3d serverDeltaM, Point3d serverDeltaR){
+			quantize(serverDeltaM, serverDeltaR, sentTotals);
+		}
+		
+		/**
+		 *  Returns a packet to send the passed-in total movement to clients,
+		 *  or null if the movement is too small to change any quantized values.
+		 */
+		public PacketVehicleServerMovement createPacket(EntityVehicleF_Physics vehicle, Point3d serverDeltaM, Point3d serverDeltaR){
+			long[] values = new long[FIELD_COUNT];
+			int fieldMask = encode(serverDeltaM, serverDeltaR, values);
+			return fieldMask != 0 ? new PacketVehicleServerMovement(vehicle, fieldMask, values) : null;
+		}
+		
+		/**
+		 *  Encodes the passed-in total movement into the passed-in array, and returns the mask of the fields
+		 *  to send.  Returns 0 if the movement is too small to change any quantized values.
+		 */
+		int encode(Point3d serverDeltaM, Point3d serverDeltaR, long[] values){
+			long[] totals = new long[FIELD_COUNT];
+			quantize(serverDeltaM, serverDeltaR, totals);
+			
+			int fieldMask = 0;
+			if(++packetsSinceKeyframe >= KEYFRAME_INTERVAL){
+				packetsSinceKeyframe = 0;
+				fieldMask = KEYFRAME_BIT | (KEYFRAME_BIT - 1);
+				System.arraycopy(totals, 0, sentTotals, 0, FIELD_COUNT);
+				System.arraycopy(totals, 0, values, 0, FIELD_COUNT);
+			}else{
+				for(int i=0; i<FIELD_COUNT; ++i){
+					values[i] = totals[i] - sentTotals[i];
+					if(values[i] != 0){
+						fieldMask |= 1 << i;
+						sentTotals[i] = totals[i];
+					}
+				}
+			}
+			return fieldMask;
+		}
+		
+		private static void quantize(Point3d motion, Point3d rotation, long[] quantizedValues){
+			quantizedValues[0] = Math.round(motion.x/MOTION_QUANTUM);
+			quantizedValues[1] = Math.round(motion.y/MOTION_QUANTUM);
+			quantizedValues[2] = Math.round(motion.z/MOTION_QUANTUM);
+			quantizedValues[3] = Math.round(rotation.x/ROTATION_QUANTUM);
+			quantizedValues[4] = Math.round(rotation.y/ROTATION_QUANTUM);
+			quantizedValues[5] = Math.round(rotation.z/ROTATION_QUANTUM);
+		}
+	}
 }
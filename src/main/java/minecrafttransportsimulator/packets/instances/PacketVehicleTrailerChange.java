@@ -97,33 +97,31 @@ public class PacketVehicleTrailerChange extends APacketVehicle{
 	@Override
 	public boolean handle(WrapperWorld world, WrapperPlayer player, EntityVehicleF_Physics vehicle){
 		if(linkedID != -1){
-			for(AEntityBase entity : AEntityBase.createdClientEntities){
-				if(entity.lookupID == linkedID){
-					EntityVehicleF_Physics trailer = (EntityVehicleF_Physics) entity;
-					
-					APart hitchPart;
-					VehicleConnection hitchConnection;
-					if(activeHitchPartSavedOffset != null){
-						hitchPart = vehicle.getPartAtLocation(activeHitchPartSavedOffset);
-						hitchConnection = hitchPart.definition.connections.get(activeHitchConnectionSavedIndex);
-					}else{
-						hitchPart = null;
-						hitchConnection = vehicle.definition.connections.get(activeHitchConnectionSavedIndex);
-					}
-					
-					APart hookupPart;
-					VehicleConnection hookupConnection;
-					if(activeHookupPartSavedOffset != null){
-						hookupPart = trailer.getPartAtLocation(activeHookupPartSavedOffset);
-						hookupConnection = hookupPart.definition.connections.get(activeHookupConnectionSavedIndex);
-					}else{
-						hookupPart = null;
-						hookupConnection = trailer.definition.connections.get(activeHookupConnectionSavedIndex);
-					}
-					
-					vehicle.changeTrailer(trailer, hitchConnection, hookupConnection, hitchPart, hookupPart);
-					break;
+			AEntityBase entity = world.entityRegistry.getEntity(linkedID);
+			if(entity != null){
+				EntityVehicleF_Physics trailer = (EntityVehicleF_Physics) entity;
+				
+				APart hitchPart;
+				VehicleConnection hitchConnection;
+				if(activeHitchPartSavedOffset != null){
+					hitchPart = vehicle.getPartAtLocation(activeHitchPartSavedOffset);
+					hitchConnection = hitchPart.definition.connections.get(activeHitchConnectionSavedIndex);
+				}else{
+					hitchPart = null;
+					hitchConnection = vehicle.definition.connections.get(activeHitchConnectionSavedIndex);
 				}
+				
+				APart hookupPart;
+				VehicleConnection hookupConnection;
+				if(activeHookupPartSavedOffset != null){
+					hookupPart = trailer.getPartAtLocation(activeHookupPartSavedOffset);
+					hookupConnection = hookupPart.definition.connections.get(activeHookupConnectionSavedIndex);
+				}else{
+					hookupPart = null;
+					hookupConnection = trailer.definition.connections.get(activeHookupConnectionSavedIndex);
+				}
+				
+				vehicle.changeTrailer(trailer, hitchConnection, hookupConnection, hitchPart, hookupPart);
 			}
 		}else{
 			if(vehicle.towedVehicle != null){
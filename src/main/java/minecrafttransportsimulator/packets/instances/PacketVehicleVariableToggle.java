@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.packets.instances;
 
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
 import minecrafttransportsimulator.packets.components.APacketVehicle;
@@ -8,36 +9,63 @@ import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 /**Packet used to toggle variable states.  Sent from clients to servers to
  * tell them to change the custom state of a vehicle, and then sent back
- * to all clients to have them update those states.
+ * to all clients to have them update those states.  Variables registered by packs
+ * are sent as their ID, as those are the same on both sides, or are mapped if they
+ * aren't.  Any other variables are sent by name.  Clients give these an ID if they don't have one,
+ * but servers ignore names they don't know, as only bad clients would send them, and registering
+ * them would let those clients grow the variable registry without limit.  IDs that aren't for pack
+ * variables are ignored for the same reason.
  * 
  * @author don_bruce
  */
 public class PacketVehicleVariableToggle extends APacketVehicle{
+	private int variableID;
 	private final String variableName;
 	
 	public PacketVehicleVariableToggle(EntityVehicleF_Physics vehicle, String variableName){
+		this(vehicle, VariableSet.getVariableID(variableName));
+	}
+	
+	public PacketVehicleVariableToggle(EntityVehicleF_Physics vehicle, int variableID){
 		super(vehicle);
-		this.variableName = variableName;
+		this.variableID = variableID;
+		this.variableName = null;
 	}
 	
 	public PacketVehicleVariableToggle(ByteBuf buf){
 		super(buf);
-		this.variableName = readStringFromBuffer(buf);
+		//IDs are sent one higher than they are, so variables sent by name can use 0.
+		//Names are looked up when handled, as we don't know if we're the client or server here.
+		int networkID = readVarIntFromBuffer(buf) - 1;
+		if(networkID == -1){
+			this.variableID = -1;
+			this.variableName = readStringFromBuffer(buf);
+		}else{
+			this.variableID = VariableSet.getVariableIDFromNetwork(networkID);
+			this.variableName = null;
+		}
 	}
 	
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writeStringToBuffer(variableName, buf);
+		int networkID = VariableSet.getNetworkID(variableID);
+		writeVarIntToBuffer(networkID + 1, buf);
+		if(networkID == -1){
+			writeStringToBuffer(VariableSet.getVariableName(variableID), buf);
+		}
 	}
 	
 	@Override
 	public boolean handle(WrapperWorld world, WrapperPlayer player, EntityVehicleF_Physics vehicle){
-		if(vehicle.variablesOn.contains(variableName)){
-			vehicle.variablesOn.remove(variableName);
+		if(variableName != null){
+			variableID = world.isClient() ? VariableSet.getVariableID(variableName) : VariableSet.getExistingVariableID(variableName);
+		}
+		if(variableID != -1){
+			vehicle.variablesOn.toggle(variableID);
+			return true;
 		}else{
-			vehicle.variablesOn.add(variableName);
+			return false;
 		}
-		return true;
 	}
 }
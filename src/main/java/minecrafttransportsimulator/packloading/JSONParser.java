@@ -25,6 +25,8 @@ import com.google.gson.stream.JsonWriter;
 
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.jsondefs.AJSONItem;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
+import minecrafttransportsimulator.rendering.instances.AnimationsVehicle;
 
 /**This class contains various methods to parse out JSON data from JSON files.
  * Contains  custom type adapters used in JSON parsing operations, and annotations for fields.
@@ -334,6 +336,14 @@ public class JSONParser{
 				}
 			}
 		}
+		
+		//Compile animation variables now that we know the animation is valid, so they don't need to be looked up when rendering.
+		//If the variable can't be compiled, leave it be.  It will be compiled when first used, which is where errors used to happen.
+		if(obj instanceof JSONAnimationDefinition){
+			try{
+				AnimationsVehicle.compileAnimation((JSONAnimationDefinition) obj);
+			}catch(Exception e){}
+		}
 	}
 	
 	/**
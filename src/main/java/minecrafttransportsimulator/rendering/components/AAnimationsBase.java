@@ -13,6 +13,15 @@ import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
  */
 public abstract class AAnimationsBase<ProviderClass extends IAnimationProvider>{
 	
+	/**
+	 *  A variable compiled for a provider class.  Compiling a variable looks up what it refers to once, so
+	 *  getting its value doesn't need to check the variable name against every possible variable.
+	 */
+	@FunctionalInterface
+	public static interface CompiledVariable<ProviderClass extends IAnimationProvider>{
+		public double getValue(ProviderClass provider, float partialTicks);
+	}
+	
 	/**
 	 *  Clamps and scales the passed-in variable value based on the passed-in animation, returning it in the proper form.
 	 */
@@ -35,7 +44,7 @@ public abstract class AAnimationsBase<ProviderClass extends IAnimationProvider>{
 	 */
 	@SuppressWarnings("unchecked")
 	public final double getAnimatedVariableValue(IAnimationProvider provider, JSONAnimationDefinition animation, double offset, DurationDelayClock clock, float partialTicks){
-		double value = getRawVariableValue((ProviderClass) provider, animation.variable, partialTicks);
+		double value = getRawVariableValue((ProviderClass) provider, animation, partialTicks);
 		if(clock == null || (animation.duration == 0 && animation.forwardsDelay == 0 && animation.reverseDelay == 0)){
 			return clampAndScale(value, animation, offset);
 		}else{
@@ -49,6 +58,15 @@ public abstract class AAnimationsBase<ProviderClass extends IAnimationProvider>{
 	 */
 	public abstract double getRawVariableValue(ProviderClass provider, String variable, float partialTicks);
 	
+	/**
+	 *  Returns the raw value for the variable of the passed-in animation.  By default, this just calls
+	 *  {@link #getRawVariableValue(IAnimationProvider, String, float)}, but sub-classes may override this
+	 *  to use a compiled form of the variable stored on the animation.
+	 */
+	protected double getRawVariableValue(ProviderClass provider, JSONAnimationDefinition animation, float partialTicks){
+		return getRawVariableValue(provider, animation.variable, partialTicks);
+	}
+	
 	/**
 	 *  Tries to return the raw value for the passed-in variable, assuming it is a base variable.  If the
 	 *  variable is not a base variable, then NaN is returned.  This is to allow overriding functions
@@ -56,37 +74,52 @@ public abstract class AAnimationsBase<ProviderClass extends IAnimationProvider>{
 	 *  this value, or their own values in their implemented functions.
 	 */
 	protected final double getBaseVariableValue(ProviderClass provider, String variable, float partialTicks){
+		//Check if this is a world variable.
+		CompiledVariable<ProviderClass> worldVariable = compileBaseVariable(variable);
+		if(worldVariable != null){
+			return worldVariable.getValue(provider, partialTicks);
+		}
+		
+		//Check if this is a generic variable.  This contains lights in most cases.
+		if(provider.getActiveVariables().contains(variable)){
+			return 1;
+		}
+		
+		//Didn't find a variable.  Return NaN.
+		return Double.NaN;
+	}
+	
+	/**
+	 *  Compiles the passed-in variable if it is a base variable that depends only on the world, such as tick or
+	 *  rain_strength.  Returns null if it isn't one of these.  Generic variables, like lights, aren't compiled here,
+	 *  as they can be turned on and off at any time, so {@link IAnimationProvider#getActiveVariables()} always
+	 *  needs to be checked for them.
+	 */
+	protected static <ProviderClass extends IAnimationProvider> CompiledVariable<ProviderClass> compileBaseVariable(String variable){
 		switch(variable){
-			case("tick"): return provider.getProviderWorld().getTick();
-			case("tick_sin"): return Math.sin(Math.toRadians(provider.getProviderWorld().getTick()));
-			case("tick_cos"): return Math.cos(Math.toRadians(provider.getProviderWorld().getTick()));
-			case("time"): return provider.getProviderWorld().getTime();
-			case("rain_strength"): return (int) provider.getProviderWorld().getRainStrength(new Point3i(provider.getProviderPosition()));
-			case("rain_sin"): {
+			case("tick"): return (provider, partialTicks) -> provider.getProviderWorld().getTick();
+			case("tick_sin"): return (provider, partialTicks) -> Math.sin(Math.toRadians(provider.getProviderWorld().getTick()));
+			case("tick_cos"): return (provider, partialTicks) -> Math.cos(Math.toRadians(provider.getProviderWorld().getTick()));
+			case("time"): return (provider, partialTicks) -> provider.getProviderWorld().getTime();
+			case("rain_strength"): return (provider, partialTicks) -> (int) provider.getProviderWorld().getRainStrength(new Point3i(provider.getProviderPosition()));
+			case("rain_sin"): return (provider, partialTicks) -> {
 				int rainStrength = (int) provider.getProviderWorld().getRainStrength(new Point3i(provider.getProviderPosition())); 
 				return rainStrength > 0 ? Math.sin(rainStrength*Math.toRadians(360*System.currentTimeMillis()/1000))/2D + 0.5: 0;
-			}
-			case("rain_cos"): {
+			};
+			case("rain_cos"): return (provider, partialTicks) -> {
 				int rainStrength = (int) provider.getProviderWorld().getRainStrength(new Point3i(provider.getProviderPosition())); 
 				return rainStrength > 0 ? Math.cos(rainStrength*Math.toRadians(360*System.currentTimeMillis()/1000))/2D + 0.5 : 0;
-			}	
-			case("light_sunlight"): return provider.getProviderWorld().getLightBrightness(new Point3i(provider.getProviderPosition()), false);
-			case("light_total"): return provider.getProviderWorld().getLightBrightness(new Point3i(provider.getProviderPosition()), true);
+			};
+			case("light_sunlight"): return (provider, partialTicks) -> provider.getProviderWorld().getLightBrightness(new Point3i(provider.getProviderPosition()), false);
+			case("light_total"): return (provider, partialTicks) -> provider.getProviderWorld().getLightBrightness(new Point3i(provider.getProviderPosition()), true);
 		}
 		
 		//Check if this is a cycle variable.
 		if(variable.startsWith("cycle")){
 			int ticksCycle = Integer.valueOf(variable.substring(variable.indexOf('_') + 1, variable.lastIndexOf('_')));
 			int startTick = Integer.valueOf(variable.substring(variable.lastIndexOf('_') + 1));
-			return provider.getProviderWorld().getTick()%ticksCycle >= startTick ? 1 : 0;
+			return (provider, partialTicks) -> provider.getProviderWorld().getTick()%ticksCycle >= startTick ? 1 : 0;
 		}
-		
-		//Check if this is a generic variable.  This contains lights in most cases.
-		if(provider.getActiveVariables().contains(variable)){
-			return 1;
-		}
-		
-		//Didn't find a variable.  Return NaN.
-		return Double.NaN;
+		return null;
 	}
 }
@@ -1,8 +1,6 @@
 package minecrafttransportsimulator.rendering.components;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.sound.ISoundProviderSimple;
 
 /**Interface for classes that need to have animations done on them and their models.
@@ -12,7 +10,7 @@ import minecrafttransportsimulator.sound.ISoundProviderSimple;
  * @author don_bruce
  */
 public interface IAnimationProvider extends ISoundProviderSimple{
-	public static final Set<String> EMPTY_VARIABLE_SET = new HashSet<String>();
+	public static final VariableSet EMPTY_VARIABLE_SET = new VariableSet();
     
     /**
 	 *  Returns the animation system for this provider.
@@ -33,7 +31,7 @@ public interface IAnimationProvider extends ISoundProviderSimple{
    	 *  individual providers.  Rather, this is for common collections
    	 *  of variables, like lights.
    	 */
-    public default Set<String> getActiveVariables(){
+    public default VariableSet getActiveVariables(){
     	return EMPTY_VARIABLE_SET;
     }
 }
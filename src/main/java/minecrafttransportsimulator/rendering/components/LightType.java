@@ -1,6 +1,6 @@
 package minecrafttransportsimulator.rendering.components;
 
-import java.util.Collection;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 
 /**Light types.  These are common to all lighting, be it vehicles or blocks or something else.
  * 
@@ -33,13 +33,15 @@ public enum LightType{
 	
 	public final boolean hasBeam;
 	public final String lowercaseName;
+	public final int variableID;
 	
 	private LightType(boolean hasBeam){
 		this.hasBeam = hasBeam;
 		this.lowercaseName = name().toLowerCase();
+		this.variableID = VariableSet.getVariableID(lowercaseName);
 	}
 	
-	public boolean isInCollection(Collection<String> collection){
-		return collection.contains(lowercaseName);
+	public boolean isInCollection(VariableSet collection){
+		return collection.contains(variableID);
 	}
 }
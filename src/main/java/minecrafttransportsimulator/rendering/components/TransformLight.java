@@ -112,7 +112,7 @@ public class TransformLight extends ATransform{
 			setLightupTextureState(true, 1);
 		}else{
 			double electricPower = provider.getLightPower();
-			setLightupTextureState(provider.getActiveVariables().contains(type.lowercaseName), (float) Math.min(electricPower > 0.15 ? (electricPower-0.15)/0.75F : 0, 1));
+			setLightupTextureState(provider.getActiveVariables().contains(type.variableID), (float) Math.min(electricPower > 0.15 ? (electricPower-0.15)/0.75F : 0, 1));
 		}
 		return 0;
 	}
@@ -123,7 +123,7 @@ public class TransformLight extends ATransform{
 		//It's safe to do this, as we'll already have applied all the other transforms we need, and
 		//we'll have rendered the object so we can safely change textures.
 		//We won't have to worry about the light-up textures, as those lighting changes will be overidden here.
-		boolean lightActuallyOn = (type.equals(LightType.GENERICLIGHT) || provider.getActiveVariables().contains(type.lowercaseName)) && isFlashingLightOn();
+		boolean lightActuallyOn = (type.equals(LightType.GENERICLIGHT) || provider.getActiveVariables().contains(type.variableID)) && isFlashingLightOn();
 		float sunLight = provider.getProviderWorld().getLightBrightness(new Point3i(provider.getProviderPosition()), false);
 		float electricPower = provider.getLightPower();
 		//Turn all lights off if the power is down to 0.15.  Otherwise dim them based on a linear factor.
@@ -1,8 +1,8 @@
 package minecrafttransportsimulator.rendering.instances;
 
-import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.rendering.components.AAnimationsBase;
+import minecrafttransportsimulator.rendering.instances.AnimationsVehicle.PartVariable;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartEngine;
 import minecrafttransportsimulator.vehicles.parts.PartGroundDevice;
@@ -32,13 +32,9 @@ public final class AnimationsPart extends AAnimationsBase<APart>{
 		if(variable.startsWith("parent_")){
 			return getRawVariableValue(part.parentPart, variable.substring("parent_".length()), partialTicks);
 		}else{
-			int partNumber = AnimationsVehicle.getPartNumber(variable);
-			if(partNumber != -1){
-				//Get the part type from the variable.
-				String partType = AnimationsVehicle.getPartType(variable);
-				Class<? extends APart> partClass = AnimationsVehicle.getPartClass(variable);
-				
-				if(partClass != null){
+			PartVariable partVariable = AnimationsVehicle.getCompiledPartVariable(part.definition, part.definition.subParts, false, variable);
+			if(partVariable != null){
+				if(partVariable.partClass != null){
 					if(part.definition.subParts == null){
 						//Send this to the parent part or vehicle for processing if we have it.
 						if(part.parentPart != null){
@@ -48,31 +44,12 @@ public final class AnimationsPart extends AAnimationsBase<APart>{
 						}
 					}
 					
-					//Iterate through our parts to find the index of the pack def for the part we want.
-					VehiclePart foundDef = null;
-					for(VehiclePart subPartDef : part.definition.subParts){
-						//If this part is the one we want, get it or add to our index.
-						for(String defPartType : subPartDef.types){
-							if(partType.equals("part") || defPartType.startsWith(partType)){
-								if(partNumber == 0){
-									foundDef = subPartDef;
-								}else{
-									--partNumber;
-								}
-								break;
-							}
-						}
-						
-						//If we found our part, try to get it.
-						if(foundDef != null){
-							//Get the part at this location.  If it's of the same class as what we need, use it for animation.
-							//If it's not, or it doesn't exist, return 0.
-							APart foundPart = part.vehicle.getPartAtLocation(part.vehicle.getPackForSubPart(part.vehicleDefinition, foundDef).pos);
-							if(foundPart != null && partClass.isInstance(foundPart)){
-								return foundPart.getAnimationSystem().getRawVariableValue(foundPart, variable.substring(0, variable.lastIndexOf("_")), partialTicks);
-							}else{
-								return 0;
-							}
+					//Get the part in the slot.  If it's of the same class as what we need, use it for animation.
+					//If it's not, or it doesn't exist, return 0.
+					if(partVariable.partDefinition != null){
+						APart foundPart = part.vehicle.getPartForDefinition(part.vehicle.getPackForSubPart(part.vehicleDefinition, partVariable.partDefinition));
+						if(foundPart != null && partVariable.partClass.isInstance(foundPart)){
+							return foundPart.getAnimationSystem().getRawVariableValue(foundPart, partVariable.partVariable, partialTicks);
 						}
 					}
 				}
@@ -1,6 +1,11 @@
 package minecrafttransportsimulator.rendering.instances;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.rendering.components.AAnimationsBase;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -17,10 +22,24 @@ import minecrafttransportsimulator.vehicles.parts.PartSeat;
  * the vehicle, as well as instruments.  All methods are designed to be as
  * global as possible to keep all animations in this class.  Parts are rendered
  * by {@link AnimationsParts}.
+ * <br><br>
+ * Variables are compiled into a {@link CompiledVariable} when their pack is loaded, and stored in their
+ * {@link JSONAnimationDefinition}.  This saves us from checking the variable name against every variable
+ * each frame.  Variables that refer to parts, such as engine_rpm_1, are compiled the first time they are used on
+ * each vehicle or part definition into a {@link PartVariable}.  This saves us from having to parse the variable
+ * and search the definition for the part slot every time the variable is used.  The part in the slot
+ * is then looked up via {@link EntityVehicleF_Physics#getPartForDefinition(VehiclePart)}, which is
+ * cached until the vehicle's parts change.
  *
  * @author don_bruce
  */
 public final class AnimationsVehicle extends AAnimationsBase<EntityVehicleF_Physics>{
+	/**Compiled part variables for each vehicle or part definition.  Concurrent as both the client and server threads may compile variables.**/
+	private static final Map<Object, Map<String, PartVariable>> COMPILED_VARIABLES = new ConcurrentHashMap<Object, Map<String, PartVariable>>();
+	/**Compiled variables for calls that pass in the variable name rather than an animation.**/
+	private static final Map<String, CompiledVariable<EntityVehicleF_Physics>> COMPILED_VEHICLE_VARIABLES = new ConcurrentHashMap<String, CompiledVariable<EntityVehicleF_Physics>>();
+	/**Marker for compiled variables that aren't part variables.  Needed as concurrent maps can't hold null.**/
+	private static final PartVariable NOT_PART_VARIABLE = new PartVariable(null, null, null);
 	
 	/**
 	 *  Returns the part number for the passed-in variable, or -1 if there is no part number for the variable.
@@ -63,129 +82,202 @@ public final class AnimationsVehicle extends AAnimationsBase<EntityVehicleF_Phys
 		return null;
 	}
 	
-	@Override
-	public double getRawVariableValue(EntityVehicleF_Physics vehicle, String variable, float partialTicks){
-		//First check if we are a base variable.
-		double value = getBaseVariableValue(vehicle, variable, partialTicks);
-		if(!Double.isNaN(value)){
-			return value;
+	/**
+	 *  Returns the compiled part variable for the passed-in variable on the passed-in vehicle or part definition,
+	 *  or null if the variable isn't a part variable.  Variables are compiled the first time they are requested
+	 *  from the passed-in list of part slot definitions.  If checkAdditionalParts is true, the additional parts
+	 *  of each slot are also checked.  If the slot can't be found, the returned variable will have a null definition.
+	 */
+	public static PartVariable getCompiledPartVariable(Object definition, List<VehiclePart> partDefinitions, boolean checkAdditionalParts, String variable){
+		Map<String, PartVariable> compiledVariables = COMPILED_VARIABLES.get(definition);
+		if(compiledVariables == null){
+			compiledVariables = new ConcurrentHashMap<String, PartVariable>();
+			COMPILED_VARIABLES.put(definition, compiledVariables);
 		}
-		
-		//If we have a variable with a suffix, we need to get that part first and pass
-		//it into this method rather than trying to run through the code now.
+		PartVariable partVariable = compiledVariables.get(variable);
+		if(partVariable == null){
+			partVariable = compilePartVariable(partDefinitions, checkAdditionalParts, variable);
+			compiledVariables.put(variable, partVariable != null ? partVariable : NOT_PART_VARIABLE);
+		}
+		return partVariable != NOT_PART_VARIABLE ? partVariable : null;
+	}
+	
+	/**
+	 *  Helper method to compile the passed-in variable.  Returns null if the variable isn't a part variable.
+	 */
+	private static PartVariable compilePartVariable(List<VehiclePart> partDefinitions, boolean checkAdditionalParts, String variable){
 		int partNumber = getPartNumber(variable);
-		if(partNumber != -1){
-			//Get the part type from the variable.
-			String partType = getPartType(variable);
-			Class<? extends APart> partClass = getPartClass(variable);
-			
-			if(partClass != null){
-				//Iterate through the definitions to find the index of the pack def for the part we want.
-				VehiclePart foundDef = null;
-				for(VehiclePart vehicleDef : vehicle.definition.parts){
-					//If this part is the one we want, get it or add to our index.
-					for(String defPartType : vehicleDef.types){
-						if(partType.equals("part") || defPartType.startsWith(partType)){
-							if(partNumber == 0){
-								foundDef = vehicleDef;
-							}else{
-								--partNumber;
-							}
-							break;
+		if(partNumber == -1){
+			return null;
+		}
+		
+		//Get the part type from the variable.
+		String partType = getPartType(variable);
+		Class<? extends APart> partClass = getPartClass(variable);
+		VehiclePart foundDef = null;
+		if(partClass != null && partDefinitions != null){
+			//Iterate through the definitions to find the index of the pack def for the part we want.
+			for(VehiclePart partDef : partDefinitions){
+				//If this part is the one we want, get it or add to our index.
+				for(String defPartType : partDef.types){
+					if(partType.equals("part") || defPartType.startsWith(partType)){
+						if(partNumber == 0){
+							foundDef = partDef;
+						}else{
+							--partNumber;
 						}
+						break;
 					}
-					
-					//Also check additional parts if we have them..
-					if(foundDef == null && vehicleDef.additionalParts != null){
-						for(VehiclePart additionalDef : vehicleDef.additionalParts){
-							for(String defPartType : additionalDef.types){
-								if(partType.equals("part") || defPartType.startsWith(partType)){
-									if(partNumber == 0){
-										foundDef = additionalDef;
-									}else{
-										--partNumber;
-									}
-									break;
+				}
+				
+				//Also check additional parts if we have them..
+				if(checkAdditionalParts && foundDef == null && partDef.additionalParts != null){
+					for(VehiclePart additionalDef : partDef.additionalParts){
+						for(String defPartType : additionalDef.types){
+							if(partType.equals("part") || defPartType.startsWith(partType)){
+								if(partNumber == 0){
+									foundDef = additionalDef;
+								}else{
+									--partNumber;
 								}
-							}
-							if(foundDef != null){
 								break;
 							}
 						}
-					}
-					
-					//If we found our part, try to get it.
-					if(foundDef != null){
-						//Get the part at this location.  If it's of the same class as what we need, use it for animation.
-						//If it's not, or it doesn't exist, return 0.
-						APart foundPart = vehicle.getPartAtLocation(foundDef.pos);
-						if(foundPart != null && partClass.isInstance(foundPart)){
-							return foundPart.getAnimationSystem().getRawVariableValue(foundPart, variable.substring(0, variable.lastIndexOf("_")), partialTicks);
-						}else{
-							return 0;
+						if(foundDef != null){
+							break;
 						}
 					}
 				}
+				
+				if(foundDef != null){
+					break;
+				}
 			}
-			
-			//We couldn't find the part we were supposed to.  Likely because it hasn't been placed yet.
-			return 0;
 		}
-
-		//Not a part variable that needs forwarding.  Try vehicle variables.
+		return new PartVariable(foundDef, partClass, variable.substring(0, variable.lastIndexOf("_")));
+	}
+	
+	@Override
+	public double getRawVariableValue(EntityVehicleF_Physics vehicle, String variable, float partialTicks){
+		CompiledVariable<EntityVehicleF_Physics> compiledVariable = COMPILED_VEHICLE_VARIABLES.get(variable);
+		if(compiledVariable == null){
+			compiledVariable = compileVariable(variable);
+			COMPILED_VEHICLE_VARIABLES.put(variable, compiledVariable);
+		}
+		return compiledVariable.getValue(vehicle, partialTicks);
+	}
+	
+	@Override
+	protected double getRawVariableValue(EntityVehicleF_Physics vehicle, JSONAnimationDefinition animation, float partialTicks){
+		//Animations are normally compiled when their pack is loaded, but ones created after that won't be.
+		if(animation.compiledVehicleVariable == null){
+			compileAnimation(animation);
+		}
+		return animation.compiledVehicleVariable.getValue(vehicle, partialTicks);
+	}
+	
+	/**
+	 *  Compiles the variable of the passed-in animation for vehicles, and stores it in the animation.
+	 *  This is done when packs are loaded, so animations don't have to look up their variables when rendering.
+	 */
+	public static void compileAnimation(JSONAnimationDefinition animation){
+		animation.compiledVehicleVariable = compileVariable(animation.variable);
+	}
+	
+	/**
+	 *  Compiles the passed-in variable for vehicles.  Variables are checked in the same order as they
+	 *  always have been: base variables first, then generic variables like lights, then part variables, and
+	 *  finally vehicle variables.  Part variables still need the vehicle's definition to find the part slot,
+	 *  so those are compiled per-definition by {@link #getCompiledPartVariable(Object, List, boolean, String)}.
+	 */
+	private static CompiledVariable<EntityVehicleF_Physics> compileVariable(String variable){
+		CompiledVariable<EntityVehicleF_Physics> baseVariable = compileBaseVariable(variable);
+		if(baseVariable != null){
+			return baseVariable;
+		}else if(getPartNumber(variable) != -1){
+			return (vehicle, partialTicks) -> vehicle.getActiveVariables().contains(variable) ? 1 : getPartVariableValue(vehicle, variable, partialTicks);
+		}else{
+			CompiledVariable<EntityVehicleF_Physics> vehicleVariable = compileVehicleVariable(variable);
+			return (vehicle, partialTicks) -> vehicle.getActiveVariables().contains(variable) ? 1 : vehicleVariable.getValue(vehicle, partialTicks);
+		}
+	}
+	
+	/**
+	 *  Helper method to get the value of a part variable.  The part variable is forwarded to the part in the
+	 *  slot for the variable, if there is one.
+	 */
+	private static double getPartVariableValue(EntityVehicleF_Physics vehicle, String variable, float partialTicks){
+		PartVariable partVariable = getCompiledPartVariable(vehicle.definition, vehicle.definition.parts, true, variable);
+		if(partVariable.partDefinition != null){
+			//Get the part in the slot.  If it's of the same class as what we need, use it for animation.
+			//If it's not, or it doesn't exist, return 0.
+			APart foundPart = vehicle.getPartForDefinition(partVariable.partDefinition);
+			if(foundPart != null && partVariable.partClass.isInstance(foundPart)){
+				return foundPart.getAnimationSystem().getRawVariableValue(foundPart, partVariable.partVariable, partialTicks);
+			}
+		}
+		
+		//We couldn't find the part we were supposed to.  Likely because it hasn't been placed yet.
+		return 0;
+	}
+	
+	/**
+	 *  Helper method to compile a vehicle variable.  Unknown variables are compiled to return 0.
+	 */
+	private static CompiledVariable<EntityVehicleF_Physics> compileVehicleVariable(String variable){
 		switch(variable){
 			//Vehicle world state cases.
-			case("yaw"): return vehicle.angles.y;
-			case("heading"): int heading = (int)-vehicle.angles.y; if(ConfigSystem.configObject.clientControls.north360.value) heading += 180; while (heading < 1) heading += 360; while (heading > 360) heading -= 360; return heading;
-			case("pitch"): return vehicle.angles.x;
-			case("roll"): return vehicle.angles.z;
-			case("altitude"): return vehicle.position.y;
-			case("speed"): return vehicle.axialVelocity*EntityVehicleF_Physics.SPEED_FACTOR*20;
+			case("yaw"): return (vehicle, partialTicks) -> vehicle.angles.y;
+			case("heading"): return (vehicle, partialTicks) -> {int heading = (int)-vehicle.angles.y; if(ConfigSystem.configObject.clientControls.north360.value) heading += 180; while (heading < 1) heading += 360; while (heading > 360) heading -= 360; return heading;};
+			case("pitch"): return (vehicle, partialTicks) -> vehicle.angles.x;
+			case("roll"): return (vehicle, partialTicks) -> vehicle.angles.z;
+			case("altitude"): return (vehicle, partialTicks) -> vehicle.position.y;
+			case("speed"): return (vehicle, partialTicks) -> vehicle.axialVelocity*EntityVehicleF_Physics.SPEED_FACTOR*20;
 
 			//Vehicle state cases.
-			case("throttle"): return vehicle.throttle/(double)EntityVehicleF_Physics.MAX_THROTTLE;
-			case("brake"): return vehicle.brake/(double)EntityVehicleF_Physics.MAX_BRAKE;
-			case("fuel"): return vehicle.fuelTank.getFluidLevel()/vehicle.fuelTank.getMaxLevel();
-			case("electric_power"): return vehicle.electricPower;
-			case("electric_usage"): return vehicle.electricFlow*20D;
-			case("p_brake"): return vehicle.parkingBrakeOn ? 1 : 0;
-			case("reverser"): return vehicle.reverseThrust ? 1 : 0;
-			case("horn"): return vehicle.hornOn ? 1 : 0;
-			case("siren"): return vehicle.sirenOn ? 1 : 0;
-			case("locked"): return vehicle.locked ? 1 : 0;
-			case("door"): return vehicle.parkingBrakeOn && vehicle.velocity < 0.25 ? 1 : 0;
-			case("trailer"): return vehicle.towedVehicle != null ? 1 : 0;
-			case("trailer_pitch"): return vehicle.towedVehicle != null ? vehicle.towedVehicle.angles.x - vehicle.angles.x : 0;
-			case("trailer_yaw"): return vehicle.towedVehicle != null ?  vehicle.towedVehicle.angles.y - vehicle.angles.y : 0;
-			case("trailer_roll"): return vehicle.towedVehicle != null ? vehicle.towedVehicle.angles.z - vehicle.angles.z : 0;
-			case("hookup"): return vehicle.towedByVehicle != null ? 1 : 0;
-			case("hookup_pitch"): return vehicle.towedByVehicle != null ? vehicle.towedByVehicle.angles.x - vehicle.angles.x : 0;
-			case("hookup_yaw"): return vehicle.towedByVehicle != null ? vehicle.towedByVehicle.angles.y - vehicle.angles.y : 0;
-			case("hookup_roll"): return vehicle.towedByVehicle != null ? vehicle.towedByVehicle.angles.z - vehicle.angles.z : 0;
-			case("fueling"): return vehicle.beingFueled ? 1 : 0;
+			case("throttle"): return (vehicle, partialTicks) -> vehicle.throttle/(double)EntityVehicleF_Physics.MAX_THROTTLE;
+			case("brake"): return (vehicle, partialTicks) -> vehicle.brake/(double)EntityVehicleF_Physics.MAX_BRAKE;
+			case("fuel"): return (vehicle, partialTicks) -> vehicle.fuelTank.getFluidLevel()/vehicle.fuelTank.getMaxLevel();
+			case("electric_power"): return (vehicle, partialTicks) -> vehicle.electricPower;
+			case("electric_usage"): return (vehicle, partialTicks) -> vehicle.electricFlow*20D;
+			case("p_brake"): return (vehicle, partialTicks) -> vehicle.parkingBrakeOn ? 1 : 0;
+			case("reverser"): return (vehicle, partialTicks) -> vehicle.reverseThrust ? 1 : 0;
+			case("horn"): return (vehicle, partialTicks) -> vehicle.hornOn ? 1 : 0;
+			case("siren"): return (vehicle, partialTicks) -> vehicle.sirenOn ? 1 : 0;
+			case("locked"): return (vehicle, partialTicks) -> vehicle.locked ? 1 : 0;
+			case("door"): return (vehicle, partialTicks) -> vehicle.parkingBrakeOn && vehicle.velocity < 0.25 ? 1 : 0;
+			case("trailer"): return (vehicle, partialTicks) -> vehicle.towedVehicle != null ? 1 : 0;
+			case("trailer_pitch"): return (vehicle, partialTicks) -> vehicle.towedVehicle != null ? vehicle.towedVehicle.angles.x - vehicle.angles.x : 0;
+			case("trailer_yaw"): return (vehicle, partialTicks) -> vehicle.towedVehicle != null ?  vehicle.towedVehicle.angles.y - vehicle.angles.y : 0;
+			case("trailer_roll"): return (vehicle, partialTicks) -> vehicle.towedVehicle != null ? vehicle.towedVehicle.angles.z - vehicle.angles.z : 0;
+			case("hookup"): return (vehicle, partialTicks) -> vehicle.towedByVehicle != null ? 1 : 0;
+			case("hookup_pitch"): return (vehicle, partialTicks) -> vehicle.towedByVehicle != null ? vehicle.towedByVehicle.angles.x - vehicle.angles.x : 0;
+			case("hookup_yaw"): return (vehicle, partialTicks) -> vehicle.towedByVehicle != null ? vehicle.towedByVehicle.angles.y - vehicle.angles.y : 0;
+			case("hookup_roll"): return (vehicle, partialTicks) -> vehicle.towedByVehicle != null ? vehicle.towedByVehicle.angles.z - vehicle.angles.z : 0;
+			case("fueling"): return (vehicle, partialTicks) -> vehicle.beingFueled ? 1 : 0;
 			
 			//State cases generally used on aircraft.
-			case("aileron"): return vehicle.aileronAngle/10D;
-			case("elevator"): return vehicle.elevatorAngle/10D;
-			case("rudder"): return vehicle.rudderAngle/10D;
-			case("flaps_setpoint"): return vehicle.flapDesiredAngle/10D;
-			case("flaps_actual"): return vehicle.flapCurrentAngle/10D;
-			case("trim_aileron"): return vehicle.aileronTrim/10D;
-			case("trim_elevator"): return vehicle.elevatorTrim/10D;
-			case("trim_rudder"): return vehicle.rudderTrim/10D;
-			case("vertical_speed"): return vehicle.motion.y*EntityVehicleF_Physics.SPEED_FACTOR*20;
-			case("lift_reserve"): return -vehicle.trackAngle;
-			case("turn_coordinator"): return ((vehicle.angles.z - vehicle.prevAngles.z)/10 + vehicle.angles.y - vehicle.prevAngles.y)/0.15D*25;
-			case("turn_indicator"): return (vehicle.angles.y - vehicle.prevAngles.y)/0.15F*25F;
-			case("slip"): return 75*vehicle.sideVector.dotProduct(vehicle.normalizedVelocityVector);
-			case("gear_setpoint"): return vehicle.gearUpCommand ? 1 : 0;
-			case("gear_actual"): return vehicle.gearMovementTime/((double) vehicle.definition.motorized.gearSequenceDuration);
-			case("beacon_direction"): return vehicle.selectedBeacon != null ? vehicle.angles.getClampedYDelta(Math.toDegrees(Math.atan2(vehicle.selectedBeacon.location.x - vehicle.position.x, vehicle.selectedBeacon.location.z - vehicle.position.z))) : 0;
-			case("beacon_bearing_setpoint"): return vehicle.selectedBeacon != null ? vehicle.selectedBeacon.bearing : 0;
-			case("beacon_bearing_delta"): return vehicle.selectedBeacon != null ? vehicle.selectedBeacon.getBearingDelta(vehicle) : 0;
-			case("beacon_glideslope_setpoint"): return vehicle.selectedBeacon != null ? vehicle.selectedBeacon.glideSlope : 0;
-			case("beacon_glideslope_actual"): return vehicle.selectedBeacon != null ? Math.toDegrees(Math.asin((vehicle.position.y - vehicle.selectedBeacon.location.y)/vehicle.position.distanceTo(vehicle.selectedBeacon.location))) : 0;
-			case("beacon_glideslope_delta"): return vehicle.selectedBeacon != null ? vehicle.selectedBeacon.glideSlope - Math.toDegrees(Math.asin((vehicle.position.y - vehicle.selectedBeacon.location.y)/vehicle.position.distanceTo(vehicle.selectedBeacon.location))) : 0;
+			case("aileron"): return (vehicle, partialTicks) -> vehicle.aileronAngle/10D;
+			case("elevator"): return (vehicle, partialTicks) -> vehicle.elevatorAngle/10D;
+			case("rudder"): return (vehicle, partialTicks) -> vehicle.rudderAngle/10D;
+			case("flaps_setpoint"): return (vehicle, partialTicks) -> vehicle.flapDesiredAngle/10D;
+			case("flaps_actual"): return (vehicle, partialTicks) -> vehicle.flapCurrentAngle/10D;
+			case("trim_aileron"): return (vehicle, partialTicks) -> vehicle.aileronTrim/10D;
+			case("trim_elevator"): return (vehicle, partialTicks) -> vehicle.elevatorTrim/10D;
+			case("trim_rudder"): return (vehicle, partialTicks) -> vehicle.rudderTrim/10D;
+			case("vertical_speed"): return (vehicle, partialTicks) -> vehicle.motion.y*EntityVehicleF_Physics.SPEED_FACTOR*20;
+			case("lift_reserve"): return (vehicle, partialTicks) -> -vehicle.trackAngle;
+			case("turn_coordinator"): return (vehicle, partialTicks) -> ((vehicle.angles.z - vehicle.prevAngles.z)/10 + vehicle.angles.y - vehicle.prevAngles.y)/0.15D*25;
+			case("turn_indicator"): return (vehicle, partialTicks) -> (vehicle.angles.y - vehicle.prevAngles.y)/0.15F*25F;
+			case("slip"): return (vehicle, partialTicks) -> 75*vehicle.sideVector.dotProduct(vehicle.normalizedVelocityVector);
+			case("gear_setpoint"): return (vehicle, partialTicks) -> vehicle.gearUpCommand ? 1 : 0;
+			case("gear_actual"): return (vehicle, partialTicks) -> vehicle.gearMovementTime/((double) vehicle.definition.motorized.gearSequenceDuration);
+			case("beacon_direction"): return (vehicle, partialTicks) -> vehicle.selectedBeacon != null ? vehicle.angles.getClampedYDelta(Math.toDegrees(Math.atan2(vehicle.selectedBeacon.location.x - vehicle.position.x, vehicle.selectedBeacon.location.z - vehicle.position.z))) : 0;
+			case("beacon_bearing_setpoint"): return (vehicle, partialTicks) -> vehicle.selectedBeacon != null ? vehicle.selectedBeacon.bearing : 0;
+			case("beacon_bearing_delta"): return (vehicle, partialTicks) -> vehicle.selectedBeacon != null ? vehicle.selectedBeacon.getBearingDelta(vehicle) : 0;
+			case("beacon_glideslope_setpoint"): return (vehicle, partialTicks) -> vehicle.selectedBeacon != null ? vehicle.selectedBeacon.glideSlope : 0;
+			case("beacon_glideslope_actual"): return (vehicle, partialTicks) -> vehicle.selectedBeacon != null ? Math.toDegrees(Math.asin((vehicle.position.y - vehicle.selectedBeacon.location.y)/vehicle.position.distanceTo(vehicle.selectedBeacon.location))) : 0;
+			case("beacon_glideslope_delta"): return (vehicle, partialTicks) -> vehicle.selectedBeacon != null ? vehicle.selectedBeacon.glideSlope - Math.toDegrees(Math.asin((vehicle.position.y - vehicle.selectedBeacon.location.y)/vehicle.position.distanceTo(vehicle.selectedBeacon.location))) : 0;
 			
 			//Missile incoming variables.
 			//Variable is in the form of missile_X_variablename.
@@ -194,20 +286,19 @@ public final class AnimationsVehicle extends AAnimationsBase<EntityVehicleF_Phys
 					String missileVariable = variable.substring(variable.lastIndexOf("_") + 1);
 					int missileNumber = getPartNumber(variable.substring(0, variable.lastIndexOf('_')));
 					if(missileNumber != -1){
-						if(vehicle.missilesIncoming.size() <= missileNumber){
-							return 0;
-						}else{
-							switch(missileVariable){
-								case("distance"): return (double)vehicle.missilesIncoming.keySet().toArray()[missileNumber];
-								case("direction"): {
-									double dist = (double)vehicle.missilesIncoming.keySet().toArray()[missileNumber];
-									Point3d missilePos = vehicle.missilesIncoming.get(dist).position;
-									return Math.toDegrees(Math.atan2(-missilePos.z + vehicle.position.z, -missilePos.x + vehicle.position.x)) + 90 + vehicle.angles.y;
+						switch(missileVariable){
+							case("distance"): return (vehicle, partialTicks) -> vehicle.missilesIncoming.size() <= missileNumber ? 0 : (double)vehicle.missilesIncoming.keySet().toArray()[missileNumber];
+							case("direction"): return (vehicle, partialTicks) -> {
+								if(vehicle.missilesIncoming.size() <= missileNumber){
+									return 0;
 								}
-							}
+								double dist = (double)vehicle.missilesIncoming.keySet().toArray()[missileNumber];
+								Point3d missilePos = vehicle.missilesIncoming.get(dist).position;
+								return Math.toDegrees(Math.atan2(-missilePos.z + vehicle.position.z, -missilePos.x + vehicle.position.x)) + 90 + vehicle.angles.y;
+							};
 						}
 					}else if(missileVariable.equals("incoming")){
-						return vehicle.missilesIncoming.isEmpty() ? 0 : 1;
+						return (vehicle, partialTicks) -> vehicle.missilesIncoming.isEmpty() ? 0 : 1;
 					}
 				}
 			}
@@ -216,6 +307,22 @@ public final class AnimationsVehicle extends AAnimationsBase<EntityVehicleF_Phys
 		//Not a vehicle variable or a part variable.  We could have an error, but likely we have an older pack,
 		//a closed door, a missing part, a custom variable that's not on, or something else entirely.
 		//In that case, we return 0 to prevent crashes.
-		return 0;
+		return (vehicle, partialTicks) -> 0;
+	}
+	
+	/**
+	 *  A compiled part variable.  Contains the definition of the part slot the variable is for, the class
+	 *  the part in that slot must be, and the variable to get from that part.
+	 */
+	public static final class PartVariable{
+		public final VehiclePart partDefinition;
+		public final Class<? extends APart> partClass;
+		public final String partVariable;
+		
+		private PartVariable(VehiclePart partDefinition, Class<? extends APart> partClass, String partVariable){
+			this.partDefinition = partDefinition;
+			this.partClass = partClass;
+			this.partVariable = partVariable;
+		}
 	}
 }
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import minecrafttransportsimulator.MasterLoader;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
 import minecrafttransportsimulator.items.instances.ItemDecor;
@@ -34,10 +36,12 @@ import minecrafttransportsimulator.jsondefs.JSONItem;
 import minecrafttransportsimulator.jsondefs.JSONPack;
 import minecrafttransportsimulator.jsondefs.JSONPart;
 import minecrafttransportsimulator.jsondefs.JSONPoleComponent;
+import minecrafttransportsimulator.jsondefs.JSONRendering;
 import minecrafttransportsimulator.jsondefs.JSONRoadComponent;
 import minecrafttransportsimulator.jsondefs.JSONSkin;
 import minecrafttransportsimulator.jsondefs.JSONSubDefinition;
 import minecrafttransportsimulator.jsondefs.JSONVehicle;
+import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleDoor;
 import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.packloading.JSONParser;
 import minecrafttransportsimulator.packloading.PackResourceLoader.ItemClassification;
@@ -406,6 +410,19 @@ public final class PackParserSystem{
     		}
     	}
     	
+    	//Register all door and custom variables so they get the same IDs on clients and servers.
+    	Set<String> packVariables = new HashSet<String>();
+    	for(Map<String, AItemPack<?>> packItems : packItemMap.values()){
+    		for(AItemPack<?> item : packItems.values()){
+    			if(item instanceof ItemVehicle){
+    				addPackVariables(((ItemVehicle) item).definition.doors, ((ItemVehicle) item).definition.rendering, packVariables);
+    			}else if(item instanceof ItemPart){
+    				addPackVariables(((ItemPart) item).definition.doors, ((ItemPart) item).definition.rendering, packVariables);
+    			}
+    		}
+    	}
+    	VariableSet.registerPackVariables(packVariables);
+    	
 		//Check to make sure we have all our fuels.  We may have loaded a new engine type this launch.
     	boolean newFuel = false;
     	if(ConfigSystem.configObject.fuel.fuels == null){
@@ -421,6 +438,20 @@ public final class PackParserSystem{
 			ConfigSystem.saveToDisk();
 		}
     }
+    
+    /**
+     * Helper method to add the door and custom variable names from a definition to the passed-in set.
+     */
+    private static void addPackVariables(List<VehicleDoor> doors, JSONRendering rendering, Set<String> packVariables){
+    	if(doors != null){
+    		for(VehicleDoor door : doors){
+    			packVariables.add(door.name);
+    		}
+    	}
+    	if(rendering != null && rendering.customVariables != null){
+    		packVariables.addAll(rendering.customVariables);
+    	}
+    }
 	
     //-----START OF OLD INIT LOGIC-----
     /**Packs should call this upon load to add their content to the mod.
@@ -11,8 +11,10 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Orientation;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
@@ -41,11 +43,6 @@ import minecrafttransportsimulator.rendering.components.IAnimationProvider;
 public abstract class AEntityBase implements IAnimationProvider{
 	/**Internal counter for entity IDs.  Increments each time an entity is created**/
 	private static int idCounter = 1;
-	/**List of created entities.  This is a list as it's possible for clients to have multiple identical entities.
-	 * This happens when mods like Optifine or The One Probe do their janky hacks.**/
-	public static List<AEntityBase> createdClientEntities = new ArrayList<AEntityBase>();
-	/**Like {@link #createdClientEntities}, but on the server.**/
-	public static List<AEntityBase> createdServerEntities = new ArrayList<AEntityBase>();
 	
 	/**A general ID for this entity.  This is set when this entity is loaded, and changes between games.  Used for client/server syncing.**/
 	public final int lookupID;
@@ -58,6 +55,8 @@ public abstract class AEntityBase implements IAnimationProvider{
 	public final Point3d prevMotion;
 	public final Point3d angles;
 	public final Point3d prevAngles;
+	/**Orientation for the current angles.  Use this rather than rotating by the angles directly when rotating many points.**/
+	public final Orientation orientation;
 	public final Point3d rotation;
 	public final Point3d prevRotation;
 	public final WrapperWorld world;
@@ -101,7 +100,7 @@ public abstract class AEntityBase implements IAnimationProvider{
 	public BiMap<Point3d, WrapperEntity> locationRiderMap = HashBiMap.create();
 	
 	/**Set of variables that are "on" for this entity.  Used for animations.**/
-	public final Set<String> variablesOn = new HashSet<String>();
+	public final VariableSet variablesOn = new VariableSet();
 	
 	public AEntityBase(WrapperWorld world, WrapperEntity wrapper, WrapperNBT data){
 		this.lookupID = world.isClient() ? data.getInteger("lookupID") : idCounter++;
@@ -114,6 +113,7 @@ public abstract class AEntityBase implements IAnimationProvider{
 		this.prevMotion = motion.copy();
 		this.angles = data.getPoint3d("angles");
 		this.prevAngles = angles.copy();
+		this.orientation = new Orientation(angles);
 		this.rotation = data.getPoint3d("rotation");
 		this.prevRotation = rotation.copy();
 		
@@ -132,11 +132,7 @@ public abstract class AEntityBase implements IAnimationProvider{
 			variablesOnString = variablesOnString.substring(variablesOnString.indexOf(',') + 1);
 		}
 		
-		if(world.isClient()){
-			createdClientEntities.add(this);
-		}else{
-			createdServerEntities.add(this);
-		}
+		world.entityRegistry.add(this);
 	}
 	
 	 /**
@@ -211,7 +207,7 @@ public abstract class AEntityBase implements IAnimationProvider{
 			locationRiderMap.put(riderLocation, rider);
 			if(!world.isClient()){
 				rider.setRiding(this);
-				InterfacePacket.sendToAllClients(new PacketEntityRiderChange(this, rider, riderLocation));
+				InterfacePacket.sendToClients(new PacketEntityRiderChange(this, rider, riderLocation));
 			}
 			return true;
 		}
@@ -231,7 +227,7 @@ public abstract class AEntityBase implements IAnimationProvider{
 			}
 			if(!world.isClient()){
 				rider.setRiding(null);
-				InterfacePacket.sendToAllClients(new PacketEntityRiderChange(this, rider, null));
+				InterfacePacket.sendToClients(new PacketEntityRiderChange(this, rider, null));
 			}
 		}
 	}
@@ -102,7 +102,7 @@ public class EntityPlayerGun extends AEntityBase implements IGunProvider{
 				if(gun != null && (!gunItem.equals(player.getHeldItem()) || hotbarSelected != player.getHotbarIndex())){
 					saveGun(true);
 					fireCommand = false;
-					InterfacePacket.sendToAllClients(new PacketPlayerGunFiring(this, false));
+					InterfacePacket.sendToClients(new PacketPlayerGunFiring(this, false));
 				}
 				
 				//If we don't have a gun yet, try to get the current one if the player is holding one.
@@ -113,7 +113,7 @@ public class EntityPlayerGun extends AEntityBase implements IGunProvider{
 						if(heldPart.isHandHeldGun() && !world.isClient()){
 							if(++ticksOnGun == 5){
 								createNewGun(-1);
-								InterfacePacket.sendToAllClients(new PacketPlayerGunChange(this, gun.gunID));
+								InterfacePacket.sendToClients(new PacketPlayerGunChange(this, gun.gunID));
 								ticksOnGun = 0;
 							}
 						}
@@ -155,10 +155,10 @@ public class EntityPlayerGun extends AEntityBase implements IGunProvider{
 					
 					if(fireCommand && !gun.firing && !world.isClient()){
 						gun.firing = true;
-						InterfacePacket.sendToAllClients(new PacketGunChange(gun, true));
+						InterfacePacket.sendToClientsTracking(new PacketGunChange(gun, true), this);
 					}else if(!fireCommand && gun.firing && !world.isClient()){
 						gun.firing = false;
-						InterfacePacket.sendToAllClients(new PacketGunChange(gun, false));
+						InterfacePacket.sendToClientsTracking(new PacketGunChange(gun, false), this);
 						saveGun(false);
 					}
 					gun.update();
@@ -232,6 +232,11 @@ public class EntityPlayerGun extends AEntityBase implements IGunProvider{
 		return 0;
 	}
 
+	@Override
+	public AEntityBase getProviderEntity(){
+		return this;
+	}
+	
 	@Override
 	public int getGunNumber(){
 		return 1;
@@ -24,6 +24,7 @@ import minecrafttransportsimulator.rendering.instances.AnimationsVehicle;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.PackParserSystem;
 import minecrafttransportsimulator.vehicles.parts.APart;
+import minecrafttransportsimulator.vehicles.parts.PartInteractable;
 import minecrafttransportsimulator.vehicles.parts.PartSeat;
 
 /**Base vehicle class.  All vehicle entities should extend this class.
@@ -54,6 +55,18 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	 */
 	public final List<APart> partsFromNBT = new ArrayList<APart>();
 	
+	/**True if {@link #updateParts()} was already called this tick, so {@link #update()} shouldn't update the parts again.*/
+	boolean partsUpdated;
+	
+	/**List of all parts on this vehicle that have fluid tanks.  Kept in sync with {@link #parts} by
+	 * {@link #addPart} and {@link #removePart}.  Used by things like fluid loaders to find tanks
+	 * without having to check every part on every vehicle.
+	 */
+	public final List<PartInteractable> tankParts = new ArrayList<PartInteractable>();
+	
+	/**Cached results of {@link #getPartForDefinition(VehiclePart)}.  Cleared whenever parts are added or removed.**/
+	private final Map<VehiclePart, APart> partDefinitionLookups = new HashMap<VehiclePart, APart>();
+	
 	/**Cached pack definition mappings for sub-part packs.  First key is the parent vehicle part definition, which links to a map..
 	 * This second map is keyed by a part vehicle definition, with the value equal to a corrected vehicle definition.  This means that
 	 * in total, this object contains all sub-packs created on any vehicle for any part with sub-packs.  This is done as parts with
@@ -92,9 +105,25 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	
 	@Override
 	public void update(){
-		//Send update call down to all parts.
+		//Send update call down to all parts, unless they were updated earlier this tick.
 		//They need to get processed first to handle hitbox logic, or removal based on damage.
 		//We call this before we call the super as they need to know the prev statuses..
+		if(!partsUpdated){
+			updateParts();
+		}
+		partsUpdated = false;
+		
+		//Now call the super to update prev variables.
+		super.update();
+	}
+	
+	/**
+	 * Updates all parts on this vehicle, removing any that are no longer valid.  This is normally done at the
+	 * start of {@link #update()}, but may be done before that if something needs the parts to be updated
+	 * before the vehicle updates, such as the parallel force calculations.  Parts will then not be updated
+	 * a second time in {@link #update()}.
+	 */
+	void updateParts(){
 		Iterator<APart> iterator = parts.iterator();
 		while(iterator.hasNext()){
 			APart part = iterator.next();
@@ -103,9 +132,7 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 				removePart(part, iterator);
 			}
 		}
-		
-		//Now call the super to update prev variables.
-		super.update();
+		partsUpdated = true;
 	}
     
     /**
@@ -204,7 +231,7 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	    		}
 				
 				//Send packet to client with part data.
-				InterfacePacket.sendToAllClients(new PacketVehiclePartChange((EntityVehicleF_Physics) this, offset, partItem, partData, partToAdd.parentPart));
+				InterfacePacket.sendToClients(new PacketVehiclePartChange((EntityVehicleF_Physics) this, offset, partItem, partData, partToAdd.parentPart));
 				
 				//If we are a new part, add default parts.  We need to do this after we send a packet.
 				//We need to make sure to convert them to the right type as they're offset.
@@ -228,11 +255,17 @@ abstract class EntityVehicleA_Base extends AEntityBase{
    	 */
 	public void addPart(APart part){
 		parts.add(part);
+		partDefinitionLookups.clear();
 		
 		//Add a ride-able location.
 		if(part instanceof PartSeat){
 			ridableLocations.add(part.placementOffset);
 		}
+		
+		//Add to tank parts if we have a tank.
+		if(part instanceof PartInteractable && ((PartInteractable) part).tank != null){
+			tankParts.add((PartInteractable) part);
+		}
 	}
 	
 	/**
@@ -256,7 +289,7 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 			part.remove();
 			//If we are on the server, notify all clients of this change.
 			if(!world.isClient()){
-				InterfacePacket.sendToAllClients(new PacketVehiclePartChange((EntityVehicleF_Physics) this, part.placementOffset));
+				InterfacePacket.sendToClients(new PacketVehiclePartChange((EntityVehicleF_Physics) this, part.placementOffset));
 			}
 		}
 		
@@ -264,6 +297,14 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 		if(part instanceof PartSeat){
 			ridableLocations.remove(part.placementOffset);
 		}
+		
+		//Remove from tank parts.
+		if(part instanceof PartInteractable){
+			tankParts.remove(part);
+		}
+		
+		//Parts have changed, so cached lookups are no longer valid.
+		partDefinitionLookups.clear();
 	}
 	
 	/**
@@ -285,6 +326,21 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 		return null;
 	}
 	
+	/**
+	 * Gets the part in the slot for the passed-in pack definition, or null if the slot is empty.
+	 * This is like {@link #getPartAtLocation(Point3d)}, but results are cached until parts are
+	 * added or removed.  Use this for things that look up parts every frame, like animations.
+	 */
+	public APart getPartForDefinition(VehiclePart packPart){
+		if(partDefinitionLookups.containsKey(packPart)){
+			return partDefinitionLookups.get(packPart);
+		}else{
+			APart part = getPartAtLocation(packPart.pos);
+			partDefinitionLookups.put(packPart, part);
+			return part;
+		}
+	}
+	
 	/**
 	 * Gets all possible pack parts.  This includes additional parts on the vehicle
 	 * and extra parts of parts on other parts.  Map returned is the position of the
@@ -455,7 +511,7 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 						
 						//Send a packet if required.
 						if(sendPacket){
-							InterfacePacket.sendToAllClients(new PacketVehiclePartChange((EntityVehicleF_Physics) vehicle, newPart.placementOffset, newPart.getItem(), newPart.getData(), parentPart));
+							InterfacePacket.sendToClients(new PacketVehiclePartChange((EntityVehicleF_Physics) vehicle, newPart.placementOffset, newPart.getItem(), newPart.getData(), parentPart));
 						}
 						
 						//Check if we have an additional parts.
@@ -1,7 +1,12 @@
 package minecrafttransportsimulator.vehicles.main;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
 
+import minecrafttransportsimulator.baseclasses.FluidTank;
+import minecrafttransportsimulator.baseclasses.IFluidTankListener;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.controls.ControlSystem;
 import minecrafttransportsimulator.controls.InterfaceInput;
@@ -9,6 +14,7 @@ import minecrafttransportsimulator.guis.components.InterfaceGUI;
 import minecrafttransportsimulator.jsondefs.JSONPotionEffect;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.mcinterface.InterfaceClient;
+import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
@@ -24,12 +30,24 @@ import minecrafttransportsimulator.vehicles.parts.PartSeat;
  * This level adds support for riders.  Various methods are overridden here
  * to add greater flexibility to the riding systems.  This allows for riders to
  * change their position and rotation based on what seat they are currently in.
+ * This level also tracks the mass of the vehicle, as riders and cargo are the
+ * main things that change it.
  * 
  * @author don_bruce
  */
-abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
+abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base implements IFluidTankListener{
 	public static boolean lockCameraToMovement = true;
 	
+	/**How often inventories that can't tell us when they change are re-weighed, in ticks.**/
+	private static final int INVENTORY_CHECK_INTERVAL = 20;
+	/**How often the tracked mass is verified, if verification is enabled.  Must be a multiple of {@link #INVENTORY_CHECK_INTERVAL}.**/
+	private static final int MASS_VERIFICATION_INTERVAL = 100;
+	
+	//Mass tracking variables.  Initialized on the first update, once all parts and riders have been added.
+	private double trackedMass;
+	private boolean trackedMassInitialized;
+	private final Map<WrapperEntity, Double> riderWeights = new HashMap<WrapperEntity, Double>();
+	
 	public EntityVehicleB_Rideable(WrapperWorld world, WrapperEntity wrapper, WrapperNBT data){
 		super(world, wrapper, data);
 	}
@@ -62,7 +80,7 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 			if(seat.definition.seat.heightScale != 0){
 				seatYPos *= seat.definition.seat.heightScale;
 			}
-			Point3d seatLocationOffset = new Point3d(0D, seatYPos, 0D).rotateFine(seat.totalRotation).add(seat.totalOffset).rotateFine(angles).add(position).add(0D, -rider.getEyeHeight(), 0D);
+			Point3d seatLocationOffset = new Point3d(0D, seatYPos, 0D).rotate(seat.totalOrientation).add(seat.totalOffset).rotate(orientation).add(position).add(0D, -rider.getEyeHeight(), 0D);
 			rider.setPosition(seatLocationOffset);
 			rider.setVelocity(motion);
 			
@@ -116,6 +134,11 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 				//Rider won't be, as it's required, so we can use it to get the actual location.
 				PartSeat seat = (PartSeat) getPartAtLocation(locationRiderMap.inverse().get(rider));
 				rider.setYaw(angles.y + seat.totalRotation.y);
+				
+				//Add the rider's weight to our mass.
+				double riderWeight = getRiderWeight(rider);
+				riderWeights.put(rider, riderWeight);
+				trackedMass += riderWeight;
 			}
 		}
 		
@@ -129,6 +152,12 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 		//Get the position the rider was sitting in before we dismount them.
 		Point3d riderLocation = locationRiderMap.inverse().get(rider);
 		super.removeRider(rider, iterator);
+		
+		//Remove the rider's weight from our mass.
+		Double riderWeight = riderWeights.remove(rider);
+		if(riderWeight != null){
+			trackedMass -= riderWeight;
+		}
 
 		//Get rid of any potion effects that were caused by the vehicle
 		if(this.definition.effects != null) {
@@ -181,6 +210,37 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 		}
 	}
 	
+	@Override
+	public void addPart(APart part){
+		super.addPart(part);
+		if(part instanceof PartInteractable){
+			PartInteractable interactable = (PartInteractable) part;
+			trackedMass += interactable.getInventoryWeightChange(true);
+			if(interactable.tank != null){
+				interactable.tank.setListener(this);
+				trackedMass += interactable.tank.getWeight();
+			}
+		}
+	}
+	
+	@Override
+	public void removePart(APart part, Iterator<APart> iterator){
+		boolean hadPart = parts.contains(part);
+		super.removePart(part, iterator);
+		if(hadPart && part instanceof PartInteractable){
+			PartInteractable interactable = (PartInteractable) part;
+			trackedMass -= interactable.getTrackedInventoryWeight();
+			if(interactable.tank != null){
+				interactable.tank.setListener(null);
+			}
+		}
+	}
+	
+	@Override
+	public void onTankWeightChanged(FluidTank tank, double weightDelta){
+		trackedMass += weightDelta;
+	}
+	
 	/**
 	 *  Helper method used to get the controlling player for this vehicle.
 	 */
@@ -198,9 +258,12 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 	/**
 	 * Calculates the current mass of the vehicle.
 	 * Includes core mass, player weight (including inventory), and cargo.
+	 * This checks every part and rider, so use {@link #getTrackedMass()} for
+	 * anything that needs the mass often.  Sub-classes that add mass here must
+	 * also add it to the tracked mass, such as by listening to their tanks.
 	 */
 	protected float getCurrentMass(){
-		int currentMass = definition.general.emptyMass;
+		double currentMass = definition.general.emptyMass;
 		for(APart part : parts){
 			if(part instanceof PartInteractable){
 				currentMass += ((PartInteractable) part).getInventoryWeight();
@@ -209,12 +272,81 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 		
 		//Add passenger inventory mass as well.
 		for(WrapperEntity rider : locationRiderMap.values()){
-			if(rider instanceof WrapperPlayer){
-				currentMass += 100 + ((WrapperPlayer) rider).getInventory().getInventoryWeight(ConfigSystem.configObject.general.itemWeights.weights);
-			}else{
-				currentMass += 100;
+			currentMass += getRiderWeight(rider);
+		}
+		return (float) currentMass;
+	}
+	
+	/**
+	 * Returns the mass of the vehicle as tracked by {@link #updateTrackedMass()}.
+	 * This is the same as {@link #getCurrentMass()}, but without having to check
+	 * every part and rider.
+	 */
+	protected double getTrackedMass(){
+		return trackedMass;
+	}
+	
+	/**
+	 * Updates the tracked mass of the vehicle.  Parts, riders, and tanks change the mass
+	 * when they change, so all this has to do is re-weigh inventories.  Inventories on parts
+	 * are only re-weighed if they changed.  Player inventories can't tell us when they change,
+	 * so they and any other inventories like them are re-weighed every {@link #INVENTORY_CHECK_INTERVAL}
+	 * ticks.  This is offset by the vehicle's ID to keep all vehicles from checking on the same tick.
+	 * If enabled in the config, the tracked mass is also checked against a full re-calculation.
+	 */
+	protected void updateTrackedMass(){
+		if(!trackedMassInitialized){
+			resetTrackedMass();
+		}else{
+			long checkTick = ticksExisted + lookupID;
+			boolean forceCheck = checkTick%INVENTORY_CHECK_INTERVAL == 0;
+			for(APart part : parts){
+				if(part instanceof PartInteractable){
+					trackedMass += ((PartInteractable) part).getInventoryWeightChange(forceCheck);
+				}
+			}
+			if(forceCheck){
+				for(Entry<WrapperEntity, Double> riderEntry : riderWeights.entrySet()){
+					double riderWeight = getRiderWeight(riderEntry.getKey());
+					trackedMass += riderWeight - riderEntry.getValue();
+					riderEntry.setValue(riderWeight);
+				}
+				
+				if(ConfigSystem.configObject.general.verifyMass.value && checkTick%MASS_VERIFICATION_INTERVAL == 0){
+					float actualMass = getCurrentMass();
+					if(Math.abs(actualMass - trackedMass) > 0.1){
+						InterfaceCore.logError("Tracked mass of " + trackedMass + " does not match actual mass of " + actualMass + " for vehicle " + definition.packID + ":" + definition.systemName + ".  Resetting tracked mass.");
+						resetTrackedMass();
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Helper method to re-weigh everything and set the tracked mass to the result.
+	 */
+	private void resetTrackedMass(){
+		for(APart part : parts){
+			if(part instanceof PartInteractable){
+				((PartInteractable) part).getInventoryWeightChange(true);
 			}
 		}
-		return currentMass;
+		for(Entry<WrapperEntity, Double> riderEntry : riderWeights.entrySet()){
+			riderEntry.setValue(getRiderWeight(riderEntry.getKey()));
+		}
+		trackedMass = getCurrentMass();
+		trackedMassInitialized = true;
+	}
+	
+	/**
+	 * Helper method to get the weight of the passed-in rider.  For players, this includes their inventory.
+	 */
+	private static double getRiderWeight(WrapperEntity rider){
+		if(rider instanceof WrapperPlayer){
+			return 100 + ((WrapperPlayer) rider).getInventory().getInventoryWeight(ConfigSystem.configObject.general.itemWeights.weights);
+		}else{
+			return 100;
+		}
 	}
 }
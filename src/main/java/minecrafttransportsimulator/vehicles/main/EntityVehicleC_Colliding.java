@@ -6,12 +6,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.Point3i;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.instances.ItemPart;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleCollisionBox;
@@ -22,6 +22,7 @@ import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.mcinterface.WrapperWorld.BlockCollisionRegion;
 import minecrafttransportsimulator.packloading.PackMaterialComponent;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.PackParserSystem;
@@ -52,6 +53,9 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	public final Point3d sideVector = new Point3d();
 	public final Point3d normalizedVelocityVector = new Point3d();
 	
+	//Scratch objects for calculations done every tick.  Re-used to prevent making new objects each update.
+	private final Point3d collisionMotion = new Point3d();
+	
 	//Constants
 	private final float PART_SLOT_HITBOX_WIDTH = 0.75F;
 	private final float PART_SLOT_HITBOX_HEIGHT = 2.25F;
@@ -63,9 +67,13 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	public final List<BoundingBox> partInteractionBoxes = new ArrayList<BoundingBox>();
 	public final Map<BoundingBox, VehiclePart> partSlotBoxes = new HashMap<BoundingBox, VehiclePart>();
 	public final Map<BoundingBox, VehiclePart> activePartSlotBoxes = new HashMap<BoundingBox, VehiclePart>();
+	private final Map<BoundingBox, PartSlotParent> partSlotParents = new HashMap<BoundingBox, PartSlotParent>();
 	public final Map<BoundingBox, VehicleDoor> vehicleDoorBoxes = new HashMap<BoundingBox, VehicleDoor>();
 	public final Map<APart, Map<BoundingBox, VehicleDoor>> partDoorBoxes = new HashMap<APart, Map<BoundingBox, VehicleDoor>>();
 	
+	/**Block collisions in the area this vehicle's block collision boxes may sweep this tick.  Loaded prior to movement checks.**/
+	protected final BlockCollisionRegion blockCollisionRegion = new BlockCollisionRegion();
+	
 	
 	public EntityVehicleC_Colliding(WrapperWorld world, WrapperEntity wrapper, WrapperNBT data){
 		super(world, wrapper, data);
@@ -109,17 +117,12 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	@Override
 	public void update(){
 		super.update();
-		//Set vectors to current velocity and orientation.
-		headingVector.set(0D, 0D, 1D).rotateFine(angles);
-		verticalVector.set(0D, 1D, 0D).rotateFine(angles);
-		sideVector.setTo(verticalVector.crossProduct(headingVector));
-		normalizedVelocityVector.setTo(motion).normalize();
-		velocity = motion.length();
-		axialVelocity = Math.abs(motion.dotProduct(headingVector));
+		updateMotionVectors();
 		
 		//Update mass.
 		if(definition != null){
-			currentMass = getCurrentMass();
+			updateTrackedMass();
+			currentMass = getTrackedMass();
 			airDensity = 1.225*Math.pow(2, -position.y/(500D*world.getMaxHeight()/256D));
 		}
 		
@@ -140,58 +143,45 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 			}
 		}
 		
-		//Update vehicle collision boxes.
-		for(BoundingBox box : vehicleCollisionBoxes){
-			box.updateToEntity(this, null);
-		}
-		
-		//Update part collision boxes.
-		for(APart part : partCollisionBoxes.keySet()){
-			for(BoundingBox box : partCollisionBoxes.get(part)){
-				box.updateToPart(part);
+		//Update box positions.  Sleeping vehicles don't move, so their boxes don't either.
+		if(!isSleeping()){
+			//Update vehicle collision boxes.
+			for(BoundingBox box : vehicleCollisionBoxes){
+				box.updateToEntity(this, null);
 			}
-		}
-		
-		//Update door collision boxes.
-		for(Entry<BoundingBox, VehicleDoor> doorEntry : vehicleDoorBoxes.entrySet()){
-			if(variablesOn.contains(doorEntry.getValue().name)){
-				doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).rotateFine(angles).add(position);
-			}else{
-				doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).rotateFine(angles).add(position);
+			
+			//Update part collision boxes.
+			for(APart part : partCollisionBoxes.keySet()){
+				for(BoundingBox box : partCollisionBoxes.get(part)){
+					box.updateToPart(part);
+				}
 			}
-		}
-		for(APart part : parts){
-			if(partDoorBoxes.containsKey(part)){
-				for(Entry<BoundingBox, VehicleDoor> doorEntry : partDoorBoxes.get(part).entrySet()){
-					if(variablesOn.contains(doorEntry.getValue().name)){
-						doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).rotateFine(part.totalRotation).add(part.totalOffset).rotateFine(angles).add(position);
-					}else{
-						doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).rotateFine(part.totalRotation).add(part.totalOffset).rotateFine(angles).add(position);
-					}
+			
+			//Update door collision boxes.
+			for(Entry<BoundingBox, VehicleDoor> doorEntry : vehicleDoorBoxes.entrySet()){
+				if(variablesOn.contains(doorEntry.getValue().name)){
+					doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).rotate(orientation).add(position);
+				}else{
+					doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).rotate(orientation).add(position);
 				}
 			}
-		}
-		
-		//Update part slot box positions.
-		//If this part box is part of a part, make sure we take that part's orientation into account.
-		for(BoundingBox box : partSlotBoxes.keySet()){
-			VehiclePart packVehicleDef = partSlotBoxes.get(box);
-			boolean foundPart = false;
 			for(APart part : parts){
-				if(part.definition.subParts != null){
-					for(VehiclePart subPartDef : part.definition.subParts){
-						if(packVehicleDef.equals(getPackForSubPart(part.vehicleDefinition, subPartDef))){
-							//Need to find the delta between our 0-degree position and our current position.
-							Point3d delta = subPartDef.pos.copy().rotateFine(part.totalRotation).subtract(subPartDef.pos);
-							box.updateToEntity(this, delta);
-							foundPart = true;
-							break;
+				if(partDoorBoxes.containsKey(part)){
+					for(Entry<BoundingBox, VehicleDoor> doorEntry : partDoorBoxes.get(part).entrySet()){
+						if(variablesOn.contains(doorEntry.getValue().name)){
+							doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).rotate(part.totalOrientation).add(part.totalOffset).rotate(orientation).add(position);
+						}else{
+							doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).rotate(part.totalOrientation).add(part.totalOffset).rotate(orientation).add(position);
 						}
 					}
 				}
 			}
-			if(!foundPart){
-				box.updateToEntity(this, null);
+			
+			//Update part slot box positions.
+			//If this part box is part of a part, make sure we take that part's orientation into account.
+			for(BoundingBox box : partSlotBoxes.keySet()){
+				PartSlotParent slotParent = partSlotParents.get(box);
+				box.updateToEntity(this, slotParent != null ? slotParent.getSlotDelta() : null);
 			}
 		}
 		
@@ -278,6 +268,18 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 		hardnessHitThisTick = 0;
 	}
 	
+	/**
+	 * Sets the heading, vertical, side, and velocity vectors and values to the current motion and angles.
+	 */
+	protected void updateMotionVectors(){
+		headingVector.set(0D, 0D, 1D).rotate(orientation);
+		verticalVector.set(0D, 1D, 0D).rotate(orientation);
+		sideVector.setTo(verticalVector.crossProduct(headingVector));
+		normalizedVelocityVector.setTo(motion).normalize();
+		velocity = motion.length();
+		axialVelocity = Math.abs(motion.dotProduct(headingVector));
+	}
+	
 	@Override
 	public boolean addRider(WrapperEntity rider, Point3d riderLocation){
 		if(super.addRider(rider, riderLocation)){
@@ -414,21 +416,38 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	}
 	
 	@Override
-	public Set<String> getActiveVariables(){
+	public VariableSet getActiveVariables(){
 		return variablesOn;
 	}
 	
 	/**
 	 * Call to re-create the list of all valid part slot boxes.
+	 * This also finds the parent parts for any slots that are sub-part slots.
 	 * This should be called after part addition or part removal.
 	 * Also must be called at construction time to create the initial slot set.
 	 */
 	private void recalculatePartSlots(){
 		partSlotBoxes.clear();
+		partSlotParents.clear();
+		
+		//Get all the sub-part slots on our parts, and the parts they are on.
+		Map<VehiclePart, PartSlotParent> subPartSlots = new HashMap<VehiclePart, PartSlotParent>();
+		for(APart part : parts){
+			if(part.definition.subParts != null){
+				for(VehiclePart subPartDef : part.definition.subParts){
+					subPartSlots.put(getPackForSubPart(part.vehicleDefinition, subPartDef), new PartSlotParent(part, subPartDef.pos));
+				}
+			}
+		}
+		
 		for(Entry<Point3d, VehiclePart> packPartEntry : getAllPossiblePackParts().entrySet()){
 			if(getPartAtLocation(packPartEntry.getKey()) == null){
 				BoundingBox newSlotBox = new BoundingBox(packPartEntry.getKey(), packPartEntry.getKey().copy().rotateCoarse(angles).add(position), PART_SLOT_HITBOX_WIDTH/2D, PART_SLOT_HITBOX_HEIGHT/2D, PART_SLOT_HITBOX_WIDTH/2D, false, false, false, 0);
 				partSlotBoxes.put(newSlotBox, packPartEntry.getValue());
+				PartSlotParent slotParent = subPartSlots.get(packPartEntry.getValue());
+				if(slotParent != null){
+					partSlotParents.put(newSlotBox, slotParent);
+				}
 			}
 		}
 	}
@@ -457,11 +476,11 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	 */
 	protected double getCollisionForAxis(BoundingBox box, boolean xAxis, boolean yAxis, boolean zAxis){
 		//Get the motion the entity is trying to move, and add it to the passed-in box value.
-		Point3d collisionMotion = motion.copy().multiply(SPEED_FACTOR);
+		collisionMotion.setTo(motion).multiply(SPEED_FACTOR);
 		
 		//If we collided, so check to see if we can break some blocks or if we need to explode.
 		//Don't bother with this logic if it's impossible for us to break anything.
-		if(box.updateCollidingBlocks(world, collisionMotion)){
+		if(box.updateCollidingBlocks(world, collisionMotion, blockCollisionRegion)){
 			for(Point3i blockPosition : box.collidingBlockPositions){
 				float blockHardness = world.getBlockHardness(blockPosition);
 				if(!world.isBlockLiquid(blockPosition) && blockHardness <= velocity*currentMass/250F && blockHardness >= 0){
@@ -471,6 +490,7 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 						if(!world.isClient()){
 							if(ticksExisted > 500){
 								world.destroyBlock(blockPosition);
+								world.reloadBlockCollisionRegion(blockCollisionRegion, blockPosition);
 							}else{
 								motion.set(0D, 0D, 0D);
 								return -1;
@@ -545,4 +565,41 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 			removeRider(riderIterator.next(), riderIterator);
 		}
 	}
+	
+	/**
+	 * Returns true if this vehicle is sleeping.  Sleeping vehicles are at rest, so their
+	 * boxes won't have moved since the last update and don't need to be re-positioned.
+	 */
+	protected abstract boolean isSleeping();
+	
+	/**
+	 * Parent part of a sub-part slot.  Slots on parts need to move with their part as it rotates,
+	 * so we keep the parent and the slot's position on it here rather than searching for them every tick.
+	 * The slot's offset from its un-rotated position is only re-calculated when the part's rotation changes.
+	 */
+	private static class PartSlotParent{
+		private final APart part;
+		private final Point3d subPartPos;
+		private final Point3d lastRotation = new Point3d();
+		private final Point3d slotDelta = new Point3d();
+		private boolean slotDeltaZero = true;
+		
+		private PartSlotParent(APart part, Point3d subPartPos){
+			this.part = part;
+			this.subPartPos = subPartPos;
+		}
+		
+		/**
+		 * Returns the delta between the slot's 0-degree position and its current position, or
+		 * null if there is no delta because the part isn't rotated.
+		 */
+		private Point3d getSlotDelta(){
+			if(!part.totalRotation.equals(lastRotation)){
+				lastRotation.setTo(part.totalRotation);
+				slotDelta.setTo(subPartPos).rotate(part.totalOrientation).subtract(subPartPos);
+				slotDeltaZero = slotDelta.isZero();
+			}
+			return slotDeltaZero ? null : slotDelta;
+		}
+	}
 }
@@ -3,18 +3,13 @@ package minecrafttransportsimulator.vehicles.main;
 import java.util.Iterator;
 import java.util.List;
 
-import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.baseclasses.VehicleGroundDeviceCollection;
-import minecrafttransportsimulator.blocks.components.ABlockBase;
-import minecrafttransportsimulator.blocks.instances.BlockCollision;
-import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityMultiblock;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadFollowingState;
-import minecrafttransportsimulator.blocks.tileentities.components.RoadLane;
 import minecrafttransportsimulator.blocks.tileentities.components.RoadLane.LaneSelectionRequest;
-import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityRoad;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleConnection;
 import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
@@ -67,6 +62,19 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	private int activeHookupConnectionSavedIndex;
 	private Point3d activeHookupPartSavedOffset;
 	
+	//Sleep data.
+	/**Number of ticks a vehicle needs to be at rest before it goes to sleep.**/
+	private static final int TICKS_BEFORE_SLEEP = 40;
+	/**Max distance a vehicle may drift from where it came to rest and still be considered at rest.
+	 * Parked vehicles bob a tiny bit as gravity and ground corrections fight, so we can't require zero movement.**/
+	private static final double MAX_REST_DRIFT = 0.05;
+	/**Max angle a vehicle may rotate from where it came to rest and still be considered at rest.**/
+	private static final double MAX_REST_ROTATION = 0.5;
+	private boolean sleeping;
+	private int ticksAtRest;
+	private final Point3d restPosition = new Point3d();
+	private final Point3d restAngles = new Point3d();
+	
 	//Road-following data.
 	protected RoadFollowingState frontFollower;
 	protected RoadFollowingState rearFollower;
@@ -77,6 +85,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	private final Point3d serverDeltaR;
 	private final Point3d clientDeltaM;
 	private final Point3d clientDeltaR;
+	private final PacketVehicleServerMovement.MovementEncoder movementEncoder;
 	private final Point3d clientDeltaMApplied = new Point3d();
 	private final Point3d clientDeltaRApplied = new Point3d();
 	private final Point3d roadMotion = new Point3d();
@@ -85,8 +94,11 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	private final Point3d rotationApplied = new Point3d();
 	private final Point3d tempBoxPosition = new Point3d();
 	private final Point3d tempBoxAngles = new Point3d();
+	private final BoundingBox sweptCollisionBounds = new BoundingBox(new Point3d(), 0D, 0D, 0D);
 	private final Point3d normalizedGroundVelocityVector = new Point3d();
 	private final Point3d normalizedGroundHeadingVector = new Point3d();
+	private final Point3d idealMotion = new Point3d();
+	private final Point3i groundPosition = new Point3i(0, 0, 0);
   	public final VehicleGroundDeviceCollection groundDeviceCollective;
 	
 	public EntityVehicleD_Moving(WrapperWorld world, WrapperEntity wrapper, WrapperNBT data){
@@ -107,6 +119,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		this.serverDeltaR = data.getPoint3d("serverDeltaR");
 		this.clientDeltaM = serverDeltaM.copy();
 		this.clientDeltaR = serverDeltaR.copy();
+		this.movementEncoder = new PacketVehicleServerMovement.MovementEncoder(serverDeltaM, serverDeltaR);
 		this.groundDeviceCollective = new VehicleGroundDeviceCollection((EntityVehicleF_Physics) this);
 	}
 	
@@ -116,8 +129,9 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		//We need to wait on this in case the vehicle didn't load at the same time.
 		if(!towedVehicleSavedID.isEmpty() || !towedByVehicleSavedID.isEmpty()){
 			try{
-				for(AEntityBase entity : (world.isClient() ? AEntityBase.createdClientEntities : AEntityBase.createdServerEntities)){
-					if(entity.uniqueUUID.equals(towedVehicleSavedID)){
+				if(!towedVehicleSavedID.isEmpty()){
+					AEntityBase entity = world.entityRegistry.getEntity(towedVehicleSavedID);
+					if(entity != null){
 						towedVehicle = (EntityVehicleF_Physics) entity;
 						if(!activeHitchPartSavedOffset.isZero()){
 							activeHitchPart = getPartAtLocation(activeHitchPartSavedOffset);
@@ -126,7 +140,12 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 							activeHitchConnection = definition.connections.get(activeHitchConnectionSavedIndex);
 						}
 						towedVehicleSavedID = "";
-					}else if(entity.uniqueUUID.equals(towedByVehicleSavedID)){
+						wake();
+					}
+				}
+				if(!towedByVehicleSavedID.isEmpty()){
+					AEntityBase entity = world.entityRegistry.getEntity(towedByVehicleSavedID);
+					if(entity != null){
 						towedByVehicle = (EntityVehicleF_Physics) entity;
 						if(!activeHookupPartSavedOffset.isZero()){
 							activeHookupPart = getPartAtLocation(activeHookupPartSavedOffset);
@@ -135,6 +154,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 							activeHookupConnection = definition.connections.get(activeHookupConnectionSavedIndex);
 						}
 						towedByVehicleSavedID = "";
+						wake();
 					}
 				}
 			}catch(Exception e){
@@ -149,6 +169,12 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		}
 		super.update();
 		
+		//If we are sleeping, we don't need to do any movement logic.
+		//We stay in this state until something wakes us up.
+		if(sleeping){
+			return;
+		}
+		
 		//Update our GDB members if any of our ground devices don't have the same total offset as placement.
 		//This is required to move the GDBs if the GDs move.
 		for(APart part : parts){
@@ -168,11 +194,25 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			if(!world.isClient()){
 				dampenControlSurfaces();
 			}
+			updateSleepState();
 		}
 	}
 	
+	@Override
+	public boolean addRider(WrapperEntity rider, Point3d riderLocation){
+		wake();
+		return super.addRider(rider, riderLocation);
+	}
+	
+	@Override
+	public void attack(Damage damage){
+		wake();
+		super.attack(damage);
+	}
+	
 	@Override
 	public void addPart(APart part){
+		wake();
 		super.addPart(part);
 		groundDeviceCollective.updateMembers();
 		groundDeviceCollective.updateBounds();
@@ -180,6 +220,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	
 	@Override
 	public void removePart(APart part, Iterator<APart> iterator){
+		wake();
 		super.removePart(part, iterator);
 		groundDeviceCollective.updateMembers();
 		groundDeviceCollective.updateBounds();
@@ -190,6 +231,52 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		return rearFollower != null || (towedByVehicle != null && towedByVehicle.rearFollower != null);
 	}
 	
+	@Override
+	protected boolean isSleeping(){
+		return sleeping;
+	}
+	
+	/**
+	 * Wakes this vehicle up if it is sleeping.  This should be called any time something happens
+	 * that could cause a sleeping vehicle to move, such as a rider getting in, a control input,
+	 * a block changing under it, or it being hit.  Waking a vehicle that's awake resets its rest timer.
+	 */
+	public void wake(){
+		sleeping = false;
+		ticksAtRest = 0;
+	}
+	
+	/**
+	 * Returns true if this vehicle is in a state where it can go to sleep once at rest.
+	 * Vehicles can only sleep if nothing is going to make them move on their own.
+	 * Sub-classes should add any additional conditions that would keep this vehicle awake.
+	 */
+	protected boolean canSleep(){
+		return parkingBrakeOn && locationRiderMap.isEmpty() && towedVehicle == null && towedByVehicle == null && frontFollower == null && rearFollower == null;
+	}
+	
+	/**
+	 * Checks if this vehicle has been at rest long enough to sleep, and puts it to sleep if so.
+	 * This is deterministic on both servers and clients, so both sides will go to sleep together
+	 * provided they saw the same movement.  Servers won't send movement packets to sleeping vehicles,
+	 * and any that do arrive on a client will wake it back up.
+	 */
+	private void updateSleepState(){
+		if(canSleep()){
+			if(ticksAtRest == 0 || position.distanceTo(restPosition) > MAX_REST_DRIFT || angles.distanceTo(restAngles) > MAX_REST_ROTATION){
+				restPosition.setTo(position);
+				restAngles.setTo(angles);
+				ticksAtRest = 1;
+			}else if(++ticksAtRest >= TICKS_BEFORE_SLEEP){
+				sleeping = true;
+				motion.set(0, 0, 0);
+				rotation.set(0, 0, 0);
+			}
+		}else{
+			ticksAtRest = 0;
+		}
+	}
+	
 	/**
 	 * Returns the follower for the rear of the vehicle.  Front follower should
 	 * be obtained by getting the point from this follower the distance away from the
@@ -199,33 +286,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		Point3d contactPoint = groundDeviceCollective.getContactPoint(false);
 		if(contactPoint != null){
 			contactPoint.rotateCoarse(angles).add(position);
-			Point3d testPoint = new Point3d();
-			Point3i checkLocation = new Point3i(contactPoint);
-			ABlockBase block =  world.getBlock(checkLocation);
-			if(block instanceof BlockCollision){
-				ATileEntityMultiblock<?> multiblock = ((BlockCollision) block).getMasterBlock(world, checkLocation);
-				if(multiblock instanceof TileEntityRoad){
-					TileEntityRoad road = (TileEntityRoad) multiblock;
-					//Check to see which lane we are on, if any.
-					for(RoadLane lane : road.lanes){
-						//Check path-points on the curve.  If our angles and position are close, set this as the curve.
-						for(BezierCurve curve : lane.curves){
-							for(float f=0; f<curve.pathLength; ++f){
-								curve.setPointToPositionAt(testPoint, f);
-								testPoint.add(road.position.x, road.position.y, road.position.z);
-								if(testPoint.distanceTo(contactPoint) < 1){
-									curve.setPointToRotationAt(testPoint, f);
-									boolean sameDirection = Math.abs(testPoint.getClampedYDelta(angles.y)) < 10;
-									boolean oppositeDirection = Math.abs(testPoint.getClampedYDelta(angles.y)) > 170;
-									if(sameDirection || oppositeDirection){
-										return new RoadFollowingState(lane, curve, sameDirection, f);
-									}
-								}
-							}
-						}
-					}
-				}
-			}
+			return world.roadCurveIndex.getFollowingState(contactPoint, angles.y);
 		}
 		return null;
 	}
@@ -301,7 +362,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 				//Apply motive changes to the vehicle based on how much we can turn it.
 				//We basically take the two components of the motion, and apply one or the other depending on
 				//how much delta the vector says we can change.
-				Point3d idealMotion = goingInReverse ? normalizedGroundHeadingVector.copy().multiply(-groundVelocity) : normalizedGroundHeadingVector.copy().multiply(groundVelocity);
+				idealMotion.setTo(normalizedGroundHeadingVector).multiply(goingInReverse ? -groundVelocity : groundVelocity);
 				idealMotion.multiply(motionFactor).add(motion.x*(1-motionFactor), 0D, motion.z*(1-motionFactor));
 				motion.x = idealMotion.x;
 				motion.z = idealMotion.z;
@@ -342,7 +403,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		//Get any contributions from the colliding collision bits.
 		for(BoundingBox box : blockCollisionBoxes){
 			if(!box.collidingBlockPositions.isEmpty()){
-				Point3i groundPosition = new Point3i(box.globalCenter);
+				groundPosition.setTo(box.globalCenter);
 				if(!world.isAir(groundPosition)){
 					float frictionLoss = 0.6F - world.getBlockSlipperiness(groundPosition) + world.getRainStrength(groundPosition)*0.1F;
 					brakingFactor += Math.max(2.0 - frictionLoss, 0);
@@ -495,9 +556,9 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			//Check for the potential to change the requested segment.
 			//We can only do this if both our followers are on the same semgnt.
 			LaneSelectionRequest requestedSegment;
-			if(!(variablesOn.contains(LightType.LEFTTURNLIGHT.lowercaseName) ^ variablesOn.contains(LightType.RIGHTTURNLIGHT.lowercaseName))){
+			if(!(variablesOn.contains(LightType.LEFTTURNLIGHT.variableID) ^ variablesOn.contains(LightType.RIGHTTURNLIGHT.variableID))){
 				requestedSegment = LaneSelectionRequest.NONE;
-			}else if(variablesOn.contains(LightType.LEFTTURNLIGHT.lowercaseName)){
+			}else if(variablesOn.contains(LightType.LEFTTURNLIGHT.variableID)){
 				requestedSegment = goingInReverse ? LaneSelectionRequest.RIGHT : LaneSelectionRequest.LEFT;
 			}else{
 				requestedSegment = goingInReverse ? LaneSelectionRequest.LEFT : LaneSelectionRequest.RIGHT;
@@ -516,7 +577,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 				//Set our position so we're aligned with the road.
 				//To do this, we get the distance between our contact points for front and rear, and then interpolate between them.
 				//First get the rear point.  This defines the delta for the movement of the vehicle.
-				rearPoint.rotateFine(angles).add(position);
+				rearPoint.rotate(orientation).add(position);
 				Point3d rearDesiredPoint = rearFollower.getCurrentPoint();
 				
 				//Apply the motion based on the delta between the actual and desired.
@@ -587,6 +648,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			//This prevents vehicles from phasing through walls even though they are driving on the ground.
 			//If we are being towed, don't check for collisions, as this can lead to the vehicle getting stuck.
 			//If the collision box is a liquid box, don't use it, as that gets used in ground device calculations instead.
+			updateBlockCollisionRegion();
 			if(isCollisionBoxCollided()){
 				correctCollidingMovement();
 			}else if(towedByVehicle == null || (towedByVehicle.activeHitchConnection != null && !towedByVehicle.activeHitchConnection.mounted)){
@@ -604,6 +666,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 					}
 				}
 			}
+			blockCollisionRegion.clear();
 		}
 
 		//Now that that the movement has been checked, move the vehicle.
@@ -612,7 +675,10 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		if(!world.isClient()){
 			if(!motionApplied.isZero() || !rotationApplied.isZero()){
 				addToServerDeltas(motionApplied, rotationApplied);
-				InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied));
+				PacketVehicleServerMovement movementPacket = movementEncoder.createPacket((EntityVehicleF_Physics) this, serverDeltaM, serverDeltaR);
+				if(movementPacket != null){
+					InterfacePacket.sendToClients(movementPacket);
+				}
 			}
 		}else{
 			//Make sure the server is sending delta packets before we try to do delta correction.
@@ -667,6 +733,43 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		motion.y -= (groundCollisionBoost + groundRotationBoost);
 	}
 	
+	/**
+	 *  Loads the block collisions for the area our block collision boxes sweep this tick into the
+	 *  collision region.  This area is the union of the boxes' current positions and their positions after
+	 *  this tick's motion and rotation are applied.  All collision checks in {@link #isCollisionBoxCollided()}
+	 *  and {@link #correctCollidingMovement()} use this region, so the world is only read once per tick.
+	 */
+	private void updateBlockCollisionRegion(){
+		if(towedByVehicle != null || blockCollisionBoxes.isEmpty()){
+			blockCollisionRegion.clear();
+			return;
+		}
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double minZ = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		double maxZ = -Double.MAX_VALUE;
+		tempBoxAngles.setTo(rotation).add(angles);
+		for(BoundingBox box : blockCollisionBoxes){
+			tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
+			minX = Math.min(minX, Math.min(tempBoxPosition.x, Math.min(box.globalCenter.x, box.globalCenter.x + motion.x*SPEED_FACTOR)) - box.widthRadius);
+			minY = Math.min(minY, Math.min(tempBoxPosition.y, Math.min(box.globalCenter.y, box.globalCenter.y + motion.y*SPEED_FACTOR)) - box.heightRadius);
+			minZ = Math.min(minZ, Math.min(tempBoxPosition.z, Math.min(box.globalCenter.z, box.globalCenter.z + motion.z*SPEED_FACTOR)) - box.depthRadius);
+			maxX = Math.max(maxX, Math.max(tempBoxPosition.x, Math.max(box.globalCenter.x, box.globalCenter.x + motion.x*SPEED_FACTOR)) + box.widthRadius);
+			maxY = Math.max(maxY, Math.max(tempBoxPosition.y, Math.max(box.globalCenter.y, box.globalCenter.y + motion.y*SPEED_FACTOR)) + box.heightRadius);
+			maxZ = Math.max(maxZ, Math.max(tempBoxPosition.z, Math.max(box.globalCenter.z, box.globalCenter.z + motion.z*SPEED_FACTOR)) + box.depthRadius);
+		}
+		
+		//Pad the bounds by a block.  This covers the arc boxes take during rotation corrections, as well
+		//as the small raise applied during yaw checks.  Any box that still ends up outside will query the world.
+		sweptCollisionBounds.globalCenter.set((minX + maxX)/2D, (minY + maxY)/2D, (minZ + maxZ)/2D);
+		sweptCollisionBounds.widthRadius = (maxX - minX)/2D + 1D;
+		sweptCollisionBounds.heightRadius = (maxY - minY)/2D + 1D;
+		sweptCollisionBounds.depthRadius = (maxZ - minZ)/2D + 1D;
+		world.loadBlockCollisionRegion(blockCollisionRegion, sweptCollisionBounds);
+	}
+	
 	/**
 	 *  Checks if we have a collided collision box.  If so, true is returned.
 	 */
@@ -675,7 +778,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			tempBoxAngles.setTo(rotation).add(angles);
 			for(BoundingBox box : blockCollisionBoxes){
 				tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-				if(!box.collidesWithLiquids && box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
+				if(!box.collidesWithLiquids && box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter), blockCollisionRegion)){
 					return true;
 				}
 			}
@@ -748,7 +851,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 					tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
 					//Raise this box ever so slightly because Floating Point errors are a PITA.
 					tempBoxPosition.add(0D, 0.1D, 0D);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
+					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter), blockCollisionRegion)){
 						break;
 					}
 					if(rotation.y > 0){
@@ -767,7 +870,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			for(BoundingBox box : blockCollisionBoxes){
 				while(rotation.x != 0){
 					tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
+					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter), blockCollisionRegion)){
 						break;
 					}
 					if(rotation.x > 0){
@@ -785,7 +888,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			for(BoundingBox box : blockCollisionBoxes){
 				while(rotation.z != 0){
 					tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
+					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter), blockCollisionRegion)){
 						break;
 					}
 					if(rotation.z > 0){
@@ -828,7 +931,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	public Point3d getHitchOffset(){
 		if(activeHitchConnection != null){
 			if(activeHitchPart != null){
-				return activeHitchConnection.pos.copy().rotateFine(activeHitchPart.totalRotation).add(activeHitchPart.totalOffset); 
+				return activeHitchConnection.pos.copy().rotate(activeHitchPart.totalOrientation).add(activeHitchPart.totalOffset); 
 			}else{
 				return activeHitchConnection.pos;
 			}
@@ -844,7 +947,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	public Point3d getHookupOffset(){
 		if(activeHookupConnection != null){
 			if(activeHookupPart != null){
-				return activeHookupConnection.pos.copy().rotateFine(activeHookupPart.totalRotation).add(activeHookupPart.totalOffset); 
+				return activeHookupConnection.pos.copy().rotate(activeHookupPart.totalOrientation).add(activeHookupPart.totalOffset); 
 			}else{
 				return activeHookupConnection.pos;
 			}
@@ -977,12 +1080,15 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	 * definitions.
 	 */
 	public void changeTrailer(EntityVehicleD_Moving trailer, VehicleConnection hitchConnection, VehicleConnection hookupConnection, APart optionalHitchPart, APart optionalHookupPart){
+		wake();
 		if(trailer == null){
+			towedVehicle.wake();
 			towedVehicle.towedByVehicle = null;
 			towedVehicle.activeHookupConnection = null;
 			towedVehicle.parkingBrakeOn = true;
 			towedVehicle = null;
 		}else{
+			trailer.wake();
 			towedVehicle = (EntityVehicleF_Physics) trailer;
 			activeHitchConnection = hitchConnection;
 			activeHitchPart = optionalHitchPart;
@@ -1006,7 +1112,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			}
 		}
 		if(!world.isClient()){
-			InterfacePacket.sendToAllClients(new PacketVehicleTrailerChange((EntityVehicleF_Physics) this, hitchConnection, hookupConnection, optionalHitchPart, optionalHookupPart));
+			InterfacePacket.sendToClients(new PacketVehicleTrailerChange((EntityVehicleF_Physics) this, hitchConnection, hookupConnection, optionalHitchPart, optionalHookupPart));
 		}
 	}
 	
@@ -1015,6 +1121,11 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		serverDeltaR.add(rotationAdded);
 	}
 	
+	public void setServerDeltas(Point3d motionTotal, Point3d rotationTotal){
+		serverDeltaM.setTo(motionTotal);
+		serverDeltaR.setTo(rotationTotal);
+	}
+	
 	/**
 	 * Method block for getting the steering angle of this vehicle.
 	 * This returns the normalized steering angle, from -1.0 to 1.0;
@@ -99,7 +99,9 @@ abstract class EntityVehicleE_Powered extends EntityVehicleD_Moving implements I
 		this.electricPower = data.getDouble("electricPower");
 		this.selectedBeaconName = data.getString("selectedBeaconName");
 		this.selectedBeacon = BeaconManager.getBeacon(world, selectedBeaconName);
-		this.fuelTank = new FluidTank(data, definition.motorized.fuelCapacity, world.isClient());
+		this.fuelTank = new FluidTank(data, definition.motorized.fuelCapacity, this);
+		//Fuel is counted in getCurrentMass(), so listen for changes to keep the tracked mass in sync.
+		fuelTank.setListener(this);
 		
 		//Load text.
 		if(definition.rendering.textObjects != null){
@@ -180,10 +182,10 @@ abstract class EntityVehicleE_Powered extends EntityVehicleD_Moving implements I
 			}
 		}else{
 			//Turn on the DRLs if we have an engine on.
-			variablesOn.remove(LightType.DAYTIMELIGHT.lowercaseName);
+			variablesOn.remove(LightType.DAYTIMELIGHT.variableID);
 			for(PartEngine engine : engines.values()){
 				if(engine.state.running){
-					variablesOn.add(LightType.DAYTIMELIGHT.lowercaseName);
+					variablesOn.add(LightType.DAYTIMELIGHT.variableID);
 					break;
 				}
 			}
@@ -279,6 +281,17 @@ abstract class EntityVehicleE_Powered extends EntityVehicleD_Moving implements I
 		return ConfigSystem.configObject.clientRendering.vehicleBlklt.value && LightType.DAYTIMELIGHT.isInCollection(variablesOn);
 	}
 	
+	@Override
+	protected boolean canSleep(){
+		//Running or starting engines can move us at any time, so don't sleep if we have any.
+		for(PartEngine engine : engines.values()){
+			if(engine.state.running || engine.state.esOn || engine.state.hsOn){
+				return false;
+			}
+		}
+		return super.canSleep();
+	}
+	
 	@Override
 	public void destroyAt(Point3d location){
 		super.destroyAt(location);
@@ -307,6 +320,10 @@ abstract class EntityVehicleE_Powered extends EntityVehicleD_Moving implements I
 		}
 	}
 	
+	/**
+	 * Adds the weight of the fuel to the mass.  Changes to this are added to the
+	 * tracked mass by our listener on the fuel tank.
+	 */
 	@Override
 	protected float getCurrentMass(){
 		return (float) (super.getCurrentMass() + fuelTank.getWeight());
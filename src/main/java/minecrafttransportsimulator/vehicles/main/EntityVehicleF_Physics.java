@@ -2,6 +2,8 @@ package minecrafttransportsimulator.vehicles.main;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.mcinterface.InterfaceCore;
@@ -93,6 +95,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 	private Point3d totalMotiveForce = new Point3d();//kg*m/ticks^2
 	private Point3d totalGlobalForce = new Point3d();//kg*m/ticks^2
 	private Point3d totalForce = new Point3d();//kg*m/ticks^2
+	private boolean forcesCalculated;
 	
 	//Torques.
 	private double momentRoll;//kg*m^2
@@ -104,6 +107,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 	private Point3d thrustTorque = new Point3d();//kg*m^2/ticks^2
 	private Point3d totalTorque = new Point3d();//kg*m^2/ticks^2
 	private Point3d rotorRotation = new Point3d();//degrees
+	private Point3d totalRotation = new Point3d();//degrees
 
 	public EntityVehicleF_Physics(WrapperWorld world, WrapperEntity wrapper, WrapperNBT data){
 		super(world, wrapper, data);
@@ -139,28 +143,28 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		
 		//Turn on brake lights and indicator lights.
 		if(brake > 0){
-			variablesOn.add(LightType.BRAKELIGHT.lowercaseName);
-			if(variablesOn.contains(LightType.LEFTTURNLIGHT.lowercaseName)){
-				variablesOn.remove(LightType.LEFTINDICATORLIGHT.lowercaseName);
+			variablesOn.add(LightType.BRAKELIGHT.variableID);
+			if(variablesOn.contains(LightType.LEFTTURNLIGHT.variableID)){
+				variablesOn.remove(LightType.LEFTINDICATORLIGHT.variableID);
 			}else{
-				variablesOn.add(LightType.LEFTINDICATORLIGHT.lowercaseName);
+				variablesOn.add(LightType.LEFTINDICATORLIGHT.variableID);
 			}
-			if(variablesOn.contains(LightType.RIGHTTURNLIGHT.lowercaseName)){
-				variablesOn.remove(LightType.RIGHTINDICATORLIGHT.lowercaseName);
+			if(variablesOn.contains(LightType.RIGHTTURNLIGHT.variableID)){
+				variablesOn.remove(LightType.RIGHTINDICATORLIGHT.variableID);
 			}else{
-				variablesOn.add(LightType.RIGHTINDICATORLIGHT.lowercaseName);
+				variablesOn.add(LightType.RIGHTINDICATORLIGHT.variableID);
 			}
 		}else{
-			variablesOn.remove(LightType.BRAKELIGHT.lowercaseName);
-			variablesOn.remove(LightType.LEFTINDICATORLIGHT.lowercaseName);
-			variablesOn.remove(LightType.RIGHTINDICATORLIGHT.lowercaseName);
+			variablesOn.remove(LightType.BRAKELIGHT.variableID);
+			variablesOn.remove(LightType.LEFTINDICATORLIGHT.variableID);
+			variablesOn.remove(LightType.RIGHTINDICATORLIGHT.variableID);
 		}
 		
 		//Set backup light state.
-		variablesOn.remove(LightType.BACKUPLIGHT.lowercaseName);
+		variablesOn.remove(LightType.BACKUPLIGHT.variableID);
 		for(PartEngine engine : engines.values()){
 			if(engine.currentGear < 0){
-				variablesOn.add(LightType.BACKUPLIGHT.lowercaseName);
+				variablesOn.add(LightType.BACKUPLIGHT.variableID);
 				break;
 			}
 		}
@@ -180,7 +184,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 	}
 	
 	@Override
-	protected float getCurrentMass(){
+	protected double getTrackedMass(){
 		//Need to use a list here to make sure we don't end up with infinite recursion due to bad trailer linkings.
 		//This could lock up a world if not detected!
 		if(towedVehicle != null){
@@ -188,15 +192,15 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 				InterfaceCore.logError("Infinite loop detected on weight checking code!  Is a trailer towing the thing that's towing it?");
 				towedVehicle.towedByVehicle = null;
 				towedVehicle = null;
-				return super.getCurrentMass();
+				return super.getTrackedMass();
 			}else{
 				towedVehiclesCheckedForWeights.add(this);
-				float combinedMass = super.getCurrentMass() + towedVehicle.getCurrentMass();
+				double combinedMass = super.getTrackedMass() + towedVehicle.getTrackedMass();
 				towedVehiclesCheckedForWeights.clear();
 				return combinedMass;
 			}
 		}else{
-			return super.getCurrentMass();
+			return super.getTrackedMass();
 		}
 	}
 	
@@ -215,212 +219,269 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		}
 		rudderAngle += delta;
 		rudderCooldown = 20;
-		InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, delta, rudderCooldown));
+		InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, delta, rudderCooldown));
 	}
 	
-	@Override
-	protected void getForcesAndMotions(){
-		//If we are free, do normal updates.  But if we are towed by a vehicle, do trailer forces instead.
-		//This prevents trailers from behaving badly and flinging themselves into the abyss.
-		if(towedByVehicle == null){
-			//Set moments.
-			momentRoll = definition.general.emptyMass*(1.5F + fuelTank.getFluidLevel()/10000F);
-			momentPitch = 2D*currentMass;
-			momentYaw = 3D*currentMass;
+	/**
+	 * Calculates the forces and torques on this vehicle, storing the resulting motion and
+	 * rotation to be applied in {@link #getForcesAndMotions()}.  This only changes the state
+	 * of this vehicle and its engines, and does not interact with the world, so it is safe to
+	 * call for multiple vehicles at once.  See {@link #calculateForces(List)}.  Anything that
+	 * needs the world, such as if propellers are in liquid, is checked in the part updates.
+	 * Anything that changes other parts, such as engines spinning their wheels, is done in
+	 * {@link #getForcesAndMotions()} after the forces are calculated.
+	 */
+	private void calculateVehicleForces(){
+		//Set moments.
+		momentRoll = definition.general.emptyMass*(1.5F + fuelTank.getFluidLevel()/10000F);
+		momentPitch = 2D*currentMass;
+		momentYaw = 3D*currentMass;
+		
+		//Get engine thrust force contributions.
+		thrustForce.set(0D, 0D, 0D);
+		thrustTorque.set(0D, 0D, 0D);
+		rotorRotation.set(0D, 0D, 0D);
+		for(APart part : parts){
+			Point3d partForce;
+			boolean isPropeller = false;
+			boolean isRotor = false;
+			double jetPower = 0;
+			if(part instanceof PartEngine){
+				partForce = ((PartEngine) part).getForceOutput();
+				jetPower = part.definition.engine.jetPowerFactor;
+			}else if(part instanceof PartPropeller){
+				partForce = ((PartPropeller) part).getForceOutput();
+				isPropeller = true;
+				isRotor = part.definition.propeller.isRotor;
+			}else{
+				continue;
+			}
 			
-			//Get engine thrust force contributions.
-			thrustForce.set(0D, 0D, 0D);
-			thrustTorque.set(0D, 0D, 0D);
-			rotorRotation.set(0D, 0D, 0D);
-			for(APart part : parts){
-				Point3d partForce;
-				boolean isPropeller = false;
-				boolean isRotor = false;
-				double jetPower = 0;
-				if(part instanceof PartEngine){
-					partForce = ((PartEngine) part).getForceOutput();
-					jetPower = part.definition.engine.jetPowerFactor;
-				}else if(part instanceof PartPropeller){
-					partForce = ((PartPropeller) part).getForceOutput();
-					isPropeller = true;
-					isRotor = part.definition.propeller.isRotor;
+			thrustForce.add(partForce);
+			
+			//If the part is a propeller or jet engine, we add thrust torque.
+			//If it's a rotor, we also add control surface torque.
+			//Torque added is relative to the propeller force output, factored by the angle of the control surface.
+			if(isPropeller || jetPower > 0){
+				thrustTorque.add(partForce.y*-part.placementOffset.z, partForce.z*part.placementOffset.x, partForce.y*part.placementOffset.x);
+			}
+			if(isRotor){
+				isVTOL = true;
+				if(!autopilot){
+					rotorRotation.add(-5D*elevatorAngle/MAX_ELEVATOR_ANGLE, -5D*rudderAngle/MAX_RUDDER_ANGLE, 5D*aileronAngle/MAX_AILERON_ANGLE);
 				}else{
-					continue;
-				}
-				
-				thrustForce.add(partForce);
-				
-				//If the part is a propeller or jet engine, we add thrust torque.
-				//If it's a rotor, we also add control surface torque.
-				//Torque added is relative to the propeller force output, factored by the angle of the control surface.
-				if(isPropeller || jetPower > 0){
-					thrustTorque.add(partForce.y*-part.placementOffset.z, partForce.z*part.placementOffset.x, partForce.y*part.placementOffset.x);
-				}
-				if(isRotor){
-					isVTOL = true;
-					if(!autopilot){
-						rotorRotation.add(-5D*elevatorAngle/MAX_ELEVATOR_ANGLE, -5D*rudderAngle/MAX_RUDDER_ANGLE, 5D*aileronAngle/MAX_AILERON_ANGLE);
+					if(angles.x < -1){
+						rotorRotation.x = 1;
+					}else if(angles.x > 1){
+						rotorRotation.x = -1;
+					}else{
+						rotorRotation.x = -angles.x;
+					}
+					if(angles.z < -1){
+						rotorRotation.z = 1;
+					}else if(angles.z > 1){
+						rotorRotation.z = -1;
 					}else{
-						if(angles.x < -1){
-							rotorRotation.x = 1;
-						}else if(angles.x > 1){
-							rotorRotation.x = -1;
-						}else{
-							rotorRotation.x = -angles.x;
-						}
-						if(angles.z < -1){
-							rotorRotation.z = 1;
-						}else if(angles.z > 1){
-							rotorRotation.z = -1;
-						}else{
-							rotorRotation.z = -angles.z;
-						}
-						rotorRotation.y = -5D*rudderAngle/MAX_RUDDER_ANGLE;
+						rotorRotation.z = -angles.z;
 					}
+					rotorRotation.y = -5D*rudderAngle/MAX_RUDDER_ANGLE;
 				}
 			}
-			
-			//Get forces.  Some forces are specific to JSON sections.
-			//First get gravity.
-			gravitationalForce = definition.motorized.ballastVolume == 0 ? currentMass*(9.8/400) : 0;
-			if(!definition.general.isAircraft){
-				gravitationalForce *= ConfigSystem.configObject.general.gravityFactor.value;
+		}
+		
+		//Get forces.  Some forces are specific to JSON sections.
+		//First get gravity.
+		gravitationalForce = definition.motorized.ballastVolume == 0 ? currentMass*(9.8/400) : 0;
+		if(!definition.general.isAircraft){
+			gravitationalForce *= ConfigSystem.configObject.general.gravityFactor.value;
+		}
+		
+		//Get the track angle.  This is used for control surfaces.
+		trackAngle = -Math.toDegrees(Math.asin(verticalVector.dotProduct(normalizedVelocityVector)));
+		
+		//Get the lift coefficients and states for control surfaces.
+		wingLiftCoeff = getLiftCoeff(trackAngle, 2 + flapCurrentAngle/(double)MAX_FLAP_ANGLE);
+		aileronLiftCoeff = getLiftCoeff((aileronAngle + aileronTrim)/10F, 2);
+		elevatorLiftCoeff = getLiftCoeff(-2.5 + trackAngle - (elevatorAngle + elevatorTrim)/10F, 2);
+		rudderLiftCoeff = getLiftCoeff((rudderAngle + rudderTrim)/10F - Math.toDegrees(Math.asin(sideVector.dotProduct(normalizedVelocityVector))), 2);
+		currentWingArea = definition.motorized.wingArea + definition.motorized.wingArea*0.15D*flapCurrentAngle/MAX_FLAP_ANGLE;
+		
+		//Set blimp-specific states before calculating forces.
+		if(definition.general.isBlimp){
+			//Blimps are turned with rudders, not ailerons.  This puts the keys at an odd location.  To compensate, 
+			//we set the rudder to the aileron if the aileron is greater or less than the rudder.  That way no matter 
+			//which key is pressed, they both activate the rudder for turning.
+			if((aileronAngle < 0 && aileronAngle < rudderAngle) || (aileronAngle > 0 && aileronAngle > rudderAngle)){
+				rudderAngle = aileronAngle;
+				rudderCooldown = aileronCooldown;
 			}
 			
-			//Get the track angle.  This is used for control surfaces.
-			trackAngle = -Math.toDegrees(Math.asin(verticalVector.dotProduct(normalizedVelocityVector)));
-			
-			//Get the lift coefficients and states for control surfaces.
-			wingLiftCoeff = getLiftCoeff(trackAngle, 2 + flapCurrentAngle/(double)MAX_FLAP_ANGLE);
-			aileronLiftCoeff = getLiftCoeff((aileronAngle + aileronTrim)/10F, 2);
-			elevatorLiftCoeff = getLiftCoeff(-2.5 + trackAngle - (elevatorAngle + elevatorTrim)/10F, 2);
-			rudderLiftCoeff = getLiftCoeff((rudderAngle + rudderTrim)/10F - Math.toDegrees(Math.asin(sideVector.dotProduct(normalizedVelocityVector))), 2);
-			currentWingArea = definition.motorized.wingArea + definition.motorized.wingArea*0.15D*flapCurrentAngle/MAX_FLAP_ANGLE;
-			
-			//Set blimp-specific states before calculating forces.
-			if(definition.general.isBlimp){
-				//Blimps are turned with rudders, not ailerons.  This puts the keys at an odd location.  To compensate, 
-				//we set the rudder to the aileron if the aileron is greater or less than the rudder.  That way no matter 
-				//which key is pressed, they both activate the rudder for turning.
-				if((aileronAngle < 0 && aileronAngle < rudderAngle) || (aileronAngle > 0 && aileronAngle > rudderAngle)){
-					rudderAngle = aileronAngle;
-					rudderCooldown = aileronCooldown;
-				}
-				
-				//If the throttle is idle, and we have the brake pressed at a slow speed, stop the blimp.
-				//This is needed to prevent runaway blimps.
-				if(throttle == 0 && Math.abs(velocity) < 0.15 && (brake > 0 || parkingBrakeOn)){
-					motion.x = 0;
-					motion.z = 0;
-					thrustForce.set(0D, 0D, 0D);
-					thrustTorque.set(0D, 0D, 0D);
-				}
+			//If the throttle is idle, and we have the brake pressed at a slow speed, stop the blimp.
+			//This is needed to prevent runaway blimps.
+			if(throttle == 0 && Math.abs(velocity) < 0.15 && (brake > 0 || parkingBrakeOn)){
+				motion.x = 0;
+				motion.z = 0;
+				thrustForce.set(0D, 0D, 0D);
+				thrustTorque.set(0D, 0D, 0D);
 			}
-			
-			//Get the drag coefficient and force.
-			if(definition.general.isAircraft){
-				//Aircraft are 0.03 by default, or whatever is specified.
-				dragCoeff = 0.0004F*Math.pow(trackAngle, 2) + (definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 0.03D);
-			}else{
-				dragCoeff = definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 2.0D;
-				//If we aren't an aircraft, check for grounded ground devices.
-				//If we don't have any grounded ground devices, assume we are in the air or in water.
-				//This results in an increase in drag due to poor airflow.
-				if(groundDeviceCollective.groundedGroundDevices.isEmpty()){
-					dragCoeff *= 3D;
-				}
+		}
+		
+		//Get the drag coefficient and force.
+		if(definition.general.isAircraft){
+			//Aircraft are 0.03 by default, or whatever is specified.
+			dragCoeff = 0.0004F*Math.pow(trackAngle, 2) + (definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 0.03D);
+		}else{
+			dragCoeff = definition.motorized.dragCoefficient != 0 ? definition.motorized.dragCoefficient : 2.0D;
+			//If we aren't an aircraft, check for grounded ground devices.
+			//If we don't have any grounded ground devices, assume we are in the air or in water.
+			//This results in an increase in drag due to poor airflow.
+			if(groundDeviceCollective.groundedGroundDevices.isEmpty()){
+				dragCoeff *= 3D;
 			}
-			if(definition.motorized.crossSectionalArea > 0){
-				dragForce = 0.5F*airDensity*velocity*velocity*definition.motorized.crossSectionalArea*dragCoeff;
-			}else if(definition.motorized.wingSpan > 0){
-				dragForce = 0.5F*airDensity*velocity*velocity*currentWingArea*(dragCoeff + wingLiftCoeff*wingLiftCoeff/(Math.PI*definition.motorized.wingSpan*definition.motorized.wingSpan/currentWingArea*0.8));
+		}
+		if(definition.motorized.crossSectionalArea > 0){
+			dragForce = 0.5F*airDensity*velocity*velocity*definition.motorized.crossSectionalArea*dragCoeff;
+		}else if(definition.motorized.wingSpan > 0){
+			dragForce = 0.5F*airDensity*velocity*velocity*currentWingArea*(dragCoeff + wingLiftCoeff*wingLiftCoeff/(Math.PI*definition.motorized.wingSpan*definition.motorized.wingSpan/currentWingArea*0.8));
+		}else{
+			dragForce = 0.5F*airDensity*velocity*velocity*5.0F*dragCoeff;
+		}
+		
+		//Get ballast force.
+		if(definition.motorized.ballastVolume > 0){
+			//Ballast gets less effective at applying positive lift at higher altitudes.
+			//This prevents blimps from ascending into space.
+			//Also take into account motionY, as we should provide less force if we are already going in the same direction.
+			if(elevatorAngle < 0){
+				ballastForce = airDensity*definition.motorized.ballastVolume*-elevatorAngle/100D;
+			}else if(elevatorAngle > 0){
+				ballastForce = 1.225*definition.motorized.ballastVolume*-elevatorAngle/100D;
 			}else{
-				dragForce = 0.5F*airDensity*velocity*velocity*5.0F*dragCoeff;
+				ballastForce = 1.225*definition.motorized.ballastVolume*10D*-motion.y;
 			}
-			
-			//Get ballast force.
-			if(definition.motorized.ballastVolume > 0){
-				//Ballast gets less effective at applying positive lift at higher altitudes.
-				//This prevents blimps from ascending into space.
-				//Also take into account motionY, as we should provide less force if we are already going in the same direction.
-				if(elevatorAngle < 0){
-					ballastForce = airDensity*definition.motorized.ballastVolume*-elevatorAngle/100D;
-				}else if(elevatorAngle > 0){
-					ballastForce = 1.225*definition.motorized.ballastVolume*-elevatorAngle/100D;
-				}else{
-					ballastForce = 1.225*definition.motorized.ballastVolume*10D*-motion.y;
-				}
-				if(motion.y*ballastForce != 0){
-					ballastForce /= Math.pow(1 + Math.abs(motion.y), 2);
-				}
+			if(motion.y*ballastForce != 0){
+				ballastForce /= Math.pow(1 + Math.abs(motion.y), 2);
 			}
-			
-			//Get all other forces.
-			wingForce = 0.5F*airDensity*axialVelocity*axialVelocity*currentWingArea*wingLiftCoeff;
-			aileronForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.aileronArea*aileronLiftCoeff;
-			elevatorForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.elevatorArea*elevatorLiftCoeff;			
-			rudderForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.rudderArea*rudderLiftCoeff;
-			
-			//Get torques.  Point for ailerons is 0.75% to the edge of the wing.
-			aileronTorque = aileronForce*definition.motorized.wingSpan*0.5F*0.75F;
-			elevatorTorque = elevatorForce*definition.motorized.tailDistance;
-			rudderTorque = rudderForce*definition.motorized.tailDistance;
-			
-			//If the elevator torque is low, don't apply it.  This prevents elevators from
-			//having effects at slow speeds.  We use a faux-torque here from the main plane
-			//body to check if we are below this point.
-			if(Math.abs(elevatorTorque) < 2D*currentMass/400D){
+		}
+		
+		//Get all other forces.
+		wingForce = 0.5F*airDensity*axialVelocity*axialVelocity*currentWingArea*wingLiftCoeff;
+		aileronForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.aileronArea*aileronLiftCoeff;
+		elevatorForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.elevatorArea*elevatorLiftCoeff;			
+		rudderForce = 0.5F*airDensity*axialVelocity*axialVelocity*definition.motorized.rudderArea*rudderLiftCoeff;
+		
+		//Get torques.  Point for ailerons is 0.75% to the edge of the wing.
+		aileronTorque = aileronForce*definition.motorized.wingSpan*0.5F*0.75F;
+		elevatorTorque = elevatorForce*definition.motorized.tailDistance;
+		rudderTorque = rudderForce*definition.motorized.tailDistance;
+		
+		//If the elevator torque is low, don't apply it.  This prevents elevators from
+		//having effects at slow speeds.  We use a faux-torque here from the main plane
+		//body to check if we are below this point.
+		if(Math.abs(elevatorTorque) < 2D*currentMass/400D){
+			elevatorTorque = 0;
+		}
+		
+		//Do more blimp-specific things for the forces.
+		if(definition.general.isBlimp){
+			//Roll and pitch are applied only if we aren't level.
+			//This only happens if we fall out of the sky and land on the ground and tilt.
+			if(angles.z > 0){
+				aileronTorque = -Math.min(0.5F, angles.z)*currentMass;
+			}else if(angles.z < 0){
+				aileronTorque = -Math.max(-0.5F, angles.z)*currentMass;
+			}else{
+				aileronTorque = 0;
+			}
+			if(angles.x > 0){
+				elevatorTorque = -Math.min(0.5F, angles.x)*currentMass;
+			}else if(angles.x < 0){
+				elevatorTorque = -Math.max(-0.5F, angles.x)*currentMass;
+			}else{
 				elevatorTorque = 0;
 			}
-			
-			//Do more blimp-specific things for the forces.
-			if(definition.general.isBlimp){
-				//Roll and pitch are applied only if we aren't level.
-				//This only happens if we fall out of the sky and land on the ground and tilt.
-				if(angles.z > 0){
-					aileronTorque = -Math.min(0.5F, angles.z)*currentMass;
-				}else if(angles.z < 0){
-					aileronTorque = -Math.max(-0.5F, angles.z)*currentMass;
-				}else{
-					aileronTorque = 0;
-				}
-				if(angles.x > 0){
-					elevatorTorque = -Math.min(0.5F, angles.x)*currentMass;
-				}else if(angles.x < 0){
-					elevatorTorque = -Math.max(-0.5F, angles.x)*currentMass;
-				}else{
-					elevatorTorque = 0;
+		}
+		
+		//As a special case, if the vehicle is a stalled plane, add a forwards pitch to allow the plane to right itself.
+		//This is needed to prevent the plane from getting stuck in a vertical position and crashing.
+		if(definition.motorized.wingArea > 0 && trackAngle > 40 && angles.x < 45 && groundDeviceCollective.groundedGroundDevices.isEmpty()){
+			elevatorTorque += 100;
+		}
+		
+		//Add all forces to the main force matrix.
+		totalAxialForce.set(0D, wingForce - elevatorForce, 0D).add(thrustForce).rotate(orientation);
+		totalMotiveForce.set(-dragForce, -dragForce, -dragForce).multiply(normalizedVelocityVector);
+		totalGlobalForce.set(0D, ballastForce - gravitationalForce, 0D);
+		totalForce.setTo(totalAxialForce).add(totalMotiveForce).add(totalGlobalForce).multiply(1/currentMass);
+		
+		//Add all torques to the main torque matrix.
+		pitchDirectionFactor = Math.abs(angles.z%360);
+		pitchDirectionFactor = pitchDirectionFactor < 90 || pitchDirectionFactor > 270 ? 1.0D : -1.0D;
+		totalTorque.set(elevatorTorque, rudderTorque, aileronTorque).add(thrustTorque).multiply(180D/Math.PI);
+		totalRotation.x = (pitchDirectionFactor*(1-Math.abs(sideVector.y))*totalTorque.x + sideVector.y*totalTorque.y)/momentPitch;
+		totalRotation.y = (sideVector.y*totalTorque.x - verticalVector.y*totalTorque.y)/momentYaw;
+		totalRotation.z = totalTorque.z/momentRoll;
+		totalRotation.add(rotorRotation);
+	}
+	
+	/**
+	 * Calculates forces for all vehicles in the passed-in list ahead of their updates.  Calculations are
+	 * split across the common fork-join pool, as each vehicle's forces only depend on the state of the
+	 * vehicle and its parts, which nothing else changes until the calculations are done.
+	 * Forces depend on the state of the engines and propellers, so the parts of each vehicle are updated
+	 * on the main thread first, rather than at the start of the vehicle's update.  This keeps the forces the
+	 * same as if they were calculated in the update, rather than a tick behind the parts.  World state
+	 * the forces need is checked by the parts during this update.
+	 * Vehicles that are sleeping or being towed are skipped: sleeping vehicles don't need forces, and
+	 * towed vehicles depend on the state of the vehicle towing them, so they calculate in their update.
+	 * Vehicles that MC won't update this tick are also skipped, as their forces would never be applied.
+	 * Forces calculated here are applied in the vehicle's update, as applying them involves the world.
+	 */
+	public static void calculateForces(List<AEntityBase> entities){
+		List<EntityVehicleF_Physics> vehicles = new ArrayList<EntityVehicleF_Physics>();
+		for(AEntityBase entity : entities){
+			if(entity instanceof EntityVehicleF_Physics){
+				EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
+				vehicle.forcesCalculated = false;
+				vehicle.partsUpdated = false;
+				if(vehicle.isValid && vehicle.ticksExisted > 0 && !vehicle.isSleeping() && vehicle.towedByVehicle == null && vehicle.world.willEntityUpdate(vehicle)){
+					vehicle.updateParts();
+					//Parts can destroy the vehicle when they update, so check again.
+					if(vehicle.isValid){
+						vehicles.add(vehicle);
+					}
 				}
 			}
-			
-			//As a special case, if the vehicle is a stalled plane, add a forwards pitch to allow the plane to right itself.
-			//This is needed to prevent the plane from getting stuck in a vertical position and crashing.
-			if(definition.motorized.wingArea > 0 && trackAngle > 40 && angles.x < 45 && groundDeviceCollective.groundedGroundDevices.isEmpty()){
-				elevatorTorque += 100;
+		}
+		if(!vehicles.isEmpty()){
+			ForkJoinPool.commonPool().invoke(new ForceCalculationTask(vehicles, 0, vehicles.size()));
+		}
+	}
+	
+	@Override
+	protected void getForcesAndMotions(){
+		//If we are free, do normal updates.  But if we are towed by a vehicle, do trailer forces instead.
+		//This prevents trailers from behaving badly and flinging themselves into the abyss.
+		if(towedByVehicle == null){
+			//Calculate forces if we didn't already have them calculated for this tick, then apply them.
+			if(!forcesCalculated){
+				calculateVehicleForces();
+			}
+			forcesCalculated = false;
+			for(APart part : parts){
+				if(part instanceof PartEngine){
+					((PartEngine) part).updateDrivenWheels();
+				}
 			}
-			
-			//Add all forces to the main force matrix and apply them.
-			totalAxialForce.set(0D, wingForce - elevatorForce, 0D).add(thrustForce).rotateFine(angles);
-			totalMotiveForce.set(-dragForce, -dragForce, -dragForce).multiply(normalizedVelocityVector);
-			totalGlobalForce.set(0D, ballastForce - gravitationalForce, 0D);
-			totalForce.setTo(totalAxialForce).add(totalMotiveForce).add(totalGlobalForce).multiply(1/currentMass);
 			motion.add(totalForce);
-			
-			//Add all torques to the main torque matrix and apply them.
-			pitchDirectionFactor = Math.abs(angles.z%360);
-			pitchDirectionFactor = pitchDirectionFactor < 90 || pitchDirectionFactor > 270 ? 1.0D : -1.0D;
-			totalTorque.set(elevatorTorque, rudderTorque, aileronTorque).add(thrustTorque).multiply(180D/Math.PI);
-			rotation.x = (pitchDirectionFactor*(1-Math.abs(sideVector.y))*totalTorque.x + sideVector.y*totalTorque.y)/momentPitch;
-			rotation.y = (sideVector.y*totalTorque.x - verticalVector.y*totalTorque.y)/momentYaw;
-			rotation.z = totalTorque.z/momentRoll;
-			rotation.add(rotorRotation);
+			rotation.setTo(totalRotation);
 		}else{
 			//If we are a trailer that is mounted, just move the vehicle to the exact position of the trailer connection.
 			//Otherwise, do movement logic  Make sure the towed vehicle is loaded, however.  It may not yet be..
 			if(towedByVehicle.activeHitchConnection != null){
 				if(towedByVehicle.activeHitchConnection.mounted){
-					Point3d hitchRotatedOffset = towedByVehicle.getHitchOffset().copy().rotateFine(towedByVehicle.angles).add(towedByVehicle.position);
-					Point3d hookupRotatedOffset = getHookupOffset().copy().rotateFine(angles).add(position);
+					Point3d hitchRotatedOffset = towedByVehicle.getHitchOffset().copy().rotate(towedByVehicle.orientation).add(towedByVehicle.position);
+					Point3d hookupRotatedOffset = getHookupOffset().copy().rotate(orientation).add(position);
 					motion.setTo(hitchRotatedOffset).subtract(hookupRotatedOffset).multiply(1/SPEED_FACTOR);
 					rotation.setTo(towedByVehicle.angles).subtract(angles);
 					if(towedByVehicle.activeHitchPart != null){
@@ -432,7 +493,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 					//Motion is applied after yaw corrections to ensure the trailer follows the truck.
 					//Start by getting the hitch offsets.  We save the current offset as we'll change it for angle calculations.
 					Point3d tractorHitchPrevOffset = towedByVehicle.getHitchOffset().copy().rotateFine(towedByVehicle.prevAngles).add(towedByVehicle.prevPosition).subtract(prevPosition);
-					Point3d tractorHitchCurrentOffset = towedByVehicle.getHitchOffset().copy().rotateFine(towedByVehicle.angles).add(towedByVehicle.position).subtract(position);
+					Point3d tractorHitchCurrentOffset = towedByVehicle.getHitchOffset().copy().rotate(towedByVehicle.orientation).add(towedByVehicle.position).subtract(position);
 					Point3d tractorHitchOffset = tractorHitchCurrentOffset.copy();
 					
 					//Now calculate how much yaw we need to apply to rotate the trailer.
@@ -453,7 +514,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 						trailerHookupOffset = getHookupOffset().copy().rotateFine(angles);
 						angles.y -= rotationDelta;
 					}else{
-						trailerHookupOffset = getHookupOffset().copy().rotateFine(angles);
+						trailerHookupOffset = getHookupOffset().copy().rotate(orientation);
 					}
 					
 					//Now move the trailer to the hitch.  Also set rotations to 0 to prevent odd math.
@@ -470,12 +531,12 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(cruiseControl){
 			if(velocity < cruiseControlSpeed){
 				if(throttle < 100){
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 1, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 1, (byte) 0));
 					++throttle;
 				}
 			}else if(velocity > cruiseControlSpeed){
 				if(throttle > 0){
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) -1, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) -1, (byte) 0));
 					--throttle;
 				}
 			}
@@ -488,9 +549,9 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 				//Only do this once every 1/2 second to allow for thrust changes.
 				if(world.getTick()%10 == 0){
 					if(motion.y < 0 && throttle < 100){
-						InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, ++throttle, Byte.MAX_VALUE));
+						InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, ++throttle, Byte.MAX_VALUE));
 					}else if(motion.y > 0 && throttle < 100){
-						InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, --throttle, Byte.MAX_VALUE));
+						InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, --throttle, Byte.MAX_VALUE));
 					}
 				}
 				//Change pitch/roll based on movement.
@@ -498,33 +559,33 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 				double sidewaysVelocity = motion.dotProduct(sideVector);
 				if(forwardsVelocity < 0 && elevatorTrim < MAX_ELEVATOR_TRIM){
 					++elevatorTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
 				}else if(forwardsVelocity > 0 && elevatorTrim > -MAX_ELEVATOR_TRIM){
 					--elevatorTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
 				}
 				if(sidewaysVelocity < 0 && aileronTrim < MAX_AILERON_TRIM){
 					++aileronTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
 				}else if(sidewaysVelocity > 0 && aileronTrim > -MAX_AILERON_TRIM){
 					--aileronTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
 				}
 			}else{
 				//Reset trim to prevent directional surges.
 				if(elevatorTrim < 0){
 					++elevatorTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
 				}else if(elevatorTrim > 0){
 					--elevatorTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
 				}
 				if(aileronTrim < 0){
 					++aileronTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
 				}else if(aileronTrim > 0){
 					--aileronTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
 				}
 			}
 		}else{
@@ -533,18 +594,18 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 				//If we are not flying at a steady elevation, angle the elevator to compensate
 				if(-motion.y*100 > elevatorTrim + 1 && elevatorTrim < MAX_ELEVATOR_TRIM){
 					++elevatorTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
 				}else if(-motion.y*100 < elevatorTrim - 1 && elevatorTrim > -MAX_ELEVATOR_TRIM){
 					--elevatorTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
 				}
 				//Keep the roll angle at 0.
 				if(-angles.z > aileronTrim + 1 && aileronTrim < MAX_AILERON_TRIM){
 					++aileronTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
 				}else if(-angles.z < aileronTrim - 1 && aileronTrim > -MAX_AILERON_TRIM){
 					--aileronTrim;
-					InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
+					InterfacePacket.sendToClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
 				}
 			}
 		}
@@ -552,10 +613,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(aileronCooldown==0){
 			if(aileronAngle != 0){
 				if(aileronAngle < AILERON_DAMPEN_RATE && aileronAngle > -AILERON_DAMPEN_RATE){
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, (short) -aileronAngle, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, (short) -aileronAngle, (byte) 0));
 					aileronAngle = 0;
 				}else{
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, aileronAngle < 0 ? AILERON_DAMPEN_RATE : -AILERON_DAMPEN_RATE, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, aileronAngle < 0 ? AILERON_DAMPEN_RATE : -AILERON_DAMPEN_RATE, (byte) 0));
 					aileronAngle += aileronAngle < 0 ? AILERON_DAMPEN_RATE : -AILERON_DAMPEN_RATE;
 				}
 			}
@@ -566,10 +627,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(elevatorCooldown==0){
 			if(elevatorAngle != 0){
 				if(elevatorAngle < ELEVATOR_DAMPEN_RATE && elevatorAngle > -ELEVATOR_DAMPEN_RATE){
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, (short) -elevatorAngle, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, (short) -elevatorAngle, (byte) 0));
 					elevatorAngle = 0;
 				}else{
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, elevatorAngle < 0 ? ELEVATOR_DAMPEN_RATE : -ELEVATOR_DAMPEN_RATE, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, elevatorAngle < 0 ? ELEVATOR_DAMPEN_RATE : -ELEVATOR_DAMPEN_RATE, (byte) 0));
 					elevatorAngle += elevatorAngle < 0 ? ELEVATOR_DAMPEN_RATE : -ELEVATOR_DAMPEN_RATE;
 				}
 			}
@@ -580,10 +641,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(rudderCooldown==0){
 			if(rudderAngle != 0){
 				if(rudderAngle < RUDDER_DAMPEN_RATE && rudderAngle > -RUDDER_DAMPEN_RATE){
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, (short) -rudderAngle, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, (short) -rudderAngle, (byte) 0));
 					rudderAngle = 0;
 				}else{
-					InterfacePacket.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, rudderAngle < 0 ? RUDDER_DAMPEN_RATE : -RUDDER_DAMPEN_RATE, (byte) 0));
+					InterfacePacket.sendToClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, rudderAngle < 0 ? RUDDER_DAMPEN_RATE : -RUDDER_DAMPEN_RATE, (byte) 0));
 					rudderAngle += rudderAngle < 0 ? RUDDER_DAMPEN_RATE : -RUDDER_DAMPEN_RATE;
 				}
 			}
@@ -630,4 +691,36 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		data.setDouble("altitudeSetting", altitudeSetting);
 		data.setDouble("cruiseControlSpeed", cruiseControlSpeed);
 	}
+	
+	/**
+	 * Task for calculating forces for a range of vehicles.  Splits itself in half until the range is small
+	 * enough that splitting would cost more than it saves.
+	 */
+	private static class ForceCalculationTask extends RecursiveAction{
+		private static final int MAX_VEHICLES_PER_TASK = 4;
+		private final List<EntityVehicleF_Physics> vehicles;
+		private final int startIndex;
+		private final int endIndex;
+		
+		private ForceCalculationTask(List<EntityVehicleF_Physics> vehicles, int startIndex, int endIndex){
+			this.vehicles = vehicles;
+			this.startIndex = startIndex;
+			this.endIndex = endIndex;
+		}
+		
+		@Override
+		protected void compute(){
+			if(endIndex - startIndex <= MAX_VEHICLES_PER_TASK){
+				for(int i=startIndex; i<endIndex; ++i){
+					EntityVehicleF_Physics vehicle = vehicles.get(i);
+					vehicle.updateMotionVectors();
+					vehicle.calculateVehicleForces();
+					vehicle.forcesCalculated = true;
+				}
+			}else{
+				int middleIndex = (startIndex + endIndex)/2;
+				invokeAll(new ForceCalculationTask(vehicles, startIndex, middleIndex), new ForceCalculationTask(vehicles, middleIndex, endIndex));
+			}
+		}
+	}
 }
@@ -4,12 +4,13 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.Orientation;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.Point3i;
+import minecrafttransportsimulator.baseclasses.VariableSet;
 import minecrafttransportsimulator.items.instances.ItemPart;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
 import minecrafttransportsimulator.jsondefs.JSONPart;
@@ -61,11 +62,20 @@ public abstract class APart implements ISoundProviderComplex, IAnimationProvider
 	public final Point3d totalOffset;
 	public final Point3d prevTotalOffset;
 	public final Point3d totalRotation;
+	/**Orientation for {@link #totalRotation}.  Use this when rotating points by the part's rotation.**/
+	public final Orientation totalOrientation;
 	public final Point3d prevTotalRotation;
 	public final Point3d worldPos;
 	public final BoundingBox boundingBox;
 	public String currentSubName;
 	public boolean isValid = true;
+	
+	//Scratch objects for calculations done every tick.  Re-used to prevent making new objects each update.
+	/**Block position for checks done on blocks around this part.  Set before every use, so don't keep references to it.**/
+	protected final Point3i blockCheckPosition = new Point3i(0, 0, 0);
+	private final Point3d animationTranslation = new Point3d();
+	private final Point3d animationRotation = new Point3d();
+	private final Point3d animationOffset = new Point3d();
 		
 	public APart(EntityVehicleF_Physics vehicle, VehiclePart packVehicleDef, ItemPart item, WrapperNBT data, APart parentPart){
 		this.vehicle = vehicle;
@@ -78,6 +88,7 @@ public abstract class APart implements ISoundProviderComplex, IAnimationProvider
 		this.boundingBox = new BoundingBox(placementOffset, worldPos, getWidth()/2D, getHeight()/2D, getWidth()/2D, definition.ground != null ? definition.ground.canFloat : false, false, false, 0);
 		this.placementRotation = packVehicleDef.rot != null ? packVehicleDef.rot : new Point3d();
 		this.totalRotation = placementRotation.copy();
+		this.totalOrientation = new Orientation(totalRotation);
 		this.prevTotalRotation = totalRotation.copy();
 		this.currentSubName = item.subName;
 		this.isValid = true;
@@ -193,8 +204,8 @@ public abstract class APart implements ISoundProviderComplex, IAnimationProvider
 							//Found translation.  This gets applied in the translation axis direction directly.
 							//This axis needs to be rotated by the rollingRotation to ensure it's in the correct spot.
 							double variableValue = animator.getAnimatedVariableValue(this, animation, 0, clock, 0);
-							Point3d appliedTranslation = animation.axis.copy().normalize().multiply(variableValue);
-							totalOffset.add(appliedTranslation.rotateFine(totalRotation));
+							animationTranslation.setTo(animation.axis).normalize().multiply(variableValue);
+							totalOffset.add(animationTranslation.rotateFine(totalRotation));
 						}
 						break;
 					}
@@ -202,17 +213,17 @@ public abstract class APart implements ISoundProviderComplex, IAnimationProvider
 						if(!inhibitAnimations){
 							//Found rotation.  Get angles that needs to be applied.
 							double variableValue = animator.getAnimatedVariableValue(this, animation, 0, clock, 0);
-							Point3d appliedRotation = animation.axis.copy().normalize().multiply(variableValue);
+							animationRotation.setTo(animation.axis).normalize().multiply(variableValue);
 							
 							//Check if we need to apply a translation based on this rotation.
 							if(!animation.centerPoint.isZero()){
 								//Use the center point as a vector we rotate to get the applied offset.
 								//We need to take into account the rolling rotation here, as we might have rotated on a prior call.
-								totalOffset.add(animation.centerPoint.copy().multiply(-1D).rotateFine(appliedRotation).add(animation.centerPoint).rotateFine(totalRotation));
+								totalOffset.add(animationOffset.setTo(animation.centerPoint).multiply(-1D).rotateFine(animationRotation).add(animation.centerPoint).rotateFine(totalRotation));
 							}
 							
 							//Apply rotation.  We need to do this after translation operations to ensure proper offsets.
-							totalRotation.add(appliedRotation);
+							totalRotation.add(animationRotation);
 						}
 						break;
 					}
@@ -256,7 +267,7 @@ public abstract class APart implements ISoundProviderComplex, IAnimationProvider
 	 * Returns true if this part is in liquid.
 	 */
 	public boolean isInLiquid(){
-		return vehicle.world.isBlockLiquid(new Point3i(worldPos));
+		return vehicle.world.isBlockLiquid(blockCheckPosition.setTo(worldPos));
 	}
 	
 	/**
@@ -350,7 +361,7 @@ public abstract class APart implements ISoundProviderComplex, IAnimationProvider
 	}
 	
 	@Override
-	public Set<String> getActiveVariables(){
+	public VariableSet getActiveVariables(){
 		return vehicle.getActiveVariables();
 	}
 	
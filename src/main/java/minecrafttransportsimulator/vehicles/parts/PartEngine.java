@@ -6,7 +6,6 @@ import minecrafttransportsimulator.MasterLoader;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
-import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.items.instances.ItemPart;
 import minecrafttransportsimulator.jsondefs.JSONPart.JSONPartEngine.EngineSound;
 import minecrafttransportsimulator.jsondefs.JSONParticleObject;
@@ -62,6 +61,10 @@ public class PartEngine extends APart implements IParticleProvider{
 	private float currentGearRatio;
 	private double lowestWheelVelocity;
 	private double desiredWheelVelocity;
+	private boolean drivenWheelsSpinning;
+	private boolean drivenWheelsForward;
+	private double drivenWheelForce;
+	private double drivenWheelVelocity;
 	private double propellerAxialVelocity;
 	private double engineAxialVelocity;
 	private float wheelFriction;
@@ -73,6 +76,11 @@ public class PartEngine extends APart implements IParticleProvider{
 	private double driveshaftRotation;
 	private double prevDriveshaftRotation;
 	private final Point3d engineForce = new Point3d();
+	private final Point3d jetForce = new Point3d();
+	private final Point3d thrustAxis = new Point3d();
+	private final Point3d thrustAngles = new Point3d();
+	/**Box for finding players to tell about jumper cable changes.  Centered on our worldPos, so it moves with us.**/
+	private final BoundingBox jumperCableBox = new BoundingBox(worldPos, 16, 16, 16);
 	
 	//Constants and static variables.
 	private final int startRPM;
@@ -122,14 +130,14 @@ public class PartEngine extends APart implements IParticleProvider{
 					if(!fuelLeak)fuelLeak = Math.random() < ConfigSystem.configObject.damage.engineLeakProbability.value*10;
 					if(!brokenStarter)brokenStarter = Math.random() < 0.05;
 				}
-				InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, damage.amount*10*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter));
+				InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, damage.amount*10*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter));
 			}else{
 				hours += damage.amount*2*ConfigSystem.configObject.general.engineHoursFactor.value;
 				if(!definition.engine.isSteamPowered){
 					if(!oilLeak)oilLeak = Math.random() < ConfigSystem.configObject.damage.engineLeakProbability.value;
 					if(!fuelLeak)fuelLeak = Math.random() < ConfigSystem.configObject.damage.engineLeakProbability.value;
 				}
-				InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, damage.amount*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter));
+				InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, damage.amount*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter));
 			}
 		}
 	}
@@ -157,7 +165,7 @@ public class PartEngine extends APart implements IParticleProvider{
 				linkedEngine.linkedEngine = null;
 				linkedEngine = null;
 				if(vehicle.world.isClient()){
-					for(WrapperEntity entity : vehicle.world.getEntitiesWithin(new BoundingBox(worldPos, 16, 16, 16))){
+					for(WrapperEntity entity : vehicle.world.getEntitiesWithin(jumperCableBox)){
 						if(entity instanceof WrapperPlayer){
 							((WrapperPlayer) entity).displayChatMessage("interact.jumpercable.linkdropped");
 						}
@@ -173,7 +181,7 @@ public class PartEngine extends APart implements IParticleProvider{
 				linkedEngine.linkedEngine = null;
 				linkedEngine = null;
 				if(vehicle.world.isClient()){
-					for(WrapperEntity entity : vehicle.world.getEntitiesWithin(new BoundingBox(worldPos, 16, 16, 16))){
+					for(WrapperEntity entity : vehicle.world.getEntitiesWithin(jumperCableBox)){
 						if(entity instanceof WrapperPlayer){
 							((WrapperPlayer) entity).displayChatMessage("interact.jumpercable.powerequal");
 						}
@@ -183,7 +191,7 @@ public class PartEngine extends APart implements IParticleProvider{
 		}
 		
 		//Add cooling for ambient temp.
-		ambientTemp = (25*vehicle.world.getTemperature(new Point3i(vehicle.position)) + 5)*ConfigSystem.configObject.general.engineBiomeTempFactor.value;
+		ambientTemp = (25*vehicle.world.getTemperature(blockCheckPosition.setTo(vehicle.position)) + 5)*ConfigSystem.configObject.general.engineBiomeTempFactor.value;
 		coolingFactor = 0.001 - ((definition.engine.superchargerEfficiency/1000F)*(rpm/2000F)) + vehicle.velocity/1000F;
 		temp -= (temp - ambientTemp)*coolingFactor;
 		
@@ -313,24 +321,24 @@ public class PartEngine extends APart implements IParticleProvider{
 							if(rpm > definition.engine.upShiftRPM[currentGear - 1]*0.5*(1.0F + vehicle.throttle/100F)) {
 								if(shiftUp(true)){
 									shiftCooldown = definition.engine.shiftSpeed;
-									InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_UP, true));
+									InterfacePacket.sendToClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_UP, true));
 								}
 							}else if(rpm < definition.engine.downShiftRPM[currentGear - 1]*0.5*(1.0F + vehicle.throttle/100F) && currentGear > 1){
 								if(shiftDown(true)){
 									shiftCooldown = definition.engine.shiftSpeed;
-									InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_DN, true));
+									InterfacePacket.sendToClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_DN, true));
 								}
 							}
 						}else{
 							if(rpm > getSafeRPMFromMax(definition.engine.maxRPM)*0.5F*(1.0F + vehicle.throttle/100F)){
 								if(shiftUp(true)){
 									shiftCooldown = definition.engine.shiftSpeed;
-									InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_UP, true));
+									InterfacePacket.sendToClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_UP, true));
 								}
 							}else if(rpm < getSafeRPMFromMax(definition.engine.maxRPM)*0.25*(1.0F + vehicle.throttle/100F) && currentGear > 1){
 								if(shiftDown(true)){
 									shiftCooldown = definition.engine.shiftSpeed;
-									InterfacePacket.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_DN, true));
+									InterfacePacket.sendToClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_DN, true));
 								}
 							}
 						}
@@ -422,8 +430,8 @@ public class PartEngine extends APart implements IParticleProvider{
 			if(part instanceof PartPropeller){
 				PartPropeller propeller = (PartPropeller) part;
 				havePropeller = true;
-				Point3d propellerThrustAxis = new Point3d(0D, 0D, 1D).rotateCoarse(propeller.totalRotation.copy().add(vehicle.angles));
-				propellerAxialVelocity = vehicle.motion.dotProduct(propellerThrustAxis);
+				thrustAxis.set(0D, 0D, 1D).rotateCoarse(thrustAngles.setTo(propeller.totalRotation).add(vehicle.angles));
+				propellerAxialVelocity = vehicle.motion.dotProduct(thrustAxis);
 				propellerGearboxRatio = definition.engine.propellerRatio != 0 ? definition.engine.propellerRatio : currentGearRatio;
 				
 				//If wheel friction is 0, and we aren't in neutral, get RPM contributions for that.
@@ -471,8 +479,8 @@ public class PartEngine extends APart implements IParticleProvider{
 		
 		///Update variables used for jet thrust.
 		if(definition.engine.jetPowerFactor > 0){
-			Point3d engineThrustAxis = new Point3d(0D, 0D, 1D).rotateCoarse(totalRotation.copy().add(vehicle.angles));
-			engineAxialVelocity = vehicle.motion.dotProduct(engineThrustAxis);
+			thrustAxis.set(0D, 0D, 1D).rotateCoarse(thrustAngles.setTo(totalRotation).add(vehicle.angles));
+			engineAxialVelocity = vehicle.motion.dotProduct(thrustAxis);
 			
 			//Check for entities forward and aft of the engine and damage them.
 			if(!vehicle.world.isClient() && rpm >= 5000){
@@ -515,7 +523,7 @@ public class PartEngine extends APart implements IParticleProvider{
 	
 	@Override
 	public boolean isInLiquid(){
-		return vehicle.world.isBlockLiquid(new Point3i(worldPos.copy().add(0, vehicleDefinition.intakeOffset, 0)));
+		return vehicle.world.isBlockLiquid(blockCheckPosition.set((int) worldPos.x, (int) (worldPos.y + vehicleDefinition.intakeOffset), (int) worldPos.z));
 	}
 	
 	@Override
@@ -622,7 +630,7 @@ public class PartEngine extends APart implements IParticleProvider{
 		
 		//Send off packet and start sounds.
 		if(!vehicle.world.isClient()){
-			InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, Signal.START));
+			InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, Signal.START));
 		}else{
 			InterfaceSound.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_starting"));
 			if(definition.engine.customSoundset != null){
@@ -679,7 +687,7 @@ public class PartEngine extends APart implements IParticleProvider{
 		
 		//Send off packet and play stopping sound.
 		if(!vehicle.world.isClient()){
-			InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, signal));
+			InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, signal));
 		}else{
 			InterfaceSound.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_stopping"));
 		}
@@ -690,7 +698,7 @@ public class PartEngine extends APart implements IParticleProvider{
 		//This also causes particles to spawn and sounds to play.
 		rpm -= definition.engine.maxRPM < 15000 ? 100 : 500;
 		if(!vehicle.world.isClient()){
-			InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, Signal.BACKFIRE));
+			InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, Signal.BACKFIRE));
 		}else{
 			InterfaceSound.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_sputter"));
 			backfired = true;
@@ -758,7 +766,7 @@ public class PartEngine extends APart implements IParticleProvider{
 				currentGear = nextGear;
 				upshiftCountdown = definition.engine.clutchTime;
 			}else if(!vehicle.world.isClient() && !autoShift && currentGear <= 0){
-				InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT));
+				InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT));
 			}
 		}
 		return doShift;
@@ -786,7 +794,7 @@ public class PartEngine extends APart implements IParticleProvider{
 					InterfaceSound.playQuickSound(new SoundInstance(this, MasterLoader.resourceDomain + ":backup_beeper", true));
 				}
 			}else if(!vehicle.world.isClient() && !autoShift && currentGear >= 0){
-				InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT));
+				InterfacePacket.sendToClients(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT));
 			}
 		}
 		return doShift;
@@ -822,6 +830,7 @@ public class PartEngine extends APart implements IParticleProvider{
 	
 	public Point3d getForceOutput(){
 		engineForce.set(0D, 0D, 0D);
+		drivenWheelForce = 0;
 		//First get wheel forces, if we have friction to do so.
 		if(definition.engine.jetPowerFactor == 0 && wheelFriction != 0){
 			double wheelForce = 0;
@@ -831,36 +840,17 @@ public class PartEngine extends APart implements IParticleProvider{
 				if(wheelForce != 0){
 					//Check to see if the wheels need to spin out.
 					//If they do, we'll need to provide less force.
-					if(Math.abs(wheelForce/300D) > wheelFriction || (Math.abs(lowestWheelVelocity) - Math.abs(desiredWheelVelocity) > 0.1 && Math.abs(lowestWheelVelocity) - Math.abs(desiredWheelVelocity) < Math.abs(wheelForce/300D))){
+					//Wheel speeds aren't set here, as this may be called off the main thread.
+					//Instead, we save what they should be set to for updateDrivenWheels().
+					drivenWheelsSpinning = Math.abs(wheelForce/300D) > wheelFriction || (Math.abs(lowestWheelVelocity) - Math.abs(desiredWheelVelocity) > 0.1 && Math.abs(lowestWheelVelocity) - Math.abs(desiredWheelVelocity) < Math.abs(wheelForce/300D));
+					if(drivenWheelsSpinning){
 						wheelForce *= vehicle.currentMass/100000D*wheelFriction/Math.abs(wheelForce/300F);
-						for(PartGroundDevice wheel : vehicle.wheels){
-							if(vehicle.groundDeviceCollective.canDeviceProvideForce(wheel)){
-								if(currentGearRatio > 0){
-									if(wheelForce >= 0){
-										wheel.angularVelocity = Math.min(engineTargetRPM/1200F/currentGearRatio/vehicle.definition.motorized.axleRatio, wheel.angularVelocity + 0.01D);
-									}else{
-										wheel.angularVelocity = Math.min(engineTargetRPM/1200F/currentGearRatio/vehicle.definition.motorized.axleRatio, wheel.angularVelocity - 0.01D);
-									}
-								}else{
-									if(wheelForce >= 0){
-										wheel.angularVelocity = Math.max(engineTargetRPM/1200F/currentGearRatio/vehicle.definition.motorized.axleRatio, wheel.angularVelocity - 0.01D);
-									}else{
-										
-										wheel.angularVelocity = Math.max(engineTargetRPM/1200F/currentGearRatio/vehicle.definition.motorized.axleRatio, wheel.angularVelocity + 0.01D);
-									}
-								}
-								wheel.skipAngularCalcs = true;
-							}
-						}
+						drivenWheelVelocity = engineTargetRPM/1200F/currentGearRatio/vehicle.definition.motorized.axleRatio;
 					}else{
-						//If we have wheels not on the ground and we drive them, adjust their velocity now.
-						for(PartGroundDevice wheel : vehicle.wheels){
-							wheel.skipAngularCalcs = false;
-							if(!vehicle.groundDeviceCollective.groundedGroundDevices.contains(wheel) && vehicle.groundDeviceCollective.canDeviceProvideForce(wheel)){
-								wheel.angularVelocity = lowestWheelVelocity;
-							}
-						}
+						drivenWheelVelocity = lowestWheelVelocity;
 					}
+					drivenWheelsForward = currentGearRatio > 0;
+					drivenWheelForce = wheelForce;
 				}
 				
 				//Don't let us have negative engine force at low speeds.
@@ -894,12 +884,52 @@ public class PartEngine extends APart implements IParticleProvider{
 			double thrust = (vehicle.reverseThrust ? -(coreContribution + fanContribution) : coreContribution + fanContribution)*definition.engine.jetPowerFactor;
 			
 			//Add the jet force to the engine.  Use the engine rotation to define the power vector.
-			engineForce.add(new Point3d(0D, 0D, thrust).rotateCoarse(totalRotation));
+			engineForce.add(jetForce.set(0D, 0D, thrust).rotateCoarse(totalRotation));
 		}
 		
 		//Finally, return the force we calculated.
 		return engineForce;
 	}
+	
+	/**
+	 * Adjusts the speed of the wheels this engine drives to match the force from the last call to
+	 * {@link #getForceOutput()}.  If the wheels are spinning out, they are sped up towards the speed
+	 * of the engine.  If not, any driven wheels off the ground are set to the speed of the slowest
+	 * wheel.  This is split from the force calculation as it changes the state of the wheels,
+	 * which needs to happen on the main thread.
+	 */
+	public void updateDrivenWheels(){
+		if(drivenWheelForce != 0){
+			if(drivenWheelsSpinning){
+				for(PartGroundDevice wheel : vehicle.wheels){
+					if(vehicle.groundDeviceCollective.canDeviceProvideForce(wheel)){
+						if(drivenWheelsForward){
+							if(drivenWheelForce >= 0){
+								wheel.angularVelocity = Math.min(drivenWheelVelocity, wheel.angularVelocity + 0.01D);
+							}else{
+								wheel.angularVelocity = Math.min(drivenWheelVelocity, wheel.angularVelocity - 0.01D);
+							}
+						}else{
+							if(drivenWheelForce >= 0){
+								wheel.angularVelocity = Math.max(drivenWheelVelocity, wheel.angularVelocity - 0.01D);
+							}else{
+								wheel.angularVelocity = Math.max(drivenWheelVelocity, wheel.angularVelocity + 0.01D);
+							}
+						}
+						wheel.skipAngularCalcs = true;
+					}
+				}
+			}else{
+				//If we have wheels not on the ground and we drive them, adjust their velocity now.
+				for(PartGroundDevice wheel : vehicle.wheels){
+					wheel.skipAngularCalcs = false;
+					if(!vehicle.groundDeviceCollective.groundedGroundDevices.contains(wheel) && vehicle.groundDeviceCollective.canDeviceProvideForce(wheel)){
+						wheel.angularVelocity = drivenWheelVelocity;
+					}
+				}
+			}
+		}
+	}
 
 	
 	
@@ -90,8 +90,8 @@ public class PartGroundDevice extends APart implements IParticleProvider{
 			if(definition.ground.isWheel){
 				if(Math.abs(prevAngularVelocity)/(vehicle.groundVelocity/(getHeight()*Math.PI)) < 0.25 && vehicle.velocity > 0.3){
 					//Sudden angular velocity increase.  Mark for skidding effects if the block below us is hard.
-					Point3i blockPositionBelow = new Point3i((int) worldPos.x, (int) worldPos.y - 1, (int) worldPos.z);
-					if(!vehicle.world.isAir(blockPositionBelow) && vehicle.world.getBlockHardness(blockPositionBelow) >= 1.25){
+					blockCheckPosition.set((int) worldPos.x, (int) worldPos.y - 1, (int) worldPos.z);
+					if(!vehicle.world.isAir(blockCheckPosition) && vehicle.world.getBlockHardness(blockCheckPosition) >= 1.25){
 						contactThisTick = true;
 					}
 				}
@@ -194,7 +194,7 @@ public class PartGroundDevice extends APart implements IParticleProvider{
 				}
 			}
 			//Valid conditions, send packet before continuing.
-			InterfacePacket.sendToAllClients(new PacketVehiclePartGroundDevice(this, setFlat));
+			InterfacePacket.sendToClients(new PacketVehiclePartGroundDevice(this, setFlat));
 		}
 		
 		//Set flat state and new bounding box.
@@ -208,9 +208,9 @@ public class PartGroundDevice extends APart implements IParticleProvider{
 	}
 	
 	public float getFrictionLoss(){
-		Point3i groundPosition = new Point3i((int) worldPos.x, (int) worldPos.y - 1, (int) worldPos.z);
-		if(!vehicle.world.isAir(groundPosition)){
-			return 0.6F - vehicle.world.getBlockSlipperiness(groundPosition) + vehicle.world.getRainStrength(groundPosition)*0.1F;
+		blockCheckPosition.set((int) worldPos.x, (int) worldPos.y - 1, (int) worldPos.z);
+		if(!vehicle.world.isAir(blockCheckPosition)){
+			return 0.6F - vehicle.world.getBlockSlipperiness(blockCheckPosition) + vehicle.world.getRainStrength(blockCheckPosition)*0.1F;
 		}else{
 			return 0;
 		}
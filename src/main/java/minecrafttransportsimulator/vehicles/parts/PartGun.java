@@ -12,6 +12,7 @@ import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
 import minecrafttransportsimulator.rendering.components.IParticleProvider;
 import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 public class PartGun extends APart implements IParticleProvider, IGunProvider{
@@ -189,6 +190,11 @@ public class PartGun extends APart implements IParticleProvider, IGunProvider{
 		return controller.getPitch() - (vehiclePitchContribution + vehicleRollContribution);
 	}
 
+	@Override
+	public AEntityBase getProviderEntity(){
+		return vehicle;
+	}
+	
 	@Override
 	public int getGunNumber(){
 		int gunNumber = 1;
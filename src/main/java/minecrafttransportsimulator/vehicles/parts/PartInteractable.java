@@ -23,6 +23,8 @@ public final class PartInteractable extends APart{
 	public PartInteractable linkedPart;
 	public String jerrycanFluid;
 	public EntityVehicleF_Physics linkedVehicle;
+	private int lastInventoryChangeCount = -1;
+	private double lastInventoryWeight;
 	
 	public PartInteractable(EntityVehicleF_Physics vehicle, VehiclePart packVehicleDef, ItemPart item, WrapperNBT data, APart parentPart){
 		super(vehicle, packVehicleDef, item, data, parentPart);
@@ -36,7 +38,7 @@ public final class PartInteractable extends APart{
 			default: throw new IllegalArgumentException(definition.interactable.interactionType + " is not a valid type of interactable part.");
 		}
 		this.inventory = interactable != null ? interactable.getInventory() : null;
-		this.tank = definition.interactable.interactionType.equals(InteractableComponentType.BARREL) ? new FluidTank(data, definition.interactable.inventoryUnits*10000, vehicle.world.isClient()) : null;
+		this.tank = definition.interactable.interactionType.equals(InteractableComponentType.BARREL) ? new FluidTank(data, definition.interactable.inventoryUnits*10000, vehicle) : null;
 		this.jerrycanFluid = data.getString("jerrycanFluid");
 	}
 	
@@ -188,6 +190,39 @@ public final class PartInteractable extends APart{
 		}
 	}
 	
+	/**
+	 *  Returns the change in weight of this part's inventory since the last call to this method.
+	 *  Inventories that count their changes are only re-weighed if they have changed, unless
+	 *  forceCheck is true.  Inventories that don't count changes are only re-weighed if it is.
+	 *  Tanks aren't included, as they tell the vehicle about their weight changes themselves.
+	 */
+	public double getInventoryWeightChange(boolean forceCheck){
+		if(inventory != null){
+			int changeCount = inventory.getChangeCount();
+			if(forceCheck || (changeCount != -1 && changeCount != lastInventoryChangeCount)){
+				double priorWeight = lastInventoryWeight;
+				lastInventoryChangeCount = changeCount;
+				lastInventoryWeight = inventory.getInventoryWeight(ConfigSystem.configObject.general.itemWeights.weights);
+				return lastInventoryWeight - priorWeight;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 *  Returns the weight of this part's inventory as of the last call to {@link #getInventoryWeightChange(boolean)},
+	 *  or the current weight of the tank if this part is a tank.  This is the weight the vehicle is currently counting.
+	 */
+	public double getTrackedInventoryWeight(){
+		if(inventory != null){
+			return lastInventoryWeight;
+		}else if(tank != null){
+			return tank.getWeight();
+		}else{
+			return 0;
+		}
+	}
+	
 	public double getExplosiveContribution(){
 		if(inventory != null){
 			return inventory.getExplosiveness();
@@ -18,8 +18,14 @@ public class PartPropeller extends APart{
 	public double damageAmount;
 	public int currentPitch;
 	
+	private boolean inLiquid;
 	private final PartEngine connectedEngine;
 	private final Point3d propellerForce = new Point3d();
+	/**Scratch points for {@link #getForceOutput()}.  That may be called off the main thread, so it can't allocate shared points.**/
+	private final Point3d propellerThrustAxis = new Point3d();
+	private final Point3d propellerThrustAngles = new Point3d();
+	private final Point3d propellerThrustVector = new Point3d();
+	private final Point3d propellerActionRotation = new Point3d();
 	
 	public static final int MIN_DYNAMIC_PITCH = 45;
 	
@@ -43,7 +49,7 @@ public class PartPropeller extends APart{
 			if(damage.attacker instanceof WrapperPlayer && ((WrapperPlayer) damage.attacker).getHeldItem() == null){
 				if(!vehicle.equals(damage.attacker.getEntityRiding())){
 					connectedEngine.handStartEngine();
-					InterfacePacket.sendToAllClients(new PacketVehiclePartEngine(connectedEngine, Signal.HS_ON));
+					InterfacePacket.sendToClients(new PacketVehiclePartEngine(connectedEngine, Signal.HS_ON));
 				}
 				return;
 			}
@@ -59,6 +65,10 @@ public class PartPropeller extends APart{
 			isValid = false;
 			return;
 		}
+		
+		//Check if we are in liquid here rather than when getting our force output.
+		//Forces may be calculated off the main thread, where we can't check blocks.
+		inLiquid = isInLiquid();
 		//If we are a dynamic-pitch propeller, adjust ourselves to the speed of the engine.
 		if(definition.propeller.isDynamicPitch){
 			if(vehicle.reverseThrust && currentPitch > -MIN_DYNAMIC_PITCH){
@@ -141,22 +151,32 @@ public class PartPropeller extends APart{
 	@Override
 	public Point3d getRenderingRotation(float partialTicks, boolean animationValue){
 		if(definition.propeller.isRotor){
-			Point3d rotations = new Point3d(vehicle.elevatorAngle*10D/EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, vehicle.aileronAngle*10D/EntityVehicleF_Physics.MAX_AILERON_ANGLE, (angularPosition + angularVelocity*partialTicks)*360D);
-			if(vehicle.isVTOL){
-				rotations.add(vehicle.elevatorTrim*20D/EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, vehicle.aileronTrim*20D/EntityVehicleF_Physics.MAX_AILERON_ANGLE, 0);
-			}
+			Point3d rotations = setRotorTilt(new Point3d());
+			rotations.z = (angularPosition + angularVelocity*partialTicks)*360D;
 			return rotations;
 		}else{
 			return new Point3d(0, 0, (angularPosition + angularVelocity*partialTicks)*360D);
 		}
 	}
 	
+	/**
+	 * Sets the X and Y of the passed-in point to the tilt of this rotor from the vehicle's controls, and Z to 0.
+	 * Returns the point for chaining.
+	 */
+	private Point3d setRotorTilt(Point3d rotation){
+		rotation.set(vehicle.elevatorAngle*10D/EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, vehicle.aileronAngle*10D/EntityVehicleF_Physics.MAX_AILERON_ANGLE, 0D);
+		if(vehicle.isVTOL){
+			rotation.add(vehicle.elevatorTrim*20D/EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE, vehicle.aileronTrim*20D/EntityVehicleF_Physics.MAX_AILERON_ANGLE, 0);
+		}
+		return rotation;
+	}
+	
 	public Point3d getForceOutput(){
 		propellerForce.set(0D, 0D, 0D);
 		if(connectedEngine != null && connectedEngine.state.running){
 			//Get the current linear velocity of the propeller, based on our axial velocity.
 			//This is is meters per second.
-			Point3d propellerThrustAxis = new Point3d(0D, 0D, 1D).rotateCoarse(totalRotation.copy().add(vehicle.angles));
+			propellerThrustAxis.set(0D, 0D, 1D).rotateCoarse(propellerThrustAngles.setTo(totalRotation).add(vehicle.angles));
 			double currentLinearVelocity = 20D*vehicle.motion.dotProduct(propellerThrustAxis);
 			//Get the desired linear velocity of the propeller, based on the current RPM and pitch.
 			//We add to the desired linear velocity by a small factor.  This is because the actual cruising speed of aircraft
@@ -185,18 +205,16 @@ public class PartPropeller extends APart{
 				}
 				
 				//If the propeller is in the water, increase thrust.
-				if(isInLiquid()){
+				if(inLiquid){
 					thrust *= 50;
 				}
 				
 				//Add propeller force to total engine force as a vector.
 				//Depends on propeller orientation, as upward propellers provide upwards thrust.
-				Point3d propellerThrustVector = new Point3d(0D, 0D, thrust);
+				propellerThrustVector.set(0D, 0D, thrust);
 				if(definition.propeller.isRotor){
 					//Get the X and Y coords of the action rotation for thrust vectoring on rotors.
-					Point3d propellerActionRotation = getRenderingRotation(0, false);
-					propellerActionRotation.z = 0;
-					propellerThrustVector.rotateCoarse(propellerActionRotation); 
+					propellerThrustVector.rotateCoarse(setRotorTilt(propellerActionRotation)); 
 				}
 				propellerForce.add(propellerThrustVector.rotateCoarse(totalRotation));
 			}
@@ -53,7 +53,7 @@ public final class PartSeat extends APart{
 						//If we do have an active gun, validate that it's still correct.
 						if(activeGun == null){
 							setNextActiveGun();
-							InterfacePacket.sendToAllClients(new PacketVehiclePartSeat(this));
+							InterfacePacket.sendToClients(new PacketVehiclePartSeat(this));
 						}else{
 							for(ItemPart gunType : vehicle.guns.keySet()){
 								for(PartGun gun : vehicle.guns.get(gunType)){
@@ -68,7 +68,7 @@ public final class PartSeat extends APart{
 							//Invalid active gun detected.  Select a new one.
 							activeGun = null;
 							setNextActiveGun();
-							InterfacePacket.sendToAllClients(new PacketVehiclePartSeat(this));
+							InterfacePacket.sendToClients(new PacketVehiclePartSeat(this));
 						}
 					}
 				}
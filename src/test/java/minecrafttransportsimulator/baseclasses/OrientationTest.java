@@ -0,0 +1,71 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**Tests for {@link Orientation}.  Orientations replace {@link Point3d#rotateFine(Point3d)} for entities
+ * and parts, so they need to give the same results for any angles, including after the angles change.
+ *
+ * @author don_bruce
+ */
+public class OrientationTest{
+	private static final double ERROR = 1E-9;
+
+	@Test
+	public void testMatchesRotateFine(){
+		Random random = new Random(0);
+		Point3d angles = new Point3d();
+		Orientation orientation = new Orientation(angles);
+		for(int i=0; i<10000; ++i){
+			//Change the angles every few points, to check the matrix is re-calculated when they change.
+			if(i%4 == 0){
+				angles.set(random.nextDouble()*720D - 360D, random.nextDouble()*720D - 360D, random.nextDouble()*720D - 360D);
+			}
+			Point3d point = new Point3d(random.nextDouble()*100D - 50D, random.nextDouble()*100D - 50D, random.nextDouble()*100D - 50D);
+			assertRotationsMatch(point, angles, orientation);
+		}
+	}
+
+	@Test
+	public void testSingleAxisChanges(){
+		//Entities often only change one angle at a time, so check each axis on its own.
+		Random random = new Random(1);
+		Point3d angles = new Point3d(10D, 20D, 30D);
+		Orientation orientation = new Orientation(angles);
+		Point3d point = new Point3d(1D, 2D, 3D);
+		assertRotationsMatch(point, angles, orientation);
+		for(int i=0; i<100; ++i){
+			angles.x += random.nextDouble();
+			assertRotationsMatch(point, angles, orientation);
+			angles.y += random.nextDouble();
+			assertRotationsMatch(point, angles, orientation);
+			angles.z += random.nextDouble();
+			assertRotationsMatch(point, angles, orientation);
+		}
+	}
+
+	@Test
+	public void testZeroAngles(){
+		Point3d angles = new Point3d(45D, 45D, 45D);
+		Orientation orientation = new Orientation(angles);
+		new Point3d(1D, 1D, 1D).rotate(orientation);
+
+		//Going back to zero must not leave the old matrix in use.
+		angles.set(0D, 0D, 0D);
+		Point3d point = new Point3d(1D, 2D, 3D).rotate(orientation);
+		assertEquals(1D, point.x, 0D);
+		assertEquals(2D, point.y, 0D);
+		assertEquals(3D, point.z, 0D);
+	}
+
+	private static void assertRotationsMatch(Point3d point, Point3d angles, Orientation orientation){
+		Point3d expected = point.copy().rotateFine(angles);
+		Point3d actual = point.copy().rotate(orientation);
+		assertEquals(expected.x, actual.x, ERROR);
+		assertEquals(expected.y, actual.y, ERROR);
+		assertEquals(expected.z, actual.z, ERROR);
+	}
+}
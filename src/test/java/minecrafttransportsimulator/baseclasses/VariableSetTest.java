@@ -0,0 +1,113 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import minecrafttransportsimulator.rendering.components.LightType;
+
+/**Tests for the variable registry in {@link VariableSet}.  Pack variables can only be registered once,
+ * and only if nothing else was registered first, so they are registered once for all tests here the
+ * same way packs do it.  Nothing may touch {@link LightType} before this, just like when packs load.
+ *
+ * @author don_bruce
+ */
+public class VariableSetTest{
+	private static final String DOOR = "door_left";
+	private static final String CUSTOM_VARIABLE = "beacon";
+
+	@BeforeClass
+	public static void registerPackVariables(){
+		VariableSet.registerPackVariables(Arrays.asList(DOOR, CUSTOM_VARIABLE));
+	}
+
+	@Test
+	public void testPackVariablesRegistered(){
+		for(LightType light : LightType.values()){
+			assertTrue(light.lowercaseName + " is not a pack variable.", VariableSet.isPackVariable(light.variableID));
+		}
+		assertTrue(VariableSet.isPackVariable(VariableSet.getVariableID(DOOR)));
+		assertTrue(VariableSet.isPackVariable(VariableSet.getVariableID(CUSTOM_VARIABLE)));
+		assertFalse(VariableSet.isPackVariable(VariableSet.getVariableID("not_a_pack_variable")));
+	}
+
+	@Test
+	public void testPackVariableOrder(){
+		//Lights come first, then pack variables in alphabetical order.
+		assertEquals(LightType.values().length, VariableSet.getVariableID(CUSTOM_VARIABLE));
+		assertEquals(LightType.values().length + 1, VariableSet.getVariableID(DOOR));
+	}
+
+	@Test
+	public void testSetOperations(){
+		VariableSet variables = new VariableSet();
+		assertTrue(variables.add(DOOR));
+		assertFalse(variables.add(DOOR));
+		assertTrue(variables.contains(DOOR));
+		assertTrue(variables.contains(VariableSet.getVariableID(DOOR)));
+		variables.toggle(LightType.HEADLIGHT.variableID);
+		assertTrue(LightType.HEADLIGHT.isInCollection(variables));
+		assertEquals(2, variables.size());
+		assertTrue(variables.remove(DOOR));
+		assertFalse(variables.contains(DOOR));
+		assertEquals(1, variables.size());
+	}
+
+	@Test
+	public void testExistingVariableIDs(){
+		assertEquals(VariableSet.getVariableID(DOOR), VariableSet.getExistingVariableID(DOOR));
+		assertEquals(-1, VariableSet.getExistingVariableID("never_registered"));
+
+		//Looking up a name must not register it.
+		assertEquals(-1, VariableSet.getExistingVariableID("never_registered"));
+		int registeredID = VariableSet.getVariableID("now_registered");
+		assertEquals(registeredID, VariableSet.getExistingVariableID("now_registered"));
+	}
+
+	@Test
+	public void testNetworkIDs(){
+		//With no server mapping, pack variables are sent as-is and everything else is sent by name.
+		assertEquals(LightType.HEADLIGHT.variableID, VariableSet.getNetworkID(LightType.HEADLIGHT.variableID));
+		assertEquals(VariableSet.getVariableID(DOOR), VariableSet.getNetworkID(VariableSet.getVariableID(DOOR)));
+		assertEquals(-1, VariableSet.getNetworkID(VariableSet.getVariableID("sent_by_name")));
+
+		//IDs that aren't for pack variables are rejected.
+		assertEquals(VariableSet.getVariableID(DOOR), VariableSet.getVariableIDFromNetwork(VariableSet.getVariableID(DOOR)));
+		assertEquals(-1, VariableSet.getVariableIDFromNetwork(-5));
+		assertEquals(-1, VariableSet.getVariableIDFromNetwork(VariableSet.getPackVariableCount()));
+		assertEquals(-1, VariableSet.getVariableIDFromNetwork(Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testServerPackVariableMapping(){
+		//Server has the same variables in a different order, plus one we don't have.
+		List<String> serverVariables = new ArrayList<String>(VariableSet.getPackVariables());
+		serverVariables.remove(DOOR);
+		serverVariables.add(0, DOOR);
+		serverVariables.add("server_only");
+		VariableSet.setServerPackVariables(serverVariables);
+		try{
+			int doorID = VariableSet.getVariableID(DOOR);
+			assertEquals(0, VariableSet.getNetworkID(doorID));
+			assertEquals(doorID, VariableSet.getVariableIDFromNetwork(0));
+			assertEquals(LightType.values()[0].variableID, VariableSet.getVariableIDFromNetwork(1));
+			assertEquals(1, VariableSet.getNetworkID(LightType.values()[0].variableID));
+
+			int serverOnlyID = VariableSet.getVariableID("server_only");
+			assertFalse(VariableSet.isPackVariable(serverOnlyID));
+			assertEquals(serverVariables.size() - 1, VariableSet.getNetworkID(serverOnlyID));
+			assertEquals(serverOnlyID, VariableSet.getVariableIDFromNetwork(serverVariables.size() - 1));
+			assertEquals(-1, VariableSet.getVariableIDFromNetwork(serverVariables.size()));
+		}finally{
+			VariableSet.setServerPackVariables(null);
+		}
+		assertEquals(VariableSet.getVariableID(DOOR), VariableSet.getNetworkID(VariableSet.getVariableID(DOOR)));
+	}
+}
@@ -0,0 +1,151 @@
+package minecrafttransportsimulator.packets.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.mcinterface.WrapperPlayer;
+import minecrafttransportsimulator.mcinterface.WrapperWorld;
+import minecrafttransportsimulator.packets.components.InterfacePacket.WrapperPacket;
+
+/**Tests for the packet registry in {@link InterfacePacket}.  These check that every packet gets its own
+ * index with a factory, and that packets sent in a bundle come back out as the same class with the same data.
+ * The network itself isn't set up, so only the registry and bundle encoding are tested.
+ *
+ * @author don_bruce
+ */
+public class InterfacePacketTest{
+	private static final byte TEST_PACKET_INDEX = (byte) 255;
+	private static final byte OTHER_TEST_PACKET_INDEX = (byte) 254;
+
+	@BeforeClass
+	public static void registerPackets(){
+		InterfacePacket.registerPackets();
+		InterfacePacket.registerPacket(TEST_PACKET_INDEX, TestPacket.class, TestPacket::new);
+		InterfacePacket.registerPacket(OTHER_TEST_PACKET_INDEX, OtherTestPacket.class, OtherTestPacket::new);
+	}
+
+	@Test
+	public void testIndexesAreUniqueAndHaveFactories(){
+		Set<Byte> usedIndexes = new HashSet<Byte>();
+		for(Entry<Class<? extends APacketBase>, Byte> indexEntry : InterfacePacket.packetIndexes.entrySet()){
+			assertTrue(indexEntry.getKey().getSimpleName() + " has the same index as another packet.", usedIndexes.add(indexEntry.getValue()));
+			assertNotNull(indexEntry.getKey().getSimpleName() + " has no factory.", InterfacePacket.packetFactories[indexEntry.getValue() & 0xFF]);
+		}
+
+		//Real packets are registered in order, so there shouldn't be any gaps between them.
+		for(int i=0; i<InterfacePacket.packetIndexes.size() - 2; ++i){
+			assertNotNull("No packet registered at index " + i + ".", InterfacePacket.packetFactories[i]);
+		}
+		assertNull(InterfacePacket.packetFactories[InterfacePacket.packetIndexes.size() - 2]);
+	}
+
+	@Test
+	public void testBundleRoundTrip(){
+		ByteBuf bundle = Unpooled.buffer();
+		for(int i=0; i<100; ++i){
+			addToBundle(bundle, i%2 == 0 ? new TestPacket(i) : new OtherTestPacket("packet" + i));
+		}
+		WrapperPacket receivedBundle = sendBundle(bundle);
+		assertEquals(100, receivedBundle.packets.size());
+		for(int i=0; i<100; ++i){
+			APacketBase packet = receivedBundle.packets.get(i);
+			if(i%2 == 0){
+				assertEquals(TestPacket.class, packet.getClass());
+				assertEquals(i, ((TestPacket) packet).value);
+			}else{
+				assertEquals(OtherTestPacket.class, packet.getClass());
+				assertEquals("packet" + i, ((OtherTestPacket) packet).value);
+			}
+		}
+	}
+
+	@Test
+	public void testBadPacketDoesNotBreakBundle(){
+		ByteBuf bundle = Unpooled.buffer();
+		addToBundle(bundle, new TestPacket(1));
+
+		//A test packet that's missing its value, so it fails to read.
+		ByteBuf badPacket = Unpooled.buffer();
+		badPacket.writeByte(TEST_PACKET_INDEX);
+		APacketBase.writeVarIntToBuffer(badPacket.readableBytes(), bundle);
+		bundle.writeBytes(badPacket);
+
+		addToBundle(bundle, new TestPacket(2));
+		WrapperPacket receivedBundle = sendBundle(bundle);
+		assertEquals(2, receivedBundle.packets.size());
+		assertEquals(1, ((TestPacket) receivedBundle.packets.get(0)).value);
+		assertEquals(2, ((TestPacket) receivedBundle.packets.get(1)).value);
+	}
+
+	private static void addToBundle(ByteBuf bundle, APacketBase packet){
+		ByteBuf packetData = Unpooled.buffer();
+		packet.writeToBuffer(packetData);
+		APacketBase.writeVarIntToBuffer(packetData.readableBytes(), bundle);
+		bundle.writeBytes(packetData);
+	}
+
+	private static WrapperPacket sendBundle(ByteBuf bundle){
+		ByteBuf sentData = Unpooled.buffer();
+		new WrapperPacket(bundle).toBytes(sentData);
+		WrapperPacket receivedBundle = new WrapperPacket();
+		receivedBundle.fromBytes(sentData);
+		return receivedBundle;
+	}
+
+	public static class TestPacket extends APacketBase{
+		private final int value;
+
+		public TestPacket(int value){
+			super(null);
+			this.value = value;
+		}
+
+		public TestPacket(ByteBuf buf){
+			super(buf);
+			this.value = buf.readInt();
+		}
+
+		@Override
+		public void writeToBuffer(ByteBuf buf){
+			super.writeToBuffer(buf);
+			buf.writeInt(value);
+		}
+
+		@Override
+		public void handle(WrapperWorld world, WrapperPlayer player){}
+	}
+
+	public static class OtherTestPacket extends APacketBase{
+		private final String value;
+
+		public OtherTestPacket(String value){
+			super(null);
+			this.value = value;
+		}
+
+		public OtherTestPacket(ByteBuf buf){
+			super(buf);
+			this.value = readStringFromBuffer(buf);
+		}
+
+		@Override
+		public void writeToBuffer(ByteBuf buf){
+			super.writeToBuffer(buf);
+			writeStringToBuffer(value, buf);
+		}
+
+		@Override
+		public void handle(WrapperWorld world, WrapperPlayer player){}
+	}
+}
@@ -0,0 +1,156 @@
+package minecrafttransportsimulator.packets.instances;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement.MovementEncoder;
+
+/**Tests for the quantized movement encoding of {@link PacketVehicleServerMovement}.  Each test runs
+ * a server-side {@link MovementEncoder} against a simulated client that applies the packets
+ * the same way vehicles do, and checks that the client never drifts more than half a quantum
+ * from the server.
+ *
+ * @author don_bruce
+ */
+public class PacketVehicleServerMovementTest{
+	private static final double MOTION_ERROR = PacketVehicleServerMovement.MOTION_QUANTUM/2D + 1E-9;
+	private static final double ROTATION_ERROR = PacketVehicleServerMovement.ROTATION_QUANTUM/2D + 1E-9;
+
+	@Test
+	public void testDeltasStayWithinQuantum(){
+		Random random = new Random(0);
+		SimulatedVehicle vehicle = new SimulatedVehicle();
+		for(int i=0; i<10*PacketVehicleServerMovement.KEYFRAME_INTERVAL; ++i){
+			vehicle.serverM.add(random.nextDouble()*2D - 1D, random.nextDouble()*2D - 1D, random.nextDouble()*2D - 1D);
+			vehicle.serverR.add(random.nextDouble()*10D - 5D, random.nextDouble()*10D - 5D, random.nextDouble()*10D - 5D);
+			vehicle.tick();
+			vehicle.assertInSync();
+		}
+	}
+
+	@Test
+	public void testSmallMovementSendsNothing(){
+		SimulatedVehicle vehicle = new SimulatedVehicle();
+		vehicle.serverM.add(PacketVehicleServerMovement.MOTION_QUANTUM/4D, 0, 0);
+		vehicle.serverR.add(0, PacketVehicleServerMovement.ROTATION_QUANTUM/4D, 0);
+		assertEquals(0, vehicle.tick());
+		vehicle.assertInSync();
+	}
+
+	@Test
+	public void testKeyframesResyncClients(){
+		Random random = new Random(1);
+		SimulatedVehicle vehicle = new SimulatedVehicle();
+
+		//Client starts with the wrong movement, like one that missed some packets.
+		vehicle.clientM.set(100D, -50D, 25D);
+		vehicle.clientR.set(90D, 0D, -45D);
+		for(int i=1; i<=3*PacketVehicleServerMovement.KEYFRAME_INTERVAL; ++i){
+			vehicle.serverM.add(random.nextDouble(), 0, random.nextDouble());
+			vehicle.serverR.add(0, random.nextDouble(), 0);
+			int fieldMask = vehicle.tick();
+			if(i%PacketVehicleServerMovement.KEYFRAME_INTERVAL == 0){
+				assertTrue("Packet " + i + " should be a keyframe.", PacketVehicleServerMovement.isKeyframe(fieldMask));
+				vehicle.assertInSync();
+			}else{
+				assertFalse("Packet " + i + " should not be a keyframe.", PacketVehicleServerMovement.isKeyframe(fieldMask));
+			}
+		}
+	}
+
+	@Test
+	public void testLargeValues(){
+		Random random = new Random(2);
+		SimulatedVehicle vehicle = new SimulatedVehicle();
+		vehicle.serverM.set(1.0E6D, 300D, -1.0E6D);
+		vehicle.serverR.set(1.0E7D, -1.0E7D, 3.0E6D);
+		vehicle.encoder = new MovementEncoder(vehicle.serverM, vehicle.serverR);
+		vehicle.clientM.setTo(vehicle.serverM);
+		vehicle.clientR.setTo(vehicle.serverR);
+		for(int i=0; i<2*PacketVehicleServerMovement.KEYFRAME_INTERVAL; ++i){
+			vehicle.serverM.add(random.nextDouble()*2.0E5D - 1.0E5D, random.nextDouble()*2.0E5D - 1.0E5D, random.nextDouble()*2.0E5D - 1.0E5D);
+			vehicle.serverR.add(random.nextDouble()*2.0E6D - 1.0E6D, random.nextDouble()*2.0E6D - 1.0E6D, random.nextDouble()*2.0E6D - 1.0E6D);
+			vehicle.tick();
+			vehicle.assertInSync();
+		}
+	}
+
+	@Test
+	public void testBytesPerVehicle(){
+		//Simulate a vehicle driving at about 36km/h while turning slowly, for one minute.
+		Random random = new Random(3);
+		SimulatedVehicle vehicle = new SimulatedVehicle();
+		int seconds = 60;
+		int ticks = 20*seconds;
+		for(int i=0; i<ticks; ++i){
+			vehicle.serverM.add(0.5D + random.nextDouble()*0.01D, random.nextDouble()*0.002D - 0.001D, 0.1D);
+			vehicle.serverR.add(0D, 0.2D, 0D);
+			vehicle.tick();
+			vehicle.assertInSync();
+		}
+
+		//Old packets sent six doubles every tick, which is 960 bytes per second.
+		double bytesPerSecond = vehicle.bytesSent/(double) seconds;
+		assertTrue("Movement took " + bytesPerSecond + " bytes per vehicle per second.", bytesPerSecond < 240);
+	}
+
+	/**
+	 * Server and client movement for a single vehicle.  Packets are written to, and read from, a buffer
+	 * to check the wire format as well.  Only the movement fields are written, not the packet and entity IDs,
+	 * as those need the network to be set up.
+	 */
+	private static class SimulatedVehicle{
+		private final Point3d serverM = new Point3d();
+		private final Point3d serverR = new Point3d();
+		private final Point3d clientM = new Point3d();
+		private final Point3d clientR = new Point3d();
+		private MovementEncoder encoder = new MovementEncoder(serverM, serverR);
+		private long bytesSent;
+
+		/**
+		 *  Sends the current server movement to the client, returning the mask of the packet, or 0 if none was sent.
+		 */
+		private int tick(){
+			long[] values = new long[6];
+			int fieldMask = encoder.encode(serverM, serverR, values);
+			if(fieldMask != 0){
+				ByteBuf buf = Unpooled.buffer();
+				PacketVehicleServerMovement.writeFields(fieldMask, values, buf);
+				bytesSent += buf.readableBytes();
+
+				long[] receivedValues = new long[6];
+				assertEquals(fieldMask, PacketVehicleServerMovement.readFields(buf, receivedValues));
+				assertEquals(0, buf.readableBytes());
+
+				Point3d motion = new Point3d();
+				Point3d rotation = new Point3d();
+				PacketVehicleServerMovement.getMovement(receivedValues, motion, rotation);
+				if(PacketVehicleServerMovement.isKeyframe(fieldMask)){
+					clientM.setTo(motion);
+					clientR.setTo(rotation);
+				}else{
+					clientM.add(motion);
+					clientR.add(rotation);
+				}
+			}
+			return fieldMask;
+		}
+
+		private void assertInSync(){
+			assertEquals(serverM.x, clientM.x, MOTION_ERROR);
+			assertEquals(serverM.y, clientM.y, MOTION_ERROR);
+			assertEquals(serverM.z, clientM.z, MOTION_ERROR);
+			assertEquals(serverR.x, clientR.x, ROTATION_ERROR);
+			assertEquals(serverR.y, clientR.y, ROTATION_ERROR);
+			assertEquals(serverR.z, clientR.z, ROTATION_ERROR);
+		}
+	}
+}